@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import static org.apache.geode.distributed.ConfigurationProperties.LOCATORS;
+import static org.apache.geode.distributed.ConfigurationProperties.LOG_LEVEL;
+import static org.apache.geode.distributed.ConfigurationProperties.MCAST_PORT;
+import static org.apache.geode.distributed.ConfigurationProperties.OFF_HEAP_MEMORY_SIZE;
+import static org.apache.geode.distributed.ConfigurationProperties.START_LOCATOR;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+
+/**
+ * A data member forked by the benchmarks of the {@link Topology#PEER} topology. It hosts the
+ * locator and creates the benchmarked region, then waits until the benchmark destroys the process.
+ */
+public class BenchmarkMember {
+
+  static final String READY = "BenchmarkMember is ready";
+
+  private static final long READY_TIMEOUT_MINUTES = 2;
+
+  /**
+   * @param args the locator port, the {@link RegionType} name, the region name and the disk
+   *        directory of the region
+   */
+  public static void main(String[] args) throws InterruptedException {
+    String locator = "localhost[" + Integer.parseInt(args[0]) + "]";
+    RegionType regionType = RegionType.valueOf(args[1]);
+
+    Cache cache = createCache(regionType, locator, locator);
+    regionType.createRegion(cache, args[2], new File(args[3]));
+
+    System.out.println(READY);
+    System.out.flush();
+    new CountDownLatch(1).await();
+  }
+
+  /**
+   * Creates a cache able to host regions of the given type.
+   *
+   * @param locators the locators to join, or the empty string for a loner
+   * @param startLocator the locator this member should start, or null
+   */
+  static Cache createCache(RegionType regionType, String locators, String startLocator) {
+    CacheFactory factory =
+        new CacheFactory().set(MCAST_PORT, "0").set(LOCATORS, locators).set(LOG_LEVEL, "warning");
+    if (startLocator != null) {
+      factory.set(START_LOCATOR, startLocator);
+    }
+    if (regionType.isOffHeap()) {
+      factory.set(OFF_HEAP_MEMORY_SIZE, RegionType.OFF_HEAP_MEMORY_SIZE);
+    }
+    return factory.create();
+  }
+
+  /**
+   * Forks a JVM running this class with the classpath of the current JVM and waits until it has
+   * created its region.
+   */
+  static Process fork(int locatorPort, RegionType regionType, String regionName, File workingDir)
+      throws IOException, InterruptedException {
+    workingDir.mkdirs();
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    ProcessBuilder builder = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+        BenchmarkMember.class.getName(), String.valueOf(locatorPort), regionType.name(), regionName,
+        new File(workingDir, "disk").getAbsolutePath());
+    builder.directory(workingDir);
+    builder.redirectErrorStream(true);
+    Process process = builder.start();
+
+    CountDownLatch ready = new CountDownLatch(1);
+    Thread reader = new Thread(() -> {
+      // keep draining the output so that the member never blocks on a full pipe
+      try (BufferedReader in =
+          new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+        String line;
+        while ((line = in.readLine()) != null) {
+          if (line.contains(READY)) {
+            ready.countDown();
+          }
+        }
+      } catch (IOException ignore) {
+        // the process was destroyed
+      }
+    }, "BenchmarkMember output reader");
+    reader.setDaemon(true);
+    reader.start();
+
+    if (!ready.await(READY_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+      process.destroyForcibly();
+      throw new IllegalStateException("Forked BenchmarkMember did not start within "
+          + READY_TIMEOUT_MINUTES + " minutes; see " + workingDir);
+    }
+    return process;
+  }
+}
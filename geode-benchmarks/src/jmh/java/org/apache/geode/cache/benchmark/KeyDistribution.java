@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How the data path benchmarks pick the index of the next key out of the preloaded key range.
+ */
+public enum KeyDistribution {
+  /** Every key is equally likely. */
+  UNIFORM {
+    @Override
+    int nextIndex(int keyCount, int sequence) {
+      return ThreadLocalRandom.current().nextInt(keyCount);
+    }
+  },
+
+  /** 90% of the operations go to the first 10% of the keys. */
+  HOTSPOT {
+    @Override
+    int nextIndex(int keyCount, int sequence) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      int hotKeys = Math.max(1, keyCount / 10);
+      if (random.nextInt(10) != 0) {
+        return random.nextInt(hotKeys);
+      }
+      return random.nextInt(keyCount);
+    }
+  },
+
+  /** Each thread walks the keys in order, wrapping around at the end. */
+  SEQUENTIAL {
+    @Override
+    int nextIndex(int keyCount, int sequence) {
+      return sequence;
+    }
+  };
+
+  /**
+   * @param keyCount the number of keys to choose from
+   * @param sequence the number of keys the calling thread has already chosen, modulo keyCount
+   */
+  abstract int nextIndex(int keyCount, int sequence);
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+
+/**
+ * Measures puts that update existing entries of a LOCAL region, with and without a cache listener.
+ * Without a listener nothing observes the put, so its event is reused rather than allocated. Run
+ * with {@code -prof gc} and compare {@code gc.alloc.rate.norm} to see the allocation per put.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class LocalPutBenchmark {
+
+  private static final int KEY_COUNT = 1000;
+
+  @State(Scope.Benchmark)
+  public static class CacheState {
+    @Param({"false", "true"})
+    boolean withListener;
+
+    private Cache cache;
+    Region<Long, String> region;
+    Long[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      this.cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      this.region = this.cache.<Long, String>createRegionFactory(RegionShortcut.LOCAL)
+          .create("region");
+      if (this.withListener) {
+        this.region.getAttributesMutator()
+            .addCacheListener(new CacheListenerAdapter<Long, String>() {});
+      }
+      this.keys = new Long[KEY_COUNT];
+      for (int i = 0; i < KEY_COUNT; i++) {
+        this.keys[i] = (long) i;
+        this.region.put(this.keys[i], "value");
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      this.cache.close();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class KeyState {
+    private int next;
+
+    Long nextKey(CacheState state) {
+      this.next = (this.next + 1) % KEY_COUNT;
+      return state.keys[this.next];
+    }
+  }
+
+  @Benchmark
+  public Object put(CacheState state, KeyState keys) {
+    return state.region.put(keys.nextKey(state), "value");
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.AvailablePort;
+
+/**
+ * Measures putAll and removeAll of large batches on a partitioned region for different numbers of
+ * threads applying the buckets of a batch in parallel. A limit of one applies them one after the
+ * other, so compare it with the higher limits to see how bulk operations scale with the cores.
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class PartitionedPutAllBenchmark {
+
+  private static final String BULK_OP_THREAD_LIMIT =
+      DistributionConfig.GEMFIRE_PREFIX + "Cache.BULK_OP_THREAD_LIMIT";
+
+  @State(Scope.Benchmark)
+  public static class RegionState {
+    @Param({"LONER"})
+    Topology topology;
+
+    @Param({"1", "2", "4", "8"})
+    int bulkOpThreadLimit;
+
+    @Param({"1000", "10000"})
+    int batchSize;
+
+    @Param({"100"})
+    int valueSize;
+
+    private File workingDir;
+    private Process member;
+    private Cache cache;
+    Region<Long, byte[]> region;
+    Map<Long, byte[]> batch;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+      // every trial runs in a new fork, so this is read when the cache class is first loaded
+      System.setProperty(BULK_OP_THREAD_LIMIT, String.valueOf(this.bulkOpThreadLimit));
+
+      this.workingDir = Files.createTempDirectory("PartitionedPutAllBenchmark").toFile();
+      String locators = "";
+      if (this.topology == Topology.PEER) {
+        int locatorPort = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+        this.member = BenchmarkMember.fork(locatorPort, RegionType.PARTITION,
+            RegionDataPathBenchmark.REGION_NAME, new File(this.workingDir, "member"));
+        locators = "localhost[" + locatorPort + "]";
+      }
+      this.cache = BenchmarkMember.createCache(RegionType.PARTITION, locators, null);
+      this.region = RegionType.PARTITION.createRegion(this.cache,
+          RegionDataPathBenchmark.REGION_NAME, new File(this.workingDir, "disk"));
+
+      byte[] value = new byte[this.valueSize];
+      new Random(0).nextBytes(value);
+      this.batch = new HashMap<>();
+      for (long i = 0; i < this.batchSize; i++) {
+        this.batch.put(i, value);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      this.cache.close();
+      if (this.member != null) {
+        this.member.destroyForcibly();
+      }
+      FileUtils.deleteQuietly(this.workingDir);
+    }
+  }
+
+  @Benchmark
+  public void putAll(RegionState state) {
+    state.region.putAll(state.batch);
+  }
+
+  /**
+   * Puts a batch and then removes it again, so subtract the result of {@link #putAll} to get the
+   * cost of the removeAll alone.
+   */
+  @Benchmark
+  public void removeAll(RegionState state) {
+    state.region.putAll(state.batch);
+    state.region.removeAll(state.batch.keySet());
+  }
+}
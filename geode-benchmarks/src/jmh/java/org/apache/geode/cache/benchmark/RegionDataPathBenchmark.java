@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Region;
+import org.apache.geode.internal.AvailablePort;
+
+/**
+ * Measures the basic region operations across region types, topologies, key distributions and
+ * value sizes. Only the LONER topology runs by default; pass {@code -p topology=PEER} to run
+ * against a forked member, and use the JMH {@code -t} option to vary the number of threads, e.g.
+ *
+ * <pre>
+ * java -jar geode-benchmarks-jmh.jar RegionDataPathBenchmark -t 8 -p regionType=PARTITION
+ * </pre>
+ */
+@Fork(3)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+public class RegionDataPathBenchmark {
+
+  static final String REGION_NAME = "region";
+
+  @State(Scope.Benchmark)
+  public static class RegionState {
+    @Param({"LONER"})
+    Topology topology;
+
+    @Param({"LOCAL", "REPLICATE", "PARTITION", "PARTITION_OVERFLOW", "PARTITION_PERSISTENT",
+        "PARTITION_OFF_HEAP", "PARTITION_COMPRESSED"})
+    RegionType regionType;
+
+    @Param({"UNIFORM"})
+    KeyDistribution keyDistribution;
+
+    @Param({"10000"})
+    int keyCount;
+
+    @Param({"100", "10000"})
+    int valueSize;
+
+    /** The number of entries in each putAll and getAll. */
+    @Param({"100"})
+    int batchSize;
+
+    private File workingDir;
+    private Process member;
+    private Cache cache;
+    Region<Long, byte[]> region;
+    Long[] keys;
+    byte[] value;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, InterruptedException {
+      this.workingDir = Files.createTempDirectory("RegionDataPathBenchmark").toFile();
+      String locators = "";
+      if (this.topology == Topology.PEER) {
+        int locatorPort = AvailablePort.getRandomAvailablePort(AvailablePort.SOCKET);
+        this.member = BenchmarkMember.fork(locatorPort, this.regionType, REGION_NAME,
+            new File(this.workingDir, "member"));
+        locators = "localhost[" + locatorPort + "]";
+      }
+      this.cache = BenchmarkMember.createCache(this.regionType, locators, null);
+      this.region =
+          this.regionType.createRegion(this.cache, REGION_NAME, new File(this.workingDir, "disk"));
+
+      this.value = new byte[this.valueSize];
+      new Random(0).nextBytes(this.value);
+      this.keys = new Long[this.keyCount];
+      for (int i = 0; i < this.keyCount; i++) {
+        this.keys[i] = (long) i;
+        this.region.put(this.keys[i], this.value);
+      }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+      this.cache.close();
+      if (this.member != null) {
+        this.member.destroyForcibly();
+      }
+      FileUtils.deleteQuietly(this.workingDir);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class KeyState {
+    private int sequence;
+    private final Map<Long, byte[]> batch = new HashMap<>();
+    private final List<Long> batchKeys = new ArrayList<>();
+
+    Long nextKey(RegionState state) {
+      int index = state.keyDistribution.nextIndex(state.keyCount, this.sequence);
+      this.sequence = (this.sequence + 1) % state.keyCount;
+      return state.keys[index];
+    }
+
+    Map<Long, byte[]> nextBatch(RegionState state) {
+      this.batch.clear();
+      for (int i = 0; i < state.batchSize; i++) {
+        this.batch.put(nextKey(state), state.value);
+      }
+      return this.batch;
+    }
+
+    List<Long> nextBatchKeys(RegionState state) {
+      this.batchKeys.clear();
+      for (int i = 0; i < state.batchSize; i++) {
+        this.batchKeys.add(nextKey(state));
+      }
+      return this.batchKeys;
+    }
+  }
+
+  @Benchmark
+  public Object get(RegionState state, KeyState keys) {
+    return state.region.get(keys.nextKey(state));
+  }
+
+  @Benchmark
+  public Object put(RegionState state, KeyState keys) {
+    return state.region.put(keys.nextKey(state), state.value);
+  }
+
+  @Benchmark
+  public void putAll(RegionState state, KeyState keys) {
+    state.region.putAll(keys.nextBatch(state));
+  }
+
+  @Benchmark
+  public Object getAll(RegionState state, KeyState keys) {
+    return state.region.getAll(keys.nextBatchKeys(state));
+  }
+
+  /**
+   * Destroys an entry. The entry is put first so that the region does not drain, so subtract the
+   * result of {@link #put} to get the cost of the destroy alone. Uses remove rather than destroy
+   * because another thread may have destroyed the same key in between.
+   */
+  @Benchmark
+  public Object destroy(RegionState state, KeyState keys) {
+    Long key = keys.nextKey(state);
+    state.region.put(key, state.value);
+    return state.region.remove(key);
+  }
+
+  @Benchmark
+  public void invalidate(RegionState state, KeyState keys) {
+    state.region.invalidate(keys.nextKey(state));
+  }
+}
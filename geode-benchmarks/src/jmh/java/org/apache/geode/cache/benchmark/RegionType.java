@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.File;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionFactory;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.compression.SnappyCompressor;
+
+/**
+ * The kinds of regions the data path benchmarks run against. Every member of a benchmark topology
+ * creates its region with {@link #createRegion(Cache, String, File)} so that they all agree on the
+ * region attributes.
+ */
+public enum RegionType {
+  LOCAL(RegionShortcut.LOCAL, false, false),
+  REPLICATE(RegionShortcut.REPLICATE, false, false),
+  PARTITION(RegionShortcut.PARTITION, false, false),
+  PARTITION_OVERFLOW(RegionShortcut.PARTITION_OVERFLOW, false, false),
+  PARTITION_PERSISTENT(RegionShortcut.PARTITION_PERSISTENT, false, false),
+  PARTITION_OFF_HEAP(RegionShortcut.PARTITION, true, false),
+  PARTITION_COMPRESSED(RegionShortcut.PARTITION, false, true);
+
+  /**
+   * The number of entries kept in memory by {@link #PARTITION_OVERFLOW} regions so that most
+   * operations fault values in from disk instead of waiting for heap eviction to start.
+   */
+  static final int OVERFLOW_MAXIMUM_ENTRIES = 1000;
+
+  /** The off-heap memory reserved by members that host an off-heap region. */
+  static final String OFF_HEAP_MEMORY_SIZE = "512m";
+
+  private static final String DISK_STORE_NAME = "benchmarkDiskStore";
+
+  private final RegionShortcut shortcut;
+  private final boolean offHeap;
+  private final boolean compressed;
+
+  RegionType(RegionShortcut shortcut, boolean offHeap, boolean compressed) {
+    this.shortcut = shortcut;
+    this.offHeap = offHeap;
+    this.compressed = compressed;
+  }
+
+  public boolean isOffHeap() {
+    return this.offHeap;
+  }
+
+  public boolean usesDisk() {
+    return this.shortcut == RegionShortcut.PARTITION_OVERFLOW
+        || this.shortcut == RegionShortcut.PARTITION_PERSISTENT;
+  }
+
+  /**
+   * Creates the region in the given cache.
+   *
+   * @param diskDir the directory of the disk store used by regions that overflow or persist
+   */
+  public <K, V> Region<K, V> createRegion(Cache cache, String name, File diskDir) {
+    RegionFactory<K, V> factory = cache.createRegionFactory(this.shortcut);
+    if (usesDisk()) {
+      diskDir.mkdirs();
+      cache.createDiskStoreFactory().setDiskDirs(new File[] {diskDir}).create(DISK_STORE_NAME);
+      factory.setDiskStoreName(DISK_STORE_NAME);
+    }
+    if (this.shortcut == RegionShortcut.PARTITION_OVERFLOW) {
+      factory.setEvictionAttributes(EvictionAttributes
+          .createLRUEntryAttributes(OVERFLOW_MAXIMUM_ENTRIES, EvictionAction.OVERFLOW_TO_DISK));
+    }
+    if (this.offHeap) {
+      factory.setOffHeap(true);
+    }
+    if (this.compressed) {
+      factory.setCompressor(SnappyCompressor.getDefaultInstance());
+    }
+    return factory.create(name);
+  }
+}
@@ -17,6 +17,8 @@ package org.apache.geode.cache;
 import java.io.File;
 import java.util.UUID;
 
+import org.apache.geode.compression.Compressor;
+
 /**
  * Provides disk storage for one or more regions. The regions in the same disk store will share the
  * same disk persistence attributes. A region without a disk store name belongs to the default disk
@@ -71,6 +73,16 @@ public interface DiskStore {
    */
   public boolean getAllowForceCompaction();
 
+  /**
+   * Returns the maximum rate, in bytes per second, at which this disk store compacts oplogs.
+   *
+   * @return the compaction rate limit in bytes per second; 0 if compaction is not throttled.
+   * @since Geode 1.1
+   */
+  public default long getCompactionRateLimit() {
+    return DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT;
+  }
+
   /**
    * Get the maximum size in megabytes a single oplog (operation log) file should be
    *
@@ -194,6 +206,16 @@ public interface DiskStore {
    */
   public float getDiskUsageCriticalPercentage();
 
+  /**
+   * Returns the compressor this disk store uses to compress the values it writes to its oplogs.
+   *
+   * @return the compressor; <code>null</code> if values are written uncompressed.
+   * @since Geode 1.1
+   */
+  public default Compressor getCompressor() {
+    return null;
+  }
+
   /**
    * Sets the value of the disk usage warning percentage.
    * 
@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache;
 
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.distributed.internal.DistributionConfig;
 
 import java.io.File;
@@ -116,6 +117,15 @@ public interface DiskStoreFactory {
    */
   public static final int[] DEFAULT_DISK_DIR_SIZES = new int[] {DEFAULT_DISK_DIR_SIZE};
 
+  /**
+   * The default compaction rate limit in bytes per second.
+   * <p>
+   * Current value: <code>0</code> which means compaction is not throttled.
+   *
+   * @since Geode 1.1
+   */
+  public static final long DEFAULT_COMPACTION_RATE_LIMIT = 0;
+
   /**
    * The default disk usage warning percentage.
    * <p>
@@ -161,6 +171,23 @@ public interface DiskStoreFactory {
    */
   public DiskStoreFactory setAllowForceCompaction(boolean allowForceCompaction);
 
+  /**
+   * Sets the maximum rate, in bytes per second, at which compaction copies live data forward to
+   * the current oplog. All the oplogs this disk store compacts at the same time share this rate.
+   * Limiting it keeps compaction from taking disk bandwidth away from the writes done by cache
+   * operations, at the cost of reclaiming garbage more slowly.
+   *
+   * @param bytesPerSecond the maximum compaction rate in bytes per second. If 0, compaction is not
+   *        throttled.
+   * @return a reference to <code>this</code>
+   * @throws IllegalArgumentException if <code>bytesPerSecond</code> is negative
+   * @throws UnsupportedOperationException if this factory does not support throttling compaction
+   * @since Geode 1.1
+   */
+  public default DiskStoreFactory setCompactionRateLimit(long bytesPerSecond) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Sets the maximum size in megabytes a single oplog (operation log) is allowed to be. When an
    * oplog is created this amount of file space will be immediately reserved.
@@ -246,6 +273,24 @@ public interface DiskStoreFactory {
    */
   public DiskStoreFactory setDiskUsageCriticalPercentage(float criticalPercent);
 
+  /**
+   * Sets the compressor this disk store uses to compress the value of each record it writes to its
+   * oplogs. A value is only written compressed if that makes it smaller. Values of regions that
+   * have their own {@link RegionAttributes#getCompressor() compressor} are usually already
+   * compressed and are then written as they are.
+   * <p>
+   * Once a disk store has written compressed values it must always be created with a compressor of
+   * the same class to be able to read them back.
+   *
+   * @param compressor the compressor, or <code>null</code> to write values uncompressed
+   * @return a reference to <code>this</code>
+   * @throws UnsupportedOperationException if this factory does not support compressing values
+   * @since Geode 1.1
+   */
+  public default DiskStoreFactory setCompressor(Compressor compressor) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Create a new disk store or find an existing one. In either case the returned disk store's
    * configuration will be the same as this factory's configuration.
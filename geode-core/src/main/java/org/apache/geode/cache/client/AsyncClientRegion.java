@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.geode.annotations.Experimental;
+import org.apache.geode.cache.Region;
+
+/**
+ * Operations on a {@link ClientRegionShortcut#PROXY proxy} client region that do not block the
+ * calling thread. Each operation returns a future that is completed once the server has replied,
+ * so an application can have many operations in flight without a thread for each of them.
+ * <p>
+ * When the pool pipelines operations on its connections, gets and puts are sent by the calling
+ * thread and their replies are read by a thread of the pool for each connection. Other operations,
+ * such as {@link #getAllAsync}, are run on a thread of the pool. So are gets and puts when
+ * pipelining is off, which it is by default, or when every pipelined connection is full, and each
+ * of them then takes the thread until the server has replied. Futures are completed by the pool's
+ * threads, so actions that depend on them should not block.
+ * <p>
+ * A pool has a bounded number of these threads, no more than its max connections, and a bounded
+ * queue of operations waiting for one. An operation that finds the queue full is not sent, and its
+ * future fails with a {@link java.util.concurrent.RejectedExecutionException}.
+ * <p>
+ * The operations go to the servers directly. They do not invoke the cache listeners or writers of
+ * the client region and cannot be done in a transaction.
+ * <p>
+ * Instances are obtained from {@link ClientCache#getAsyncRegion(Region)}.
+ *
+ * @since Geode 1.1
+ */
+@Experimental
+public interface AsyncClientRegion<K, V> {
+
+  /**
+   * Returns the client region this operates on.
+   */
+  public Region<K, V> getRegion();
+
+  /**
+   * Gets the value of the given key from the server.
+   *
+   * @return a future completed with the value, which is null if the server has no value for the
+   *         key
+   * @throws NullPointerException if the key is null
+   * @see Region#get(Object)
+   */
+  public CompletableFuture<V> getAsync(K key);
+
+  /**
+   * Gets the value of the given key from the server, passing the given argument to any cache
+   * loader the server invokes.
+   *
+   * @return a future completed with the value, which is null if the server has no value for the
+   *         key
+   * @throws NullPointerException if the key is null
+   * @see Region#get(Object, Object)
+   */
+  public CompletableFuture<V> getAsync(K key, Object aCallbackArgument);
+
+  /**
+   * Puts the given value for the given key on the server.
+   *
+   * @return a future completed once the server has done the put
+   * @throws NullPointerException if the key or the value is null
+   * @see Region#put(Object, Object)
+   */
+  public CompletableFuture<Void> putAsync(K key, V value);
+
+  /**
+   * Puts the given value for the given key on the server, passing the given argument to the cache
+   * callbacks the server invokes.
+   *
+   * @return a future completed once the server has done the put
+   * @throws NullPointerException if the key or the value is null
+   * @see Region#put(Object, Object, Object)
+   */
+  public CompletableFuture<Void> putAsync(K key, V value, Object aCallbackArgument);
+
+  /**
+   * Gets the values of the given keys from the servers.
+   *
+   * @return a future completed with a map of each key to its value, which is null if the server has
+   *         no value for the key
+   * @throws NullPointerException if the collection of keys is null
+   * @see Region#getAll(Collection)
+   */
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys);
+
+  /**
+   * Gets the values of the given keys from the servers, passing the given argument to any cache
+   * loader the servers invoke.
+   *
+   * @return a future completed with a map of each key to its value, which is null if the server has
+   *         no value for the key
+   * @throws NullPointerException if the collection of keys is null
+   * @see Region#getAll(Collection, Object)
+   */
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys,
+      Object aCallbackArgument);
+}
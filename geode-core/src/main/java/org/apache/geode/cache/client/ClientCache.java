@@ -19,6 +19,7 @@ import java.net.InetSocketAddress;
 import java.util.Properties;
 import java.util.Set;
 
+import org.apache.geode.annotations.Experimental;
 import org.apache.geode.cache.*;
 import org.apache.geode.cache.query.QueryService;
 
@@ -167,4 +168,18 @@ public interface ClientCache extends GemFireCache {
    */
   public Pool getDefaultPool();
 
+  /**
+   * Returns the operations on the given region that do not block the calling thread.
+   * 
+   * @param region a {@link ClientRegionShortcut#PROXY proxy} region of this cache
+   * @throws IllegalArgumentException if the region is not a proxy region that uses a pool, or its
+   *         pool uses multiuser authentication
+   * @throws UnsupportedOperationException if this cache does not support asynchronous operations
+   * @since Geode 1.1
+   */
+  @Experimental
+  public default <K, V> AsyncClientRegion<K, V> getAsyncRegion(Region<K, V> region) {
+    throw new UnsupportedOperationException();
+  }
+
 }
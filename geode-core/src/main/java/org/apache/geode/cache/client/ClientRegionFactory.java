@@ -14,6 +14,7 @@
  */
 package org.apache.geode.cache.client;
 
+import org.apache.geode.annotations.Experimental;
 import org.apache.geode.cache.AttributesFactory;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.CacheListener;
@@ -277,6 +278,24 @@ public interface ClientRegionFactory<K, V> {
    */
   public ClientRegionFactory<K, V> setCompressor(Compressor compressor);
 
+  /**
+   * Makes the region a near cache that holds at most the given number of entries, evicting the
+   * least recently used ones. Instead of the region registering interest in the keys it wants
+   * updates for, interest is registered in each key the first time a get misses it, with updates
+   * sent as invalidates, and unregistered once the key is evicted. The servers then only send the
+   * client invalidates for the keys it holds. The hits and misses of near cache regions are
+   * counted in the statistics of their pool.
+   * <p>
+   * The region must be a {@link ClientRegionShortcut#CACHING_PROXY caching proxy} and its pool
+   * must have {@link PoolFactory#setSubscriptionEnabled(boolean) subscriptions} enabled.
+   * 
+   * @param maxEntries the most entries the region holds
+   * @return a reference to this ClientRegionFactory object
+   * @since Geode 1.1
+   */
+  @Experimental
+  public ClientRegionFactory<K, V> setNearCache(int maxEntries);
+
   /**
    * Creates a region in the {@link ClientCache} using the configuration contained in this
    * ClientRegionFactory. Validation of the provided attributes may cause exceptions to be thrown if
@@ -17,6 +17,10 @@ package org.apache.geode.cache.client.internal;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -82,6 +86,13 @@ public abstract class AbstractOp implements Op {
    * @throws Exception if the send fails
    */
   protected void attemptSend(Connection cnx) throws Exception {
+    attemptSend(cnx, cnx.getCommBuffer());
+  }
+
+  /**
+   * Attempts to send this operation's message out on the given connection using the given buffer
+   */
+  void attemptSend(Connection cnx, ByteBuffer commBuffer) throws Exception {
     setMsgTransactionId();
     if (logger.isTraceEnabled(LogMarker.DISTRIBUTION_BRIDGE_SERVER)) {
       if (logger.isDebugEnabled()) {
@@ -89,7 +100,7 @@ public abstract class AbstractOp implements Op {
       }
     }
     getMessage().setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
-        cnx.getCommBuffer(), cnx.getStats());
+        commBuffer, cnx.getStats());
     try {
       sendMessage(cnx);
     } finally {
@@ -392,6 +403,94 @@ public abstract class AbstractOp implements Op {
     }
   }
 
+  /**
+   * Attempts this operation on a connection other threads may have operations in flight on.
+   *
+   * @see ConnectionPipeline
+   */
+  Object attemptPipelined(ConnectionImpl cnx, ConnectionPipeline pipeline) throws Exception {
+    this.failed = true;
+    this.timedOut = false;
+    long start = startAttempt(cnx.getStats());
+    try {
+      long ticket;
+      try {
+        ticket = pipeline.send(this, cnx);
+        this.failed = false;
+      } finally {
+        endSendAttempt(cnx.getStats(), start);
+      }
+      this.failed = true;
+      Message msg;
+      try {
+        msg = pipeline.receive(this, cnx, ticket);
+      } catch (SocketTimeoutException ste) {
+        this.failed = false;
+        this.timedOut = true;
+        throw ste;
+      }
+      Object result = processResponse(msg, cnx);
+      this.failed = false;
+      return result;
+    } finally {
+      endAttempt(cnx.getStats(), start);
+    }
+  }
+
+  /**
+   * Sends this operation on a connection other threads may have operations in flight on without
+   * waiting for the reply. The response is processed by the thread that reads the reply.
+   *
+   * @param replyReader runs the task that reads the reply
+   * @return a future completed with the result of this operation
+   * @see ConnectionPipeline#sendAsync
+   */
+  CompletableFuture<Object> attemptAsync(final ConnectionImpl cnx, ConnectionPipeline pipeline,
+      Executor replyReader) {
+    this.failed = true;
+    this.timedOut = false;
+    final long start = startAttempt(cnx.getStats());
+    final CompletableFuture<Object> result = new CompletableFuture<Object>();
+    CompletableFuture<Message> reply;
+    try {
+      try {
+        reply = pipeline.sendAsync(this, cnx, replyReader);
+        this.failed = false;
+      } finally {
+        endSendAttempt(cnx.getStats(), start);
+      }
+    } catch (Exception e) {
+      endAttempt(cnx.getStats(), start);
+      result.completeExceptionally(e);
+      return result;
+    }
+    this.failed = true;
+    reply.whenComplete(new BiConsumer<Message, Throwable>() {
+      public void accept(Message msg, Throwable failure) {
+        Object value = null;
+        try {
+          if (failure == null) {
+            value = processResponse(msg, cnx);
+            failed = false;
+          } else if (failure instanceof SocketTimeoutException) {
+            failed = false;
+            timedOut = true;
+          }
+        } catch (Exception e) {
+          failure = e;
+        } finally {
+          endAttempt(cnx.getStats(), start);
+        }
+        if (failure == null) {
+          result.complete(value);
+        } else {
+          result.completeExceptionally(failure);
+        }
+      }
+    });
+    return result;
+  }
+
   protected final boolean hasFailed() {
     return this.failed;
   }
@@ -437,6 +536,18 @@ public abstract class AbstractOp implements Op {
     return true;
   }
 
+  /**
+   * Subclasses should override this method to return true if this operation can have its request
+   * sent while other operations on the same connection are waiting for their replies. Such an
+   * operation must read a single reply message using the default {@link #attemptReadResponse}.
+   *
+   * @return true if this operation can be pipelined
+   * @see ConnectionPipeline
+   */
+  protected boolean isPipelineable() {
+    return false;
+  }
+
   public boolean isGatewaySenderOp() {
     return false;
   }
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.client.AsyncClientRegion;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+
+/**
+ * Does the operations of an {@link AsyncClientRegion} with the {@link ServerRegionProxy} of a
+ * client region.
+ *
+ * @since Geode 1.1
+ */
+public class AsyncClientRegionImpl<K, V> implements AsyncClientRegion<K, V> {
+
+  private static final Function<Object, Void> TO_VOID = new Function<Object, Void>() {
+    public Void apply(Object result) {
+      return null;
+    }
+  };
+
+  private final LocalRegion region;
+
+  private final ServerRegionProxy proxy;
+
+  public AsyncClientRegionImpl(Region<K, V> region) {
+    if (!(region instanceof LocalRegion) || ((LocalRegion) region).getServerProxy() == null
+        || region.getAttributes().getDataPolicy() != DataPolicy.EMPTY) {
+      throw new IllegalArgumentException(
+          "Region " + region.getFullPath() + " is not a proxy region that uses a pool");
+    }
+    this.region = (LocalRegion) region;
+    this.proxy = this.region.getServerProxy();
+    if (this.proxy.getPool().getMultiuserAuthentication()) {
+      throw new IllegalArgumentException("Region " + region.getFullPath()
+          + " uses a pool with multiuser authentication, which async operations do not support");
+    }
+  }
+
+  public Region<K, V> getRegion() {
+    return this.region;
+  }
+
+  public CompletableFuture<V> getAsync(K key) {
+    return getAsync(key, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<V> getAsync(K key, Object aCallbackArgument) {
+    checkKey(key);
+    checkReady();
+    return (CompletableFuture<V>) (CompletableFuture<?>) this.proxy.getAsync(key,
+        aCallbackArgument);
+  }
+
+  public CompletableFuture<Void> putAsync(K key, V value) {
+    return putAsync(key, value, null);
+  }
+
+  public CompletableFuture<Void> putAsync(K key, V value, Object aCallbackArgument) {
+    checkKey(key);
+    if (value == null) {
+      throw new NullPointerException(
+          LocalizedStrings.LocalRegion_VALUE_MUST_NOT_BE_NULL.toLocalizedString());
+    }
+    checkReady();
+    return this.proxy.putAsync(key, value, aCallbackArgument).thenApply(TO_VOID);
+  }
+
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys) {
+    return getAllAsync(keys, null);
+  }
+
+  @SuppressWarnings("unchecked")
+  public CompletableFuture<Map<K, V>> getAllAsync(Collection<? extends K> keys,
+      Object aCallbackArgument) {
+    if (keys == null) {
+      throw new NullPointerException("The collection of keys for getAll cannot be null");
+    }
+    checkReady();
+    if (keys.isEmpty()) {
+      return CompletableFuture.<Map<K, V>>completedFuture(new HashMap<K, V>());
+    }
+    return (CompletableFuture<Map<K, V>>) (CompletableFuture<?>) this.proxy
+        .getAllAsync(new ArrayList<Object>(keys), aCallbackArgument);
+  }
+
+  private static void checkKey(Object key) {
+    if (key == null) {
+      throw new NullPointerException(
+          LocalizedStrings.LocalRegion_KEY_CANNOT_BE_NULL.toLocalizedString());
+    }
+  }
+
+  private void checkReady() {
+    this.region.checkReadiness();
+    if (this.region.getCache().getTxManager().getTXState() != null) {
+      throw new UnsupportedOperationException(
+          "Asynchronous operations cannot be done in a transaction");
+    }
+  }
+}
@@ -14,9 +14,14 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.io.IOException;
+
+import org.apache.geode.InternalGemFireError;
 import org.apache.geode.cache.AttributesFactory;
 import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.CustomExpiry;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.EvictionAction;
 import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.ExpirationAttributes;
 import org.apache.geode.cache.InterestPolicy;
@@ -28,8 +33,10 @@ import org.apache.geode.cache.SubscriptionAttributes;
 import org.apache.geode.cache.client.ClientRegionFactory;
 import org.apache.geode.cache.client.ClientRegionShortcut;
 import org.apache.geode.cache.client.Pool;
+import org.apache.geode.cache.client.PoolManager;
 import org.apache.geode.compression.Compressor;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.InternalRegionArguments;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.UserSpecifiedRegionAttributes;
 
@@ -43,6 +50,9 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
   private final AttributesFactory<K, V> attrsFactory;
   private final GemFireCacheImpl cache;
 
+  /** true if {@link #setNearCache(int)} was called */
+  private boolean nearCache;
+
   /**
    * Constructs a ClientRegionFactory by creating a DistributedSystem and a Cache. If no
    * DistributedSystem exists it creates a loner DistributedSystem, otherwise it uses the existing
@@ -203,17 +213,53 @@ public class ClientRegionFactoryImpl<K, V> implements ClientRegionFactory<K, V>
     return this;
   }
 
+  public ClientRegionFactory<K, V> setNearCache(int maxEntries) {
+    this.attrsFactory.setEvictionAttributes(
+        EvictionAttributes.createLRUEntryAttributes(maxEntries, EvictionAction.LOCAL_DESTROY));
+    this.nearCache = true;
+    return this;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public Region<K, V> create(String name) throws RegionExistsException {
-    return getCache().basicCreateRegion(name, createRegionAttributes());
+    RegionAttributes<K, V> ra = createRegionAttributes();
+    if (!this.nearCache) {
+      return getCache().basicCreateRegion(name, ra);
+    }
+    validateNearCache(ra);
+    return getCache().basicCreateRegion(name, ra, new InternalRegionArguments().setNearCache(true));
   }
 
   @SuppressWarnings("unchecked")
   @Override
   public Region<K, V> createSubregion(Region<?, ?> parent, String name)
       throws RegionExistsException {
-    return ((LocalRegion) parent).createSubregion(name, createRegionAttributes());
+    RegionAttributes<K, V> ra = createRegionAttributes();
+    if (!this.nearCache) {
+      return ((LocalRegion) parent).createSubregion(name, ra);
+    }
+    validateNearCache(ra);
+    try {
+      return ((LocalRegion) parent).createSubregion(name, ra, new InternalRegionArguments()
+          .setDestroyLockFlag(true).setRecreateFlag(false).setNearCache(true));
+    } catch (IOException | ClassNotFoundException e) {
+      // only happens when loading a snapshot, not here
+      throw new InternalGemFireError(e);
+    }
+  }
+
+  private void validateNearCache(RegionAttributes<K, V> ra) {
+    if (ra.getDataPolicy() != DataPolicy.NORMAL) {
+      throw new IllegalStateException(
+          "A near cache region must be a caching proxy but its data policy is "
+              + ra.getDataPolicy());
+    }
+    Pool pool = PoolManager.find(ra.getPoolName());
+    if (pool == null || !pool.getSubscriptionEnabled()) {
+      throw new IllegalStateException("A near cache region must use a pool with subscriptions"
+          + " enabled but pool " + ra.getPoolName() + " does not enable them");
+    }
   }
 
   @SuppressWarnings("deprecation")
@@ -20,6 +20,8 @@ import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.logging.log4j.Logger;
@@ -35,6 +37,7 @@ import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.ServerLocation;
 import org.apache.geode.internal.net.SocketCreator;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.tier.Acceptor;
 import org.apache.geode.internal.cache.tier.sockets.HandShake;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
 import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
@@ -64,6 +67,8 @@ public class ConnectionImpl implements Connection {
   private Socket theSocket;
   private ByteBuffer commBuffer;
   private ByteBuffer commBufferForAsyncRead;
+  private ByteBuffer commBufferForPipelinedSend;
+  private ConnectionPipeline pipeline;
   // private int handShakeTimeout = AcceptorImpl.DEFAULT_HANDSHAKE_TIMEOUT_MS;
   private ServerQueueStatus status;
   private volatile boolean connectFinished;
@@ -108,6 +113,11 @@ public class ConnectionImpl implements Connection {
     if (sender != null) {
       commBufferForAsyncRead = ServerConnection.allocateCommBuffer(socketBufferSize, theSocket);
     }
+    if (communicationMode == Acceptor.CLIENT_TO_SERVER && ConnectionPipeline.isEnabled()) {
+      commBufferForPipelinedSend =
+          ServerConnection.allocateCommBuffer(socketBufferSize, theSocket);
+      pipeline = new ConnectionPipeline();
+    }
     theSocket.setSoTimeout(readTimeout);
     endpoint = endpointManager.referenceEndpoint(location, this.status.getMemberId());
     // logger.warning("ESTABLISHING ENDPOINT:"+location+" MEMBERID:"+endpoint.getMemberId(),new
@@ -147,6 +157,7 @@ public class ConnectionImpl implements Connection {
 
   public void emergencyClose() {
     commBuffer = null;
+    commBufferForPipelinedSend = null;
     try {
       theSocket.close();
     } catch (IOException e) {
@@ -166,6 +177,9 @@ public class ConnectionImpl implements Connection {
       return;
     }
 
+    if (this.pipeline != null) {
+      this.pipeline.close();
+    }
     if (endpoint != null) {
       if (this.connectFinished) {
         endpoint.getStats().incConnections(-1);
@@ -197,6 +211,11 @@ public class ConnectionImpl implements Connection {
       this.commBufferForAsyncRead = null;
       ServerConnection.releaseCommBuffer(bb);
     }
+    bb = this.commBufferForPipelinedSend;
+    if (bb != null) {
+      this.commBufferForPipelinedSend = null;
+      ServerConnection.releaseCommBuffer(bb);
+    }
   }
 
   public ByteBuffer getCommBuffer() throws SocketException {
@@ -252,6 +271,40 @@ public class ConnectionImpl implements Connection {
       endpoint.updateLastExecute();
       return result;
     }
+    if (this.pipeline != null) {
+      if (ConnectionPipeline.canPipeline(op, this)) {
+        result = ((AbstractOp) op).attemptPipelined(this, this.pipeline);
+        endpoint.updateLastExecute();
+        return result;
+      }
+      this.pipeline.beginExclusive();
+      try {
+        return attempt(op);
+      } finally {
+        this.pipeline.endExclusive();
+      }
+    }
+    return attempt(op);
+  }
+
+  /**
+   * Sends the given op without waiting for its reply if it can be pipelined on this connection.
+   *
+   * @param replyReader runs the task that reads the reply
+   * @return a future completed with the result of the op, or null if the op cannot be sent this way
+   */
+  CompletableFuture<Object> executeAsync(Op op, Executor replyReader) {
+    if (this.pipeline == null || !ConnectionPipeline.canPipeline(op, this)) {
+      return null;
+    }
+    CompletableFuture<Object> result =
+        ((AbstractOp) op).attemptAsync(this, this.pipeline, replyReader);
+    endpoint.updateLastExecute();
+    return result;
+  }
+
+  private Object attempt(Op op) throws Exception {
+    Object result;
     synchronized (this) {
       if (op instanceof ExecuteFunctionOpImpl || op instanceof ExecuteRegionFunctionOpImpl
           || op instanceof ExecuteRegionFunctionSingleHopOpImpl) {
@@ -268,7 +321,6 @@ public class ConnectionImpl implements Connection {
     }
     endpoint.updateLastExecute();
     return result;
-
   }
 
 
@@ -321,6 +373,17 @@ public class ConnectionImpl implements Connection {
     return commBufferForAsyncRead;
   }
 
+  /**
+   * Returns the buffer requests are written with when ops are pipelined on this connection, leaving
+   * the comm buffer to the thread reading a reply.
+   */
+  ByteBuffer getCommBufferForPipelinedSend() throws SocketException {
+    if (isDestroyed()) {
+      throw new SocketException("socket was closed");
+    }
+    return commBufferForPipelinedSend;
+  }
+
   private void verifySocketBufferSize(int requestedBufferSize, int actualBufferSize, String type) {
     if (actualBufferSize < requestedBufferSize) {
       logger.info(LocalizedMessage.create(
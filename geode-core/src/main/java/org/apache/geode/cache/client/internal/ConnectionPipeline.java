@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.geode.cache.client.internal.pooling.ConnectionDestroyedException;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+
+/**
+ * Lets several threads have ops in flight on one {@link ConnectionImpl} at the same time. A thread
+ * sends its request as soon as no other thread is sending, without waiting for the replies to the
+ * requests sent before it. The server handles the requests of a connection one at a time, so the
+ * replies come back in the order the requests were sent and each thread reads its own reply once
+ * the replies before it have been read.
+ *
+ * If reading a reply fails the replies after it can no longer be found, so the pipeline is broken
+ * and the ops still waiting on it fail with a {@link ConnectionDestroyedException}, which makes the
+ * executor retry them on another connection.
+ *
+ * Ops sent with {@link #sendAsync} do not wait for their replies. Their replies are read, in turn
+ * with the replies of the other ops, by a task that runs on the given executor while any of them is
+ * pending, so a connection only takes a thread while it has async ops in flight.
+ *
+ * @since Geode 1.1
+ */
+class ConnectionPipeline {
+
+  /**
+   * The most ops a pooled connection can have in flight at once. Pipelining is off if this is less
+   * than 2.
+   */
+  static final int PIPELINE_DEPTH =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.PIPELINE_DEPTH", 0);
+
+  static boolean isEnabled() {
+    return PIPELINE_DEPTH > 1;
+  }
+
+  /**
+   * Returns true if the given op can be pipelined on the given connection. Pipelined ops must have a
+   * single reply message and the server must not require credentials, since the security part of
+   * each reply changes the connection id used by the next request.
+   */
+  static boolean canPipeline(Op op, Connection cnx) {
+    return op instanceof AbstractOp && ((AbstractOp) op).isPipelineable()
+        && !cnx.getServer().getRequiresCredentials();
+  }
+
+  /** held by the thread sending a request */
+  private final ReentrantLock sendLock = new ReentrantLock();
+
+  /** the number of requests sent; guarded by sendLock */
+  private long sent;
+
+  /** the number of replies read; guarded by this */
+  private long received;
+
+  /** guarded by this */
+  private boolean broken;
+
+  /** the replies of ops sent with sendAsync that have not been read yet; guarded by this */
+  private final ArrayDeque<PendingReply> pendingReplies = new ArrayDeque<PendingReply>();
+
+  /** true while a task is reading the pending replies; guarded by this */
+  private boolean readingReplies;
+
+  /**
+   * Sends the request of the given op on the given connection.
+   *
+   * @return the position of the op's reply among the replies of the connection
+   */
+  long send(AbstractOp op, ConnectionImpl cnx) throws Exception {
+    this.sendLock.lock();
+    try {
+      checkBroken();
+      boolean sentRequest = false;
+      try {
+        op.attemptSend(cnx, cnx.getCommBufferForPipelinedSend());
+        sentRequest = true;
+      } finally {
+        if (!sentRequest) {
+          // part of the request may have been written
+          close();
+        }
+      }
+      return this.sent++;
+    } finally {
+      this.sendLock.unlock();
+    }
+  }
+
+  /**
+   * Sends the request of the given op on the given connection without waiting for its reply.
+   *
+   * @param replyReader runs the task that reads the reply if no task is reading replies already
+   * @return a future completed with the reply of the op once it has been read
+   */
+  CompletableFuture<Message> sendAsync(AbstractOp op, ConnectionImpl cnx, Executor replyReader)
+      throws Exception {
+    this.sendLock.lock();
+    try {
+      PendingReply reply = new PendingReply(op, cnx, send(op, cnx));
+      boolean startReading;
+      synchronized (this) {
+        this.pendingReplies.add(reply);
+        startReading = !this.readingReplies;
+        this.readingReplies = true;
+      }
+      if (startReading) {
+        try {
+          replyReader.execute(new Runnable() {
+            public void run() {
+              readReplies();
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // the pool is being closed, or all its async threads are busy and their queue is full
+          readReplies();
+        }
+      }
+      return reply.future;
+    } finally {
+      this.sendLock.unlock();
+    }
+  }
+
+  /**
+   * Reads the pending replies in the order their requests were sent until none are left. A reply
+   * is read once the ops sent before it have read theirs, which ops that wait for their own replies
+   * do themselves.
+   */
+  private void readReplies() {
+    while (true) {
+      PendingReply reply;
+      synchronized (this) {
+        reply = this.pendingReplies.poll();
+        if (reply == null) {
+          this.readingReplies = false;
+          return;
+        }
+      }
+      Message msg;
+      try {
+        msg = receive(reply.op, reply.cnx, reply.ticket);
+      } catch (Exception e) {
+        reply.future.completeExceptionally(e);
+        continue;
+      }
+      reply.future.complete(msg);
+    }
+  }
+
+  /**
+   * Waits until the replies before the given one have been read and then reads the reply of the
+   * given op.
+   */
+  Message receive(AbstractOp op, ConnectionImpl cnx, long ticket) throws Exception {
+    awaitTurn(ticket);
+    boolean receivedReply = false;
+    try {
+      Message msg = op.createResponseMessage();
+      msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
+          cnx.getCommBuffer(), cnx.getStats());
+      try {
+        msg.recv();
+      } finally {
+        msg.unsetComms();
+      }
+      receivedReply = true;
+      return msg;
+    } finally {
+      endTurn(receivedReply);
+    }
+  }
+
+  /**
+   * Waits until every op in flight has read its reply and keeps other threads from sending until
+   * {@link #endExclusive} is called, so an op that cannot be pipelined can use the connection as if
+   * it had it to itself.
+   */
+  void beginExclusive() {
+    this.sendLock.lock();
+    try {
+      checkBroken();
+      awaitTurn(this.sent++);
+    } catch (RuntimeException e) {
+      this.sendLock.unlock();
+      throw e;
+    }
+  }
+
+  void endExclusive() {
+    try {
+      endTurn(true);
+    } finally {
+      this.sendLock.unlock();
+    }
+  }
+
+  /**
+   * Fails the ops waiting on this pipeline and any op that tries to use it later.
+   */
+  synchronized void close() {
+    this.broken = true;
+    notifyAll();
+  }
+
+  private synchronized void checkBroken() {
+    if (this.broken) {
+      throw new ConnectionDestroyedException("pipelined connection was closed");
+    }
+  }
+
+  private synchronized void awaitTurn(long ticket) {
+    boolean interrupted = false;
+    try {
+      while (this.received != ticket && !this.broken) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          // the ops after this one cannot read their replies if this one gives up its turn
+          interrupted = true;
+          close();
+        }
+      }
+      checkBroken();
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private synchronized void endTurn(boolean success) {
+    if (!success) {
+      this.broken = true;
+    }
+    this.received++;
+    notifyAll();
+  }
+
+  private static class PendingReply {
+    final AbstractOp op;
+
+    final ConnectionImpl cnx;
+
+    final long ticket;
+
+    final CompletableFuture<Message> future = new CompletableFuture<Message>();
+
+    PendingReply(AbstractOp op, ConnectionImpl cnx, long ticket) {
+      this.op = op;
+      this.cnx = cnx;
+      this.ticket = ticket;
+    }
+  }
+}
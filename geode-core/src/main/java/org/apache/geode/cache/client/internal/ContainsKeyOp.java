@@ -71,6 +71,11 @@ public class ContainsKeyOp {
       return msgType == MessageType.CONTAINS_KEY_DATA_ERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startContainsKey();
@@ -244,6 +244,11 @@ public class DestroyOp {
       return msgType == MessageType.DESTROY_DATA_ERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startDestroy();
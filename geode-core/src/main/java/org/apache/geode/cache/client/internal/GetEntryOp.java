@@ -64,6 +64,11 @@ public class GetEntryOp {
       return msgType == MessageType.REQUESTDATAERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startGetEntry();
@@ -14,6 +14,8 @@
  */
 package org.apache.geode.cache.client.internal;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.CacheClosedException;
@@ -92,6 +94,19 @@ public class GetOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region get on a server without blocking the calling thread. The get is not routed to
+   * the server hosting the key's bucket.
+   *
+   * @return a future completed with the value of the entry
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object callbackArg) {
+    if (logger.isDebugEnabled()) {
+      logger.debug("GetOp invoked asynchronously for key {}", key);
+    }
+    return pool.executeAsync(new GetOpImpl(region, key, callbackArg, false, null));
+  }
 
   private GetOp() {
     // no instances allowed
@@ -217,6 +232,11 @@ public class GetOp {
       return msgType == MessageType.REQUESTDATAERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startGet();
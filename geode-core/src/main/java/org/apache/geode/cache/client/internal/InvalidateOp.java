@@ -104,6 +104,11 @@ public class InvalidateOp {
       return msgType == MessageType.INVALIDATE_ERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startInvalidate();
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.cache.InterestResultPolicy;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Keeps the interest of a near cache region in step with the keys it holds. The first time a get
+ * misses a key, interest is registered in the key with updates sent as invalidates, which also
+ * loads its value from the servers. When the region evicts a key the interest in it is unregistered
+ * a little later, together with the other keys evicted meanwhile, so the servers only send the
+ * client invalidates for the keys it holds. Keys the region destroys, whether the destroy came
+ * from the servers, from a local destroy or from expiration, keys the region clears and keys the
+ * servers turn out to have no value for are unregistered the same way.
+ *
+ * A miss on a key the servers have no value for takes two round trips, one to register interest
+ * and one for the get that may have the servers load the value.
+ *
+ * @since Geode 1.1
+ */
+public class NearCache {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * How long, in milliseconds, the keys a near cache region evicts are kept registered before the
+   * interest in them is unregistered.
+   */
+  static final long UNREGISTER_DELAY =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "NearCache.UNREGISTER_DELAY", 1000);
+
+  private final LocalRegion region;
+
+  private final PoolImpl pool;
+
+  private final PoolStats stats;
+
+  /** the keys interest is registered in; guarded by this */
+  private final Set<Object> registeredKeys = new HashSet<Object>();
+
+  /** the keys evicted since interest was last unregistered; guarded by this */
+  private final Set<Object> evictedKeys = new HashSet<Object>();
+
+  /**
+   * the keys interest is being unregistered in; a get missing one of them waits until it is done
+   * before registering the key again. Guarded by this.
+   */
+  private final Set<Object> unregisteringKeys = new HashSet<Object>();
+
+  /** guarded by this */
+  private boolean unregisterScheduled;
+
+  public NearCache(LocalRegion region, PoolImpl pool) {
+    this.region = region;
+    this.pool = pool;
+    this.stats = pool.getStats();
+  }
+
+  public void recordHit() {
+    this.stats.incNearCacheHits();
+  }
+
+  /**
+   * Records a get that did not find a value for the given key in the region, and registers
+   * interest in the key if it is not registered already.
+   *
+   * @return true if interest was registered, in which case the value of the key has been loaded
+   *         into the region if the servers have one
+   */
+  public boolean recordMiss(Object key) {
+    this.stats.incNearCacheMisses();
+    synchronized (this) {
+      boolean interrupted = false;
+      try {
+        while (this.unregisteringKeys.contains(key)) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      if (this.evictedKeys.remove(key)) {
+        // the servers still send invalidates for it
+        this.registeredKeys.add(key);
+        return false;
+      }
+      if (!this.registeredKeys.add(key)) {
+        return false;
+      }
+    }
+    boolean registered = false;
+    try {
+      this.region.registerInterest(key, InterestResultPolicy.KEYS_VALUES, false, false);
+      registered = true;
+    } finally {
+      if (!registered) {
+        synchronized (this) {
+          this.registeredKeys.remove(key);
+        }
+      }
+    }
+    this.stats.incNearCacheKeys(1);
+    return true;
+  }
+
+  /**
+   * Called when a get that registered interest in the given key found no value for it, neither in
+   * what registering interest loaded nor from the servers. The region holds no value the servers
+   * need to invalidate, so the interest is unregistered as if the key had been evicted.
+   */
+  public void notFound(Object key) {
+    evicted(key);
+  }
+
+  /**
+   * Called once the region has evicted or destroyed the given key.
+   */
+  public void evicted(Object key) {
+    synchronized (this) {
+      if (!this.registeredKeys.remove(key)) {
+        return;
+      }
+      this.evictedKeys.add(key);
+      if (this.unregisterScheduled) {
+        return;
+      }
+      this.unregisterScheduled = true;
+    }
+    scheduleUnregister();
+  }
+
+  /**
+   * Called once the region has been cleared, which removes every key interest is registered in.
+   */
+  public void cleared() {
+    synchronized (this) {
+      if (this.registeredKeys.isEmpty()) {
+        return;
+      }
+      this.evictedKeys.addAll(this.registeredKeys);
+      this.registeredKeys.clear();
+      if (this.unregisterScheduled) {
+        return;
+      }
+      this.unregisterScheduled = true;
+    }
+    scheduleUnregister();
+  }
+
+  private void scheduleUnregister() {
+    try {
+      this.pool.getBackgroundProcessor().schedule(new Runnable() {
+        public void run() {
+          unregisterEvicted();
+        }
+      }, UNREGISTER_DELAY, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      // the pool is being destroyed
+    }
+  }
+
+  private void unregisterEvicted() {
+    List<Object> keys;
+    synchronized (this) {
+      this.unregisterScheduled = false;
+      if (this.evictedKeys.isEmpty() || this.region.isDestroyed()) {
+        return;
+      }
+      keys = new ArrayList<Object>(this.evictedKeys);
+      this.evictedKeys.clear();
+      this.unregisteringKeys.addAll(keys);
+    }
+    // the lock is not held across the round trip; a get missing one of these keys waits on
+    // unregisteringKeys so that it registers the key again after it has been unregistered
+    try {
+      this.region.unregisterInterest(keys);
+    } catch (CancelException e) {
+      return;
+    } catch (RuntimeException e) {
+      // the servers keep sending invalidates for these keys
+      if (logger.isDebugEnabled()) {
+        logger.debug("Unable to unregister interest in {} evicted keys of {}", keys.size(),
+            this.region.getFullPath(), e);
+      }
+    } finally {
+      synchronized (this) {
+        this.unregisteringKeys.removeAll(keys);
+        notifyAll();
+      }
+    }
+    this.stats.incNearCacheKeys(-keys.size());
+  }
+}
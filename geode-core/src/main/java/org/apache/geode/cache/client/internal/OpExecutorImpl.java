@@ -51,6 +51,11 @@ import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.BufferUnderflowException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
 
 /**
  * Called from the client and execute client to server requests against servers. Handles retrying to
@@ -80,6 +85,10 @@ public class OpExecutorImpl implements ExecutablePool {
   private final RegisterInterestTracker riTracker;
   private final QueueManager queueManager;
   private final CancelCriterion cancelCriterion;
+  /**
+   * lends connections to several threads at once when ops are pipelined; null if they are not
+   */
+  private final PipelinedConnections pipelinedConnections;
   private /* final */ PoolImpl pool;
   private final ThreadLocal<Boolean> serverAffinity = new ThreadLocal<Boolean>() {
     @Override
@@ -100,6 +109,18 @@ public class OpExecutorImpl implements ExecutablePool {
       EndpointManager endpointManager, RegisterInterestTracker riTracker, int retryAttempts,
       long serverTimeout, boolean threadLocalConnections, CancelCriterion cancelCriterion,
       PoolImpl pool) {
+    this(manager, queueManager, endpointManager, riTracker, retryAttempts, serverTimeout,
+        threadLocalConnections, cancelCriterion, pool, ConnectionPipeline.PIPELINE_DEPTH);
+  }
+
+  /**
+   * @param pipelineDepth the most ops a pooled connection can have in flight at once, or less than
+   *        2 to not pipeline ops
+   */
+  OpExecutorImpl(ConnectionManager manager, QueueManager queueManager,
+      EndpointManager endpointManager, RegisterInterestTracker riTracker, int retryAttempts,
+      long serverTimeout, boolean threadLocalConnections, CancelCriterion cancelCriterion,
+      PoolImpl pool, int pipelineDepth) {
     this.connectionManager = manager;
     this.queueManager = queueManager;
     this.endpointManager = endpointManager;
@@ -109,6 +130,12 @@ public class OpExecutorImpl implements ExecutablePool {
     this.threadLocalConnections = threadLocalConnections;
     this.cancelCriterion = cancelCriterion;
     this.pool = pool;
+    if (pipelineDepth > 1 && !threadLocalConnections) {
+      this.pipelinedConnections =
+          new PipelinedConnections(manager, PipelinedConnections.MAX_CONNECTIONS, pipelineDepth);
+    } else {
+      this.pipelinedConnections = null;
+    }
   }
 
   public Object execute(Op op) {
@@ -127,6 +154,27 @@ public class OpExecutorImpl implements ExecutablePool {
       }
       return executeWithServerAffinity(loc, op);
     }
+    if (isPipelineable(op)) {
+      Connection conn = this.pipelinedConnections.acquire(null, serverTimeout, false);
+      if (conn != null) {
+        boolean success = false;
+        try {
+          authenticateIfRequired(conn, op);
+          Object result = executeWithPossibleReAuthentication(conn, op);
+          success = true;
+          return result;
+        } catch (Exception e) {
+          // throws if the op should not be retried
+          handleException(e, conn, 0, retries == 0);
+          ((AbstractOp) op).getMessage().setIsRetry();
+          if (retries > 0) {
+            retries--;
+          }
+        } finally {
+          this.pipelinedConnections.release(conn, success);
+        }
+      }
+    }
     boolean success = false;
 
     Set attemptedServers = new HashSet();
@@ -314,6 +362,103 @@ public class OpExecutorImpl implements ExecutablePool {
     return retVal;
   }
 
+  /**
+   * Executes the given op without blocking the calling thread. An op that can be pipelined is sent
+   * on a pipelined connection and its reply is read by a task run on the given executor. Any other
+   * op, an op that finds no pipelined connection free, or an op whose pipelined attempt failed, is
+   * executed by a task run on the given executor as {@link #execute(Op)} would execute it. If the
+   * executor rejects that task the future fails with the RejectedExecutionException.
+   *
+   * @return a future completed with the result of the op
+   */
+  CompletableFuture<Object> executeAsync(final Op op, final Executor executor) {
+    if (isPipelineable(op) && !this.serverAffinity.get()) {
+      Connection conn = null;
+      try {
+        // do not wait for a connection to be returned to the pool
+        conn = this.pipelinedConnections.acquire(null, 0, false);
+      } catch (ServerConnectivityException e) {
+        // executing the op the usual way waits for a connection or fails it
+      }
+      if (conn != null) {
+        CompletableFuture<Object> attempt = null;
+        Connection impl = this.connectionManager.getConnection(conn);
+        if (impl instanceof ConnectionImpl && !conn.isDestroyed()) {
+          attempt = ((ConnectionImpl) impl).executeAsync(op, executor);
+        }
+        if (attempt != null) {
+          return retryIfFailed(attempt, conn, op, executor);
+        }
+        this.pipelinedConnections.release(conn, true);
+      }
+    }
+    final CompletableFuture<Object> result = new CompletableFuture<Object>();
+    executeAsync(executor, result, new Callable<Object>() {
+      public Object call() {
+        return execute(op);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Returns a future completed with the result of the given pipelined attempt, or with the result
+   * of executing the op again as {@link #execute(Op, int)} would if the attempt fails.
+   */
+  private CompletableFuture<Object> retryIfFailed(CompletableFuture<Object> attempt,
+      final Connection conn, final Op op, final Executor executor) {
+    final CompletableFuture<Object> result = new CompletableFuture<Object>();
+    attempt.whenComplete(new BiConsumer<Object, Throwable>() {
+      public void accept(Object value, final Throwable failure) {
+        if (failure == null) {
+          pipelinedConnections.release(conn, true);
+          result.complete(value);
+          return;
+        }
+        // handling the failure may block, so the thread reading replies does not do it
+        executeAsync(executor, result, new Callable<Object>() {
+          public Object call() {
+            try {
+              // throws if the op should not be retried
+              handleException(failure, conn, 0, retryAttempts == 0);
+            } finally {
+              pipelinedConnections.release(conn, false);
+            }
+            ((AbstractOp) op).getMessage().setIsRetry();
+            return execute(op, retryAttempts > 0 ? retryAttempts - 1 : retryAttempts);
+          }
+        });
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Runs the given task on the given executor and completes the given future with its result.
+   */
+  static <T> void executeAsync(Executor executor, final CompletableFuture<T> result,
+      final Callable<T> task) {
+    try {
+      executor.execute(new Runnable() {
+        public void run() {
+          try {
+            result.complete(task.call());
+          } catch (VirtualMachineError err) {
+            SystemFailure.initiateFailure(err);
+            // If this ever returns, rethrow the error. We're poisoned
+            // now, so don't let this thread continue.
+            throw err;
+          } catch (Throwable t) {
+            SystemFailure.checkFailure();
+            result.completeExceptionally(t);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(e);
+    }
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -364,6 +509,14 @@ public class OpExecutorImpl implements ExecutablePool {
         }
       }
     }
+    boolean pipelined = false;
+    if (conn == null && isPipelineable(op)) {
+      conn = this.pipelinedConnections.acquire(server, serverTimeout, onlyUseExistingCnx);
+      if (conn != null) {
+        pipelined = true;
+        returnCnx = false;
+      }
+    }
     if (conn == null) {
       if (useThreadLocalConnection(op, pingOp)) {
         // no need to set threadLocal to null while the op is in progress since
@@ -400,6 +553,9 @@ public class OpExecutorImpl implements ExecutablePool {
       if (returnCnx) {
         connectionManager.returnConnection(conn, accessed);
       }
+      if (pipelined) {
+        this.pipelinedConnections.release(conn, success);
+      }
     }
   }
 
@@ -407,6 +563,11 @@ public class OpExecutorImpl implements ExecutablePool {
     return threadLocalConnections && !pingOp && op.useThreadLocalConnection();
   }
 
+  private boolean isPipelineable(Op op) {
+    return this.pipelinedConnections != null && op instanceof AbstractOp
+        && ((AbstractOp) op).isPipelineable();
+  }
+
   /**
    * gets a connection to the given serverLocation either by looking up the threadLocal
    * {@link #localConnectionMap}. If a connection does not exist (or has been destroyed) we borrow
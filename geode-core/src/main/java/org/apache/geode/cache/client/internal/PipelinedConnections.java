@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.ServerLocation;
+
+/**
+ * Lends connections borrowed from a pool's {@link ConnectionManager} to several threads at once so
+ * that their ops are pipelined on a few connections instead of each thread taking a connection of
+ * its own. A connection is given back to the pool as soon as no op is in flight on it, and is not
+ * lent for more than a second at a time, so idle expiration and load conditioning still apply to
+ * it.
+ *
+ * @see ConnectionPipeline
+ * @since Geode 1.1
+ */
+class PipelinedConnections {
+
+  /**
+   * The most connections to each server that ops are pipelined on.
+   */
+  static final int MAX_CONNECTIONS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.PIPELINED_CONNECTIONS", 4);
+
+  private static final long MAX_LEND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final ConnectionManager connectionManager;
+
+  private final int maxConnections;
+
+  private final int maxInFlight;
+
+  /** guarded by this */
+  private final List<Lent> connections = new ArrayList<Lent>();
+
+  /** the number of connections being borrowed; guarded by this */
+  private int borrowing;
+
+  PipelinedConnections(ConnectionManager connectionManager, int maxConnections, int maxInFlight) {
+    this.connectionManager = connectionManager;
+    this.maxConnections = maxConnections;
+    this.maxInFlight = maxInFlight;
+  }
+
+  /**
+   * Returns a connection to the given server, or to any server if it is null, for an op to be
+   * pipelined on. The least busy connection is used unless every connection already has ops in
+   * flight and fewer than the maximum are lent, in which case another one is borrowed.
+   *
+   * @return the connection, or null if every connection that can be lent has as many ops in flight
+   *         as it can take
+   */
+  Connection acquire(ServerLocation server, long acquireTimeout, boolean onlyUseExisting) {
+    final long now = System.nanoTime();
+    synchronized (this) {
+      Lent leastBusy = null;
+      int lentToServer = 0;
+      for (Lent lent : this.connections) {
+        if (lent.lendable && now - lent.lentAt > MAX_LEND_NANOS) {
+          lent.lendable = false;
+        }
+        if (lent.lendable && (server == null || server.equals(lent.connection.getServer()))) {
+          lentToServer++;
+          if (lent.inFlight < this.maxInFlight
+              && (leastBusy == null || lent.inFlight < leastBusy.inFlight)) {
+            leastBusy = lent;
+          }
+        }
+      }
+      boolean atMax = lentToServer + this.borrowing >= this.maxConnections;
+      if (leastBusy != null && (leastBusy.inFlight == 0 || atMax)) {
+        leastBusy.inFlight++;
+        return leastBusy.connection;
+      }
+      if (atMax) {
+        return null;
+      }
+      this.borrowing++;
+    }
+    Connection conn = null;
+    try {
+      if (server == null) {
+        conn = this.connectionManager.borrowConnection(acquireTimeout);
+      } else {
+        conn = this.connectionManager.borrowConnection(server, acquireTimeout, onlyUseExisting);
+      }
+      return conn;
+    } finally {
+      synchronized (this) {
+        this.borrowing--;
+        if (conn != null) {
+          Lent lent = new Lent(conn, System.nanoTime());
+          lent.inFlight = 1;
+          this.connections.add(lent);
+        }
+      }
+    }
+  }
+
+  /**
+   * Releases a connection returned by {@link #acquire} once the op pipelined on it is done. A
+   * connection an op failed on is not lent again, and is returned to the pool once the ops in
+   * flight on it are done.
+   */
+  void release(Connection conn, boolean success) {
+    synchronized (this) {
+      Lent lent = null;
+      for (Lent next : this.connections) {
+        if (next.connection == conn) {
+          lent = next;
+          break;
+        }
+      }
+      if (!success) {
+        lent.lendable = false;
+      }
+      lent.inFlight--;
+      if (lent.inFlight > 0) {
+        return;
+      }
+      this.connections.remove(lent);
+    }
+    this.connectionManager.returnConnection(conn);
+  }
+
+  private static class Lent {
+    final Connection connection;
+
+    /** when the connection was borrowed from the pool */
+    final long lentAt;
+
+    /** guarded by the PipelinedConnections */
+    int inFlight;
+
+    /** guarded by the PipelinedConnections */
+    boolean lendable = true;
+
+    Lent(Connection connection, long lentAt) {
+      this.connection = connection;
+      this.lentAt = lentAt;
+    }
+  }
+}
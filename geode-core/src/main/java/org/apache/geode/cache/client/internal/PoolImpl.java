@@ -46,9 +46,14 @@ import org.apache.logging.log4j.Logger;
 import java.net.InetSocketAddress;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -76,6 +81,21 @@ public class PoolImpl implements InternalPool {
           .getInteger(
               DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.BACKGROUND_TASK_POOL_KEEP_ALIVE", 1000)
           .intValue();
+  /**
+   * The most threads that run the async ops of a pool, whose requests are not pipelined, and read
+   * the replies of its pipelined ones. A pool with a max connections limit uses no more threads
+   * than it has connections.
+   */
+  public static final int ASYNC_TASK_POOL_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.ASYNC_TASK_POOL_SIZE", 64)
+      .intValue();
+  /**
+   * The most async ops of a pool that can wait for one of its async threads. An async op that
+   * finds the queue full fails with a RejectedExecutionException.
+   */
+  public static final int ASYNC_TASK_QUEUE_SIZE = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "PoolImpl.ASYNC_TASK_QUEUE_SIZE", 1024)
+      .intValue();
   // For durable client tests only. Connection Sources read this flag
   // and return an empty list of servers.
   public volatile static boolean TEST_DURABLE_IS_NET_DOWN = false;
@@ -113,6 +133,10 @@ public class PoolImpl implements InternalPool {
   protected volatile boolean destroyed;
   private final PoolStats stats;
   private ScheduledExecutorService backgroundProcessor;
+  /**
+   * reads the replies of ops executed asynchronously and executes the ops that cannot be pipelined
+   */
+  private ExecutorService asyncProcessor;
   private final OpExecutorImpl executor;
   private final RegisterInterestTracker riTracker = new RegisterInterestTracker();
   private final InternalDistributedSystem dsys;
@@ -305,6 +329,24 @@ public class PoolImpl implements InternalPool {
     ((ScheduledThreadPoolExecutorWithKeepAlive) backgroundProcessor)
         .setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
 
+    final String asyncName = "poolAsync-" + getName() + "-";
+    int asyncThreads = Math.max(1, getMaxConnections() > 0
+        ? Math.min(ASYNC_TASK_POOL_SIZE, getMaxConnections()) : ASYNC_TASK_POOL_SIZE);
+    ThreadPoolExecutor asyncExecutor = new ThreadPoolExecutor(asyncThreads, asyncThreads,
+        BACKGROUND_TASK_POOL_KEEP_ALIVE, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<Runnable>(Math.max(1, ASYNC_TASK_QUEUE_SIZE)), new ThreadFactory() {
+          AtomicInteger threadNum = new AtomicInteger();
+
+          public Thread newThread(final Runnable r) {
+            Thread result = new Thread(r, asyncName + threadNum.incrementAndGet());
+            result.setDaemon(true);
+            return result;
+          }
+        });
+    // the threads only live while async ops keep them busy
+    asyncExecutor.allowCoreThreadTimeOut(true);
+    asyncProcessor = asyncExecutor;
+
     source.start(this);
     connectionFactory.start(backgroundProcessor);
     endpointManager.addListener(new InstantiatorRecoveryListener(backgroundProcessor, this));
@@ -586,6 +628,11 @@ public class PoolImpl implements InternalPool {
             LocalizedStrings.PoolImpl_ERROR_ENCOUNTERED_WHILE_STOPPING_CONNECTION_MANAGER), e);
       }
 
+      if (this.asyncProcessor != null) {
+        // the connections are closed, so the replies being read fail
+        this.asyncProcessor.shutdown();
+      }
+
       try {
         endpointManager.close();
       } catch (RuntimeException e) {
@@ -751,6 +798,30 @@ public class PoolImpl implements InternalPool {
     return executor.execute(op, retries);
   }
 
+  /**
+   * Execute the given op on the servers that this pool connects to without blocking the calling
+   * thread. The op is retried as {@link #execute(Op)} retries it.
+   * 
+   * @param op the operation to execute
+   * @return a future completed with the result of execution if any; null if not
+   * @since Geode 1.1
+   */
+  public CompletableFuture<Object> executeAsync(Op op) {
+    authenticateIfRequired(op);
+    return executor.executeAsync(op, asyncProcessor);
+  }
+
+  /**
+   * Runs the given task on the threads that execute ops asynchronously.
+   * 
+   * @return a future completed with the result of the task
+   */
+  <T> CompletableFuture<T> callAsync(Callable<T> task) {
+    CompletableFuture<T> result = new CompletableFuture<T>();
+    OpExecutorImpl.executeAsync(asyncProcessor, result, task);
+    return result;
+  }
+
   /**
    * Execute the given op on the given server.
    * 
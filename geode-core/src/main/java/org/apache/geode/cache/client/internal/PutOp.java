@@ -35,6 +35,7 @@ import org.apache.geode.internal.logging.LogService;
 
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.Logger;
 
@@ -91,6 +92,18 @@ public class PutOp {
     return pool.execute(op);
   }
 
+  /**
+   * Does a region put on a server without blocking the calling thread. The put is not routed to
+   * the server hosting the key's bucket.
+   *
+   * @return a future completed once the server has done the put
+   */
+  public static CompletableFuture<Object> executeAsync(PoolImpl pool, LocalRegion region,
+      Object key, Object value, EntryEventImpl event, Operation operation, Object callbackArg) {
+    return pool.executeAsync(new PutOpImpl(region, key, value, null, event, operation, false, null,
+        callbackArg, false, false));
+  }
+
   public static Object execute(ExecutablePool pool, String regionName, Object key, Object value,
       byte[] deltaBytes, EntryEventImpl event, Operation operation, boolean requireOldValue,
       Object expectedOldValue, Object callbackArg, boolean prSingleHopEnabled,
@@ -425,6 +438,11 @@ public class PutOp {
       return msgType == MessageType.PUT_DATA_ERROR;
     }
 
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
     @Override
     protected long startAttempt(ConnectionStats stats) {
       return stats.startPut();
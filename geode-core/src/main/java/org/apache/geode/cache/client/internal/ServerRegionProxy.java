@@ -20,6 +20,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -31,6 +34,7 @@ import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.Region.Entry;
 import org.apache.geode.cache.client.PoolManager;
+import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.cache.client.internal.ContainsKeyOp.MODE;
 import org.apache.geode.cache.execute.Function;
 import org.apache.geode.cache.execute.ResultCollector;
@@ -45,6 +49,7 @@ import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.TXCommitMessage;
 import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.TXStateProxy;
+import org.apache.geode.internal.cache.Token;
 import org.apache.geode.internal.cache.execute.ServerRegionFunctionExecutor;
 import org.apache.geode.internal.cache.tier.InterestType;
 import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
@@ -54,6 +59,7 @@ import org.apache.geode.internal.cache.tx.TransactionalOperation.ServerRegionOpe
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+import org.apache.geode.internal.offheap.annotations.Released;
 
 /**
  * Used to send region operations from a client to a server
@@ -117,6 +123,22 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
         this.pool.getPRSingleHopEnabled(), clientEvent);
   }
 
+  /**
+   * Gets the value of the given key from the server without blocking the calling thread.
+   * 
+   * @return a future completed with the value, which is null if the server has no value for the
+   *         key
+   * @since Geode 1.1
+   */
+  public CompletableFuture<Object> getAsync(Object key, Object callbackArg) {
+    return GetOp.executeAsync((PoolImpl) this.pool, this.region, key, callbackArg)
+        .thenApply(new java.util.function.Function<Object, Object>() {
+          public Object apply(Object value) {
+            return Token.isInvalidOrRemoved(value) ? null : value;
+          }
+        });
+  }
+
 
 
   public int size() {
@@ -164,6 +186,26 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
     }
   }
 
+  /**
+   * Puts the given value on the server without blocking the calling thread.
+   * 
+   * @return a future completed once the server has done the put
+   * @since Geode 1.1
+   */
+  public CompletableFuture<Object> putAsync(Object key, Object value, Object callbackArg) {
+    @Released
+    final EntryEventImpl event = EntryEventImpl.create(this.region, Operation.UPDATE, key, value,
+        callbackArg, false, this.region.getCache().getMyId());
+    event.setNewEventId(this.region.getCache().getDistributedSystem());
+    CompletableFuture<Object> result = PutOp.executeAsync((PoolImpl) this.pool, this.region, key,
+        value, event, Operation.UPDATE, callbackArg);
+    return result.whenComplete(new BiConsumer<Object, Throwable>() {
+      public void accept(Object oldValue, Throwable failure) {
+        event.release();
+      }
+    });
+  }
+
 
   /**
    * Does a region put on the server using the given connection.
@@ -654,6 +696,48 @@ public class ServerRegionProxy extends ServerProxy implements ServerRegionDataAc
     return result;
   }
 
+  /**
+   * Gets the values of the given keys from the server on a thread of the pool, since the values
+   * are sent back in several chunks and from several servers when single hop is enabled.
+   * 
+   * @return a future completed with the values of the keys, which are null for the keys the server
+   *         has no value for. It is completed exceptionally with a
+   *         {@link ServerOperationException} if the server failed to get the value of a key.
+   * @since Geode 1.1
+   */
+  public CompletableFuture<Map<Object, Object>> getAllAsync(final List keys,
+      final Object callback) {
+    return ((PoolImpl) this.pool).callAsync(new Callable<Map<Object, Object>>() {
+      public Map<Object, Object> call() {
+        Map<Object, Object> values = new HashMap<Object, Object>();
+        ServerOperationException failure = null;
+        // getAll has already logged the exception of each key that failed
+        for (Iterator it = getAll(keys, callback).iterator(); it.hasNext();) {
+          VersionedObjectList.Entry entry = it.next();
+          Object value = entry.getObject();
+          if (entry.isKeyNotOnServer()) {
+            values.put(entry.getKey(), null);
+          } else if (value instanceof Throwable) {
+            if (failure == null) {
+              failure = new ServerOperationException(
+                  LocalizedStrings.GetAll_0_CAUGHT_THE_FOLLOWING_EXCEPTION_ATTEMPTING_TO_GET_VALUE_FOR_KEY_1
+                      .toLocalizedString(new Object[] {value, entry.getKey()}),
+                  (Throwable) value);
+            } else {
+              failure.addSuppressed((Throwable) value);
+            }
+          } else {
+            values.put(entry.getKey(), value);
+          }
+        }
+        if (failure != null) {
+          throw failure;
+        }
+        return values;
+      }
+    });
+  }
+
   /**
    * Release use of this pool
    */
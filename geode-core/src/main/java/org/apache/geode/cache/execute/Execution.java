@@ -15,7 +15,9 @@
 package org.apache.geode.cache.execute;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
+import org.apache.geode.annotations.Experimental;
 import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.LowMemoryException;
 
@@ -108,6 +110,42 @@ public interface Execution {
    */
   public ResultCollector<?, ?> execute(Function function) throws FunctionException;
 
+  /**
+   * Executes the function using its {@linkplain Function#getId() id} without blocking the calling
+   * thread. The function is executed as {@link #execute(String)} executes it, by a thread that then
+   * waits for its results. An asynchronous execution cannot be part of a transaction.
+   * 
+   * @param functionId the {@link Function#getId()} of the function
+   * @return a future completed with the result of {@link ResultCollector#getResult()} once every
+   *         result has been received, or with null if the function has no result
+   * @throws UnsupportedOperationException if a transaction is in progress, or this execution does
+   *         not support executing functions asynchronously
+   * 
+   * @since Geode 1.1
+   */
+  @Experimental
+  public default CompletableFuture<Object> executeAsync(String functionId) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Executes the function instance provided without blocking the calling thread. The function is
+   * executed as {@link #execute(Function)} executes it, by a thread that then waits for its
+   * results. An asynchronous execution cannot be part of a transaction.
+   * 
+   * @param function instance to execute
+   * @return a future completed with the result of {@link ResultCollector#getResult()} once every
+   *         result has been received, or with null if the function has no result
+   * @throws UnsupportedOperationException if a transaction is in progress, or this execution does
+   *         not support executing functions asynchronously
+   * 
+   * @since Geode 1.1
+   */
+  @Experimental
+  public default CompletableFuture<Object> executeAsync(Function function) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Executes the function using its {@linkplain Function#getId() id}
    * <p>
@@ -84,6 +84,39 @@ public class FileUtil {
     }
   }
 
+  /**
+   * Copy the bytes of the source file from start up to end to the destination file, replacing
+   * the destination. The copy stops early if the source file is shorter than end.
+   *
+   * @return the number of bytes copied
+   * @throws IOException
+   */
+  public static long copy(File source, long start, long end, File dest) throws IOException {
+    FileOutputStream fos = new FileOutputStream(dest);
+    try {
+      FileInputStream fis = new FileInputStream(source);
+      try {
+        FileChannel outChannel = fos.getChannel();
+        FileChannel inChannel = fis.getChannel();
+        long offset = start;
+        while (offset < end) {
+          long remaining = end - offset;
+          long toTransfer = remaining < MAX_TRANSFER_SIZE ? remaining : MAX_TRANSFER_SIZE;
+          long transferredBytes = inChannel.transferTo(offset, toTransfer, outChannel);
+          if (transferredBytes <= 0) {
+            break;
+          }
+          offset += transferredBytes;
+        }
+        return offset - start;
+      } finally {
+        fis.close();
+      }
+    } finally {
+      fos.close();
+    }
+  }
+
   /**
    * Basically just like {@link File#listFiles()} but instead of returning null returns an empty
    * array. This fixes bug 43729
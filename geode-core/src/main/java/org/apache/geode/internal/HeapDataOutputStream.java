@@ -214,7 +214,17 @@ public class HeapDataOutputStream extends OutputStream
     if (amount < MIN_CHUNK_SIZE) {
       amount = MIN_CHUNK_SIZE;
     }
-    this.buffer = ByteBuffer.allocate(amount);
+    this.buffer = allocateBuffer(amount);
+  }
+
+  /**
+   * Returns a new buffer for this stream to write to once its current buffer is full.
+   * 
+   * @param size the least capacity of the buffer
+   * @since Geode 1.1
+   */
+  protected ByteBuffer allocateBuffer(int size) {
+    return ByteBuffer.allocate(size);
   }
 
   private final void checkIfWritable() {
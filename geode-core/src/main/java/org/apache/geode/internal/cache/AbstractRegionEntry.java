@@ -1184,6 +1184,18 @@ public abstract class AbstractRegionEntry implements RegionEntry, HashEntry<Obje
     public int keyHashCode(final Object key, final boolean compareValues) {
       return CustomEntryConcurrentHashMap.keyHash(key, compareValues);
     }
+
+    @Override
+    public int intKeyHashCode(final int key, final boolean compareValues) {
+      return compareValues ? CustomEntryConcurrentHashMap.intKeyHash(key)
+          : CustomEntryConcurrentHashMap.keyHash(key, false);
+    }
+
+    @Override
+    public int longKeyHashCode(final long key, final boolean compareValues) {
+      return compareValues ? CustomEntryConcurrentHashMap.longKeyHash(key)
+          : CustomEntryConcurrentHashMap.keyHash(key, false);
+    }
   };
 
   public abstract Object getKey();
@@ -221,6 +221,16 @@ public abstract class AbstractRegionMap implements RegionMap {
     return re;
   }
 
+  @Override
+  public RegionEntry getIntKeyEntry(int key) {
+    return (RegionEntry) _getMap().getIntKey(key);
+  }
+
+  @Override
+  public RegionEntry getLongKeyEntry(long key) {
+    return (RegionEntry) _getMap().getLongKey(key);
+  }
+
   protected RegionEntry getEntry(EntryEventImpl event) {
     return getEntry(event.getKey());
   }
@@ -141,6 +141,9 @@ public class CachePerfStats {
   protected static final int deltaFullValuesSentId;
   protected static final int deltaFullValuesRequestedId;
 
+  protected static final int serializedValueReusesId;
+  protected static final int serializedValueBytesReusedId;
+
   protected static final int importedEntriesCountId;
   protected static final int importTimeId;
   protected static final int exportedEntriesCountId;
@@ -308,6 +311,10 @@ public class CachePerfStats {
         "The total number of times a full value was sent to a remote cache.";
     final String deltaFullValuesRequestedDesc =
         "The total number of times a full value was requested by this cache.";
+    final String serializedValueReusesDesc =
+        "The total number of times a client queue or gateway sender reused the serialized value of an event instead of serializing the value again.";
+    final String serializedValueBytesReusedDesc =
+        "The total number of serialized value bytes that client queues and gateway senders reused instead of serializing the value again.";
     final String importedEntriesCountDesc =
         "The total number of entries imported from a snapshot file.";
     final String importTimeDesc = "The total time spent importing entries from a snapshot file.";
@@ -483,6 +490,10 @@ public class CachePerfStats {
             f.createIntCounter("deltaFullValuesRequested", deltaFullValuesRequestedDesc,
                 "operations"),
 
+            f.createLongCounter("serializedValueReuses", serializedValueReusesDesc, "operations"),
+            f.createLongCounter("serializedValueBytesReused", serializedValueBytesReusedDesc,
+                "bytes"),
+
             f.createLongCounter("importedEntries", importedEntriesCountDesc, "entries"),
             f.createLongCounter("importTime", importTimeDesc, "nanoseconds"),
             f.createLongCounter("exportedEntries", exportedEntriesCountDesc, "entries"),
@@ -615,6 +626,9 @@ public class CachePerfStats {
     deltaFullValuesSentId = type.nameToId("deltaFullValuesSent");
     deltaFullValuesRequestedId = type.nameToId("deltaFullValuesRequested");
 
+    serializedValueReusesId = type.nameToId("serializedValueReuses");
+    serializedValueBytesReusedId = type.nameToId("serializedValueBytesReused");
+
     importedEntriesCountId = type.nameToId("importedEntries");
     importTimeId = type.nameToId("importTime");
     exportedEntriesCountId = type.nameToId("exportedEntries");
@@ -876,6 +890,14 @@ public class CachePerfStats {
     return stats.getInt(deltaFullValuesRequestedId);
   }
 
+  public long getSerializedValueReuses() {
+    return stats.getLong(serializedValueReusesId);
+  }
+
+  public long getSerializedValueBytesReused() {
+    return stats.getLong(serializedValueBytesReusedId);
+  }
+
   public long getTotalCompressionTime() {
     return stats.getLong(compressionCompressTimeId);
   }
@@ -1283,6 +1305,14 @@ public class CachePerfStats {
   public void incDeltaFullValuesRequested() {
     stats.incInt(deltaFullValuesRequestedId, 1);
   }
+
+  /**
+   * @param bytes the size of the reused serialized value
+   */
+  public void incSerializedValueReuses(int bytes) {
+    stats.incLong(serializedValueReusesId, 1);
+    stats.incLong(serializedValueBytesReusedId, bytes);
+  }
   ////// Special Instance Methods /////
 
   /**
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+
+/**
+ * An input stream that computes the CRC32 of the bytes read between {@link #startChecksum} and
+ * {@link #endChecksum}. Unlike {@link java.util.zip.CheckedInputStream} it costs nothing while no
+ * checksum is being computed, so it can wrap oplogs that were written without checksums.
+ */
+class ChecksumInputStream extends FilterInputStream {
+
+  private final CRC32 checksum = new CRC32();
+
+  private final byte[] skipBuffer = new byte[4096];
+
+  private boolean checksumming;
+
+  ChecksumInputStream(InputStream in) {
+    super(in);
+  }
+
+  void startChecksum() {
+    this.checksum.reset();
+    this.checksumming = true;
+  }
+
+  /**
+   * Returns the checksum of the bytes read since {@link #startChecksum} was called.
+   */
+  int endChecksum() {
+    this.checksumming = false;
+    return (int) this.checksum.getValue();
+  }
+
+  @Override
+  public int read() throws IOException {
+    int b = this.in.read();
+    if (b != -1 && this.checksumming) {
+      this.checksum.update(b);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    int result = this.in.read(b, off, len);
+    if (result > 0 && this.checksumming) {
+      this.checksum.update(b, off, result);
+    }
+    return result;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (!this.checksumming) {
+      return this.in.skip(n);
+    }
+    // skipped bytes are part of the checksum so they have to be read
+    int len = (int) Math.min(n, this.skipBuffer.length);
+    int result = read(this.skipBuffer, 0, len);
+    return result < 0 ? 0 : result;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+}
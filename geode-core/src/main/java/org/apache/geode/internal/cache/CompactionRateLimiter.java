@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Limits the rate at which the compactor threads of a disk store copy bytes forward, so that
+ * compaction does not take disk bandwidth away from foreground writes. All the compactor threads
+ * of a disk store share one limiter.
+ *
+ * Each copy reserves the next free interval of time long enough to move its bytes at the configured
+ * rate, and the thread waits for that interval to begin. A limiter that has been idle lets the next
+ * copy through at once, but does not accumulate credit for a burst.
+ */
+class CompactionRateLimiter {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  /** How long a waiting copy sleeps before it checks whether its compactor has been stopped. */
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final long bytesPerSecond;
+
+  private final DiskStoreStats stats;
+
+  /** The time at which the next copy may start. Guarded by this. */
+  private long nextFreeNanos;
+
+  /**
+   * @param bytesPerSecond the maximum rate, or zero for no limit
+   */
+  CompactionRateLimiter(long bytesPerSecond, DiskStoreStats stats) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.stats = stats;
+    this.nextFreeNanos = System.nanoTime();
+  }
+
+  boolean isLimited() {
+    return this.bytesPerSecond > 0;
+  }
+
+  /**
+   * Waits until the given number of bytes may be copied without exceeding the rate. Must not be
+   * called while holding a lock that foreground operations need.
+   *
+   * @return the number of nanoseconds waited
+   */
+  long acquire(int bytes) {
+    return acquire(bytes, null);
+  }
+
+  /**
+   * Waits until the given number of bytes may be copied without exceeding the rate, or until the
+   * given compactor is stopped. Must not be called while holding a lock that foreground operations,
+   * or closing the disk store, need.
+   *
+   * @param compactor the compactor copying the bytes, or null
+   * @return the number of nanoseconds reserved for the wait
+   */
+  long acquire(int bytes, DiskStoreImpl.OplogCompactor compactor) {
+    if (!isLimited() || bytes <= 0) {
+      return 0;
+    }
+    long now = System.nanoTime();
+    long start;
+    synchronized (this) {
+      start = Math.max(now, this.nextFreeNanos);
+      this.nextFreeNanos = start + bytes * NANOS_PER_SECOND / this.bytesPerSecond;
+    }
+    long waitNanos = start - now;
+    if (waitNanos <= 0) {
+      return 0;
+    }
+    long statStart = this.stats.startCompactionThrottleWait();
+    try {
+      long remaining = waitNanos;
+      while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+        if (compactor != null && !compactor.keepCompactorRunning()) {
+          break;
+        }
+        LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+        remaining = start - System.nanoTime();
+      }
+    } finally {
+      this.stats.endCompactionThrottleWait(statStart);
+    }
+    return waitNanos;
+  }
+}
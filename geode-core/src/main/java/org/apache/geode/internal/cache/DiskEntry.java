@@ -693,6 +693,13 @@ public interface DiskEntry extends RegionEntry {
         }
       }
 
+      /**
+       * Returns a heap copy of the bytes this wrapper writes to disk.
+       */
+      public byte[] getBytes() {
+        return this.offHeapData.getValueAsHeapByteArray();
+      }
+
       @Override
       public String getBytesAsString() {
         return this.offHeapData.getStringForm();
@@ -1235,8 +1242,13 @@ public interface DiskEntry extends RegionEntry {
       return v; // OFFHEAP: the value ends up being returned by RegionEntry.getValue
     }
 
-    public static void recoverValue(DiskEntry entry, long oplogId, DiskRecoveryStore recoveryStore,
-        ByteArrayDataInput in) {
+    /**
+     * Reads the value of a recovered entry from the given oplog, unless the entry already has a
+     * value or has since been written to another oplog. Returns true if the value was read.
+     */
+    public static boolean recoverValue(DiskEntry entry, long oplogId,
+        DiskRecoveryStore recoveryStore, ByteArrayDataInput in) {
+      boolean recovered = false;
       boolean lruFaultedIn = false;
       synchronized (entry) {
         if (entry.isValueNull()) {
@@ -1253,6 +1265,7 @@ public interface DiskEntry extends RegionEntry {
                   value = getValueFromDisk(dr, did, in);
                   if (value != null) {
                     setValueOnFaultIn(value, did, entry, dr, region);
+                    recovered = true;
                   }
                 }
               }
@@ -1271,6 +1284,7 @@ public interface DiskEntry extends RegionEntry {
       if (lruFaultedIn) {
         lruUpdateCallback(recoveryStore);
       }
+      return recovered;
     }
 
     /**
@@ -1471,7 +1485,7 @@ public interface DiskEntry extends RegionEntry {
           // TODO:Asif: Check if we need to overflow even when id is = 0
           boolean wasAlreadyPendingAsync = did.isPendingAsync();
           if (did.needsToBeWritten()) {
-            if (dr.isSync()) {
+            if (dr.isSync() || (!wasAlreadyPendingAsync && writesOverflowDirectly(dr))) {
               writeToDisk(entry, region, false);
             } else if (!wasAlreadyPendingAsync) {
               scheduledAsyncHere = true;
@@ -1511,6 +1525,14 @@ public interface DiskEntry extends RegionEntry {
       return change;
     }
 
+    /**
+     * Returns true if values evicted from the given region are written by the evicting thread even
+     * though the region writes to disk asynchronously. See {@link OverflowOplog#DIRECT_WRITES}.
+     */
+    private static boolean writesOverflowDirectly(DiskRegion dr) {
+      return OverflowOplog.DIRECT_WRITES && !dr.isBackup();
+    }
+
     private static void scheduleAsyncWrite(AsyncDiskEntry ade) {
       DiskRegion dr = ade.region.getDiskRegion();
       dr.scheduleAsyncWrite(ade);
@@ -23,6 +23,7 @@ import java.util.UUID;
 
 import org.apache.geode.cache.DiskStore;
 import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.compression.Compressor;
 
 /**
  * Creates an attribute object for DiskStore.
@@ -42,6 +43,7 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
 
   public long maxOplogSizeInBytes;
   public long timeInterval;
+  public long compactionRateLimit;
 
   public int[] diskDirSizes;
 
@@ -49,6 +51,8 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
 
   public String name;
 
+  public Compressor compressor;
+
   private volatile float diskUsageWarningPct;
   private volatile float diskUsageCriticalPct;
 
@@ -59,6 +63,7 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
     this.allowForceCompaction = DiskStoreFactory.DEFAULT_ALLOW_FORCE_COMPACTION;
     this.maxOplogSizeInBytes = DiskStoreFactory.DEFAULT_MAX_OPLOG_SIZE * (1024 * 1024);
     this.timeInterval = DiskStoreFactory.DEFAULT_TIME_INTERVAL;
+    this.compactionRateLimit = DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT;
     this.writeBufferSize = DiskStoreFactory.DEFAULT_WRITE_BUFFER_SIZE;
     this.queueSize = DiskStoreFactory.DEFAULT_QUEUE_SIZE;
     this.diskDirs = DiskStoreFactory.DEFAULT_DISK_DIRS;
@@ -98,6 +103,15 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
     return this.compactionThreshold;
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.apache.geode.cache.DiskStore#getCompactionRateLimit()
+   */
+  public long getCompactionRateLimit() {
+    return this.compactionRateLimit;
+  }
+
   /*
    * (non-Javadoc)
    * 
@@ -190,6 +204,15 @@ public class DiskStoreAttributes implements Serializable, DiskStore {
     // nothing needed
   }
 
+  /*
+   * (non-Javadoc)
+   * 
+   * @see org.apache.geode.cache.DiskStore#getCompressor()
+   */
+  public Compressor getCompressor() {
+    return this.compressor;
+  }
+
   @Override
   public float getDiskUsageWarningPercentage() {
     return diskUsageWarningPct;
@@ -15,8 +15,11 @@
 package org.apache.geode.internal.cache;
 
 import java.io.File;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.geode.internal.cache.persistence.BackupInspector;
@@ -32,12 +35,17 @@ import org.apache.geode.internal.cache.persistence.BackupInspector;
 public class DiskStoreBackup {
 
   private final Set<Oplog> pendingBackup;
+  private final Map<Oplog, List<FileRange>> fileRanges;
   private final Set<Oplog> deferredCrfDeletes = new HashSet<Oplog>();
   private final Set<Oplog> deferredDrfDeletes = new HashSet<Oplog>();
   private final File targetDir;
 
-  public DiskStoreBackup(Oplog[] allOplogs, File targetDir) {
-    this.pendingBackup = new HashSet<Oplog>(Arrays.asList(allOplogs));
+  /**
+   * @param fileRanges the parts of the files of each oplog that will be backed up
+   */
+  public DiskStoreBackup(Map<Oplog, List<FileRange>> fileRanges, File targetDir) {
+    this.fileRanges = new HashMap<Oplog, List<FileRange>>(fileRanges);
+    this.pendingBackup = new HashSet<Oplog>(fileRanges.keySet());
     this.targetDir = targetDir;
   }
 
@@ -75,6 +83,14 @@ public class DiskStoreBackup {
     return new HashSet<Oplog>(pendingBackup);
   }
 
+  /**
+   * Returns the parts of the files of the given oplog that will be backed up.
+   */
+  public List<FileRange> getFileRanges(Oplog oplog) {
+    List<FileRange> ranges = this.fileRanges.get(oplog);
+    return ranges == null ? Collections.<FileRange>emptyList() : ranges;
+  }
+
   public synchronized void backupFinished(Oplog oplog) {
     pendingBackup.remove(oplog);
     if (deferredCrfDeletes.remove(oplog)) {
@@ -94,4 +110,46 @@ public class DiskStoreBackup {
       backupFinished(oplog);
     }
   }
+
+  /**
+   * The part of an oplog file that a backup copies. A range that does not start at the beginning of
+   * the file holds the records appended to the file since the baseline of an incremental backup was
+   * taken.
+   */
+  public static class FileRange {
+    private final File file;
+    private final long start;
+    private final long end;
+
+    /**
+     * @param end the length of the file at the time the backup was started, or -1 to copy whatever
+     *        the file holds when it is copied
+     */
+    public FileRange(File file, long start, long end) {
+      this.file = file;
+      this.start = start;
+      this.end = end;
+    }
+
+    public File getFile() {
+      return this.file;
+    }
+
+    public long getStart() {
+      return this.start;
+    }
+
+    public long getEnd() {
+      return this.end;
+    }
+
+    public boolean isDelta() {
+      return this.start > 0;
+    }
+
+    @Override
+    public String toString() {
+      return this.file + "[" + this.start + ".." + this.end + "]";
+    }
+  }
 }
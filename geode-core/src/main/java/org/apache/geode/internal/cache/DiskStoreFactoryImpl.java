@@ -23,6 +23,7 @@ import org.apache.geode.GemFireIOException;
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.DiskStoreFactory;
 import org.apache.geode.cache.DiskStore;
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.distributed.internal.ResourceEvent;
 import org.apache.geode.internal.cache.DiskStoreAttributes;
 import org.apache.geode.internal.cache.persistence.BackupManager;
@@ -50,6 +51,7 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     setAutoCompact(attrs.getAutoCompact());
     setAllowForceCompaction(attrs.getAllowForceCompaction());
     setCompactionThreshold(attrs.getCompactionThreshold());
+    setCompactionRateLimit(attrs.getCompactionRateLimit());
     setMaxOplogSizeInBytes(attrs.getMaxOplogSizeInBytes());
     setTimeInterval(attrs.getTimeInterval());
     setWriteBufferSize(attrs.getWriteBufferSize());
@@ -58,6 +60,7 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     setDiskDirsAndSizes(cloneArray(attrs.getDiskDirs()), cloneArray(attrs.getDiskDirSizes()));
     setDiskUsageWarningPercentage(attrs.getDiskUsageWarningPercentage());
     setDiskUsageCriticalPercentage(attrs.getDiskUsageCriticalPercentage());
+    setCompressor(attrs.getCompressor());
     this.cache = cache;
   }
 
@@ -105,6 +108,17 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     return this;
   }
 
+  public DiskStoreFactory setCompactionRateLimit(long bytesPerSecond) {
+    if (bytesPerSecond < 0) {
+      throw new IllegalArgumentException(
+          LocalizedStrings.DiskWriteAttributesImpl_0_HAS_TO_BE_POSITIVE_NUMBER_AND_THE_VALUE_GIVEN_1_IS_NOT_ACCEPTABLE
+              .toLocalizedString(new Object[] {CacheXml.COMPACTION_RATE_LIMIT,
+                  Long.valueOf(bytesPerSecond)}));
+    }
+    this.attrs.compactionRateLimit = bytesPerSecond;
+    return this;
+  }
+
   public DiskStoreFactory setTimeInterval(long timeInterval) {
     if (timeInterval < 0) {
       throw new IllegalArgumentException(
@@ -312,4 +326,10 @@ public class DiskStoreFactoryImpl implements DiskStoreFactory {
     this.attrs.setDiskUsageCriticalPercentage(criticalPercent);
     return this;
   }
+
+  @Override
+  public DiskStoreFactory setCompressor(Compressor compressor) {
+    this.attrs.compressor = compressor;
+    return this;
+  }
 }
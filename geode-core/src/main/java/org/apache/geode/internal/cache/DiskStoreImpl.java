@@ -20,6 +20,7 @@ import org.apache.geode.StatisticsFactory;
 import org.apache.geode.SystemFailure;
 import org.apache.geode.cache.*;
 import org.apache.geode.cache.persistence.PersistentID;
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.distributed.DistributedSystem;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
@@ -46,6 +47,8 @@ import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.internal.util.IOUtils;
+import org.apache.geode.internal.util.TransformUtils;
 import org.apache.geode.pdx.internal.EnumInfo;
 import org.apache.geode.pdx.internal.PdxField;
 import org.apache.geode.pdx.internal.PdxType;
@@ -84,6 +87,14 @@ public class DiskStoreImpl implements DiskStore {
   private static final Logger logger = LogService.getLogger();
 
   private static final String BACKUP_DIR_PREFIX = "dir";
+
+  /**
+   * The directory, in the backup of a disk store, of the records appended to oplog files since the
+   * baseline of an incremental backup was taken.
+   */
+  private static final String BACKUP_DELTA_DIR = "deltas";
+
+  private static final String BACKUP_DELTA_EXT = ".delta";
   public static final boolean KRF_DEBUG = Boolean.getBoolean("disk.KRF_DEBUG");
 
   public static final int MAX_OPEN_INACTIVE_OPLOGS = Integer
@@ -167,6 +178,15 @@ public class DiskStoreImpl implements DiskStore {
    */
   public static final int MAX_PENDING_TASKS =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.MAX_PENDING_TASKS", 6);
+
+  /**
+   * This system property indicates the number of threads used during recovery to read krfs ahead of
+   * the oplog being recovered and to recover the values of different oplogs in parallel. A value of
+   * 1 recovers one oplog at a time.
+   */
+  static final int RECOVERY_THREADS =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.RECOVERY_THREADS",
+          Math.min(4, Runtime.getRuntime().availableProcessors()));
   /**
    * This system property indicates that IF should also be preallocated. This property will be used
    * in conjunction with the PREALLOCATE_OPLOGS property. If PREALLOCATE_OPLOGS is ON the below will
@@ -188,6 +208,31 @@ public class DiskStoreImpl implements DiskStore {
    **/
   public static boolean SET_IGNORE_PREALLOCATE = false;
 
+  /**
+   * This system property bounds, in milliseconds, how long an operation can wait on the async queue
+   * before the flusher writes it. It shortens the disk store's time interval when that is longer,
+   * and applies even when the time interval is zero. Ignored if set to <= 0.
+   */
+  static final long ASYNC_MAX_FLUSH_LATENCY =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.asyncMaxFlushLatency", 0);
+
+  /**
+   * These system properties make the flusher force the oplog it has written to disk once this many
+   * milliseconds have passed, or this many value bytes have been written, since it last did so.
+   * Otherwise async writes are only forced when writes are synced. Ignored if set to <= 0.
+   */
+  static final long ASYNC_FORCE_INTERVAL =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.asyncForceInterval", 0);
+  static final long ASYNC_FORCE_BYTES =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.asyncForceBytes", 0);
+
+  /**
+   * Returns true if the flusher forces async writes to disk, see {@link #ASYNC_FORCE_INTERVAL}.
+   */
+  static boolean isAsyncForcing() {
+    return ASYNC_FORCE_INTERVAL > 0 || ASYNC_FORCE_BYTES > 0;
+  }
+
   /**
    * This system property turns on synchronous writes just the the init file.
    */
@@ -246,6 +291,12 @@ public class DiskStoreImpl implements DiskStore {
   /** Compactor task which does the compaction. Null if compaction not possible. */
   private final OplogCompactor oplogCompactor;
 
+  /** Throttles the bytes copied forward by all the compactions of this disk store. */
+  private final CompactionRateLimiter compactionRateLimiter;
+
+  /** Compresses the values written to the oplogs. Null if values are written uncompressed. */
+  private final OplogCompressor oplogCompressor;
+
   private DiskInitFile initFile = null;
 
   private volatile DiskStoreBackup diskStoreBackup = null;
@@ -303,6 +354,14 @@ public class DiskStoreImpl implements DiskStore {
 
   private final Object asyncValueRecoveryLock = new Object();
 
+  /**
+   * Held for reading while a value is recovered asynchronously and for writing while the entry map
+   * of a recovered region is copied to the region that is created for it, so that no value is
+   * recovered into an entry that is being copied. Always acquired before the monitor of
+   * currentAsyncValueRecoveryMap.
+   */
+  private final ReentrantReadWriteLock recoveredEntryMapLock = new ReentrantReadWriteLock();
+
   /**
    * The unique id for this disk store.
    * 
@@ -317,6 +376,11 @@ public class DiskStoreImpl implements DiskStore {
   private final ThreadPoolExecutor diskStoreTaskPool;
 
   private final ThreadPoolExecutor delayedWritePool;
+
+  /**
+   * Verifies the checksums of rolled oplogs in the background. Null unless OplogScrubber.isEnabled().
+   */
+  private final OplogScrubber oplogScrubber;
   private volatile Future lastDelayedWrite;
 
   // ///////////////////// Constructors /////////////////////////
@@ -366,6 +430,7 @@ public class DiskStoreImpl implements DiskStore {
     this.autoCompact = props.getAutoCompact();
     this.allowForceCompaction = props.getAllowForceCompaction();
     this.compactionThreshold = calcCompactionThreshold(props.getCompactionThreshold());
+    this.compactionRateLimit = props.getCompactionRateLimit();
     this.maxOplogSizeInBytes = props.getMaxOplogSizeInBytes();
     this.timeInterval = props.getTimeInterval();
     this.queueSize = props.getQueueSize();
@@ -374,10 +439,14 @@ public class DiskStoreImpl implements DiskStore {
     this.diskDirSizes = props.getDiskDirSizes();
     this.warningPercent = props.getDiskUsageWarningPercentage();
     this.criticalPercent = props.getDiskUsageCriticalPercentage();
+    this.compressor = props.getCompressor();
 
     this.cache = (GemFireCacheImpl) cache;
     StatisticsFactory factory = cache.getDistributedSystem();
     this.stats = new DiskStoreStats(factory, getName());
+    this.compactionRateLimiter = new CompactionRateLimiter(this.compactionRateLimit, this.stats);
+    this.oplogCompressor =
+        this.compressor == null ? null : new OplogCompressor(this.compressor, this.stats);
 
     // start simple init
 
@@ -460,6 +529,13 @@ public class DiskStoreImpl implements DiskStore {
         new LinkedBlockingQueue(MAX_PENDING_TASKS), deleteThreadFactory,
         new ThreadPoolExecutor.CallerRunsPolicy());
     this.delayedWritePool.allowCoreThreadTimeOut(true);
+
+    if (OplogScrubber.isEnabled() && !isOffline() && !isValidating()) {
+      this.oplogScrubber = new OplogScrubber(this, this.stats, OplogScrubber.SCRUB_RATE);
+      this.oplogScrubber.start();
+    } else {
+      this.oplogScrubber = null;
+    }
   }
 
   // //////////////////// Instance Methods //////////////////////
@@ -482,6 +558,12 @@ public class DiskStoreImpl implements DiskStore {
             props.getCompactionThreshold());
       }
     }
+    if (getCompactionRateLimit() != props.getCompactionRateLimit()) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("CompactionRateLimit {} != {}", getCompactionRateLimit(),
+            props.getCompactionRateLimit());
+      }
+    }
     if (getMaxOplogSizeInBytes() != props.getMaxOplogSizeInBytes()) {
       if (logger.isDebugEnabled()) {
         logger.debug("MaxOplogSizeInBytes {} != {}", getMaxOplogSizeInBytes(),
@@ -518,16 +600,27 @@ public class DiskStoreImpl implements DiskStore {
             Arrays.toString(props.getDiskDirSizes()));
       }
     }
+    if (!sameCompressor(getCompressor(), props.getCompressor())) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Compressor {} != {}", getCompressor(), props.getCompressor());
+      }
+    }
 
     return getAllowForceCompaction() == props.getAllowForceCompaction()
         && getAutoCompact() == props.getAutoCompact()
         && getCompactionThreshold() == props.getCompactionThreshold()
+        && getCompactionRateLimit() == props.getCompactionRateLimit()
         && getMaxOplogSizeInBytes() == props.getMaxOplogSizeInBytes()
         && getName().equals(props.getName()) && getQueueSize() == props.getQueueSize()
         && getTimeInterval() == props.getTimeInterval()
         && getWriteBufferSize() == props.getWriteBufferSize()
         && Arrays.equals(getDiskDirs(), props.getDiskDirs())
-        && Arrays.equals(getDiskDirSizes(), props.getDiskDirSizes());
+        && Arrays.equals(getDiskDirSizes(), props.getDiskDirSizes())
+        && sameCompressor(getCompressor(), props.getCompressor());
+  }
+
+  private static boolean sameCompressor(Compressor c1, Compressor c2) {
+    return c1 == null ? c2 == null : c1.equals(c2);
   }
 
   /**
@@ -563,36 +656,41 @@ public class DiskStoreImpl implements DiskStore {
 
     // prevent async recovery from recovering a value
     // while we are copying the entry map.
-    synchronized (currentAsyncValueRecoveryMap) {
-      DiskRegionView drv = lr.getDiskRegionView();
-      if (drv.getRecoveredEntryMap() != null) {
-        PersistentOplogSet oplogSet = getPersistentOplogSet(drv);
-
-        // acquire CompactorWriteLock only if the region attributes for the
-        // real region are different from the place holder region's
-        boolean releaseCompactorWriteLock = false;
-        if (drv.isEntriesMapIncompatible()) {
-          acquireCompactorWriteLock(); // fix bug #51097 to prevent concurrent compaction
-          releaseCompactorWriteLock = true;
-        }
-        try {
-          drv.copyExistingRegionMap(lr);
-          getStats().incUncreatedRecoveredRegions(-1);
-          for (Oplog oplog : oplogSet.getAllOplogs()) {
-            if (oplog != null) {
-              oplog.updateDiskRegion(lr.getDiskRegionView());
+    this.recoveredEntryMapLock.writeLock().lock();
+    try {
+      synchronized (currentAsyncValueRecoveryMap) {
+        DiskRegionView drv = lr.getDiskRegionView();
+        if (drv.getRecoveredEntryMap() != null) {
+          PersistentOplogSet oplogSet = getPersistentOplogSet(drv);
+
+          // acquire CompactorWriteLock only if the region attributes for the
+          // real region are different from the place holder region's
+          boolean releaseCompactorWriteLock = false;
+          if (drv.isEntriesMapIncompatible()) {
+            acquireCompactorWriteLock(); // fix bug #51097 to prevent concurrent compaction
+            releaseCompactorWriteLock = true;
+          }
+          try {
+            drv.copyExistingRegionMap(lr);
+            getStats().incUncreatedRecoveredRegions(-1);
+            for (Oplog oplog : oplogSet.getAllOplogs()) {
+              if (oplog != null) {
+                oplog.updateDiskRegion(lr.getDiskRegionView());
+              }
+            }
+          } finally {
+            if (releaseCompactorWriteLock) {
+              releaseCompactorWriteLock();
             }
           }
-        } finally {
-          if (releaseCompactorWriteLock) {
-            releaseCompactorWriteLock();
+          if (currentAsyncValueRecoveryMap.containsKey(drv.getId())) {
+            currentAsyncValueRecoveryMap.put(drv.getId(), lr);
           }
+          return;
         }
-        if (currentAsyncValueRecoveryMap.containsKey(drv.getId())) {
-          currentAsyncValueRecoveryMap.put(drv.getId(), lr);
-        }
-        return;
       }
+    } finally {
+      this.recoveredEntryMapLock.writeLock().unlock();
     }
 
     scheduleForRecovery(lr);
@@ -1250,6 +1348,7 @@ public class DiskStoreImpl implements DiskStore {
         if (ade.region.isDestroyed) {
           throw new RegionDestroyedException(ade.region.toString(), ade.region.getFullPath());
         }
+        ade.enqueueTime = this.stats.startAsyncQueueWait();
       }
       checkForFlusherThreadTermination();
       if (forceAsync) {
@@ -1596,9 +1695,21 @@ public class DiskStoreImpl implements DiskStore {
   }
 
   private class FlusherThread implements Runnable {
+    private long lastForceTime = System.currentTimeMillis();
+
+    private long bytesSinceForce;
+
+    /**
+     * The operations written since their latency was last recorded. When forcing is on that is the
+     * operations written but not yet forced.
+     */
+    private long enqueueTimeSum;
+
+    private int writeCount;
+
     private boolean waitUntilFlushIsReady() throws InterruptedException {
       if (maxAsyncItems > 0) {
-        final long time = getTimeInterval();
+        final long time = getWaitTime();
         synchronized (asyncMonitor) {
           if (time > 0) {
             long nanosRemaining = TimeUnit.MILLISECONDS.toNanos(time);
@@ -1620,7 +1731,7 @@ public class DiskStoreImpl implements DiskStore {
           }
         }
       } else {
-        long time = getTimeInterval();
+        long time = getWaitTime();
         if (time > 0) {
           long nanosRemaining = TimeUnit.MILLISECONDS.toNanos(time);
           final long endTime = System.nanoTime() + nanosRemaining;
@@ -1648,10 +1759,83 @@ public class DiskStoreImpl implements DiskStore {
       return !stopFlusher;
     }
 
+    /**
+     * Returns the time interval of the disk store, bounded by the max flush latency if one is set.
+     */
+    private long getFlushInterval() {
+      long time = getTimeInterval();
+      if (ASYNC_MAX_FLUSH_LATENCY > 0 && (time <= 0 || time > ASYNC_MAX_FLUSH_LATENCY)) {
+        time = ASYNC_MAX_FLUSH_LATENCY;
+      }
+      return time;
+    }
+
+    /**
+     * Returns how long to wait for the next drain: the flush interval, shortened to when the force
+     * interval runs out if there are writes that have not been forced yet.
+     */
+    private long getWaitTime() {
+      long time = getFlushInterval();
+      if (ASYNC_FORCE_INTERVAL > 0 && this.writeCount > 0) {
+        long untilForce =
+            Math.max(1, this.lastForceTime + ASYNC_FORCE_INTERVAL - System.currentTimeMillis());
+        if (time <= 0 || time > untilForce) {
+          time = untilForce;
+        }
+      }
+      return time;
+    }
+
     private void flushChild() {
       persistentOplogs.flushChild();
     }
 
+    private boolean isForcing() {
+      return isAsyncForcing();
+    }
+
+    /**
+     * Records that the given queued operation has been written to the oplog.
+     */
+    private void addWrite(AsyncDiskEntry ade) {
+      this.enqueueTimeSum += ade.enqueueTime;
+      this.writeCount++;
+      if (ASYNC_FORCE_BYTES > 0 && !ade.versionOnly) {
+        this.bytesSinceForce += ade.de.getDiskId().getValueLength();
+      }
+    }
+
+    /**
+     * Flushes the child oplog at the end of a batch, or once the flusher is idle, and forces it to
+     * disk if the force interval or force bytes has been reached. Then records the latency of the
+     * operations that are now written, or forced when forcing is on.
+     */
+    private void flushBatch() {
+      flushChild();
+      if (isForceDue()) {
+        long start = stats.startAsyncForce();
+        persistentOplogs.forceChild();
+        stats.endAsyncForce(start);
+        this.lastForceTime = System.currentTimeMillis();
+        this.bytesSinceForce = 0;
+      } else if (isForcing()) {
+        return;
+      }
+      if (this.writeCount > 0) {
+        stats.endAsyncWrites(this.enqueueTimeSum, this.writeCount);
+        this.enqueueTimeSum = 0;
+        this.writeCount = 0;
+      }
+    }
+
+    private boolean isForceDue() {
+      if (ASYNC_FORCE_BYTES > 0 && this.bytesSinceForce >= ASYNC_FORCE_BYTES) {
+        return true;
+      }
+      return ASYNC_FORCE_INTERVAL > 0 && this.writeCount > 0
+          && System.currentTimeMillis() - this.lastForceTime >= ASYNC_FORCE_INTERVAL;
+    }
+
     public void run() {
       DiskAccessException fatalDae = null;
       if (logger.isDebugEnabled()) {
@@ -1710,6 +1894,7 @@ public class DiskStoreImpl implements DiskStore {
                         }
                       }
                     }
+                    addWrite(ade);
                   } // else
                 } catch (RegionDestroyedException ex) {
                   // Normally we flush before closing or destroying a region
@@ -1718,13 +1903,16 @@ public class DiskStoreImpl implements DiskStore {
                 }
               }
             }
-            flushChild();
+            flushBatch();
             if (doingFlush) {
               doingFlush = false;
               if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
                 CacheObserverHolder.getInstance().afterWritingBytes();
               }
             }
+          } else if (isForceDue()) {
+            // nothing was queued since the last batch, but it has not been forced yet
+            flushBatch();
           }
         }
       } catch (InterruptedException ie) {
@@ -2004,6 +2192,22 @@ public class DiskStoreImpl implements DiskStore {
     persistentOplogs.recoverRegionsThatAreReady();
   }
 
+  ReadLock getRecoveredEntryMapReadLock() {
+    return this.recoveredEntryMapLock.readLock();
+  }
+
+  /**
+   * Creates a pool of RECOVERY_THREADS threads for reading oplogs in parallel during recovery. The
+   * caller must shut it down once it is done with it.
+   */
+  ExecutorService createRecoveryPool(String threadName) {
+    final ThreadGroup recoveryThreadGroup =
+        LoggingThreadGroup.createThreadGroup("Oplog Recovery Thread Group", logger);
+    final ThreadFactory recoveryThreadFactory =
+        GemfireCacheHelper.CreateThreadFactory(recoveryThreadGroup, threadName);
+    return Executors.newFixedThreadPool(RECOVERY_THREADS, recoveryThreadFactory);
+  }
+
   void scheduleValueRecovery(Set<Oplog> oplogsNeedingValueRecovery,
       Map<Long, DiskRecoveryStore> recoveredStores) {
     ValueRecoveryTask task = new ValueRecoveryTask(oplogsNeedingValueRecovery, recoveredStores);
@@ -2051,6 +2255,14 @@ public class DiskStoreImpl implements DiskStore {
     return this.compactionThreshold;
   }
 
+  CompactionRateLimiter getCompactionRateLimiter() {
+    return this.compactionRateLimiter;
+  }
+
+  OplogCompressor getOplogCompressor() {
+    return this.oplogCompressor;
+  }
+
   private final boolean isCompactionPossible;
 
   final boolean isCompactionPossible() {
@@ -2059,7 +2271,7 @@ public class DiskStoreImpl implements DiskStore {
 
   void scheduleCompaction() {
     if (isCompactionEnabled() && !isOfflineCompacting()) {
-      this.oplogCompactor.scheduleIfNeeded(getOplogToBeCompacted());
+      this.oplogCompactor.scheduleUpToMax();
     }
   }
 
@@ -2208,6 +2420,18 @@ public class DiskStoreImpl implements DiskStore {
 
   private void acquireCompactorWriteLock() {
     compactorWriteLock.lock();
+    this.compactorWriteLockCount.incrementAndGet();
+  }
+
+  /**
+   * The number of times the compactor write lock has been acquired. A compaction that released the
+   * compactor read lock while it was throttled compares this count to find out whether an operation
+   * that excludes compaction, such as a clear, ran in the meantime.
+   */
+  private final AtomicLong compactorWriteLockCount = new AtomicLong();
+
+  long getCompactorWriteLockCount() {
+    return this.compactorWriteLockCount.get();
   }
 
   public void releaseCompactorReadLock() {
@@ -2254,6 +2478,9 @@ public class DiskStoreImpl implements DiskStore {
       } catch (RuntimeException e) {
         rte = e;
       }
+      if (this.oplogScrubber != null) {
+        this.oplogScrubber.stop();
+      }
       if (!isOffline()) {
         try {
           // do this before write lock
@@ -2684,11 +2911,21 @@ public class DiskStoreImpl implements DiskStore {
     if (!all && max > MAX_OPLOGS_PER_COMPACTION && MAX_OPLOGS_PER_COMPACTION > 0) {
       max = MAX_OPLOGS_PER_COMPACTION;
     }
-    persistentOplogs.getCompactableOplogs(l, max);
+    // skip the oplogs a concurrent compaction is already working on
+    boolean skipScheduled = !all && this.oplogCompactor != null;
+    int maxCollected = skipScheduled ? Integer.MAX_VALUE : max;
+    persistentOplogs.getCompactableOplogs(l, maxCollected);
 
     // Note this always puts overflow oplogs on the end of the list.
     // They may get starved.
-    overflowOplogs.getCompactableOplogs(l, max);
+    overflowOplogs.getCompactableOplogs(l, maxCollected);
+
+    if (skipScheduled) {
+      this.oplogCompactor.removeScheduled(l);
+      if (l.size() > max) {
+        l.subList(max, l.size()).clear();
+      }
+    }
 
     if (l.isEmpty()) {
       return null;
@@ -2712,68 +2949,95 @@ public class DiskStoreImpl implements DiskStore {
   }
 
   /**
-   * Filters and returns the current set of oplogs that aren't already in the baseline for
-   * incremental backup
+   * Filters the given oplog file ranges down to the parts that aren't already in the baseline for
+   * incremental backup. A file the baseline holds is restored from the baseline. If records have
+   * been appended to it since, only those records are backed up, as a delta that the restore script
+   * appends to the baseline copy.
    * 
    * @param baselineInspector the inspector for the previous backup.
-   * @param baselineCopyMap this will be populated with baseline oplogs Files that will be used in
-   *        the restore script.
-   * @return an array of Oplogs to be copied for an incremental backup.
+   * @param fileRanges the ranges to filter, by oplog.
+   * @param restoreScript will be given the baseline oplog files and the deltas to restore.
+   * @return the ranges that have to be copied, by oplog.
    * @throws IOException
    */
-  private Oplog[] filterBaselineOplogs(BackupInspector baselineInspector,
-      Map<File, File> baselineCopyMap) throws IOException {
+  private Map<Oplog, List<DiskStoreBackup.FileRange>> filterBaselineOplogs(
+      BackupInspector baselineInspector, Map<Oplog, List<DiskStoreBackup.FileRange>> fileRanges,
+      File targetDir, RestoreScript restoreScript) throws IOException {
     File baselineDir = new File(baselineInspector.getBackupDir(), BackupManager.DATA_STORES);
     baselineDir = new File(baselineDir, getBackupDirName());
 
     // Find all of the member's diskstore oplogs in the member's baseline
     // diskstore directory structure (*.crf,*.krf,*.drf)
-    List<File> baselineOplogFiles = FileUtil.findAll(baselineDir, ".*\\.[kdc]rf$");
-
-    // Our list of oplogs to copy (those not already in the baseline)
-    List<Oplog> oplogList = new LinkedList<Oplog>();
+    Map<String, File> baselineOplogFiles = TransformUtils.transformAndMap(
+        FileUtil.findAll(baselineDir, ".*\\.[kdc]rf$"), TransformUtils.fileNameTransformer);
+
+    Map<Oplog, List<DiskStoreBackup.FileRange>> result =
+        new HashMap<Oplog, List<DiskStoreBackup.FileRange>>();
+    Map<File, File> baselineCopyMap = new HashMap<File, File>();
+    long bytesReused = 0;
+    for (Map.Entry<Oplog, List<DiskStoreBackup.FileRange>> entry : fileRanges.entrySet()) {
+      List<DiskStoreBackup.FileRange> ranges = new ArrayList<DiskStoreBackup.FileRange>();
+      for (DiskStoreBackup.FileRange range : entry.getValue()) {
+        String name = range.getFile().getName();
+
+        // See if it is backed up in the current baseline or, failing that, in previous baselines
+        File baselineFile = baselineOplogFiles.get(name);
+        if (baselineFile == null && baselineInspector.isIncremental()
+            && baselineInspector.getIncrementalOplogFileNames().contains(name)) {
+          baselineFile = new File(baselineInspector.getCopyFromForOplogFile(name));
+        }
+        if (baselineFile == null || !baselineFile.exists()) {
+          // a fresh oplog file so lets back it up
+          ranges.add(range);
+          continue;
+        }
 
-    // Total list of member oplogs
-    Oplog[] allOplogs = getAllOplogsForBackup();
+        // The length of the file the baseline restores, including the records the restore
+        // scripts append to it
+        List<String> baselineAppends = baselineInspector.getAppendsForOplogFile(name);
+        long baselineLength = baselineFile.length();
+        for (String appended : baselineAppends) {
+          baselineLength += new File(appended).length();
+        }
+        long length = range.getEnd() < 0 ? range.getFile().length() : range.getEnd();
+        if (baselineLength > length || (range.getEnd() < 0 && baselineLength != length)) {
+          // not the file the baseline holds
+          ranges.add(range);
+          continue;
+        }
 
-    /*
-     * Loop through operation logs and see if they are already part of the baseline backup.
-     */
-    for (Oplog log : allOplogs) {
-      // See if they are backed up in the current baseline
-      Map<File, File> oplogMap = log.mapBaseline(baselineOplogFiles);
-
-      // No? Then see if they were backed up in previous baselines
-      if (oplogMap.isEmpty() && baselineInspector.isIncremental()) {
-        Set<String> matchingOplogs =
-            log.gatherMatchingOplogFiles(baselineInspector.getIncrementalOplogFileNames());
-        if (!matchingOplogs.isEmpty()) {
-          for (String matchingOplog : matchingOplogs) {
-            oplogMap.put(new File(baselineInspector.getCopyFromForOplogFile(matchingOplog)),
-                new File(baselineInspector.getCopyToForOplogFile(matchingOplog)));
-          }
+        File original = IOUtils.tryGetCanonicalFileElseGetAbsoluteFile(range.getFile());
+        baselineCopyMap.put(baselineFile, original);
+        for (String appended : baselineAppends) {
+          restoreScript.addAppendedFile(original, new File(appended));
+        }
+        bytesReused += baselineLength;
+        if (baselineLength < length) {
+          // back up the records appended since the baseline
+          ranges.add(new DiskStoreBackup.FileRange(range.getFile(), baselineLength, length));
+          restoreScript.addAppendedFile(original, getBackupDeltaFile(targetDir, range.getFile()));
         }
       }
-
-      if (oplogMap.isEmpty()) {
-        /*
-         * These are fresh operation log files so lets back them up.
-         */
-        oplogList.add(log);
-      } else {
-        /*
-         * These have been backed up before so lets just add their entries from the previous backup
-         * or restore script into the current one.
-         */
-        baselineCopyMap.putAll(oplogMap);
+      if (!ranges.isEmpty()) {
+        result.put(entry.getKey(), ranges);
       }
     }
-
-    // Convert the filtered oplog list to an array
-    return oplogList.toArray(new Oplog[] {});
+    restoreScript.addBaselineFiles(baselineCopyMap);
+    getStats().incBackupBytesReused(bytesReused);
+    return result;
   }
 
-
+  /**
+   * Returns the ranges of the oplog files a backup started now needs, by oplog.
+   */
+  private Map<Oplog, List<DiskStoreBackup.FileRange>> getFileRangesForBackup() {
+    Map<Oplog, List<DiskStoreBackup.FileRange>> fileRanges =
+        new HashMap<Oplog, List<DiskStoreBackup.FileRange>>();
+    for (Oplog oplog : getAllOplogsForBackup()) {
+      fileRanges.put(oplog, oplog.getBackupFileRanges());
+    }
+    return fileRanges;
+  }
 
   /**
    * Get all of the oplogs
@@ -2782,6 +3046,13 @@ public class DiskStoreImpl implements DiskStore {
     return persistentOplogs.getAllOplogs();
   }
 
+  /**
+   * Get all of the persistent oplogs
+   */
+  Oplog[] getAllOplogs() {
+    return persistentOplogs.getAllOplogs();
+  }
+
   // @todo perhaps a better thing for the tests would be to give them a listener
   // hook that notifies them every time an oplog is created.
   /**
@@ -2796,15 +3067,18 @@ public class DiskStoreImpl implements DiskStore {
    * @since GemFire 5.1
    * 
    */
-  class OplogCompactor implements Runnable {
+  class OplogCompactor {
     /** boolean for the thread to continue compaction* */
     private volatile boolean compactorEnabled;
-    private volatile boolean scheduled;
-    private CompactableOplog[] scheduledOplogs;
-    /**
-     * used to keep track of the Thread currently invoking run on this compactor
-     */
-    private volatile Thread me;
+
+    /** The number of compactions that are scheduled or running. Guarded by this. */
+    private int scheduledCompactions;
+
+    /** The oplogs of the scheduled compactions. Guarded by this. */
+    private final Set<CompactableOplog> scheduledOplogs = new HashSet<CompactableOplog>();
+
+    /** The threads currently running a compaction. Guarded by this. */
+    private final Set<Thread> compactorThreads = new HashSet<Thread>();
 
     // Boolean which decides if the compactor can terminate early i.e midway
     // between compaction.
@@ -2845,48 +3119,121 @@ public class DiskStoreImpl implements DiskStore {
     }
 
     /**
+     * Schedules a compaction of the given oplogs, unless MAX_CONCURRENT_COMPACTIONS compactions are
+     * already scheduled.
+     * 
      * @return true if compaction done; false if it was not
      */
-    private synchronized boolean scheduleIfNeeded(CompactableOplog[] opLogs) {
-      if (!this.scheduled) {
-        return schedule(opLogs);
-      } else {
-        return false;
+    private boolean scheduleIfNeeded(CompactableOplog[] opLogs) {
+      boolean result;
+      synchronized (this) {
+        result = this.scheduledCompactions < MAX_CONCURRENT_COMPACTIONS && schedule(opLogs);
       }
+      updateBacklog();
+      return result;
     }
 
     /**
+     * Schedules a compaction of those of the given oplogs that no other compaction is working on.
+     * Must be called while synchronized on this compactor.
+     * 
      * @return true if compaction done; false if it was not
      */
-    private synchronized boolean schedule(CompactableOplog[] opLogs) {
-      assert !this.scheduled;
+    private boolean schedule(CompactableOplog[] opLogs) {
       if (!this.compactorEnabled)
         return false;
+      List<CompactableOplog> l = new ArrayList<CompactableOplog>();
       if (opLogs != null) {
         for (int i = 0; i < opLogs.length; i++) {
-          opLogs[i].prepareForCompact();
-        }
-        this.scheduled = true;
-        this.scheduledOplogs = opLogs;
-        boolean result = executeDiskStoreTask(this);
-        if (!result) {
-          reschedule(false);
-          return false;
-        } else {
-          return true;
+          if (!this.scheduledOplogs.contains(opLogs[i])) {
+            l.add(opLogs[i]);
+          }
         }
-      } else {
+      }
+      if (l.isEmpty()) {
+        return false;
+      }
+      for (CompactableOplog oplog : l) {
+        oplog.prepareForCompact();
+      }
+      this.scheduledOplogs.addAll(l);
+      this.scheduledCompactions++;
+      CompactionTask task = new CompactionTask(l.toArray(new CompactableOplog[l.size()]));
+      boolean result = executeDiskStoreTask(task);
+      if (!result) {
+        reschedule(task, false);
         return false;
+      } else {
+        return true;
       }
     }
 
+    /**
+     * Schedules compactions of the oplogs that are ready to be compacted until
+     * MAX_CONCURRENT_COMPACTIONS compactions are scheduled. The oplogs are gathered without holding
+     * this compactor's monitor, which the compactor threads need when they finish.
+     */
+    private void scheduleUpToMax() {
+      for (;;) {
+        synchronized (this) {
+          if (this.scheduledCompactions >= MAX_CONCURRENT_COMPACTIONS) {
+            return;
+          }
+        }
+        if (!scheduleIfNeeded(getOplogToBeCompacted())) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Removes from the given list the oplogs that a scheduled compaction is already working on.
+     */
+    synchronized void removeScheduled(List<CompactableOplog> l) {
+      if (!this.scheduledOplogs.isEmpty()) {
+        l.removeAll(this.scheduledOplogs);
+      }
+    }
+
+    /**
+     * Sets the compaction backlog stat. Must not be called while synchronized on this compactor.
+     */
+    private void updateBacklog() {
+      int backlog = 0;
+      CompactableOplog[] oplogs = getOplogsToBeCompacted(true);
+      if (oplogs != null) {
+        synchronized (this) {
+          for (CompactableOplog oplog : oplogs) {
+            if (!this.scheduledOplogs.contains(oplog)) {
+              backlog++;
+            }
+          }
+        }
+      }
+      getStats().setCompactionBacklog(backlog);
+    }
+
+    /**
+     * Waits, without holding any lock foreground operations need, until the given number of bytes
+     * may be copied forward within the compaction rate limit of this disk store.
+     */
+    void throttle(int bytes) {
+      getCompactionRateLimiter().acquire(bytes, this);
+    }
+
+    /**
+     * Returns true if this disk store limits the rate of compaction.
+     */
+    boolean isThrottled() {
+      return getCompactionRateLimiter().isLimited();
+    }
+
     /**
      * A non-backup just needs values that are written to one of the oplogs being compacted that are
      * still alive (have not been deleted or modified in a future oplog) to be copied forward to the
      * current active oplog
      */
-    private boolean compact() {
-      CompactableOplog[] oplogs = this.scheduledOplogs;
+    private boolean compact(CompactableOplog[] oplogs) {
       int totalCount = 0;
       long compactionStart = getStats().startCompaction();
       long start = System.nanoTime();
@@ -2919,79 +3266,94 @@ public class DiskStoreImpl implements DiskStore {
     }
 
     /**
-     * Just do compaction and then check to see if another needs to be done and if so schedule it.
-     * Asif:The compactor thread checks for an oplog in the LinkedHasMap in a synchronization on the
-     * oplogIdToOplog object. This will ensure that an addition of an Oplog to the Map does not get
-     * missed. Notifications need not be sent if the thread is already compaction
+     * Compacts the oplogs of one scheduled compaction on a thread of the disk store task pool. Up to
+     * MAX_CONCURRENT_COMPACTIONS of these run at the same time, each on different oplogs.
      */
-    public void run() {
-      getCache().getCachePerfStats().decDiskTasksWaiting();
-      if (!this.scheduled)
-        return;
-      boolean compactedSuccessfully = false;
-      try {
-        SystemFailure.checkFailure();
-        if (isClosing()) {
-          return;
-        }
-        if (!this.compactorEnabled)
-          return;
-        final CompactableOplog[] oplogs = this.scheduledOplogs;
-        this.me = Thread.currentThread();
+    private class CompactionTask implements Runnable {
+      private final CompactableOplog[] oplogs;
+
+      CompactionTask(CompactableOplog[] oplogs) {
+        this.oplogs = oplogs;
+      }
+
+      /**
+       * Just do compaction and then check to see if another needs to be done and if so schedule it.
+       * Asif:The compactor thread checks for an oplog in the LinkedHasMap in a synchronization on
+       * the oplogIdToOplog object. This will ensure that an addition of an Oplog to the Map does not
+       * get missed. Notifications need not be sent if the thread is already compaction
+       */
+      public void run() {
+        getCache().getCachePerfStats().decDiskTasksWaiting();
+        boolean compactedSuccessfully = false;
         try {
-          // set our thread's name
-          String tName = "OplogCompactor " + getName() + " for oplog " + oplogs[0].toString();
-          Thread.currentThread().setName(tName);
-
-          StringBuffer buffer = new StringBuffer();
-          for (int j = 0; j < oplogs.length; ++j) {
-            buffer.append(oplogs[j].toString());
-            if (j + 1 < oplogs.length) {
-              buffer.append(", ");
-            }
+          SystemFailure.checkFailure();
+          if (isClosing()) {
+            return;
           }
-          String ids = buffer.toString();
-          logger.info(LocalizedMessage.create(LocalizedStrings.DiskRegion_COMPACTION_OPLOGIDS,
-              new Object[] {getName(), ids}));
-          if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
-            CacheObserverHolder.getInstance().beforeGoingToCompact();
+          if (!compactorEnabled)
+            return;
+          final CompactableOplog[] oplogs = this.oplogs;
+          final Thread me = Thread.currentThread();
+          synchronized (OplogCompactor.this) {
+            compactorThreads.add(me);
           }
-          compactedSuccessfully = compact();
-          if (compactedSuccessfully) {
-            if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
-              CacheObserverHolder.getInstance().afterHavingCompacted();
+          try {
+            // set our thread's name
+            String tName = "OplogCompactor " + getName() + " for oplog " + oplogs[0].toString();
+            me.setName(tName);
+
+            StringBuffer buffer = new StringBuffer();
+            for (int j = 0; j < oplogs.length; ++j) {
+              buffer.append(oplogs[j].toString());
+              if (j + 1 < oplogs.length) {
+                buffer.append(", ");
+              }
             }
-          } else {
-            logger.warn(LocalizedMessage.create(LocalizedStrings.DiskRegion_COMPACTION_FAILURE,
+            String ids = buffer.toString();
+            logger.info(LocalizedMessage.create(LocalizedStrings.DiskRegion_COMPACTION_OPLOGIDS,
                 new Object[] {getName(), ids}));
+            if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
+              CacheObserverHolder.getInstance().beforeGoingToCompact();
+            }
+            compactedSuccessfully = compact(oplogs);
+            if (compactedSuccessfully) {
+              if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
+                CacheObserverHolder.getInstance().afterHavingCompacted();
+              }
+            } else {
+              logger.warn(LocalizedMessage.create(LocalizedStrings.DiskRegion_COMPACTION_FAILURE,
+                  new Object[] {getName(), ids}));
+            }
+          } catch (DiskAccessException dae) {
+            handleDiskAccessException(dae);
+            throw dae;
+          } catch (KillCompactorException ex) {
+            if (logger.isDebugEnabled()) {
+              logger.debug("compactor thread terminated by test");
+            }
+            throw ex;
+          } finally {
+            if (compactedSuccessfully) {
+              me.setName("Idle OplogCompactor");
+            }
+            synchronized (OplogCompactor.this) {
+              compactorThreads.remove(me);
+            }
           }
-        } catch (DiskAccessException dae) {
-          handleDiskAccessException(dae);
-          throw dae;
-        } catch (KillCompactorException ex) {
-          if (logger.isDebugEnabled()) {
-            logger.debug("compactor thread terminated by test");
-          }
-          throw ex;
+        } catch (CancelException ignore) {
+          // if cache is closed, just about the compaction
         } finally {
-          if (compactedSuccessfully) {
-            this.me.setName("Idle OplogCompactor");
-          }
-          this.me = null;
+          reschedule(this, compactedSuccessfully);
         }
-      } catch (CancelException ignore) {
-        // if cache is closed, just about the compaction
-      } finally {
-        reschedule(compactedSuccessfully);
       }
     }
 
     synchronized void waitForRunToComplete() {
-      if (this.me == Thread.currentThread()) {
+      if (this.compactorThreads.contains(Thread.currentThread())) {
         // no need to wait since we are the compactor to fix bug 40630
         return;
       }
-      while (this.scheduled) {
+      while (this.scheduledCompactions > 0) {
         try {
           wait();
         } catch (InterruptedException ex) {
@@ -3000,10 +3362,12 @@ public class DiskStoreImpl implements DiskStore {
       }
     }
 
-    private synchronized void reschedule(boolean success) {
-      this.scheduled = false;
-      this.scheduledOplogs = null;
-      notifyAll();
+    private void reschedule(CompactionTask task, boolean success) {
+      synchronized (this) {
+        this.scheduledCompactions--;
+        this.scheduledOplogs.removeAll(Arrays.asList(task.oplogs));
+        notifyAll();
+      }
       if (!success)
         return;
       if (!this.compactorEnabled)
@@ -3014,7 +3378,7 @@ public class DiskStoreImpl implements DiskStore {
       // synchronized (DiskStoreImpl.this.oplogIdToOplog) {
       if (this.compactorEnabled) {
         if (isCompactionEnabled()) {
-          schedule(getOplogToBeCompacted());
+          scheduleUpToMax();
         }
       }
       // }
@@ -3416,6 +3780,7 @@ public class DiskStoreImpl implements DiskStore {
   private final String name;
   private final boolean autoCompact;
   private final boolean allowForceCompaction;
+  private final long compactionRateLimit;
   private final long maxOplogSizeInBytes;
   private final long timeInterval;
   private final int queueSize;
@@ -3424,6 +3789,7 @@ public class DiskStoreImpl implements DiskStore {
   private final int[] diskDirSizes;
   private volatile float warningPercent;
   private volatile float criticalPercent;
+  private final Compressor compressor;
 
   // DiskStore interface methods
   public String getName() {
@@ -3438,6 +3804,14 @@ public class DiskStoreImpl implements DiskStore {
     return this.allowForceCompaction;
   }
 
+  public long getCompactionRateLimit() {
+    return this.compactionRateLimit;
+  }
+
+  public Compressor getCompressor() {
+    return this.compressor;
+  }
+
   public long getMaxOplogSize() {
     return this.maxOplogSizeInBytes / (1024 * 1024);
   }
@@ -3504,6 +3878,8 @@ public class DiskStoreImpl implements DiskStore {
     public final DiskEntry de;
     public final boolean versionOnly;
     public final VersionTag tag;
+    /** when this entry was put on the async queue; only read by the flusher */
+    long enqueueTime;
 
     public AsyncDiskEntry(LocalRegion region, DiskEntry de, VersionTag tag) {
       this.region = region;
@@ -4117,7 +4493,8 @@ public class DiskStoreImpl implements DiskStore {
       for (;;) {
         Oplog childOplog = persistentOplogs.getChild();
         if (childOplog == null) {
-          this.diskStoreBackup = new DiskStoreBackup(new Oplog[0], targetDir);
+          this.diskStoreBackup = new DiskStoreBackup(
+              Collections.<Oplog, List<DiskStoreBackup.FileRange>>emptyMap(), targetDir);
           break;
         }
 
@@ -4150,27 +4527,33 @@ public class DiskStoreImpl implements DiskStore {
 
           restoreScript.addExistenceTest(this.initFile.getIFFile());
 
-          // Contains all oplogs that will backed up
-          Oplog[] allOplogs = null;
+          // An incremental backup does not roll the current oplog. Its records are flushed so the
+          // backup can copy them up to the current end of the oplog, and the next incremental
+          // backup only has to copy the records appended after that.
+          if (null != baselineInspector) {
+            childOplog.flushAll();
+          }
+
+          // Contains the parts of all oplogs that will backed up
+          Map<Oplog, List<DiskStoreBackup.FileRange>> fileRanges = getFileRangesForBackup();
 
-          // Incremental backup so filter out oplogs that have already been
+          // Incremental backup so filter out the parts of oplogs that have already been
           // backed up
           if (null != baselineInspector) {
-            Map<File, File> baselineCopyMap = new HashMap<File, File>();
-            allOplogs = filterBaselineOplogs(baselineInspector, baselineCopyMap);
-            restoreScript.addBaselineFiles(baselineCopyMap);
-          } else {
-            allOplogs = getAllOplogsForBackup();
+            fileRanges =
+                filterBaselineOplogs(baselineInspector, fileRanges, targetDir, restoreScript);
           }
 
           // mark all oplogs as being backed up. This will
           // prevent the oplogs from being deleted
-          this.diskStoreBackup = new DiskStoreBackup(allOplogs, targetDir);
+          this.diskStoreBackup = new DiskStoreBackup(fileRanges, targetDir);
 
           // copy the init file
           File firstDir = getBackupDir(targetDir, infoFileDirIndex);
           initFile.copyTo(firstDir);
-          persistentOplogs.forceRoll(null);
+          if (null == baselineInspector) {
+            persistentOplogs.forceRoll(null);
+          }
 
           if (logger.isDebugEnabled()) {
             logger.debug("done snaphotting for disk store {}", getName());
@@ -4190,6 +4573,10 @@ public class DiskStoreImpl implements DiskStore {
     return new File(targetDir, BACKUP_DIR_PREFIX + index);
   }
 
+  private File getBackupDeltaFile(File targetDir, File oplogFile) {
+    return new File(new File(targetDir, BACKUP_DELTA_DIR), oplogFile.getName() + BACKUP_DELTA_EXT);
+  }
+
   /**
    * Copy the oplogs to the backup directory. This is the final step of the backup process. The
    * oplogs we copy are defined in the startBackup method.
@@ -4210,12 +4597,26 @@ public class DiskStoreImpl implements DiskStore {
         if (backupManager.isCancelled()) {
           break;
         }
-        // Copy theoplog to the destination directory
+        // Copy the oplog to the destination directory
         int index = oplog.getDirectoryHolder().getArrayIndex();
-        File backupDir = getBackupDir(this.diskStoreBackup.getTargetDir(), index);
+        File targetDir = this.diskStoreBackup.getTargetDir();
+        File backupDir = getBackupDir(targetDir, index);
         // TODO prpersist - We could probably optimize this to *move* the files
         // that we know are supposed to be deleted.
-        oplog.copyTo(backupDir);
+        for (DiskStoreBackup.FileRange range : this.diskStoreBackup.getFileRanges(oplog)) {
+          File dest;
+          if (range.isDelta()) {
+            dest = getBackupDeltaFile(targetDir, range.getFile());
+            if (!dest.getParentFile().isDirectory() && !FileUtil.mkdirs(dest.getParentFile())) {
+              throw new IOException("Could not create directory " + dest.getParentFile());
+            }
+          } else {
+            dest = new File(backupDir, range.getFile().getName());
+          }
+          long start = getStats().startBackupCopy();
+          long bytesCopied = oplog.copyTo(range, dest);
+          getStats().endBackupCopy(start, bytesCopied);
+        }
 
         // Allow the oplog to be deleted, and process any pending delete
         this.diskStoreBackup.backupFinished(oplog);
@@ -4504,13 +4905,19 @@ public class DiskStoreImpl implements DiskStore {
     public void run() {
       synchronized (asyncValueRecoveryLock) {
         DiskStoreObserver.startAsyncValueRecovery(DiskStoreImpl.this);
+        final long start = getStats().startValueRecovery();
         try {
-          for (Oplog oplog : oplogSet) {
-            oplog.recoverValuesIfNeeded(currentAsyncValueRecoveryMap);
+          if (RECOVERY_THREADS > 1 && oplogSet.size() > 1) {
+            recoverValuesInParallel();
+          } else {
+            for (Oplog oplog : oplogSet) {
+              oplog.recoverValuesIfNeeded(currentAsyncValueRecoveryMap);
+            }
           }
         } catch (CancelException ignore) {
           // do nothing
         } finally {
+          getStats().endValueRecovery(start);
           synchronized (currentAsyncValueRecoveryMap) {
             DiskStoreImpl.this.currentAsyncValueRecoveryMap.keySet()
                 .removeAll(recoveredStores.keySet());
@@ -4520,6 +4927,44 @@ public class DiskStoreImpl implements DiskStore {
         }
       }
     }
+
+    /**
+     * Recovers the values of each oplog on a different thread. The values in different oplogs
+     * belong to different entries, and recovering a value locks its entry, so the oplogs do not
+     * interfere with each other.
+     */
+    private void recoverValuesInParallel() {
+      ExecutorService pool = createRecoveryPool("Value Recovery Thread");
+      try {
+        List<Future<?>> results = new ArrayList<Future<?>>(oplogSet.size());
+        for (final Oplog oplog : oplogSet) {
+          results.add(pool.submit(new Runnable() {
+            public void run() {
+              oplog.recoverValuesIfNeeded(currentAsyncValueRecoveryMap);
+            }
+          }));
+        }
+        for (Future<?> result : results) {
+          try {
+            result.get();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+          } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+              throw (Error) cause;
+            }
+            throw new DiskAccessException("Failed recovering values", cause, DiskStoreImpl.this);
+          }
+        }
+      } finally {
+        pool.shutdownNow();
+      }
+    }
   }
 
   public void waitForAsyncRecovery(DiskRegion diskRegion) {
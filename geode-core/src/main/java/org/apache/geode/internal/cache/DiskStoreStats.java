@@ -47,11 +47,37 @@ public class DiskStoreStats {
   private static final int recoveredEntryDestroysId;
   private static final int recoveredValuesSkippedDueToLRUId;
   private static final int recoveryRecordsSkippedId;
+  private static final int valueRecoveriesInProgressId;
+  private static final int valueRecoveryTimeId;
+  private static final int recoveredValuesId;
+  private static final int recoveredValueBytesId;
+  private static final int groupCommitsId;
+  private static final int groupCommitWritesId;
+  private static final int compressionsId;
+  private static final int compressTimeId;
+  private static final int preCompressedBytesId;
+  private static final int postCompressedBytesId;
+  private static final int decompressionsId;
+  private static final int decompressTimeId;
+  private static final int scrubbedOplogsId;
+  private static final int scrubbedBytesId;
+  private static final int scrubTimeId;
+  private static final int checksumFailuresId;
+  private static final int backupBytesCopiedId;
+  private static final int backupBytesReusedId;
+  private static final int backupCopyTimeId;
+  private static final int asyncWritesCompletedId;
+  private static final int asyncWriteLatencyId;
+  private static final int asyncForcesId;
+  private static final int asyncForceTimeId;
   private static final int compactsInProgressId;
   private static final int writesInProgressId;
   private static final int flushesInProgressId;
   private static final int compactTimeId;
   private static final int compactsId;
+  private static final int compactionBacklogId;
+  private static final int compactionThrottleWaitsId;
+  private static final int compactionThrottleWaitTimeId;
   private static final int oplogRecoveriesId;
   private static final int oplogRecoveryTimeId;
   private static final int oplogRecoveredBytesId;
@@ -97,6 +123,10 @@ public class DiskStoreStats {
     final String recoveryTimeDesc = "The total amount of time spent doing a recovery";
     final String recoveredBytesDesc =
         "The total number of bytes that have been read from disk during a recovery";
+    final String valueRecoveryTimeDesc =
+        "The total amount of time spent recovering values in the background after a recovery";
+    final String recoveredValueBytesDesc =
+        "The total number of bytes of values that have been read from disk in the background after a recovery";
     final String oplogRecoveriesDesc = "The total number of oplogs recovered";
     final String oplogRecoveryTimeDesc = "The total amount of time spent doing an oplog recovery";
     final String oplogRecoveredBytesDesc =
@@ -143,6 +173,63 @@ public class DiskStoreStats {
             f.createLongCounter("recoveryRecordsSkipped",
                 "The total number of oplog records skipped during recovery.", "ops"),
 
+            f.createIntGauge("valueRecoveriesInProgress",
+                "current number of disk stores recovering values in the background", "ops"),
+            f.createLongCounter("valueRecoveryTime", valueRecoveryTimeDesc, "nanoseconds"),
+            f.createLongCounter("recoveredValues",
+                "The total number of entry values that have been recovered in the background after a recovery.",
+                "values"),
+            f.createLongCounter("recoveredValueBytes", recoveredValueBytesDesc, "bytes"),
+            f.createLongCounter("groupCommits",
+                "The total number of flushes done on behalf of a group of synchronous writers.",
+                "flushes"),
+            f.createLongCounter("groupCommitWrites",
+                "The total number of synchronous writes flushed by group commits.", "ops"),
+            f.createLongCounter("compressions",
+                "The total number of oplog values written in compressed form.", "operations"),
+            f.createLongCounter("compressTime",
+                "The total time spent compressing oplog values, including the values that did not get smaller.",
+                "nanoseconds"),
+            f.createLongCounter("preCompressedBytes",
+                "The total number of bytes of the oplog values compressed, including the values that did not get smaller, before compressing.",
+                "bytes"),
+            f.createLongCounter("postCompressedBytes",
+                "The total number of bytes of the oplog values compressed as they were written, which is their original size for the values that did not get smaller.",
+                "bytes"),
+            f.createLongCounter("decompressions",
+                "The total number of compressed oplog values read from disk.", "operations"),
+            f.createLongCounter("decompressTime",
+                "The total time spent decompressing oplog values.", "nanoseconds"),
+            f.createLongCounter("scrubbedOplogs",
+                "The total number of rolled oplogs whose record checksums have been verified in the background.",
+                "oplogs"),
+            f.createLongCounter("scrubbedBytes",
+                "The total number of oplog bytes whose record checksums have been verified in the background.",
+                "bytes"),
+            f.createLongCounter("scrubTime",
+                "The total time spent verifying the record checksums of rolled oplogs in the background.",
+                "nanoseconds"),
+            f.createLongCounter("checksumFailures",
+                "The total number of oplog records found not to match their checksum.", "records"),
+            f.createLongCounter("backupBytesCopied",
+                "The total number of oplog bytes copied by backups of this disk store.", "bytes"),
+            f.createLongCounter("backupBytesReused",
+                "The total number of oplog bytes incremental backups did not copy because their baseline already held them.",
+                "bytes"),
+            f.createLongCounter("backupCopyTime",
+                "The total time spent copying oplogs by backups of this disk store.",
+                "nanoseconds"),
+            f.createLongCounter("asyncWritesCompleted",
+                "The total number of operations taken off the async queue and written to the oplog.",
+                "ops"),
+            f.createLongCounter("asyncWriteLatency",
+                "The total time async operations spent between being queued and being written to the oplog, or forced to disk when an async force interval or force bytes is set.",
+                "nanoseconds"),
+            f.createLongCounter("asyncForces",
+                "The total number of times the async writer forced the oplog to disk.", "forces"),
+            f.createLongCounter("asyncForceTime",
+                "The total time the async writer spent forcing the oplog to disk.", "nanoseconds"),
+
             f.createIntCounter("oplogRecoveries", oplogRecoveriesDesc, "ops"),
             f.createLongCounter("oplogRecoveryTime", oplogRecoveryTimeDesc, "nanoseconds"),
             f.createLongCounter("oplogRecoveredBytes", oplogRecoveredBytesDesc, "bytes"),
@@ -173,6 +260,15 @@ public class DiskStoreStats {
             f.createLongCounter("compactTime",
                 "Total amount of time, in nanoseconds, spent compacting oplogs", "nanoseconds"),
             f.createIntCounter("compacts", "Total number of completed oplog compacts", "compacts"),
+            f.createIntGauge("compactionBacklog",
+                "current number of oplogs that are ready to be compacted but that no compactor is working on yet",
+                "oplogs"),
+            f.createLongCounter("compactionThrottleWaits",
+                "Total number of times a compactor waited to stay within the compaction rate limit",
+                "waits"),
+            f.createLongCounter("compactionThrottleWaitTime",
+                "Total amount of time, in nanoseconds, compactors spent waiting to stay within the compaction rate limit",
+                "nanoseconds"),
             f.createIntGauge("openOplogs", "Current number of oplogs this disk store has open",
                 "oplogs"),
             f.createIntGauge("compactableOplogs", "Current number of oplogs ready to be compacted",
@@ -206,12 +302,38 @@ public class DiskStoreStats {
     recoveredEntryDestroysId = type.nameToId("recoveredEntryDestroys");
     recoveredValuesSkippedDueToLRUId = type.nameToId("recoveredValuesSkippedDueToLRU");
     recoveryRecordsSkippedId = type.nameToId("recoveryRecordsSkipped");
+    valueRecoveriesInProgressId = type.nameToId("valueRecoveriesInProgress");
+    valueRecoveryTimeId = type.nameToId("valueRecoveryTime");
+    recoveredValuesId = type.nameToId("recoveredValues");
+    recoveredValueBytesId = type.nameToId("recoveredValueBytes");
+    groupCommitsId = type.nameToId("groupCommits");
+    groupCommitWritesId = type.nameToId("groupCommitWrites");
+    compressionsId = type.nameToId("compressions");
+    compressTimeId = type.nameToId("compressTime");
+    preCompressedBytesId = type.nameToId("preCompressedBytes");
+    postCompressedBytesId = type.nameToId("postCompressedBytes");
+    decompressionsId = type.nameToId("decompressions");
+    decompressTimeId = type.nameToId("decompressTime");
+    scrubbedOplogsId = type.nameToId("scrubbedOplogs");
+    scrubbedBytesId = type.nameToId("scrubbedBytes");
+    scrubTimeId = type.nameToId("scrubTime");
+    checksumFailuresId = type.nameToId("checksumFailures");
+    backupBytesCopiedId = type.nameToId("backupBytesCopied");
+    backupBytesReusedId = type.nameToId("backupBytesReused");
+    backupCopyTimeId = type.nameToId("backupCopyTime");
+    asyncWritesCompletedId = type.nameToId("asyncWritesCompleted");
+    asyncWriteLatencyId = type.nameToId("asyncWriteLatency");
+    asyncForcesId = type.nameToId("asyncForces");
+    asyncForceTimeId = type.nameToId("asyncForceTime");
 
     compactsInProgressId = type.nameToId("compactsInProgress");
     writesInProgressId = type.nameToId("writesInProgress");
     flushesInProgressId = type.nameToId("flushesInProgress");
     compactTimeId = type.nameToId("compactTime");
     compactsId = type.nameToId("compacts");
+    compactionBacklogId = type.nameToId("compactionBacklog");
+    compactionThrottleWaitsId = type.nameToId("compactionThrottleWaits");
+    compactionThrottleWaitTimeId = type.nameToId("compactionThrottleWaitTime");
     oplogRecoveriesId = type.nameToId("oplogRecoveries");
     oplogRecoveryTimeId = type.nameToId("oplogRecoveryTime");
     oplogRecoveredBytesId = type.nameToId("oplogRecoveredBytes");
@@ -441,6 +563,42 @@ public class DiskStoreStats {
     this.stats.incLong(compactTimeId, end - start);
   }
 
+  public void setCompactionBacklog(int oplogs) {
+    this.stats.setInt(compactionBacklogId, oplogs);
+  }
+
+  public int getCompactionBacklog() {
+    return this.stats.getInt(compactionBacklogId);
+  }
+
+  public int getCompactsInProgress() {
+    return this.stats.getInt(compactsInProgressId);
+  }
+
+  /**
+   * Invoked before a compactor waits to stay within the compaction rate limit.
+   *
+   * @return The timestamp that marks the start of the wait
+   */
+  public long startCompactionThrottleWait() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after a compactor has waited to stay within the compaction rate limit.
+   *
+   * @param start The time at which the wait started
+   */
+  public void endCompactionThrottleWait(long start) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(compactionThrottleWaitsId, 1);
+    this.stats.incLong(compactionThrottleWaitTimeId, end - start);
+  }
+
+  public long getCompactionThrottleWaits() {
+    return this.stats.getLong(compactionThrottleWaitsId);
+  }
+
   public void endOplogRead(long start, long bytesRead) {
     long end = DistributionStats.getStatTime();
     this.stats.incInt(oplogRecoveriesId, 1);
@@ -468,6 +626,177 @@ public class DiskStoreStats {
     this.stats.incLong(recoveredValuesSkippedDueToLRUId, 1);
   }
 
+  /**
+   * Invoked before the values of recovered entries are recovered in the background.
+   *
+   * @return The timestamp that marks the start of the operation
+   */
+  public long startValueRecovery() {
+    this.stats.incInt(valueRecoveriesInProgressId, 1);
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after the values of recovered entries have been recovered in the background.
+   *
+   * @param start The time at which the value recovery started
+   */
+  public void endValueRecovery(long start) {
+    this.stats.incInt(valueRecoveriesInProgressId, -1);
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(valueRecoveryTimeId, end - start);
+  }
+
+  /**
+   * Invoked after the value of a recovered entry has been read from disk in the background.
+   *
+   * @param bytesRead The length of the value
+   */
+  public void incRecoveredValues(int bytesRead) {
+    this.stats.incLong(recoveredValuesId, 1);
+    this.stats.incLong(recoveredValueBytesId, bytesRead);
+  }
+
+  public long getRecoveredValues() {
+    return this.stats.getLong(recoveredValuesId);
+  }
+
+  /**
+   * Invoked after a group commit has flushed the given number of synchronous writes.
+   */
+  public void incGroupCommits(long writes) {
+    this.stats.incLong(groupCommitsId, 1);
+    this.stats.incLong(groupCommitWritesId, writes);
+  }
+
+  public long getGroupCommits() {
+    return this.stats.getLong(groupCommitsId);
+  }
+
+  public long getGroupCommitWrites() {
+    return this.stats.getLong(groupCommitWritesId);
+  }
+
+  /**
+   * Invoked before an oplog value is compressed.
+   *
+   * @return The timestamp that marks the start of the operation
+   */
+  public long startCompression() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after an oplog value has been compressed.
+   *
+   * @param start The time at which the compression started
+   * @param preCompressedBytes The length of the value
+   * @param postCompressedBytes The length of the compressed value, or -1 if the value did not get
+   *        smaller and is written uncompressed
+   */
+  public void endCompression(long start, int preCompressedBytes, int postCompressedBytes) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(compressTimeId, end - start);
+    this.stats.incLong(preCompressedBytesId, preCompressedBytes);
+    if (postCompressedBytes >= 0) {
+      this.stats.incLong(compressionsId, 1);
+      this.stats.incLong(postCompressedBytesId, postCompressedBytes);
+    } else {
+      // written as it was
+      this.stats.incLong(postCompressedBytesId, preCompressedBytes);
+    }
+  }
+
+  public long getCompressions() {
+    return this.stats.getLong(compressionsId);
+  }
+
+  public long getPreCompressedBytes() {
+    return this.stats.getLong(preCompressedBytesId);
+  }
+
+  public long getPostCompressedBytes() {
+    return this.stats.getLong(postCompressedBytesId);
+  }
+
+  /**
+   * Returns the ratio of the size of the oplog values compressed before compression to the size
+   * they were written with, or 1 if no value has been compressed. The values that did not get
+   * smaller count with their original size on both sides.
+   */
+  public double getCompressionRatio() {
+    long post = getPostCompressedBytes();
+    if (post == 0) {
+      return 1.0;
+    }
+    return (double) getPreCompressedBytes() / post;
+  }
+
+  /**
+   * Invoked before a compressed oplog value is decompressed.
+   *
+   * @return The timestamp that marks the start of the operation
+   */
+  public long startDecompression() {
+    this.stats.incLong(decompressionsId, 1);
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after a compressed oplog value has been decompressed.
+   *
+   * @param start The time at which the decompression started
+   */
+  public void endDecompression(long start) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(decompressTimeId, end - start);
+  }
+
+  public long getDecompressions() {
+    return this.stats.getLong(decompressionsId);
+  }
+
+  /**
+   * Invoked before the scrubber verifies the checksums of an oplog.
+   *
+   * @return The timestamp that marks the start of the operation
+   */
+  public long startScrub() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after the scrubber has verified the checksums of an oplog.
+   *
+   * @param start The time at which the scrub started
+   * @param bytesScrubbed The number of bytes of the oplog that were verified
+   */
+  public void endScrub(long start, long bytesScrubbed) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(scrubbedOplogsId, 1);
+    this.stats.incLong(scrubbedBytesId, bytesScrubbed);
+    this.stats.incLong(scrubTimeId, end - start);
+  }
+
+  public long getScrubbedOplogs() {
+    return this.stats.getLong(scrubbedOplogsId);
+  }
+
+  public long getScrubbedBytes() {
+    return this.stats.getLong(scrubbedBytesId);
+  }
+
+  /**
+   * Invoked when an oplog record does not match its checksum.
+   */
+  public void incChecksumFailures() {
+    this.stats.incLong(checksumFailuresId, 1);
+  }
+
+  public long getChecksumFailures() {
+    return this.stats.getLong(checksumFailuresId);
+  }
+
   /**
    * Invoked before data is removed from disk.
    *
@@ -543,6 +872,81 @@ public class DiskStoreStats {
     this.stats.incInt(backupsCompleted, 1);
   }
 
+  /**
+   * Invoked before a backup copies an oplog file.
+   *
+   * @return The timestamp that marks the start of the operation
+   */
+  public long startBackupCopy() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after a backup has copied an oplog file.
+   *
+   * @param start The time at which the copy started
+   * @param bytesCopied The number of bytes of the oplog file that were copied
+   */
+  public void endBackupCopy(long start, long bytesCopied) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(backupBytesCopiedId, bytesCopied);
+    this.stats.incLong(backupCopyTimeId, end - start);
+  }
+
+  /**
+   * Invoked when an incremental backup finds oplog bytes already held by its baseline.
+   */
+  public void incBackupBytesReused(long bytes) {
+    this.stats.incLong(backupBytesReusedId, bytes);
+  }
+
+  public long getBackupBytesCopied() {
+    return this.stats.getLong(backupBytesCopiedId);
+  }
+
+  public long getBackupBytesReused() {
+    return this.stats.getLong(backupBytesReusedId);
+  }
+
+  /**
+   * Returns the time at which an operation is put on the async queue.
+   */
+  public long startAsyncQueueWait() {
+    return DistributionStats.getStatTime();
+  }
+
+  /**
+   * Invoked after the async writer has written queued operations, or forced them to disk when
+   * forcing is on.
+   *
+   * @param enqueueTimeSum The sum of the times returned by {@link #startAsyncQueueWait} for the
+   *        operations
+   * @param count The number of operations
+   */
+  public void endAsyncWrites(long enqueueTimeSum, int count) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(asyncWritesCompletedId, count);
+    this.stats.incLong(asyncWriteLatencyId, end * count - enqueueTimeSum);
+  }
+
+  public long startAsyncForce() {
+    return DistributionStats.getStatTime();
+  }
+
+  public void endAsyncForce(long start) {
+    long end = DistributionStats.getStatTime();
+    this.stats.incLong(asyncForcesId, 1);
+    this.stats.incLong(asyncForceTimeId, end - start);
+  }
+
+  public long getAsyncWritesCompleted() {
+    return this.stats.getLong(asyncWritesCompletedId);
+  }
+
+  public long getAsyncForces() {
+    return this.stats.getLong(asyncForcesId);
+  }
+
   public Statistics getStats() {
     return stats;
   }
@@ -297,6 +297,9 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void incInvalidates() {}
 
+  @Override
+  public void incSerializedValueReuses(int bytes) {}
+
   @Override
   public long startGet() {
     return 0;
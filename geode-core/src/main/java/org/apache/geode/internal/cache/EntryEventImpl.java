@@ -157,6 +157,12 @@ public class EntryEventImpl
 
   public final static Object SUSPECT_TOKEN = new Object();
 
+  /** The event {@link #createReusable} hands out next on each thread, if any */
+  private static final ThreadLocal<EntryEventImpl> reusableEvent = new ThreadLocal<>();
+
+  /** true if this event came from {@link #createReusable} */
+  private transient boolean reusable = false;
+
   public EntryEventImpl() {}
 
   /**
@@ -379,6 +385,82 @@ public class EntryEventImpl
     return entryEvent;
   }
 
+  /**
+   * Creates and returns an EntryEventImpl for a put on a plain local region that has no
+   * listeners, writers, clients, gateways or transaction, so the event never escapes the calling
+   * thread. Once the put has released the event it must be handed to {@link #recycle} so that the
+   * next such put on this thread can use it instead of allocating a new event and key info.
+   */
+  @Retained
+  static EntryEventImpl createReusable(LocalRegion region, Operation op, Object key,
+      @Retained(ENTRY_EVENT_NEW_VALUE) Object newVal, Object callbackArgument,
+      DistributedMember distributedMember) {
+    EntryEventImpl event = reusableEvent.get();
+    if (event == null) {
+      event = create(region, op, key, newVal, callbackArgument, false, distributedMember);
+      event.reusable = true;
+      return event;
+    }
+    // take it so that a nested put on this thread gets an event of its own
+    reusableEvent.set(null);
+    event.region = region;
+    event.op = op;
+    event.keyInfo.setKey(key);
+    event.keyInfo.setCallbackArg(callbackArgument);
+    if (!Token.isInvalid(newVal)) {
+      event.basicSetNewValue(newVal);
+    }
+    event.txId = region.getTXId();
+    if (newVal == Token.LOCAL_INVALID) {
+      event.setLocalInvalid(true);
+    }
+    event.setGenerateCallbacks(true);
+    event.distributedMember = distributedMember;
+    return event;
+  }
+
+  /**
+   * Makes an event obtained from {@link #createReusable} available to the next put on this thread.
+   * Must only be called after the event has been released and is no longer referenced. Does
+   * nothing for any other event.
+   */
+  void recycle() {
+    if (!this.reusable) {
+      return;
+    }
+    this.region = null;
+    this.re = null;
+    this.keyInfo.setKey(null);
+    this.keyInfo.setCallbackArg(null);
+    this.keyInfo.setBucketId(KeyInfo.UNKNOWN_BUCKET);
+    this.eventID = null;
+    this.newValue = null;
+    this.cachedSerializedNewValue = null;
+    this.oldValue = null;
+    this.eventFlags = 0x0000;
+    this.txId = null;
+    this.op = null;
+    this.eventType = null;
+    this.putAllOp = null;
+    this.removeAllOp = null;
+    this.distributedMember = null;
+    this.causedByMessage = null;
+    this.context = null;
+    this.deltaBytes = null;
+    this.filterInfo = null;
+    this.newValueBytes = null;
+    this.oldValueBytes = null;
+    this.versionTag = null;
+    this.isEvicted = false;
+    this.isPendingSecondaryExpireDestroy = false;
+    this.newValueBucketSize = 0;
+    this.tailKey = -1L;
+    this.nextRegionVersion = -1L;
+    this.invokeCallbacksThread = null;
+    this.offHeapOk = true;
+    reusableEvent.set(this);
+  }
+
   /**
    * Creates a PutAllEvent given the distributed operation, the region, and the entry data.
    *
@@ -1150,6 +1232,15 @@ public class EntryEventImpl
      *        serialized; false if the imported new value is a simple sequence of bytes.
      */
     void importNewBytes(byte[] nv, boolean isSerialized);
+
+    /**
+     * Only return true if the importer serializes a new value that is in object form as soon as it
+     * is imported. Such an importer is given the serialized bytes instead, which the event
+     * serializes at most once and shares with its other outbound paths.
+     *
+     * @return true if the importer would serialize an imported object right away
+     */
+    boolean serializesNewObjectOnImport();
   }
 
   /**
@@ -1159,7 +1250,11 @@ public class EntryEventImpl
     final boolean prefersSerialized = importer.prefersNewSerialized();
     if (prefersSerialized) {
       if (getCachedSerializedNewValue() != null) {
-        importer.importNewBytes(getCachedSerializedNewValue(), true);
+        if (importer.serializesNewObjectOnImport()) {
+          importer.importNewBytes(getSharedSerializedNewValue(), true);
+        } else {
+          importer.importNewBytes(getCachedSerializedNewValue(), true);
+        }
         return;
       } else if (this.newValueBytes != null && this.newValue instanceof CachedDeserializable) {
         importer.importNewBytes(this.newValueBytes, true);
@@ -1191,14 +1286,65 @@ public class EntryEventImpl
       if (cdV instanceof byte[]) {
         importer.importNewBytes((byte[]) cdV, true);
         setCachedSerializedNewValue((byte[]) cdV);
+      } else if (importer.serializesNewObjectOnImport()) {
+        importer.importNewBytes(serializeNewValue(cdV), true);
       } else {
         importer.importNewObject(cdV, true);
       }
+    } else if (importer.serializesNewObjectOnImport() && nv != null && !(nv instanceof Token)) {
+      importer.importNewBytes(serializeNewValue(nv), true);
     } else {
       importer.importNewObject(nv, true);
     }
   }
 
+  /**
+   * Returns the serialized form of this event's new value, given the new value in object form.
+   * Only the first outbound path of the event that needs the bytes serializes the value. The bytes
+   * are cached in the event for the others, e.g. the client update message and the event of each
+   * gateway sender.
+   */
+  public byte[] serializeNewValue(Object newValueObject) {
+    byte[] bytes = getSharedSerializedNewValue();
+    if (bytes == null) {
+      bytes = serialize(newValueObject);
+      setCachedSerializedNewValue(bytes);
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns the serialized new value cached in this event, or null if there is none. Use this
+   * instead of {@link #getCachedSerializedNewValue} where the caller would otherwise serialize the
+   * new value itself, so that the reuse shows up in the cache statistics.
+   */
+  public byte[] getSharedSerializedNewValue() {
+    byte[] bytes = getCachedSerializedNewValue();
+    if (bytes != null && isNewValueInObjectForm()) {
+      LocalRegion r = getRegion();
+      if (r != null) {
+        r.getCachePerfStats().incSerializedValueReuses(bytes.length);
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns true if the new value is held as an object, so that using its cached serialized form
+   * saves a serialization.
+   */
+  private boolean isNewValueInObjectForm() {
+    @Unretained(ENTRY_EVENT_NEW_VALUE)
+    final Object nv = getRawNewValue();
+    if (nv == null || nv instanceof StoredObject || nv instanceof byte[] || nv instanceof Token) {
+      return false;
+    }
+    if (nv instanceof CachedDeserializable) {
+      return !(((CachedDeserializable) nv).getValue() instanceof byte[]);
+    }
+    return true;
+  }
+
   /**
    * Implement this interface if you want to call {@link #exportOldValue}.
    * 
@@ -58,12 +58,14 @@ import org.apache.geode.cache.asyncqueue.AsyncEventQueue;
 import org.apache.geode.cache.asyncqueue.AsyncEventQueueFactory;
 import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueFactoryImpl;
 import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueImpl;
+import org.apache.geode.cache.client.AsyncClientRegion;
 import org.apache.geode.cache.client.ClientCache;
 import org.apache.geode.cache.client.ClientRegionFactory;
 import org.apache.geode.cache.client.ClientRegionShortcut;
 import org.apache.geode.cache.client.Pool;
 import org.apache.geode.cache.client.PoolFactory;
 import org.apache.geode.cache.client.PoolManager;
+import org.apache.geode.cache.client.internal.AsyncClientRegionImpl;
 import org.apache.geode.cache.client.internal.ClientMetadataService;
 import org.apache.geode.cache.client.internal.ClientRegionFactoryImpl;
 import org.apache.geode.cache.client.internal.PoolImpl;
@@ -295,6 +297,30 @@ public class GemFireCacheImpl
   public static final int EVENT_THREAD_LIMIT = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Cache.EVENT_THREAD_LIMIT", 16).intValue();
 
+  /**
+   * The maximum number of threads a partitioned region putAll or removeAll uses to apply the
+   * entries of different buckets at the same time. One applies the buckets one after the other on
+   * the calling thread.
+   */
+  public static final int BULK_OP_THREAD_LIMIT =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Cache.BULK_OP_THREAD_LIMIT",
+          Math.min(16, Runtime.getRuntime().availableProcessors())).intValue();
+
+  /**
+   * The maximum number of bucket messages waiting for a bulk op thread. Once it is reached the
+   * thread doing the putAll or removeAll sends its remaining bucket messages itself.
+   */
+  public static final int BULK_OP_QUEUE_LIMIT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Cache.BULK_OP_QUEUE_LIMIT", 1024).intValue();
+
+  /**
+   * The maximum number of threads that wait for the results of functions executed with
+   * executeAsync. Further executions wait for one of these threads.
+   */
+  public static final int ASYNC_FUNCTION_THREAD_LIMIT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Cache.ASYNC_FUNCTION_THREAD_LIMIT", 64)
+      .intValue();
+
   /**
    * System property to limit the max query-execution time. By default its turned off (-1), the time
    * is set in MiliSecs.
@@ -377,6 +403,14 @@ public class GemFireCacheImpl
   /** thread pool for event dispatching */
   private final ThreadPoolExecutor eventThreadPool;
 
+  /** thread pool for applying the buckets of a partitioned region bulk operation in parallel */
+  private final ThreadPoolExecutor bulkOpThreadPool;
+
+  private final ThreadGroup bulkOpThreadGroup;
+
+  /** thread pool for the function executions started by executeAsync */
+  private final ThreadPoolExecutor asyncFunctionThreadPool;
+
   /**
    * the list of all cache servers. CopyOnWriteArrayList is used to allow concurrent add, remove and
    * retrieval operations. It is assumed that the traversal operations on cache servers list vastly
@@ -912,6 +946,25 @@ public class GemFireCacheImpl
         this.eventThreadPool = null;
       }
 
+      this.bulkOpThreadGroup =
+          LoggingThreadGroup.createThreadGroup("Partitioned Region Bulk Op Threads", logger);
+      if (BULK_OP_THREAD_LIMIT > 1) {
+        this.bulkOpThreadPool = new ThreadPoolExecutor(BULK_OP_THREAD_LIMIT, BULK_OP_THREAD_LIMIT,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(BULK_OP_QUEUE_LIMIT),
+            GemfireCacheHelper.CreateThreadFactory(this.bulkOpThreadGroup,
+                "Partitioned Region Bulk Op Thread"));
+        this.bulkOpThreadPool.allowCoreThreadTimeOut(true);
+      } else {
+        this.bulkOpThreadPool = null;
+      }
+
+      this.asyncFunctionThreadPool = new ThreadPoolExecutor(ASYNC_FUNCTION_THREAD_LIMIT,
+          ASYNC_FUNCTION_THREAD_LIMIT, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+          GemfireCacheHelper.CreateThreadFactory(
+              LoggingThreadGroup.createThreadGroup("Async Function Execution Threads", logger),
+              "Async Function Execution Thread"));
+      this.asyncFunctionThreadPool.allowCoreThreadTimeOut(true);
+
       // Initialize the advisor here, but wait to exchange profiles until cache is fully built
       this.resourceAdvisor = ResourceAdvisor.createResourceAdvisor(this);
       // Initialize the advisor here, but wait to exchange profiles until cache is fully built
@@ -2214,6 +2267,11 @@ public class GemFireCacheImpl
           }
           this.eventThreadPool.shutdown();
         }
+        if (this.bulkOpThreadPool != null) {
+          this.bulkOpThreadPool.shutdown();
+        }
+        // the executions already running fail once the cache is closed
+        this.asyncFunctionThreadPool.shutdown();
 
         /*
          * IMPORTANT: any operation during shut down that can time out (create a CancelException)
@@ -2928,6 +2986,10 @@ public class GemFireCacheImpl
     }
   }
 
+  public <K, V> AsyncClientRegion<K, V> getAsyncRegion(Region<K, V> region) {
+    return new AsyncClientRegionImpl<K, V>(region);
+  }
+
   public LogWriter getLogger() {
     return this.system.getLogWriter();
   }
@@ -3184,9 +3246,20 @@ public class GemFireCacheImpl
 
   public Region basicCreateRegion(String name, RegionAttributes attrs)
       throws RegionExistsException, TimeoutException {
+    return basicCreateRegion(name, attrs, new InternalRegionArguments());
+  }
+
+  /**
+   * Creates a root region like {@link #basicCreateRegion(String, RegionAttributes)}, with the given
+   * internal arguments.
+   * 
+   * @since Geode 1.1
+   */
+  public Region basicCreateRegion(String name, RegionAttributes attrs, InternalRegionArguments ira)
+      throws RegionExistsException, TimeoutException {
     try {
-      InternalRegionArguments ira = new InternalRegionArguments().setDestroyLockFlag(true)
-          .setRecreateFlag(false).setSnapshotInputStream(null).setImageTarget(null);
+      ira.setDestroyLockFlag(true).setRecreateFlag(false).setSnapshotInputStream(null)
+          .setImageTarget(null);
 
       if (attrs instanceof UserSpecifiedRegionAttributes) {
         ira.setIndexes(((UserSpecifiedRegionAttributes) attrs).getIndexes());
@@ -3964,6 +4037,27 @@ public class GemFireCacheImpl
     return this.eventThreadPool;
   }
 
+  /**
+   * Returns the thread pool that partitioned region putAll and removeAll use to apply the entries of
+   * different buckets in parallel, or null if they apply them on the calling thread. Also returns
+   * null when called from one of the pool's own threads, e.g. by a cache listener doing a putAll,
+   * so that a bulk operation never waits for a slot in the pool it is running in.
+   */
+  Executor getBulkOpThreadPool() {
+    if (Thread.currentThread().getThreadGroup() == this.bulkOpThreadGroup) {
+      return null;
+    }
+    return this.bulkOpThreadPool;
+  }
+
+  /**
+   * Returns the thread pool that runs the function executions started by executeAsync and waits for
+   * their results. It is shut down when this cache is closed.
+   */
+  public Executor getAsyncFunctionThreadPool() {
+    return this.asyncFunctionThreadPool;
+  }
+
   public CacheServer addCacheServer() {
     return addCacheServer(false);
   }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * Lets the threads that synchronously wrote records to an oplog share one flush of its write
+ * buffers instead of each flushing (and, with syncWrites, forcing) the file on its own.
+ *
+ * A writer calls {@link #append} while it still holds the oplog lock, right after adding its record
+ * to the write buffer, and then calls {@link #awaitCommit} once it has released that lock. The first
+ * waiter that finds no flush in progress becomes the leader. It waits up to the max delay for more
+ * records to be appended, flushes everything appended so far, and then releases every writer whose
+ * record that flush covered. Records appended while a flush is in progress are covered by the next
+ * one, so the number of records per flush grows with the number of writers.
+ */
+class GroupCommitter {
+
+  /**
+   * This system property turns on group commit of the synchronous writes to oplogs.
+   */
+  static final boolean GROUP_COMMIT =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.GROUP_COMMIT");
+
+  /**
+   * The number of microseconds the leader of a group commit waits for more records before it
+   * flushes. Zero, the default, flushes at once, in which case records are only batched while a
+   * previous flush is in progress.
+   */
+  static final long MAX_DELAY_MICROS =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.GROUP_COMMIT_MAX_DELAY_MICROS", 0);
+
+  /**
+   * Flushes every record appended to the oplog so far.
+   */
+  interface Flusher {
+    void flush();
+  }
+
+  private final Flusher flusher;
+
+  private final long maxDelayNanos;
+
+  private final DiskStoreStats stats;
+
+  /** The sequence number of the last record appended. */
+  private final AtomicLong appended = new AtomicLong();
+
+  /** The sequence number of the last record flushed. Guarded by this. */
+  private long committed;
+
+  /** True while a leader is flushing. Guarded by this. */
+  private boolean committing;
+
+  GroupCommitter(Flusher flusher, long maxDelayMicros, DiskStoreStats stats) {
+    this.flusher = flusher;
+    this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+    this.stats = stats;
+  }
+
+  /**
+   * Returns the sequence number of a record that has just been added to the write buffer. Must be
+   * called while holding the lock the records are written under, so that sequence numbers follow
+   * the order of the records in the buffer.
+   */
+  long append() {
+    return this.appended.incrementAndGet();
+  }
+
+  /**
+   * Waits until the record with the given sequence number, and every record appended before it,
+   * has been flushed. Must not be called while holding the lock the records are written under.
+   *
+   * @throws DiskAccessException if this thread led the flush and it failed. The other waiters
+   *         retry the flush themselves.
+   */
+  void awaitCommit(long sequence) {
+    boolean interrupted = false;
+    try {
+      synchronized (this) {
+        while (this.committed < sequence) {
+          if (!this.committing) {
+            this.committing = true;
+            break;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        if (this.committed >= sequence) {
+          return;
+        }
+      }
+      lead();
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void lead() {
+    if (this.maxDelayNanos > 0) {
+      LockSupport.parkNanos(this.maxDelayNanos);
+    }
+    // every record up to target is in the buffer before the flush below takes the oplog lock
+    long target = this.appended.get();
+    boolean flushed = false;
+    try {
+      this.flusher.flush();
+      flushed = true;
+    } finally {
+      synchronized (this) {
+        this.committing = false;
+        if (flushed && target > this.committed) {
+          this.stats.incGroupCommits(target - this.committed);
+          this.committed = target;
+        }
+        notifyAll();
+      }
+    }
+  }
+}
@@ -66,6 +66,8 @@ public final class InternalRegionArguments {
 
   private Map<String, CacheServiceProfile> cacheServiceProfiles;
 
+  private boolean isNearCache;
+
   /* methods that set and retrieve internal state used to configure a Region */
 
   public InternalRegionArguments setIsUsedForPartitionedRegionAdmin(boolean adminFlag) {
@@ -312,4 +314,16 @@ public final class InternalRegionArguments {
     isInternalRegion = internalRegion;
     return this;
   }
+
+  public boolean isNearCache() {
+    return this.isNearCache;
+  }
+
+  /**
+   * @since Geode 1.1
+   */
+  public InternalRegionArguments setNearCache(boolean nearCache) {
+    this.isNearCache = nearCache;
+    return this;
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.internal.Version;
+
+/**
+ * Writes the entries of a krf in the block format. Consecutive entries of the same disk region are
+ * gathered into a block that is compressed as a whole, so the region id is written once per block
+ * and a recovering disk store can skip the blocks of regions it is not recovering without
+ * decompressing or parsing them. Oplog gives it the live entries sorted by disk region id and then
+ * by offset in the oplog, so the entries of a region are consecutive.
+ *
+ * Byte Format of a block: variable: number of entries, variable: disk region id, variable: highest
+ * oplog key id of the entries, variable: snappy compressed entries as a byte array. A block with no
+ * entries ends the krf. Each entry is written as in the older krf format, except that it has no
+ * region id and its value offset is relative to the previous entry of the block.
+ */
+class KrfBlockWriter {
+
+  static final int MAX_BLOCK_ENTRIES = 1024;
+
+  static final int MAX_BLOCK_BYTES = 64 * 1024;
+
+  private static final Compressor COMPRESSOR = new SnappyCompressor();
+
+  private final DataOutput out;
+
+  private final HeapDataOutputStream block =
+      new HeapDataOutputStream(MAX_BLOCK_BYTES + 1024, Version.CURRENT);
+
+  private long drId;
+
+  private int entryCount;
+
+  private long maxOplogKeyId;
+
+  private long lastOffset;
+
+  KrfBlockWriter(DataOutput out) {
+    this.out = out;
+  }
+
+  /**
+   * Starts a new entry, writing out the current block first if the entry belongs in a new one.
+   *
+   * @return the output the caller writes the fields of the entry to
+   */
+  DataOutput startEntry(long drId, long oplogKeyId) throws IOException {
+    if (this.entryCount > 0 && (drId != this.drId || this.entryCount >= MAX_BLOCK_ENTRIES
+        || this.block.size() >= MAX_BLOCK_BYTES)) {
+      writeBlock();
+    }
+    if (this.entryCount == 0) {
+      this.drId = drId;
+      this.maxOplogKeyId = oplogKeyId;
+      this.lastOffset = 0;
+    } else if (oplogKeyId > this.maxOplogKeyId) {
+      this.maxOplogKeyId = oplogKeyId;
+    }
+    this.entryCount++;
+    return this.block;
+  }
+
+  /**
+   * Writes the value offset of the current entry.
+   */
+  void writeOffset(long valueOffset) throws IOException {
+    InternalDataSerializer.writeVLOld(valueOffset - this.lastOffset, this.block);
+    this.lastOffset = valueOffset;
+  }
+
+  /**
+   * Writes out the last block and the end of the krf.
+   */
+  void close() throws IOException {
+    if (this.entryCount > 0) {
+      writeBlock();
+    }
+    InternalDataSerializer.writeUnsignedVL(0, this.out);
+  }
+
+  private void writeBlock() throws IOException {
+    InternalDataSerializer.writeUnsignedVL(this.entryCount, this.out);
+    DiskInitFile.writeDiskRegionID(this.out, this.drId);
+    InternalDataSerializer.writeVLOld(this.maxOplogKeyId, this.out);
+    DataSerializer.writeByteArray(COMPRESSOR.compress(this.block.toByteArray()), this.out);
+    this.block.reset();
+    this.entryCount = 0;
+  }
+
+  /**
+   * Reads the compressed entries of a block whose header has been read and returns them
+   * decompressed.
+   */
+  static byte[] readEntries(DataInput in) throws IOException {
+    return COMPRESSOR.decompress(DataSerializer.readByteArray(in));
+  }
+
+  /**
+   * Skips the compressed entries of a block whose header has been read.
+   */
+  static void skipEntries(DataInput in) throws IOException {
+    int length = InternalDataSerializer.readArrayLength(in);
+    while (length > 0) {
+      int skipped = in.skipBytes(length);
+      if (skipped <= 0) {
+        in.readByte();
+        skipped = 1;
+      }
+      length -= skipped;
+    }
+  }
+}
@@ -679,6 +679,10 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   
 #elif defined(KEY_LONG)
   private final long key;
@@ -693,6 +697,10 @@ public class LEAF_CLASS extends PARENT_CLASS {
     }
     return false;
   }
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   
 #elif defined(KEY_UUID)
   private final long keyMostSigBits;
@@ -25,7 +25,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 import org.apache.logging.log4j.Logger;
 
@@ -60,6 +63,7 @@ import org.apache.geode.internal.cache.LocalRegion.IteratorType;
 import org.apache.geode.internal.cache.LocalRegion.NonTXEntry;
 import org.apache.geode.internal.cache.execute.BucketMovedException;
 import org.apache.geode.internal.cache.execute.InternalRegionFunctionContext;
+import org.apache.geode.internal.cache.partitioned.BucketSpliterator;
 import org.apache.geode.internal.cache.snapshot.RegionSnapshotServiceImpl;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
@@ -628,19 +632,44 @@ public class LocalDataSet implements Region, QueryExecutor {
 
     @Override
     public Iterator iterator() {
-      return new LocalEntriesSetIterator();
+      return new LocalEntriesSetIterator(buckets);
+    }
+
+    /**
+     * Returns a Spliterator that splits at bucket boundaries, so that a parallel stream of this set
+     * iterates different local buckets on different threads. Like the sets of a partitioned region,
+     * a set created in a transaction is not split, since only the transaction's thread can read it.
+     */
+    @Override
+    public Spliterator spliterator() {
+      checkTX();
+      int characteristics = Spliterator.NONNULL | Spliterator.CONCURRENT;
+      if (iterType != IteratorType.VALUES) {
+        characteristics |= Spliterator.DISTINCT;
+      }
+      return new BucketSpliterator<Object>(buckets, new Function<Set<Integer>, Iterator<Object>>() {
+        public Iterator<Object> apply(Set<Integer> subset) {
+          return new LocalEntriesSetIterator(subset);
+        }
+      }, this.myTX == null, characteristics, new LongSupplier() {
+        public long getAsLong() {
+          return size();
+        }
+      });
     }
 
     protected class LocalEntriesSetIterator implements Iterator<Object> {
       Iterator curBucketIter = null;
       Integer curBucketId;
-      List<Integer> localBuckets = new ArrayList<Integer>(buckets);
+      final List<Integer> localBuckets;
       int index = 0;
-      int localBucketsSize = localBuckets.size();
+      final int localBucketsSize;
       boolean hasNext = false;
       Object next = null;
 
-      LocalEntriesSetIterator() {
+      LocalEntriesSetIterator(Set<Integer> bucketIds) {
+        this.localBuckets = new ArrayList<Integer>(bucketIds);
+        this.localBucketsSize = this.localBuckets.size();
         this.next = moveNext();
       }
 
@@ -75,6 +75,7 @@ import org.apache.geode.cache.client.ServerOperationException;
 import org.apache.geode.cache.client.SubscriptionNotEnabledException;
 import org.apache.geode.cache.client.internal.Connection;
 import org.apache.geode.cache.client.internal.Endpoint;
+import org.apache.geode.cache.client.internal.NearCache;
 import org.apache.geode.cache.client.internal.PoolImpl;
 import org.apache.geode.cache.client.internal.ServerRegionProxy;
 import org.apache.geode.cache.control.ResourceManager;
@@ -632,6 +633,8 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
 
     // initialize client to server proxy
     this.srp = (this.getPoolName() != null) ? new ServerRegionProxy(this) : null;
+    this.nearCache = internalRegionArgs.isNearCache() && this.srp != null
+        ? new NearCache(this, (PoolImpl) this.srp.getPool()) : null;
     this.imageState = new UnsharedImageState(this.srp != null,
         getDataPolicy().withReplication() || getDataPolicy().isPreloaded(),
         getAttributes().getDataPolicy().withPersistence(), this.stopper);
@@ -780,6 +783,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
    */
   protected final ServerRegionProxy srp;
 
+  /**
+   * registers and unregisters interest in the keys this region holds if it is a near cache
+   * 
+   * @since Geode 1.1
+   */
+  private final NearCache nearCache;
+
   private final InternalDataView sharedDataView;
 
   public final ServerRegionProxy getServerProxy() {
@@ -1347,13 +1357,27 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     CachePerfStats stats = getCachePerfStats();
     long start = stats.startGet();
     boolean isMiss = true;
+    boolean nearCacheRegistered = false;
     try {
       KeyInfo keyInfo = getKeyInfo(key, aCallbackArgument);
       Object value = getDataView().getDeserializedValue(keyInfo, this, true, disableCopyOnRead,
           preferCD, clientEvent, returnTombstones, retainResult);
-      final boolean isCreate = value == null;
+      boolean isCreate = value == null;
       isMiss = value == null || Token.isInvalid(value)
           || (!returnTombstones && value == Token.TOMBSTONE);
+      if (this.nearCache != null && !opScopeIsLocal && !isTX()) {
+        if (!isMiss) {
+          this.nearCache.recordHit();
+        } else if (this.nearCache.recordMiss(key)) {
+          nearCacheRegistered = true;
+          // registering interest in the key loaded its value from the servers
+          value = getDataView().getDeserializedValue(keyInfo, this, true, disableCopyOnRead,
+              preferCD, clientEvent, returnTombstones, retainResult);
+          isCreate = value == null;
+          isMiss = value == null || Token.isInvalid(value)
+              || (!returnTombstones && value == Token.TOMBSTONE);
+        }
+      }
       // Note: if the value was Token.DESTROYED then getDeserialized
       // returns null so we don't need the following in the above expression:
       // || (isRegInterestInProgress() && Token.isDestroyed(value))
@@ -1370,6 +1394,9 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
           if (!returnTombstones && value == Token.TOMBSTONE) {
             value = null;
           }
+          if (nearCacheRegistered && value == null) {
+            this.nearCache.notFound(key);
+          }
         } else { // local scope with no loader, still might need to update stats
           if (isCreate) {
             recordMiss(null, key);
@@ -1383,6 +1410,73 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     }
   }
 
+  /**
+   * Same as {@link #get(Object)} for an {@link Integer} key, except that if the entry is already in
+   * this region's map with a valid value it is found without boxing the key. Otherwise this falls
+   * back to {@link #get(Object)}.
+   */
+  public Object getIntKey(int key) throws TimeoutException, CacheLoaderException {
+    if (canGetPrimitiveKeyLocally()) {
+      Object value = getPrimitiveKeyValue(this.entries.getIntKeyEntry(key));
+      if (value != null) {
+        return value;
+      }
+    }
+    return get(key);
+  }
+
+  /**
+   * Same as {@link #get(Object)} for a {@link Long} key, except that if the entry is already in this
+   * region's map with a valid value it is found without boxing the key. Otherwise this falls back to
+   * {@link #get(Object)}.
+   */
+  public Object getLongKey(long key) throws TimeoutException, CacheLoaderException {
+    if (canGetPrimitiveKeyLocally()) {
+      Object value = getPrimitiveKeyValue(this.entries.getLongKeyEntry(key));
+      if (value != null) {
+        return value;
+      }
+    }
+    return get(key);
+  }
+
+  private boolean canGetPrimitiveKeyLocally() {
+    checkReadiness();
+    checkForNoAccess();
+    discoverJTA();
+    return !isTX();
+  }
+
+  /**
+   * Returns the value of the given entry, recording a hit, if it is valid. Returns null without
+   * touching any stats if it is not, in which case the caller does a full get.
+   */
+  private Object getPrimitiveKeyValue(RegionEntry re) {
+    if (re == null || re.isInvalidOrRemoved()) {
+      return null;
+    }
+    if (this.diskRegion != null) {
+      this.diskRegion.setClearCountReference();
+    }
+    try {
+      CachePerfStats stats = getCachePerfStats();
+      long start = stats.startGet();
+      Object value = getDeserialized(re, true, false, false, false);
+      if (value == null || Token.isInvalidOrRemoved(value)) {
+        return null;
+      }
+      stats.endGet(start, false);
+      if (this.nearCache != null) {
+        this.nearCache.recordHit();
+      }
+      return value;
+    } finally {
+      if (this.diskRegion != null) {
+        this.diskRegion.removeClearCountReference();
+      }
+    }
+  }
+
   /**
    * Update region and potentially entry stats for the miss case
    * 
@@ -1591,6 +1685,7 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       return validatedPut(event, startPut);
     } finally {
       event.release();
+      event.recycle();
     }
   }
 
@@ -1618,6 +1713,18 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     return handleNotAvailable(oldValue);
   }
 
+  /**
+   * Returns true if a put on this region has nobody to notify or distribute to: it is a plain local
+   * region with no listener, writer, server proxy, cache server (and so no clients or CQs), gateway
+   * sender or async event queue, and the calling thread has no transaction. The events of such puts
+   * never escape the calling thread, so they can be reused.
+   */
+  private boolean isUnobservedLocalPut() {
+    return getClass() == LocalRegion.class && !hasListener() && basicGetWriter() == null
+        && !hasServerProxy() && this.cache.getCacheServersAndGatewayReceiver().isEmpty()
+        && getGatewaySenderIds().isEmpty() && getAsyncEventQueueIds().isEmpty() && !isTX();
+  }
+
   @Retained
   public final EntryEventImpl newUpdateEntryEvent(Object key, Object value,
       Object aCallbackArgument) {
@@ -1636,8 +1743,11 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     // an id will be generated by default. Null was passed in anyway.
     // generate EventID
     @Retained
-    final EntryEventImpl event = EntryEventImpl.create(this, Operation.UPDATE, key, value,
-        aCallbackArgument, false, getMyId());
+    final EntryEventImpl event = isUnobservedLocalPut()
+        ? EntryEventImpl.createReusable(this, Operation.UPDATE, key, value, aCallbackArgument,
+            getMyId())
+        : EntryEventImpl.create(this, Operation.UPDATE, key, value, aCallbackArgument, false,
+            getMyId());
     boolean eventReturned = false;
     try {
       extractDeltaIntoEvent(value, event);
@@ -6888,9 +6998,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     @Released
     final EntryEventImpl event = generateEvictDestroyEvent(entry.getKey());
     try {
-      return mapDestroy(event, false, // cacheWrite
+      boolean evicted = mapDestroy(event, false, // cacheWrite
           true, // isEviction
           null); // expectedOldValue
+      if (evicted && this.nearCache != null) {
+        this.nearCache.evicted(event.getKey());
+      }
+      return evicted;
     } catch (CacheWriterException error) {
       throw new Error(
           LocalizedStrings.LocalRegion_CACHE_WRITER_SHOULD_NOT_HAVE_BEEN_CALLED_FOR_EVICTDESTROY
@@ -7005,6 +7119,11 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
     if (this.entryUserAttributes != null) {
       this.entryUserAttributes.remove(event.getKey());
     }
+
+    // registering interest destroys keys the servers do not have, the near cache handles those
+    if (this.nearCache != null && !event.isFromRILocalDestroy()) {
+      this.nearCache.evicted(event.getKey());
+    }
   }
 
   /**
@@ -9429,6 +9548,10 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       }
     }
 
+    if (this.nearCache != null) {
+      this.nearCache.cleared();
+    }
+
     if (ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
       CacheObserverHolder.getInstance().afterRegionClear(regionEvent);
     }
@@ -11267,6 +11390,13 @@ public class LocalRegion extends AbstractRegion implements LoaderHelperFactory,
       this.cachePerfStats.incQueuedEvents(inc);
     }
 
+    @Override
+    public void incSerializedValueReuses(int bytes) {
+      stats.incLong(serializedValueReusesId, 1);
+      stats.incLong(serializedValueBytesReusedId, bytes);
+      this.cachePerfStats.incSerializedValueReuses(bytes);
+    }
+
     /**
      * @return the timestamp that marks the start of the operation
      */
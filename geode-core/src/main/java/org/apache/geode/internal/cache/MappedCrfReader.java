@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.persistence.BytesAndBits;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Reads values from a read-only memory mapping of a crf file that is no longer being appended to.
+ * Faulting a value in from a mapped crf copies it out of the page cache without a seek or a read
+ * system call.
+ *
+ * The mapping stays valid after the file is closed. An oplog unmaps it with {@link #unmap} when the
+ * crf is closed or deleted, which releases it without waiting for this reader to be garbage
+ * collected.
+ */
+class MappedCrfReader {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * This system property turns on reading the values of rolled oplogs from a memory mapping of
+   * their crf instead of with a positional read of the file.
+   */
+  static final boolean MMAP_READS =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.MMAP_READS");
+
+  /**
+   * The methods that release a mapping right away, or null if this vm does not have them, in which
+   * case a mapping is released once it is garbage collected.
+   */
+  private static final Method CLEANER_METHOD;
+  private static final Method CLEAN_METHOD;
+
+  static {
+    Method cleanerMethod = null;
+    Method cleanMethod = null;
+    try {
+      cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+    } catch (ClassNotFoundException | NoSuchMethodException | SecurityException e) {
+      cleanerMethod = null;
+      cleanMethod = null;
+    }
+    CLEANER_METHOD = cleanerMethod;
+    CLEAN_METHOD = cleanMethod;
+  }
+
+  /** null once unmapped */
+  private MappedByteBuffer buffer;
+
+  private MappedCrfReader(MappedByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /**
+   * Maps the first size bytes of the given crf. Returns null if they can not be mapped, in which
+   * case the caller should keep reading the file with positional reads.
+   */
+  static MappedCrfReader map(File crf, long size) {
+    if (size <= 0 || size > Integer.MAX_VALUE) {
+      // a single mapping can not address more than 2GB
+      return null;
+    }
+    try {
+      RandomAccessFile raf = new RandomAccessFile(crf, "r");
+      try {
+        FileChannel channel = raf.getChannel();
+        // never map past the end of the file; touching such a page would crash the vm
+        long mappedSize = Math.min(size, channel.size());
+        return new MappedCrfReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, mappedSize));
+      } finally {
+        raf.close();
+      }
+    } catch (IOException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not map {}, reading it with positional reads instead", crf, e);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Returns the mapped length of the crf, which is 0 once it has been unmapped.
+   */
+  int size() {
+    return this.buffer == null ? 0 : this.buffer.capacity();
+  }
+
+  /**
+   * Returns a read-only view of the valueLength bytes at the given offset in the crf, without
+   * copying them, or null if they are not all mapped. The view must not be used once the crf has
+   * been unmapped.
+   */
+  ByteBuffer slice(long offset, int valueLength) {
+    if (this.buffer == null || offset < 0 || offset + valueLength > this.buffer.capacity()) {
+      return null;
+    }
+    ByteBuffer result = this.buffer.duplicate();
+    result.position((int) offset);
+    result.limit((int) offset + valueLength);
+    return result.slice().asReadOnlyBuffer();
+  }
+
+  /**
+   * Returns a copy of the valueLength bytes at the given offset in the crf, or null if they are not
+   * all mapped.
+   */
+  byte[] read(long offset, int valueLength) {
+    ByteBuffer slice = slice(offset, valueLength);
+    if (slice == null) {
+      return null;
+    }
+    byte[] result = new byte[valueLength];
+    slice.get(result);
+    return result;
+  }
+
+  /**
+   * Releases the mapping. Reads return null afterwards. The caller must make sure no other thread
+   * is reading from the mapping, since touching a page that is no longer mapped crashes the vm.
+   */
+  void unmap() {
+    MappedByteBuffer mapped = this.buffer;
+    this.buffer = null;
+    if (mapped == null || CLEANER_METHOD == null) {
+      return;
+    }
+    try {
+      Object cleaner = CLEANER_METHOD.invoke(mapped);
+      if (cleaner != null) {
+        CLEAN_METHOD.invoke(cleaner);
+      }
+    } catch (IllegalAccessException | InvocationTargetException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not unmap a crf, leaving it to garbage collection", e);
+      }
+    }
+  }
+
+  /**
+   * The mapped reader of the crf of one oplog. It maps the crf the first time a value is read from
+   * it and is closed, which unmaps the crf, when the oplog is closed or its crf deleted. It must be
+   * used while holding the lock the oplog reads its crf with.
+   */
+  static class Holder {
+    private MappedCrfReader reader;
+
+    /** true once the crf could not be mapped or this holder has been closed */
+    private boolean disabled;
+
+    /**
+     * Reads a value from the mapping of the given crf, first mapping its first size bytes if it is
+     * not mapped yet. Returns null if memory mapped reads are disabled or the value is not in the
+     * mapped part of the crf, in which case the caller reads it from the file. The crf must no
+     * longer be appended to.
+     */
+    BytesAndBits get(File crf, long size, long offset, int valueLength, byte userBits,
+        DiskStoreStats stats) {
+      if (!MMAP_READS || this.disabled || crf == null) {
+        return null;
+      }
+      if (this.reader == null) {
+        this.reader = map(crf, size);
+        if (this.reader == null) {
+          this.disabled = true;
+          return null;
+        }
+      }
+      byte[] valueBytes = this.reader.read(offset, valueLength);
+      if (valueBytes == null) {
+        return null;
+      }
+      stats.incOplogReads();
+      return new BytesAndBits(valueBytes, userBits);
+    }
+
+    /**
+     * Unmaps the crf. Values are read from the file after this is called.
+     */
+    void close() {
+      this.disabled = true;
+      if (this.reader != null) {
+        this.reader.unmap();
+        this.reader = null;
+      }
+    }
+  }
+}
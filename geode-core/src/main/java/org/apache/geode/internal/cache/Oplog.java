@@ -44,8 +44,6 @@ import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.sequencelog.EntryLogger;
 import org.apache.geode.internal.shared.NativeCalls;
 import org.apache.geode.internal.util.BlobHelper;
-import org.apache.geode.internal.util.IOUtils;
-import org.apache.geode.internal.util.TransformUtils;
 import org.apache.geode.pdx.internal.PdxWriterImpl;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
@@ -57,15 +55,22 @@ import org.apache.logging.log4j.Logger;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
 
 /**
  * Implements an operation log to write to disk. As of prPersistSprint2 this file only supports
@@ -475,6 +480,46 @@ public final class Oplog implements CompactableOplog, Flushable {
 
   public static final int OPLOG_MAGIC_SEQ_REC_SIZE = 1 + OPLOG_TYPE.getLen() + 1;
 
+  /**
+   * Frames the record that follows it with a checksum. Byte Format 4: length of the framed record,
+   * followed by the record itself and then 4: CRC32 of the record. Every record of a crf or drf
+   * except the magic sequence is framed if CHECKSUM_RECORDS was set when it was written. Frames are
+   * checked when the oplog is recovered and, once the oplog has rolled, by the {@link OplogScrubber}.
+   * 
+   * @since Geode 1.1
+   */
+  static final byte OPLOG_RECORD_CHECKSUM = 93;
+  static final int RECORD_CHECKSUM_PREFIX_SIZE = 1 + 4;
+  static final int RECORD_CHECKSUM_OVERHEAD = RECORD_CHECKSUM_PREFIX_SIZE + 4;
+
+  /**
+   * Ends the total count record of a krf in place of END_OF_RECORD_ID when the entries of the krf
+   * are written in blocks by a {@link KrfBlockWriter}.
+   * 
+   * @since Geode 1.1
+   */
+  private static final byte KRF_BLOCKS_ID = 94;
+
+  /**
+   * Set this system property to write new krfs in the block format.
+   */
+  static final boolean COMPACT_KRF =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.compactKrf");
+
+  /**
+   * Set this system property to frame new oplog records with a checksum.
+   */
+  static final boolean CHECKSUM_RECORDS =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.checksumRecords");
+
+  /**
+   * Returns the number of bytes a record of the given size takes in a crf or drf, including its
+   * checksum frame.
+   */
+  static int recordSize(int size) {
+    return CHECKSUM_RECORDS ? size + RECORD_CHECKSUM_OVERHEAD : size;
+  }
+
   /** Compact this oplogs or no. A client configurable property * */
   private final boolean compactOplogs;
 
@@ -485,6 +530,17 @@ public final class Oplog implements CompactableOplog, Flushable {
   final Object lock = new Object();
   final ByteBuffer[] bbArray = new ByteBuffer[2];
 
+  /**
+   * Batches the flushes of synchronous writes to this oplog. Null unless GroupCommitter.GROUP_COMMIT.
+   */
+  private final GroupCommitter groupCommitter;
+
+  /**
+   * The group commit sequence number of the last record {@link #writeRecordBytes} appended. Guarded
+   * by lock.
+   */
+  private long lastAppended;
+
   private boolean lockedForKRFcreate = false;
 
   /**
@@ -546,6 +602,7 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
     setMaxCrfDrfSize();
     this.stats = getParent().getStats();
+    this.groupCommitter = createGroupCommitter();
     this.compactOplogs = getParent().getAutoCompact();
 
     this.closed = false;
@@ -607,6 +664,7 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
     setMaxCrfDrfSize();
     this.stats = prevOplog.stats;
+    this.groupCommitter = createGroupCommitter();
     this.compactOplogs = prevOplog.compactOplogs;
     // copy over the previous Oplog's data version since data is not being
     // transformed at this point
@@ -806,6 +864,7 @@ public final class Oplog implements CompactableOplog, Flushable {
     this.maxOplogSize = maxOplogSizeParam;
     setMaxCrfDrfSize();
     this.stats = getParent().getStats();
+    this.groupCommitter = createGroupCommitter();
     this.compactOplogs = getParent().getAutoCompact();
     this.closed = true;
     this.crf.RAFClosed = true;
@@ -1134,80 +1193,6 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
-  /**
-   * Given a set of Oplog file names return a Set of the oplog files that match those names that are
-   * managed by this Oplog.
-   * 
-   * @param oplogFileNames a Set of operation log file names.
-   */
-  Set<String> gatherMatchingOplogFiles(Set<String> oplogFileNames) {
-    Set<String> matchingFiles = new HashSet<String>();
-
-    // CRF match?
-    if ((null != this.crf.f) && this.crf.f.exists()
-        && oplogFileNames.contains(this.crf.f.getName())) {
-      matchingFiles.add(this.crf.f.getName());
-    }
-
-    // DRF match?
-    if ((null != this.drf.f) && this.drf.f.exists()
-        && oplogFileNames.contains(this.drf.f.getName())) {
-      matchingFiles.add(this.drf.f.getName());
-    }
-
-    // KRF match?
-    if (getParent().getDiskInitFile().hasKrf(this.oplogId)) {
-      File krfFile = getKrfFile();
-      if (krfFile.exists() && oplogFileNames.contains(krfFile.getName())) {
-        matchingFiles.add(krfFile.getName());
-      }
-    }
-
-    return matchingFiles;
-  }
-
-  /**
-   * Returns a map of baseline oplog files to copy that match this oplog's files for a currently
-   * running backup.
-   * 
-   * @param baselineOplogFiles a List of files to match this oplog's filenames against.
-   * @return a map of baslineline oplog files to copy. May be empty if total current set for this
-   *         oplog does not match the baseline.
-   */
-  Map<File, File> mapBaseline(List<File> baselineOplogFiles) {
-    // Map of baseline oplog file name to oplog file
-    Map<String, File> baselineOplogMap =
-        TransformUtils.transformAndMap(baselineOplogFiles, TransformUtils.fileNameTransformer);
-
-    // Returned Map of baseline file to current oplog file
-    Map<File, File> baselineToOplogMap = new HashMap<File, File>();
-
-    // Check for crf existence
-    if ((null != this.crf.f) && this.crf.f.exists()
-        && baselineOplogMap.containsKey(this.crf.f.getName())) {
-      baselineToOplogMap.put(baselineOplogMap.get(this.crf.f.getName()),
-          IOUtils.tryGetCanonicalFileElseGetAbsoluteFile(this.crf.f));
-    }
-
-    // Check for drf existence
-    if ((null != this.drf.f) && this.drf.f.exists()
-        && baselineOplogMap.containsKey(this.drf.f.getName())) {
-      baselineToOplogMap.put(baselineOplogMap.get(this.drf.f.getName()),
-          IOUtils.tryGetCanonicalFileElseGetAbsoluteFile(this.drf.f));
-    }
-
-    // Check for krf existence
-    if (getParent().getDiskInitFile().hasKrf(this.oplogId)) {
-      File krfFile = getKrfFile();
-      if (krfFile.exists() && baselineOplogMap.containsKey(krfFile.getName())) {
-        baselineToOplogMap.put(baselineOplogMap.get(krfFile.getName()),
-            IOUtils.tryGetCanonicalFileElseGetAbsoluteFile(krfFile));
-      }
-    }
-
-    return baselineToOplogMap;
-  }
-
   /** the oplog identifier * */
   public long getOplogId() {
     return this.oplogId;
@@ -1488,10 +1473,17 @@ public final class Oplog implements CompactableOplog, Flushable {
         FileInputStream fis = null;
         try {
           fis = new FileInputStream(drfFile);
-          dis = new CountingDataInputStream(new BufferedInputStream(fis, 32 * 1024),
-              drfFile.length());
+          ChecksumInputStream cis =
+              new ChecksumInputStream(new BufferedInputStream(fis, 32 * 1024));
+          dis = new CountingDataInputStream(cis, drfFile.length());
+          long frameStart = -1;
+          int frameLength = 0;
           boolean endOfLog = false;
           while (!endOfLog) {
+            if (frameStart != -1 && dis.getCount() > frameStart) {
+              verifyRecordChecksum(dis, cis, frameStart, frameLength, drfFile);
+              frameStart = -1;
+            }
             if (dis.atEndOfFile()) {
               endOfLog = true;
               break;
@@ -1527,6 +1519,11 @@ public final class Oplog implements CompactableOplog, Flushable {
               case OPLOG_MAGIC_SEQ_ID:
                 readOplogMagicSeqRecord(dis, this.drf.f, OPLOG_TYPE.DRF);
                 break;
+              case OPLOG_RECORD_CHECKSUM:
+                frameLength = dis.readInt();
+                cis.startChecksum();
+                frameStart = dis.getCount();
+                break;
               case OPLOG_GEMFIRE_VERSION:
                 readGemfireVersionRecord(dis, this.drf.f);
                 recordCount++;
@@ -1639,6 +1636,74 @@ public final class Oplog implements CompactableOplog, Flushable {
    */
   private OplogEntryIdMap skippedKeyBytes;
 
+  /**
+   * The contents of the krf, being read by another thread ahead of the recovery of this oplog.
+   */
+  private Future<byte[]> prefetchedKrf;
+
+  /**
+   * Returns the size of the krf of this oplog, or 0 if it has none.
+   */
+  long getKrfSize() {
+    return new File(this.diskFile.getPath() + KRF_FILE_EXT).length();
+  }
+
+  /**
+   * Starts reading the krf of this oplog, if it has one, with the given executor so that it is in
+   * memory by the time this oplog is recovered.
+   */
+  void prefetchKrf(ExecutorService executor) {
+    final File f = new File(this.diskFile.getPath() + KRF_FILE_EXT);
+    if (!f.exists()) {
+      return;
+    }
+    this.prefetchedKrf = executor.submit(new Callable<byte[]>() {
+      public byte[] call() throws IOException {
+        return Files.readAllBytes(f.toPath());
+      }
+    });
+  }
+
+  /**
+   * Returns the contents of the krf read by prefetchKrf, or null if it was not read ahead or could
+   * not be read, in which case the krf is read from disk.
+   */
+  private byte[] takePrefetchedKrf() {
+    Future<byte[]> future = this.prefetchedKrf;
+    if (future == null) {
+      return null;
+    }
+    this.prefetchedKrf = null;
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    } catch (CancellationException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Discards the contents of the krf read by prefetchKrf if they were not used by recovery.
+   */
+  void discardPrefetchedKrf() {
+    Future<byte[]> future = this.prefetchedKrf;
+    if (future != null) {
+      this.prefetchedKrf = null;
+      future.cancel(true);
+    }
+  }
+
+  private InputStream openKrf(File f, byte[] krfBytes) throws FileNotFoundException {
+    if (krfBytes != null) {
+      return new ByteArrayInputStream(krfBytes);
+    }
+    return new FileInputStream(f);
+  }
+
   private boolean readKrf(OplogEntryIdSet deletedIds, boolean recoverValues,
       boolean recoverValuesSync, Set<Oplog> oplogsNeedingValueRecovery, boolean latestOplog) {
     File f = new File(this.diskFile.getPath() + KRF_FILE_EXT);
@@ -1660,9 +1725,11 @@ public final class Oplog implements CompactableOplog, Flushable {
       return false;
     }
 
-    FileInputStream fis;
+    // an incomplete krf was deleted above, so only use its prefetched contents if it still exists
+    final byte[] krfBytes = f.exists() ? takePrefetchedKrf() : null;
+    InputStream fis;
     try {
-      fis = new FileInputStream(f);
+      fis = openKrf(f, krfBytes);
     } catch (FileNotFoundException ex) {
       return false;
     }
@@ -1693,7 +1760,7 @@ public final class Oplog implements CompactableOplog, Flushable {
           // beginning or this is not a valid file at all. Try reading it as a
           // file in old format
           fis.close();
-          fis = new FileInputStream(f);
+          fis = openKrf(f, krfBytes);
           dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
           readDiskStoreRecord(dis, f);
         } catch (IllegalStateException notOldFileErr) {
@@ -1701,107 +1768,101 @@ public final class Oplog implements CompactableOplog, Flushable {
           // is in new format which has a magic seq in the beginning or this is
           // not a valid file at all
           fis.close();
-          fis = new FileInputStream(f);
+          fis = openKrf(f, krfBytes);
           dis = new DataInputStream(new BufferedInputStream(fis, 1024 * 1024));
           readDiskStoreRecord(dis, f);
         }
 
         readGemfireVersionRecord(dis, f);
-        readTotalCountRecord(dis, f);
+        boolean blocks = readTotalCountRecord(dis, f);
         readRVVRecord(dis, f, false, latestOplog);
-        long lastOffset = 0;
-        byte[] keyBytes = DataSerializer.readByteArray(dis);
-        while (keyBytes != null) {
-          byte userBits = dis.readByte();
-          int valueLength = InternalDataSerializer.readArrayLength(dis);
-          byte[] valueBytes = null;
-          long drId = DiskInitFile.readDiskRegionID(dis);
-          DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
-
-          // read version
-          VersionTag tag = null;
-          if (EntryBits.isWithVersions(userBits)) {
-            tag = readVersionsFromOplog(dis);
-            if (drs != null && !drs.getDiskRegionView().getFlags()
-                .contains(DiskRegionFlag.IS_WITH_VERSIONING)) {
-              // 50044 Remove version tag from entry if we don't want versioning
-              // for this region
-              tag = null;
-              userBits = EntryBits.setWithVersions(userBits, false);
+        if (blocks) {
+          ByteArrayDataInput blockIn = new ByteArrayDataInput();
+          int entryCount = (int) InternalDataSerializer.readUnsignedVL(dis);
+          while (entryCount > 0) {
+            long drId = DiskInitFile.readDiskRegionID(dis);
+            long maxOplogKeyId = InternalDataSerializer.readVLOld(dis);
+            if (maxOplogKeyId > oplogKeyIdHWM) {
+              oplogKeyIdHWM = maxOplogKeyId;
+            }
+            DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
+            if (drs == null) {
+              // we are not recovering this region so none of the block is needed
+              KrfBlockWriter.skipEntries(dis);
+              for (int i = 0; i < entryCount; i++) {
+                this.stats.incRecoveryRecordsSkipped();
+                incSkipped();
+              }
             } else {
-              // Update the RVV with the new entry
-              if (drs != null) {
-                drs.recordRecoveredVersionTag(tag);
+              byte[] block = KrfBlockWriter.readEntries(dis);
+              blockIn.initialize(block, version);
+              long lastOffset = 0;
+              for (int i = 0; i < entryCount; i++) {
+                int keyLength = InternalDataSerializer.readArrayLength(blockIn);
+                int keyOffset = blockIn.position();
+                blockIn.skipBytes(keyLength);
+                byte userBits = blockIn.readByte();
+                int valueLength = InternalDataSerializer.readArrayLength(blockIn);
+                VersionTag tag = null;
+                if (EntryBits.isWithVersions(userBits)) {
+                  tag = readKrfVersionTag(blockIn, drs);
+                  if (tag == null) {
+                    userBits = EntryBits.setWithVersions(userBits, false);
+                  }
+                }
+                long oplogKeyId = InternalDataSerializer.readVLOld(blockIn);
+                long oplogOffset;
+                if (EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
+                  oplogOffset = -1;
+                } else {
+                  oplogOffset = lastOffset + InternalDataSerializer.readVLOld(blockIn);
+                  lastOffset = oplogOffset;
+                }
+                if (recoverKrfEntry(deletedIds, drId, drs, userBits, valueLength, tag, oplogKeyId,
+                    oplogOffset, block, keyOffset, keyLength, version, in)) {
+                  krfEntryCount++;
+                }
               }
             }
+            entryCount = (int) InternalDataSerializer.readUnsignedVL(dis);
           }
-
-          long oplogKeyId = InternalDataSerializer.readVLOld(dis);
-          long oplogOffset;
-          if (EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
-            oplogOffset = -1;
-          } else {
-            oplogOffset = lastOffset + InternalDataSerializer.readVLOld(dis);
-            lastOffset = oplogOffset;
-          }
-
-          if (oplogKeyId > oplogKeyIdHWM) {
-            oplogKeyIdHWM = oplogKeyId;
-          }
-          if (okToSkipModifyRecord(deletedIds, drId, drs, oplogKeyId, true, tag).skip()) {
-            if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
-              logger.trace(LogMarker.PERSIST_RECOVERY,
-                  "readNewEntry skipping oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
-                  oplogKeyId, drId, userBits, oplogOffset, valueLength);
-            }
-            this.stats.incRecoveryRecordsSkipped();
-            incSkipped();
-          } else {
-            if (EntryBits.isAnyInvalid(userBits)) {
-              if (EntryBits.isInvalid(userBits)) {
-                valueBytes = DiskEntry.INVALID_BYTES;
-              } else {
-                valueBytes = DiskEntry.LOCAL_INVALID_BYTES;
+        } else {
+          long lastOffset = 0;
+          byte[] keyBytes = DataSerializer.readByteArray(dis);
+          while (keyBytes != null) {
+            byte userBits = dis.readByte();
+            int valueLength = InternalDataSerializer.readArrayLength(dis);
+            long drId = DiskInitFile.readDiskRegionID(dis);
+            DiskRecoveryStore drs = getOplogSet().getCurrentlyRecovering(drId);
+
+            // read version
+            VersionTag tag = null;
+            if (EntryBits.isWithVersions(userBits)) {
+              tag = readKrfVersionTag(dis, drs);
+              if (tag == null) {
+                userBits = EntryBits.setWithVersions(userBits, false);
               }
-            } else if (EntryBits.isTombstone(userBits)) {
-              valueBytes = DiskEntry.TOMBSTONE_BYTES;
             }
-            Object key = deserializeKey(keyBytes, version, in);
-            {
-              Object oldValue = getRecoveryMap().put(oplogKeyId, key);
-              if (oldValue != null) {
-                throw new AssertionError(
-                    LocalizedStrings.Oplog_DUPLICATE_CREATE.toLocalizedString(oplogKeyId));
-              }
+
+            long oplogKeyId = InternalDataSerializer.readVLOld(dis);
+            long oplogOffset;
+            if (EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
+              oplogOffset = -1;
+            } else {
+              oplogOffset = lastOffset + InternalDataSerializer.readVLOld(dis);
+              lastOffset = oplogOffset;
             }
-            DiskEntry de = drs.getDiskEntry(key);
-            if (de == null) {
-              if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
-                logger.trace(LogMarker.PERSIST_RECOVERY,
-                    "readNewEntry oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
-                    oplogKeyId, drId, userBits, oplogOffset, valueLength);
-              }
-              DiskEntry.RecoveredEntry re = createRecoveredEntry(valueBytes, valueLength, userBits,
-                  getOplogId(), oplogOffset, oplogKeyId, false, version, in);
-              if (tag != null) {
-                re.setVersionTag(tag);
-              }
-              initRecoveredEntry(drs.getDiskRegionView(), drs.initializeRecoveredEntry(key, re));
-              drs.getDiskRegionView().incRecoveredEntryCount();
-              this.stats.incRecoveredEntryCreates();
+
+            if (oplogKeyId > oplogKeyIdHWM) {
+              oplogKeyIdHWM = oplogKeyId;
+            }
+            if (recoverKrfEntry(deletedIds, drId, drs, userBits, valueLength, tag, oplogKeyId,
+                oplogOffset, keyBytes, 0, keyBytes.length, version, in)) {
               krfEntryCount++;
-            } else {
-              DiskId curdid = de.getDiskId();
-              // assert curdid.getOplogId() != getOplogId();
-              if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
-                logger.trace(LogMarker.PERSIST_RECOVERY,
-                    "ignore readNewEntry because getOplogId()={} != curdid.getOplogId()={} for drId={} key={}",
-                    getOplogId(), curdid.getOplogId(), drId, key);
-              }
             }
-          }
-          keyBytes = DataSerializer.readByteArray(dis);
-        } // while
+            keyBytes = DataSerializer.readByteArray(dis);
+          } // while
+        }
         setRecoverNewEntryId(oplogKeyIdHWM);
       } catch (IOException ex) {
         try {
@@ -1841,6 +1902,90 @@ public final class Oplog implements CompactableOplog, Flushable {
     return true;
   }
 
+  /**
+   * Reads the version tag of a krf entry.
+   * 
+   * @return the tag, or null if the region of the entry is no longer versioned
+   */
+  private VersionTag readKrfVersionTag(DataInput dis, DiskRecoveryStore drs) throws IOException {
+    VersionTag tag = readVersionsFromOplog(dis);
+    if (drs != null) {
+      if (!drs.getDiskRegionView().getFlags().contains(DiskRegionFlag.IS_WITH_VERSIONING)) {
+        // 50044 Remove version tag from entry if we don't want versioning
+        // for this region
+        return null;
+      }
+      // Update the RVV with the new entry
+      drs.recordRecoveredVersionTag(tag);
+    }
+    return tag;
+  }
+
+  /**
+   * Recovers an entry read from a krf unless it can be skipped.
+   * 
+   * @param keyBytes holds the serialized key at keyOffset
+   * @return true if a recovered entry was created
+   */
+  private boolean recoverKrfEntry(OplogEntryIdSet deletedIds, long drId, DiskRecoveryStore drs,
+      byte userBits, int valueLength, VersionTag tag, long oplogKeyId, long oplogOffset,
+      byte[] keyBytes, int keyOffset, int keyLength, Version version, ByteArrayDataInput in) {
+    if (okToSkipModifyRecord(deletedIds, drId, drs, oplogKeyId, true, tag).skip()) {
+      if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
+        logger.trace(LogMarker.PERSIST_RECOVERY,
+            "readNewEntry skipping oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
+            oplogKeyId, drId, userBits, oplogOffset, valueLength);
+      }
+      this.stats.incRecoveryRecordsSkipped();
+      incSkipped();
+      return false;
+    }
+    byte[] valueBytes = null;
+    if (EntryBits.isAnyInvalid(userBits)) {
+      if (EntryBits.isInvalid(userBits)) {
+        valueBytes = DiskEntry.INVALID_BYTES;
+      } else {
+        valueBytes = DiskEntry.LOCAL_INVALID_BYTES;
+      }
+    } else if (EntryBits.isTombstone(userBits)) {
+      valueBytes = DiskEntry.TOMBSTONE_BYTES;
+    }
+    Object key = deserializeKey(keyBytes, keyOffset, keyLength, version, in);
+    {
+      Object oldValue = getRecoveryMap().put(oplogKeyId, key);
+      if (oldValue != null) {
+        throw new AssertionError(
+            LocalizedStrings.Oplog_DUPLICATE_CREATE.toLocalizedString(oplogKeyId));
+      }
+    }
+    DiskEntry de = drs.getDiskEntry(key);
+    if (de == null) {
+      if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
+        logger.trace(LogMarker.PERSIST_RECOVERY,
+            "readNewEntry oplogKeyId=<{}> drId={} userBits={} oplogOffset={} valueLen={}",
+            oplogKeyId, drId, userBits, oplogOffset, valueLength);
+      }
+      DiskEntry.RecoveredEntry re = createRecoveredEntry(valueBytes, valueLength, userBits,
+          getOplogId(), oplogOffset, oplogKeyId, false, version, in);
+      if (tag != null) {
+        re.setVersionTag(tag);
+      }
+      initRecoveredEntry(drs.getDiskRegionView(), drs.initializeRecoveredEntry(key, re));
+      drs.getDiskRegionView().incRecoveredEntryCount();
+      this.stats.incRecoveredEntryCreates();
+      return true;
+    } else {
+      DiskId curdid = de.getDiskId();
+      // assert curdid.getOplogId() != getOplogId();
+      if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
+        logger.trace(LogMarker.PERSIST_RECOVERY,
+            "ignore readNewEntry because getOplogId()={} != curdid.getOplogId()={} for drId={} key={}",
+            getOplogId(), curdid.getOplogId(), drId, key);
+      }
+      return false;
+    }
+  }
+
   private void validateOpcode(DataInputStream dis, byte expect) throws IOException {
     byte opCode = dis.readByte();
     if (opCode != expect) {
@@ -1870,11 +2015,18 @@ public final class Oplog implements CompactableOplog, Flushable {
       FileInputStream fis = null;
       try {
         fis = new FileInputStream(this.crf.f);
-        dis = new CountingDataInputStream(new BufferedInputStream(fis, 1024 * 1024),
-            this.crf.f.length());
+        ChecksumInputStream cis =
+            new ChecksumInputStream(new BufferedInputStream(fis, 1024 * 1024));
+        dis = new CountingDataInputStream(cis, this.crf.f.length());
+        long frameStart = -1;
+        int frameLength = 0;
         boolean endOfLog = false;
         while (!endOfLog) {
           // long startPosition = byteCount;
+          if (frameStart != -1 && dis.getCount() > frameStart) {
+            verifyRecordChecksum(dis, cis, frameStart, frameLength, this.crf.f);
+            frameStart = -1;
+          }
           if (dis.atEndOfFile()) {
             endOfLog = true;
             break;
@@ -1941,6 +2093,11 @@ public final class Oplog implements CompactableOplog, Flushable {
             case OPLOG_MAGIC_SEQ_ID:
               readOplogMagicSeqRecord(dis, this.crf.f, OPLOG_TYPE.CRF);
               break;
+            case OPLOG_RECORD_CHECKSUM:
+              frameLength = dis.readInt();
+              cis.startChecksum();
+              frameStart = dis.getCount();
+              break;
             case OPLOG_GEMFIRE_VERSION:
               readGemfireVersionRecord(dis, this.crf.f);
               recordCount++;
@@ -2122,14 +2279,22 @@ public final class Oplog implements CompactableOplog, Flushable {
     return recoveredGFVersion;
   }
 
-  private void readTotalCountRecord(DataInput dis, File f) throws IOException {
+  /**
+   * @return true if the entries of the krf are written in blocks
+   */
+  private boolean readTotalCountRecord(DataInput dis, File f) throws IOException {
     long recoveredCount = InternalDataSerializer.readUnsignedVL(dis);
     this.totalCount.set(recoveredCount);
 
     if (logger.isTraceEnabled(LogMarker.PERSIST_RECOVERY)) {
       logger.trace(LogMarker.PERSIST_RECOVERY, "totalCount={}", totalCount);
     }
-    readEndOfRecord(dis);
+    int b = dis.readByte();
+    if (b == KRF_BLOCKS_ID) {
+      return true;
+    }
+    checkEndOfRecord(b);
+    return false;
   }
 
   private void readRVVRecord(DataInput dis, File f, boolean gcRVV, boolean latestOplog)
@@ -2324,6 +2489,9 @@ public final class Oplog implements CompactableOplog, Flushable {
       Version version, ByteArrayDataInput in) {
     DiskEntry.RecoveredEntry re = null;
     if (recoverValue || EntryBits.isAnyInvalid(userBits) || EntryBits.isTombstone(userBits)) {
+      if (recoverValue && EntryBits.isCompressed(userBits)) {
+        valueBytes = decompressValue(valueBytes);
+      }
       Object value;
       if (EntryBits.isLocalInvalid(userBits)) {
         value = Token.LOCAL_INVALID;
@@ -2347,7 +2515,10 @@ public final class Oplog implements CompactableOplog, Flushable {
   }
 
   private void readEndOfRecord(DataInput di) throws IOException {
-    int b = di.readByte();
+    checkEndOfRecord(di.readByte());
+  }
+
+  private void checkEndOfRecord(int b) throws IOException {
     if (b != END_OF_RECORD_ID) {
       if (b == 0) {
         logger.warn(LocalizedMessage.create(LocalizedStrings.Oplog_PARTIAL_RECORD));
@@ -2365,6 +2536,59 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Checks the record just read against the checksum that follows it.
+   * 
+   * @param frameStart the offset of the record in the file
+   * @param frameLength the length of the record as written in its frame
+   * @throws DiskAccessException if the record does not match its checksum
+   */
+  private void verifyRecordChecksum(CountingDataInputStream dis, ChecksumInputStream cis,
+      long frameStart, int frameLength, File f) throws IOException {
+    int actual = cis.endChecksum();
+    long actualLength = dis.getCount() - frameStart;
+    int expected = dis.readInt();
+    if (actual == expected && actualLength == frameLength) {
+      return;
+    }
+    if (expected == 0 && isZeroToEndOfFile(dis)) {
+      logger.warn(LocalizedMessage.create(LocalizedStrings.Oplog_PARTIAL_RECORD));
+
+      // we died after writing the record but before its checksum
+      throw new EOFException("found partial last record");
+    }
+    getParent().getStats().incChecksumFailures();
+    throw new DiskAccessException(
+        LocalizedStrings.Oplog_RECORD_AT_OFFSET_0_OF_OPLOG_FILE_1_DOES_NOT_MATCH_ITS_CHECKSUM
+            .toLocalizedString(new Object[] {Long.valueOf(frameStart), f}),
+        getParent());
+  }
+
+  /**
+   * Returns true if the rest of the file is zero, which is the case after the last record written
+   * since the file is preallocated. A missing checksum anywhere else is corruption.
+   */
+  private static boolean isZeroToEndOfFile(CountingDataInputStream dis) throws IOException {
+    byte[] bytes = new byte[8192];
+    long remaining = dis.getFileLength() - dis.getCount();
+    while (remaining > 0) {
+      int len = (int) Math.min(remaining, bytes.length);
+      try {
+        dis.readFully(bytes, 0, len);
+      } catch (EOFException ignore) {
+        // the file is shorter than its recorded length
+        return true;
+      }
+      for (int i = 0; i < len; i++) {
+        if (bytes[i] != 0) {
+          return false;
+        }
+      }
+      remaining -= len;
+    }
+    return true;
+  }
+
   private static void forceSkipBytes(CountingDataInputStream dis, int len) throws IOException {
     int skipped = dis.skipBytes(len);
     while (skipped < len) {
@@ -2819,6 +3043,13 @@ public final class Oplog implements CompactableOplog, Flushable {
   private void validateValue(byte[] valueBytes, byte userBits, Version version,
       ByteArrayDataInput in) {
     if (getParent().isValidating()) {
+      if (EntryBits.isCompressed(userBits)) {
+        if (getParent().getOplogCompressor() == null) {
+          // can not be checked without the compressor it was written with
+          return;
+        }
+        valueBytes = decompressValue(valueBytes);
+      }
       if (EntryBits.isSerialized(userBits)) {
         // make sure values are deserializable
         if (!PdxWriterImpl.isPdx(valueBytes)) { // fix bug 43011
@@ -3296,6 +3527,7 @@ public final class Oplog implements CompactableOplog, Flushable {
   private void basicClose(boolean forceDelete) {
     flushAll();
     synchronized (this.lock/* crf */) {
+      this.crfReader.close();
       unpreblow(this.crf, getMaxCrfSize());
       if (!this.crf.RAFClosed) {
         try {
@@ -3347,6 +3579,32 @@ public final class Oplog implements CompactableOplog, Flushable {
     return this.deleted.get();
   }
 
+  /**
+   * Returns the crf of this oplog if it is no longer being written to, or null if it is still being
+   * written to or has been deleted.
+   */
+  File getRolledCrfFile() {
+    synchronized (this.lock) {
+      if (!this.doneAppending || isDeleted()) {
+        return null;
+      }
+      return this.crf.f;
+    }
+  }
+
+  /**
+   * Returns the drf of this oplog if it is no longer being written to, or null if it is still being
+   * written to or has been deleted.
+   */
+  File getRolledDrfFile() {
+    synchronized (this.lock) {
+      if (!this.doneAppending || isDeleted()) {
+        return null;
+      }
+      return this.drf.f;
+    }
+  }
+
   /**
    * Destroys this oplog. First it will call close which will cleanly close all Async threads and
    * then the oplog file will be deleted. The deletion of lock files will be taken care of by the
@@ -3464,6 +3722,41 @@ public final class Oplog implements CompactableOplog, Flushable {
     return vw.getUserBits();
   }
 
+  /**
+   * Returns the value to write for a record with the given user bits. If the disk store has a
+   * compressor and compressing the value makes it smaller this is a new wrapper of the compressed
+   * value, and the caller must flag the record as compressed. Called before taking the oplog lock
+   * so that concurrent writers compress in parallel.
+   */
+  private ValueWrapper compressValue(ValueWrapper value, byte userBits) {
+    OplogCompressor compressor = getParent().getOplogCompressor();
+    if (compressor == null || !EntryBits.isNeedsValue(userBits)
+        || EntryBits.isCompressed(userBits)) {
+      return value;
+    }
+    ValueWrapper compressed = compressor.compress(value);
+    if (compressed == null) {
+      return value;
+    }
+    return compressed;
+  }
+
+  private BytesAndBits decompressValue(BytesAndBits bb) {
+    BytesAndBits result = new BytesAndBits(decompressValue(bb.getBytes()),
+        EntryBits.setCompressed(bb.getBits(), false));
+    result.setVersion(bb.getVersion());
+    return result;
+  }
+
+  private byte[] decompressValue(byte[] valueBytes) {
+    OplogCompressor compressor = getParent().getOplogCompressor();
+    if (compressor == null) {
+      throw new DiskAccessException("Oplog " + this.diskFile.getPath()
+          + " contains a compressed value but the disk store has no compressor", getParent());
+    }
+    return compressor.decompress(valueBytes);
+  }
+
   /**
    * Returns true if the given entry has not yet been written to this oplog.
    */
@@ -3514,7 +3807,11 @@ public final class Oplog implements CompactableOplog, Flushable {
           // pdx and tx will not use version
           userBits = EntryBits.setWithVersions(userBits, true);
         }
-        basicCreate(region.getDiskRegion(), entry, value, userBits, async);
+        ValueWrapper valueToWrite = compressValue(value, userBits);
+        if (valueToWrite != value) {
+          userBits = EntryBits.setCompressed(userBits, true);
+        }
+        basicCreate(region.getDiskRegion(), entry, valueToWrite, userBits, async);
       } catch (IOException ex) {
         exceptionOccured = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -3560,6 +3857,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       boolean async) throws IOException, InterruptedException {
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
+    long appendedSequence = 0;
     long startPosForSynchOp = -1;
     if (DiskStoreImpl.KRF_DEBUG) {
       // wait for cache close to create krf
@@ -3574,7 +3872,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       // potential increase in the size greater than the max allowed
       long temp = (getOpStateSize() + this.crf.currSize);
       if (!this.wroteNewEntryBase) {
-        temp += OPLOG_NEW_ENTRY_BASE_REC_SIZE;
+        temp += recordSize(OPLOG_NEW_ENTRY_BASE_REC_SIZE);
       }
       if (this != getOplogSet().getChild()) {
         useNextOplog = true;
@@ -3627,7 +3925,8 @@ public final class Oplog implements CompactableOplog, Flushable {
         id.setOplogId(getOplogId());
         // do the io while holding lock so that switch can set doneAppending
         // Write the data to the opLog for the synch mode
-        startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+        startPosForSynchOp = writeRecordBytes(this.crf, async);
+        appendedSequence = this.lastAppended;
         // if (this.crf.currSize != startPosForSynchOp) {
         // assert false;
         // }
@@ -3687,6 +3986,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(this != getOplogSet().getChild());
       getOplogSet().getChild().basicCreate(dr, entry, value, userBits, async);
     } else {
+      awaitGroupCommit(async, appendedSequence);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -3758,6 +4058,11 @@ public final class Oplog implements CompactableOplog, Flushable {
       drName = getParent().getName();
     }
     flushAll(); // needed in case of async
+    if (DiskStoreImpl.isAsyncForcing()) {
+      // the flusher only forces the current child, and closing the channels of this oplog once it
+      // has rolled does not force what was written to it since the last force
+      forceAll();
+    }
     lengthOfOperationCausingSwitch += 20; // for worstcase overhead of writing
                                           // first record
 
@@ -3969,6 +4274,21 @@ public final class Oplog implements CompactableOplog, Flushable {
         return;
       }
     }
+    if (this.krf.blockWriter != null) {
+      DataOutput out = this.krf.blockWriter.startEntry(diskRegionId, oplogKeyId);
+      DataSerializer.writeByteArray(keyBytes, out);
+      out.writeByte(EntryBits.getPersistentBits(userBits));
+      InternalDataSerializer.writeArrayLength(valueLength, out);
+      if (EntryBits.isWithVersions(userBits) && tag != null) {
+        serializeVersionTag(tag, out);
+      }
+      InternalDataSerializer.writeVLOld(oplogKeyId, out);
+      if (!EntryBits.isAnyInvalid(userBits) && !EntryBits.isTombstone(userBits)) {
+        this.krf.blockWriter.writeOffset(valueOffset);
+      }
+      this.krf.keyNum++;
+      return;
+    }
     DataSerializer.writeByteArray(keyBytes, this.krf.dos);
     this.krf.dos.writeByte(EntryBits.getPersistentBits(userBits));
     InternalDataSerializer.writeArrayLength(valueLength, this.krf.dos);
@@ -4037,17 +4357,22 @@ public final class Oplog implements CompactableOplog, Flushable {
     // Write the total entry count to the krf so that when we recover,
     // our compaction statistics will be accurate
     InternalDataSerializer.writeUnsignedVL(this.totalCount.get(), this.krf.dos);
-    this.krf.dos.writeByte(END_OF_RECORD_ID);
+    this.krf.dos.writeByte(COMPACT_KRF ? KRF_BLOCKS_ID : END_OF_RECORD_ID);
 
     // Write the RVV to the krf.
     Map<Long, AbstractDiskRegion> drMap = getParent().getAllDiskRegions();
     byte[] rvvBytes = serializeRVVs(drMap, false);
     this.krf.dos.write(rvvBytes);
     this.krf.dos.writeByte(END_OF_RECORD_ID);
+
+    if (COMPACT_KRF) {
+      this.krf.blockWriter = new KrfBlockWriter(this.krf.dos);
+    }
   }
 
   // if IOException happened during krf creation, close and delete it
   private void closeAndDeleteKrf() {
+    this.krf.blockWriter = null;
     try {
       if (this.krf.dos != null) {
         this.krf.dos.close();
@@ -4078,10 +4403,13 @@ public final class Oplog implements CompactableOplog, Flushable {
   public void krfClose() {
     boolean allClosed = false;
     try {
-      if (this.krf.fos != null) {
-        DataSerializer.writeByteArray(null, this.krf.dos);
-      } else {
+      if (this.krf.fos == null) {
         return;
+      } else if (this.krf.blockWriter != null) {
+        this.krf.blockWriter.close();
+        this.krf.blockWriter = null;
+      } else {
+        DataSerializer.writeByteArray(null, this.krf.dos);
       }
 
       this.krf.dos.flush();
@@ -4240,6 +4568,14 @@ public final class Oplog implements CompactableOplog, Flushable {
     // idx is now the length of sortedLiveEntries
     Arrays.sort(sortedLiveEntries, 0, idx, new Comparator<KRFEntry>() {
       public int compare(KRFEntry o1, KRFEntry o2) {
+        if (COMPACT_KRF) {
+          // keep the entries of a region together so that they share blocks
+          long drId1 = o1.getDiskRegionView().getId();
+          long drId2 = o2.getDiskRegionView().getId();
+          if (drId1 != drId2) {
+            return drId1 < drId2 ? -1 : 1;
+          }
+        }
         long val1 = o1.getOffsetInOplogForSorting();
         long val2 = o2.getOffsetInOplogForSorting();
         return Long.signum(val1 - val2);
@@ -4439,7 +4775,11 @@ public final class Oplog implements CompactableOplog, Flushable {
           // pdx and tx will not use version
           userBits = EntryBits.setWithVersions(userBits, true);
         }
-        basicModify(region.getDiskRegion(), entry, value, userBits, async, false);
+        ValueWrapper valueToWrite = compressValue(value, userBits);
+        if (valueToWrite != value) {
+          userBits = EntryBits.setCompressed(userBits, true);
+        }
+        basicModify(region.getDiskRegion(), entry, valueToWrite, userBits, async, false);
       } catch (IOException ex) {
         exceptionOccured = true;
         region.getCancelCriterion().checkCancelInProgress(ex);
@@ -4484,7 +4824,11 @@ public final class Oplog implements CompactableOplog, Flushable {
         vs.setVersions(vt);
         userBits = EntryBits.setWithVersions(userBits, true);
       }
-      basicModify(drv, entry, vw, userBits, false, false);
+      ValueWrapper valueToWrite = compressValue(vw, userBits);
+      if (valueToWrite != vw) {
+        userBits = EntryBits.setCompressed(userBits, true);
+      }
+      basicModify(drv, entry, valueToWrite, userBits, false, false);
     } catch (IOException ex) {
       throw new DiskAccessException(
           LocalizedStrings.Oplog_FAILED_WRITING_KEY_TO_0.toLocalizedString(this.diskFile.getPath()),
@@ -4555,6 +4899,12 @@ public final class Oplog implements CompactableOplog, Flushable {
           vw = new DiskEntry.Helper.CompactorValueWrapper(wrapper.getBytes(),
               wrapper.getValidLength());
         }
+        // values read from an oplog are copied forward in the form they were written in
+        ValueWrapper valueToWrite = compressValue(vw, userBits);
+        if (valueToWrite != vw) {
+          userBits = EntryBits.setCompressed(userBits, true);
+          vw = valueToWrite;
+        }
         // Compactor always says to do an async basicModify so that its writes
         // will be grouped. This is not a true async write; just a grouped one.
         basicModify(dr, entry, vw, userBits, true, true);
@@ -4596,6 +4946,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       boolean async, boolean calledByCompactor) throws IOException, InterruptedException {
     DiskId id = entry.getDiskId();
     boolean useNextOplog = false;
+    long appendedSequence = 0;
     long startPosForSynchOp = -1L;
     int adjustment = 0;
     Oplog emptyOplog = null;
@@ -4627,7 +4978,8 @@ public final class Oplog implements CompactableOplog, Flushable {
           long oldOplogId;
           // do the io while holding lock so that switch can set doneAppending
           // Write the data to the opLog for the synch mode
-          startPosForSynchOp = writeOpLogBytes(this.crf, async, true);
+          startPosForSynchOp = writeRecordBytes(this.crf, async);
+          appendedSequence = this.lastAppended;
           this.crf.currSize = temp;
           startPosForSynchOp += getOpStateValueOffset();
           if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES)) {
@@ -4702,6 +5054,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicModify(dr, entry, value, userBits, async, calledByCompactor);
     } else {
+      awaitGroupCommit(async, appendedSequence);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -4726,6 +5079,7 @@ public final class Oplog implements CompactableOplog, Flushable {
   private void basicSaveConflictVersionTag(DiskRegionView dr, VersionTag tag, boolean async)
       throws IOException, InterruptedException {
     boolean useNextOplog = false;
+    long appendedSequence = 0;
     int adjustment = 0;
     synchronized (this.lock) {
       if (getOplogSet().getChild() != this) {
@@ -4746,7 +5100,8 @@ public final class Oplog implements CompactableOplog, Flushable {
             throw cce;
           }
           this.firstRecord = false;
-          writeOpLogBytes(this.crf, async, true);
+          writeRecordBytes(this.crf, async);
+          appendedSequence = this.lastAppended;
           this.crf.currSize = temp;
           if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES)) {
             logger.trace(LogMarker.PERSIST_WRITES,
@@ -4771,6 +5126,8 @@ public final class Oplog implements CompactableOplog, Flushable {
       }
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicSaveConflictVersionTag(dr, tag, async);
+    } else {
+      awaitGroupCommit(async, appendedSequence);
     }
   }
 
@@ -5033,6 +5390,7 @@ public final class Oplog implements CompactableOplog, Flushable {
     DiskId id = entry.getDiskId();
 
     boolean useNextOplog = false;
+    long appendedSequence = 0;
     long startPosForSynchOp = -1;
     Oplog emptyOplog = null;
     if (DiskStoreImpl.KRF_DEBUG) {
@@ -5043,9 +5401,9 @@ public final class Oplog implements CompactableOplog, Flushable {
     synchronized (this.lock) {
       if (getOplogSet().getChild() != this) {
         useNextOplog = true;
-      } else if ((this.drf.currSize + MAX_DELETE_ENTRY_RECORD_BYTES) > getMaxDrfSize()
+      } else if ((this.drf.currSize + recordSize(MAX_DELETE_ENTRY_RECORD_BYTES)) > getMaxDrfSize()
           && !isFirstRecord()) {
-        switchOpLog(dr, MAX_DELETE_ENTRY_RECORD_BYTES, entry);
+        switchOpLog(dr, recordSize(MAX_DELETE_ENTRY_RECORD_BYTES), entry);
         useNextOplog = true;
       } else {
         if (this.lockedForKRFcreate) {
@@ -5080,7 +5438,8 @@ public final class Oplog implements CompactableOplog, Flushable {
           // before we flush the crf.
           // However we can't have removes by async if we are doing a sync write
           // because we might be killed right after we do this write.
-          startPosForSynchOp = writeOpLogBytes(this.drf, async, true);
+          startPosForSynchOp = writeRecordBytes(this.drf, async);
+          appendedSequence = this.lastAppended;
           setHasDeletes(true);
           if (logger.isTraceEnabled(LogMarker.PERSIST_WRITES)) {
             logger.debug("basicRemove: id=<{}> key=<{}> drId={} oplog#{}", abs(id.getKeyId()),
@@ -5120,6 +5479,7 @@ public final class Oplog implements CompactableOplog, Flushable {
       Assert.assertTrue(getOplogSet().getChild() != this);
       getOplogSet().getChild().basicRemove(dr, entry, async, isClear);
     } else {
+      awaitGroupCommit(async, appendedSequence);
       if (LocalRegion.ISSUE_CALLBACKS_TO_CACHE_OBSERVER) {
         CacheObserverHolder.getInstance().afterSettingOplogOffSet(startPosForSynchOp);
       }
@@ -5176,6 +5536,7 @@ public final class Oplog implements CompactableOplog, Flushable {
         }
         ByteBuffer bb = olf.writeBuf;
         if (bb != null && bb.position() != 0) {
+          updateChecksum(olf, null);
           bb.flip();
           int flushed = 0;
           do {
@@ -5185,6 +5546,7 @@ public final class Oplog implements CompactableOplog, Flushable {
           // 41201
           olf.bytesFlushed += flushed;
           bb.clear();
+          olf.checksumPosition = 0;
         }
       }
       if (doSync) {
@@ -5208,6 +5570,7 @@ public final class Oplog implements CompactableOplog, Flushable {
         if (olf.RAFClosed) {
           return;
         }
+        updateChecksum(olf, b2);
         this.bbArray[0] = b1;
         this.bbArray[1] = b2;
         b1.flip();
@@ -5217,6 +5580,7 @@ public final class Oplog implements CompactableOplog, Flushable {
         // update bytesFlushed after entire writeBuffer is flushed to fix bug 41201
         olf.bytesFlushed += flushed;
         b1.clear();
+        olf.checksumPosition = 0;
       }
     } catch (ClosedChannelException ignore) {
       // It is possible for a channel to be closed when our code does not
@@ -5227,6 +5591,46 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Starts the checksum of a record about to be written to the given file.
+   */
+  private static void startChecksum(OplogFile olf) {
+    if (olf.checksum == null) {
+      olf.checksum = new CRC32();
+    } else {
+      olf.checksum.reset();
+    }
+    olf.checksumming = true;
+    olf.checksumPosition = olf.writeBuf.position();
+  }
+
+  /**
+   * Adds the bytes buffered for the record being written, and the given chunk that is written right
+   * after them, to the checksum of the record. Must be called before the write buffer is flushed.
+   */
+  private static void updateChecksum(OplogFile olf, ByteBuffer chunk) {
+    if (!olf.checksumming) {
+      return;
+    }
+    ByteBuffer bb = olf.writeBuf.duplicate();
+    bb.limit(bb.position());
+    bb.position(olf.checksumPosition);
+    olf.checksum.update(bb);
+    olf.checksumPosition = olf.writeBuf.position();
+    if (chunk != null) {
+      olf.checksum.update(chunk.duplicate());
+    }
+  }
+
+  /**
+   * Returns the checksum of the record that has just been written to the given file.
+   */
+  private static int endChecksum(OplogFile olf) {
+    updateChecksum(olf, null);
+    olf.checksumming = false;
+    return (int) olf.checksum.getValue();
+  }
+
   public final void flushAll() {
     flushAll(false);
   }
@@ -5254,6 +5658,73 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Flushes this oplog and forces the bytes written to its files out to the storage device, even if
+   * writes are not synced.
+   */
+  public final void forceAll() {
+    flushAllNoSync(false);
+    try {
+      force(this.drf);
+      force(this.crf);
+    } catch (IOException ex) {
+      getParent().getCancelCriterion().checkCancelInProgress(ex);
+      throw new DiskAccessException(
+          LocalizedStrings.Oplog_FAILED_WRITING_KEY_TO_0.toLocalizedString(this.diskFile.getPath()),
+          ex, getParent());
+    }
+  }
+
+  private static void force(OplogFile olf) throws IOException {
+    if (olf.RAFClosed) {
+      return;
+    }
+    try {
+      olf.channel.force(false);
+    } catch (ClosedChannelException ignore) {
+      // closed by a concurrent roll or close; see flush(OplogFile, boolean)
+    }
+  }
+
+  /**
+   * Writes the record in opState to the given file. A synchronous write is flushed at once unless
+   * group commit is on, in which case the caller must call {@link #awaitGroupCommit} once it has
+   * released the lock.
+   *
+   * @return The long offset at which the record gets written to
+   */
+  private long writeRecordBytes(OplogFile olf, boolean async) throws IOException {
+    if (async || this.groupCommitter == null) {
+      return writeOpLogBytes(olf, async, true);
+    }
+    long startPos = writeOpLogBytes(olf, false, false);
+    this.lastAppended = this.groupCommitter.append();
+    return startPos;
+  }
+
+  /**
+   * If group commit is on, waits until the record with the given sequence number, which the caller
+   * read from lastAppended right after its writeRecordBytes, has been flushed along with every
+   * record appended before it. Must not be called while holding lock.
+   */
+  private void awaitGroupCommit(boolean async, long sequence) {
+    if (!async && this.groupCommitter != null) {
+      this.groupCommitter.awaitCommit(sequence);
+    }
+  }
+
+  private GroupCommitter createGroupCommitter() {
+    if (!GroupCommitter.GROUP_COMMIT) {
+      return null;
+    }
+    return new GroupCommitter(new GroupCommitter.Flusher() {
+      @Override
+      public void flush() {
+        flushAll(false);
+      }
+    }, GroupCommitter.MAX_DELAY_MICROS, this.stats);
+  }
+
   /**
    * Asif: Since the ByteBuffer being writen to can have additional bytes which are used for
    * extending the size of the file, it is necessary that the ByteBuffer provided should have limit
@@ -5285,7 +5756,8 @@ public final class Oplog implements CompactableOplog, Flushable {
       // than what is actually needed, we will have to reset the pointer.
       // Also need to add in offset in writeBuf in case we are not flushing
       // writeBuf
-      startPos = olf.channel.position() + olf.writeBuf.position();
+      startPos =
+          olf.channel.position() + olf.writeBuf.position() + this.opState.getRecordOffset();
       // Assert.assertTrue(startPos > lastWritePos,
       // "startPos=" + startPos +
       // " was not > lastWritePos=" + lastWritePos);
@@ -5334,6 +5806,12 @@ public final class Oplog implements CompactableOplog, Flushable {
 
   private volatile boolean beingRead;
 
+  /**
+   * Reads values from a memory mapping of the crf once this oplog is no longer being appended to.
+   * Guarded by lock.
+   */
+  private final MappedCrfReader.Holder crfReader = new MappedCrfReader.Holder();
+
   /**
    * If crfRAF has been closed then attempt to reopen the oplog for this read. Verify that this only
    * happens when test methods are invoked.
@@ -5373,6 +5851,18 @@ public final class Oplog implements CompactableOplog, Flushable {
           flushAllNoSync(true); // fix for bug 41205
         }
         try {
+          if (this.doneAppending && !this.closed) {
+            BytesAndBits bb = this.crfReader.get(this.crf.f, this.crf.bytesFlushed, readPosition,
+                valueLength, userBits, this.stats);
+            if (bb != null) {
+              // also set the product version for an older product
+              final Version version = getProductVersionIfOld();
+              if (version != null) {
+                bb.setVersion(version);
+              }
+              return bb;
+            }
+          }
           UninterruptibleRandomAccessFile myRAF = null;
           if (this.crf.RAFClosed) {
             myRAF = new UninterruptibleRandomAccessFile(this.crf.f, "r");
@@ -5482,6 +5972,9 @@ public final class Oplog implements CompactableOplog, Flushable {
           boolean interrupted = Thread.interrupted();
           try {
             bb = attemptGet(dr, offsetInOplog, bitOnly, valueLength, userBits);
+            if (EntryBits.isCompressed(userBits)) {
+              bb = decompressValue(bb);
+            }
             break;
           } catch (InterruptedIOException e) { // bug 39756
             // ignore, we'll clear and retry.
@@ -5714,16 +6207,40 @@ public final class Oplog implements CompactableOplog, Flushable {
     deleteFile(this.drf);
   }
 
-  public void copyTo(File targetDir) throws IOException {
+  /**
+   * Returns the parts of the files of this oplog that a backup started now needs. The crf and drf
+   * are bounded by what has been written to them so far, so they can be copied while the oplog is
+   * still being appended to. The krf, which is only written once the oplog is done, is copied whole
+   * if it exists by the time the backup copies it. Must be called while writes to this oplog are
+   * blocked.
+   */
+  List<DiskStoreBackup.FileRange> getBackupFileRanges() {
+    List<DiskStoreBackup.FileRange> ranges = new ArrayList<DiskStoreBackup.FileRange>(3);
     if (this.crf.f != null) { // fixes bug 43951
-      FileUtil.copy(this.crf.f, targetDir);
+      ranges.add(new DiskStoreBackup.FileRange(this.crf.f, 0, this.crf.currSize));
     }
-    FileUtil.copy(this.drf.f, targetDir);
+    ranges.add(new DiskStoreBackup.FileRange(this.drf.f, 0, this.drf.currSize));
+    ranges.add(new DiskStoreBackup.FileRange(getKrfFile(), 0, -1));
+    return ranges;
+  }
 
-    // this krf existence check fixes 45089
-    if (getParent().getDiskInitFile().hasKrf(this.oplogId)) {
-      FileUtil.copy(this.getKrfFile(), targetDir);
+  /**
+   * Copies a part of one of the files of this oplog for a backup.
+   * 
+   * @param dest the file to copy to
+   * @return the number of bytes copied
+   */
+  long copyTo(DiskStoreBackup.FileRange range, File dest) throws IOException {
+    File source = range.getFile();
+    if (range.getEnd() < 0) {
+      // this krf existence check fixes 45089
+      if (!getParent().getDiskInitFile().hasKrf(this.oplogId) || !source.exists()) {
+        return 0;
+      }
+      FileUtil.copy(source, dest);
+      return source.length();
     }
+    return FileUtil.copy(source, range.getStart(), range.getEnd(), dest);
   }
 
   /**
@@ -5737,6 +6254,9 @@ public final class Oplog implements CompactableOplog, Flushable {
 
   private void deleteFile(final OplogFile olf) {
     synchronized (this.lock) {
+      if (olf == this.crf) {
+        this.crfReader.close();
+      }
       if (olf.currSize != 0) {
         this.dirHolder.decrementTotalOplogSize(olf.currSize);
         olf.currSize = 0;
@@ -5801,8 +6321,8 @@ public final class Oplog implements CompactableOplog, Flushable {
   }
 
   boolean isOplogEmpty() {
-    return this.crf.currSize <= (OPLOG_DISK_STORE_REC_SIZE + OPLOG_MAGIC_SEQ_REC_SIZE)
-        && this.drf.currSize <= (OPLOG_DISK_STORE_REC_SIZE + OPLOG_MAGIC_SEQ_REC_SIZE);
+    return this.crf.currSize <= (recordSize(OPLOG_DISK_STORE_REC_SIZE) + OPLOG_MAGIC_SEQ_REC_SIZE)
+        && this.drf.currSize <= (recordSize(OPLOG_DISK_STORE_REC_SIZE) + OPLOG_MAGIC_SEQ_REC_SIZE);
   }
 
   void incLiveCount() {
@@ -6053,6 +6573,9 @@ public final class Oplog implements CompactableOplog, Flushable {
                                  */!compactor.keepCompactorRunning();
         int totalCount = 0;
         for (DiskRegionInfo dri : this.regionMap.values()) {
+          if (compactFailed) {
+            break;
+          }
           final DiskRegionView dr = dri.getDiskRegion();
           if (dr == null)
             continue;
@@ -6072,6 +6595,7 @@ public final class Oplog implements CompactableOplog, Flushable {
             }
             lastDe = de;
             didCompact = false;
+            int copiedBytes = 0;
             synchronized (de) { // fix for bug 41797
               DiskId did = de.getDiskId();
               assert did != null;
@@ -6096,12 +6620,18 @@ public final class Oplog implements CompactableOplog, Flushable {
                   getOplogSet().getChild().copyForwardModifyForCompact(dr, de, wrapper);
                   // the did's oplogId will now be set to the current active oplog
                   didCompact = true;
+                  copiedBytes = did.getValueLength();
                 }
               } // did
             } // de
             if (didCompact) {
               totalCount++;
               getStats().endCompactionUpdate(opStart);
+              // throttled outside the entry locks so writers of the entry never wait on it
+              if (!throttleCompaction(compactor, copiedBytes, dri, dr)) {
+                compactFailed = true;
+                break;
+              }
               opStart = getStats().getStatTime();
               // Asif: Check if the value byte array happens to be any of the
               // constant
@@ -6136,6 +6666,38 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Waits for the compaction rate limit to allow the given number of copied bytes. The compactor
+   * locks are released while waiting so that closing or destroying this oplog, or its disk store,
+   * does not wait for the throttle.
+   *
+   * Because the locks were released, a clear, a region close or a recovered region replacing its
+   * place holder may have run during the wait. The compaction of this oplog then stops, as the
+   * region view it is copying entries of may be stale, and is left to the next compaction the
+   * compactor schedules.
+   *
+   * @return false if the compaction is to stop because the compactor has been stopped, this oplog
+   *         was closed or destroyed, or an operation that excludes compaction ran while waiting
+   */
+  private boolean throttleCompaction(OplogCompactor compactor, int bytes, DiskRegionInfo dri,
+      DiskRegionView dr) {
+    if (!compactor.isThrottled()) {
+      return true;
+    }
+    long writeLockCount = getParent().getCompactorWriteLockCount();
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.throttle(bytes);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+    return compactor.keepCompactorRunning() && !this.closed && !isDeleted()
+        && getParent().getCompactorWriteLockCount() == writeLockCount
+        && this.regionMap.get(dr.getId()) == dri && dri.getDiskRegion() == dr;
+  }
+
   public static boolean isCRFFile(String filename) {
     return filename.endsWith(Oplog.CRF_FILE_EXT);
   }
@@ -6216,22 +6778,30 @@ public final class Oplog implements CompactableOplog, Flushable {
       // from
       // disk is still valid. That is going to be something like
 
-      synchronized (diskRecoveryStores) {
-        DiskRecoveryStore diskRecoveryStore = diskRecoveryStores.get(diskRegionId);
-        if (diskRecoveryStore == null) {
-          continue;
-        }
+      // The read lock keeps the entry map of the region from being copied while we recover into it.
+      // Other oplogs may be recovering values at the same time, so the recovery stores are only
+      // locked while we look at them.
+      Lock entryMapLock = getParent().getRecoveredEntryMapReadLock();
+      entryMapLock.lock();
+      try {
+        DiskRecoveryStore diskRecoveryStore;
+        synchronized (diskRecoveryStores) {
+          diskRecoveryStore = diskRecoveryStores.get(diskRegionId);
+          if (diskRecoveryStore == null) {
+            continue;
+          }
 
-        // Reset the disk region view because it may have changed
-        // due to the region being created.
-        diskRegionView = diskRecoveryStore.getDiskRegionView();
+          // Reset the disk region view because it may have changed
+          // due to the region being created.
+          diskRegionView = diskRecoveryStore.getDiskRegionView();
 
-        if (diskRegionView == null) {
-          continue;
-        }
-        if (diskRecoveryStore.lruLimitExceeded()) {
-          diskRecoveryStores.remove(diskRegionId);
-          continue;
+          if (diskRegionView == null) {
+            continue;
+          }
+          if (diskRecoveryStore.lruLimitExceeded()) {
+            diskRecoveryStores.remove(diskRegionId);
+            continue;
+          }
         }
 
         if (diskRegionView.isEntriesMapIncompatible()) {
@@ -6245,7 +6815,8 @@ public final class Oplog implements CompactableOplog, Flushable {
 
         synchronized (diskEntry) {
           // Make sure the entry hasn't been modified
-          if (diskEntry.getDiskId() != null && diskEntry.getDiskId().getOplogId() == oplogId) {
+          DiskId diskId = diskEntry.getDiskId();
+          if (diskId != null && diskId.getOplogId() == oplogId) {
             // dear lord, this goes through a lot of layers. Maybe we should
             // skip some?
             // * specifically, this could end up faulting in from a different
@@ -6264,13 +6835,20 @@ public final class Oplog implements CompactableOplog, Flushable {
             // remove the store.
 
             try {
-              DiskEntry.Helper.recoverValue(diskEntry, getOplogId(), diskRecoveryStore, in);
+              int valueLength = diskId.getValueLength();
+              if (DiskEntry.Helper.recoverValue(diskEntry, getOplogId(), diskRecoveryStore, in)) {
+                this.stats.incRecoveredValues(valueLength);
+              }
             } catch (RegionDestroyedException e) {
               // This region has been destroyed, stop recovering from it.
-              diskRecoveryStores.remove(diskRegionId);
+              synchronized (diskRecoveryStores) {
+                diskRecoveryStores.remove(diskRegionId);
+              }
             }
           }
         }
+      } finally {
+        entryMapLock.unlock();
       }
     }
   }
@@ -6379,6 +6957,15 @@ public final class Oplog implements CompactableOplog, Flushable {
     public long currSize;
     public long bytesFlushed;
     public boolean unpreblown;
+    /**
+     * The checksum of the record being written, if it is framed with one. Guarded by the oplog lock.
+     */
+    public CRC32 checksum;
+    public boolean checksumming;
+    /**
+     * The position in writeBuf of the first byte not yet added to checksum.
+     */
+    public int checksumPosition;
   }
 
   private static class KRFile {
@@ -6388,6 +6975,10 @@ public final class Oplog implements CompactableOplog, Flushable {
     DataOutputStream dos;
     long lastOffset = 0;
     int keyNum = 0;
+    /**
+     * Writes the entries in blocks if COMPACT_KRF. Null otherwise.
+     */
+    KrfBlockWriter blockWriter;
   }
 
   private static String baToString(byte[] ba) {
@@ -6491,7 +7082,22 @@ public final class Oplog implements CompactableOplog, Flushable {
     // private int memberId; // canonicalId of memberID
 
     public final int getSize() {
-      return this.size;
+      return isChecksummed() ? this.size + RECORD_CHECKSUM_OVERHEAD : this.size;
+    }
+
+    /**
+     * The magic sequence is never framed so that the type of a file can always be told from its first
+     * byte.
+     */
+    private boolean isChecksummed() {
+      return CHECKSUM_RECORDS && this.opCode != OPLOG_MAGIC_SEQ_ID;
+    }
+
+    /**
+     * Returns the offset of the record from the position it gets written at.
+     */
+    public int getRecordOffset() {
+      return isChecksummed() ? RECORD_CHECKSUM_PREFIX_SIZE : 0;
     }
 
     public String debugStr() {
@@ -6786,6 +7392,18 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
 
     public long write(OplogFile olf) throws IOException {
+      if (!isChecksummed()) {
+        return writeRecord(olf);
+      }
+      writeByte(olf, OPLOG_RECORD_CHECKSUM);
+      writeInt(olf, this.size);
+      startChecksum(olf);
+      long bytesWritten = writeRecord(olf);
+      writeInt(olf, endChecksum(olf));
+      return bytesWritten + RECORD_CHECKSUM_OVERHEAD;
+    }
+
+    private long writeRecord(OplogFile olf) throws IOException {
       long bytesWritten = 0;
       writeByte(olf, this.opCode);
       bytesWritten++;
@@ -7811,6 +8429,34 @@ public final class Oplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Deserializes the key at the given offset of a krf block without copying it out of the block.
+   */
+  private Object deserializeKey(byte[] bytes, int offset, int length, final Version version,
+      final ByteArrayDataInput in) {
+    if (offset == 0 && length == bytes.length) {
+      return deserializeKey(bytes, version, in);
+    }
+    if (getParent().isOffline() || bytes[offset] == DSCODE.PDX) {
+      return deserializeKey(Arrays.copyOfRange(bytes, offset, offset + length), version, in);
+    }
+    in.initialize(bytes, version);
+    in.setPosition(offset);
+    try {
+      return DataSerializer.readObject(in);
+    } catch (IOException e) {
+      throw new SerializationException(
+          LocalizedStrings.EntryEventImpl_AN_IOEXCEPTION_WAS_THROWN_WHILE_DESERIALIZING
+              .toLocalizedString(),
+          e);
+    } catch (ClassNotFoundException e) {
+      throw new SerializationException(
+          LocalizedStrings.EntryEventImpl_A_CLASSNOTFOUNDEXCEPTION_WAS_THROWN_WHILE_TRYING_TO_DESERIALIZE_CACHED_VALUE
+              .toLocalizedString(),
+          e);
+    }
+  }
+
   /**
    * If this OpLog is from an older version of the product, then return that {@link Version} else
    * return null.
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Arrays;
+
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.internal.cache.DiskEntry.Helper.ByteArrayValueWrapper;
+import org.apache.geode.internal.cache.DiskEntry.Helper.CompactorValueWrapper;
+import org.apache.geode.internal.cache.DiskEntry.Helper.OffHeapValueWrapper;
+import org.apache.geode.internal.cache.DiskEntry.Helper.ValueWrapper;
+
+/**
+ * Compresses the values written to the oplogs of a disk store with the {@link Compressor} of the
+ * disk store, and decompresses them when they are read back.
+ *
+ * Each value is compressed on its own, so any value can still be read with a single seek. A value
+ * is only written compressed if that makes it smaller, and its record is then flagged with
+ * {@link EntryBits#isCompressed}. Records written before the compressor was configured are read
+ * as they are, but once a disk store has compressed records it needs a compressor to read them.
+ */
+class OplogCompressor {
+
+  private final Compressor compressor;
+
+  private final DiskStoreStats stats;
+
+  OplogCompressor(Compressor compressor, DiskStoreStats stats) {
+    this.compressor = compressor;
+    this.stats = stats;
+  }
+
+  /**
+   * Returns a wrapper of the compressed form of the given value, or null if the value should be
+   * written as it is because compressing did not make it smaller.
+   */
+  ValueWrapper compress(ValueWrapper value) {
+    byte[] bytes = getBytes(value);
+    if (bytes == null || bytes.length == 0) {
+      return null;
+    }
+    long start = this.stats.startCompression();
+    byte[] compressed = this.compressor.compress(bytes);
+    if (compressed.length >= bytes.length) {
+      this.stats.endCompression(start, bytes.length, -1);
+      return null;
+    }
+    this.stats.endCompression(start, bytes.length, compressed.length);
+    return new CompactorValueWrapper(compressed, compressed.length);
+  }
+
+  /**
+   * Returns the value that was compressed into the given bytes.
+   */
+  byte[] decompress(byte[] compressed) {
+    long start = this.stats.startDecompression();
+    try {
+      return this.compressor.decompress(compressed);
+    } finally {
+      this.stats.endDecompression(start);
+    }
+  }
+
+  Compressor getCompressor() {
+    return this.compressor;
+  }
+
+  private static byte[] getBytes(ValueWrapper value) {
+    if (value instanceof ByteArrayValueWrapper) {
+      byte[] bytes = ((ByteArrayValueWrapper) value).bytes;
+      int length = value.getLength();
+      if (bytes != null && bytes.length != length) {
+        // the compactor reuses a buffer that can be longer than the value
+        bytes = Arrays.copyOf(bytes, length);
+      }
+      return bytes;
+    } else if (value instanceof OffHeapValueWrapper) {
+      return ((OffHeapValueWrapper) value).getBytes();
+    }
+    return null;
+  }
+}
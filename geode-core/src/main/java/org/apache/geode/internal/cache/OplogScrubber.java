@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+
+/**
+ * Verifies the record checksums of the rolled crfs and drfs of a disk store in the background, so that
+ * corruption is found while the other members still have a good copy of the data rather than when
+ * the oplog is next recovered.
+ *
+ * The scrubber runs in a single low priority thread, reads at a bounded rate and makes a pass over
+ * all rolled oplogs after each interval. It stops at the first record that is not framed with a
+ * checksum, since the records of an oplog can only be walked through their frames.
+ */
+class OplogScrubber implements Runnable {
+
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The number of bytes per second the scrubber reads. Zero disables the scrubber.
+   */
+  static final long SCRUB_RATE =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "disk.scrubRate", 4 * 1024 * 1024);
+
+  /**
+   * The number of milliseconds the scrubber waits before each pass over the rolled oplogs.
+   */
+  static final long SCRUB_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "disk.scrubInterval", TimeUnit.HOURS.toMillis(1));
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final DiskStoreImpl ds;
+
+  private final DiskStoreStats stats;
+
+  private final long bytesPerSecond;
+
+  private final byte[] buffer = new byte[8192];
+
+  private volatile boolean stopped;
+
+  private Thread thread;
+
+  /**
+   * @param bytesPerSecond the maximum rate, or zero for no limit
+   */
+  OplogScrubber(DiskStoreImpl ds, DiskStoreStats stats, long bytesPerSecond) {
+    this.ds = ds;
+    this.stats = stats;
+    this.bytesPerSecond = bytesPerSecond;
+  }
+
+  static boolean isEnabled() {
+    return Oplog.CHECKSUM_RECORDS && SCRUB_RATE > 0;
+  }
+
+  void start() {
+    ThreadGroup group = LoggingThreadGroup.createThreadGroup("Oplog Scrubber Thread Group", logger);
+    this.thread = new Thread(group, this, "Oplog Scrubber for " + this.ds.getName());
+    this.thread.setDaemon(true);
+    this.thread.setPriority(Thread.MIN_PRIORITY);
+    this.thread.start();
+  }
+
+  void stop() {
+    this.stopped = true;
+    Thread t = this.thread;
+    if (t != null) {
+      t.interrupt();
+      try {
+        t.join(1000);
+      } catch (InterruptedException ignore) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (!this.stopped) {
+        // the first pass waits too so that it does not compete with recovery
+        Thread.sleep(SCRUB_INTERVAL);
+        for (Oplog oplog : this.ds.getAllOplogs()) {
+          if (this.stopped) {
+            return;
+          }
+          if (oplog == null) {
+            continue;
+          }
+          File crf = oplog.getRolledCrfFile();
+          if (crf != null) {
+            scrub(crf);
+          }
+          File drf = oplog.getRolledDrfFile();
+          if (drf != null && !this.stopped) {
+            scrub(drf);
+          }
+        }
+      }
+    } catch (InterruptedException ignore) {
+      // we are being stopped
+    } catch (RuntimeException e) {
+      if (!this.stopped) {
+        logger.warn(LocalizedMessage.create(
+            LocalizedStrings.OplogScrubber_SCRUBBER_OF_DISK_STORE_0_STOPPED_BECAUSE_OF_AN_UNEXPECTED_EXCEPTION,
+            this.ds.getName()), e);
+      }
+    }
+  }
+
+  private void scrub(File f) throws InterruptedException {
+    FileInputStream fis;
+    try {
+      fis = new FileInputStream(f);
+    } catch (FileNotFoundException ignore) {
+      // the compactor deleted it
+      return;
+    }
+    long start = this.stats.startScrub();
+    try {
+      long bytes = verify(new BufferedInputStream(fis, 64 * 1024), f);
+      this.stats.endScrub(start, bytes);
+    } catch (IOException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug("Could not scrub oplog file {}", f, e);
+      }
+    } finally {
+      try {
+        fis.close();
+      } catch (IOException ignore) {
+      }
+    }
+  }
+
+  /**
+   * Verifies the checksums of the records in the given crf or drf, reporting each record that does
+   * not match.
+   *
+   * @return the number of bytes verified
+   */
+  long verify(InputStream in, File f) throws IOException, InterruptedException {
+    DataInputStream dis = new DataInputStream(in);
+    CRC32 checksum = new CRC32();
+    long startNanos = System.nanoTime();
+    long offset = 0;
+    try {
+      while (!this.stopped) {
+        byte opCode = dis.readByte();
+        if (opCode == Oplog.OPLOG_MAGIC_SEQ_ID) {
+          dis.readFully(this.buffer, 0, Oplog.OPLOG_MAGIC_SEQ_REC_SIZE - 1);
+          offset += Oplog.OPLOG_MAGIC_SEQ_REC_SIZE;
+          continue;
+        }
+        if (opCode != Oplog.OPLOG_RECORD_CHECKSUM) {
+          // either the end of the oplog or a record written without a checksum
+          break;
+        }
+        int length = dis.readInt();
+        if (length <= 0) {
+          reportFailure(f, offset);
+          break;
+        }
+        checksum.reset();
+        int remaining = length;
+        while (remaining > 0) {
+          int len = Math.min(remaining, this.buffer.length);
+          dis.readFully(this.buffer, 0, len);
+          checksum.update(this.buffer, 0, len);
+          remaining -= len;
+        }
+        // a rolled oplog has no partial last record, so a missing checksum is a failure too
+        int expected = dis.readInt();
+        if (expected != (int) checksum.getValue()) {
+          reportFailure(f, offset + Oplog.RECORD_CHECKSUM_PREFIX_SIZE);
+        }
+        offset += length + Oplog.RECORD_CHECKSUM_OVERHEAD;
+        pace(startNanos, offset);
+      }
+    } catch (EOFException ignore) {
+      // a partial last record or the end of the oplog
+    }
+    return offset;
+  }
+
+  private void reportFailure(File f, long offset) {
+    this.stats.incChecksumFailures();
+    logger.error(LocalizedMessage.create(
+        LocalizedStrings.OplogScrubber_RECORD_AT_OFFSET_0_OF_OPLOG_FILE_1_OF_DISK_STORE_2_DOES_NOT_MATCH_ITS_CHECKSUM,
+        new Object[] {Long.valueOf(offset), f, this.ds == null ? null : this.ds.getName()}));
+  }
+
+  /**
+   * Waits until reading the given number of bytes since start no longer exceeds the rate.
+   */
+  private void pace(long startNanos, long bytesRead) throws InterruptedException {
+    if (this.bytesPerSecond <= 0) {
+      return;
+    }
+    long due = startNanos + (long) ((double) bytesRead * NANOS_PER_SECOND / this.bytesPerSecond);
+    long waitMillis = TimeUnit.NANOSECONDS.toMillis(due - System.nanoTime());
+    if (waitMillis > 0) {
+      Thread.sleep(waitMillis);
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.geode.cache.DiskAccessException;
 import org.apache.geode.cache.EntryDestroyedException;
 import org.apache.geode.distributed.OplogCancelledException;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.cache.DiskEntry.Helper.Flushable;
 import org.apache.geode.internal.cache.DiskEntry.Helper.ValueWrapper;
@@ -43,6 +44,7 @@ import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.internal.shared.NativeCalls;
 
 /**
  * An oplog used for overflow-only regions. For regions that are persistent (i.e. they can be
@@ -57,6 +59,24 @@ class OverflowOplog implements CompactableOplog, Flushable {
   /** Extension of the oplog file * */
   static final String CRF_FILE_EXT = ".crf";
 
+  /**
+   * If true, overflow writes are done by the thread that evicts the value instead of being queued
+   * for the async flusher, go through a larger write buffer, and reuse the files of empty overflow
+   * oplogs. Overflowed values do not survive a restart so none of these writes is forced to disk.
+   */
+  static final boolean DIRECT_WRITES =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "disk.directOverflowWrites");
+
+  static final int WRITE_BLOCK_SIZE = 4096;
+
+  /**
+   * The size of the write buffer used when {@link #DIRECT_WRITES} is true, rounded up to a multiple
+   * of {@link #WRITE_BLOCK_SIZE} so that full buffers are written in whole file system blocks.
+   */
+  static final int DIRECT_WRITE_BUF_SIZE = alignToBlock(Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.overflowWriteBufferSize", 1024 * 1024)
+      .intValue());
+
   /** The file which will be created on disk * */
   private final File diskFile;
 
@@ -160,6 +180,8 @@ class OverflowOplog implements CompactableOplog, Flushable {
     if (maxOplogSizeParam < minSize) {
       maxOplogSizeParam = minSize;
     }
+    // taken first so that the space it reserved is available to this oplog
+    File recycled = DIRECT_WRITES ? parent.takeRecycledFile(dirHolder) : null;
     long availableSpace = this.dirHolder.getAvailableSpace();
     if (availableSpace < minSize
         // fix for bug 42464
@@ -180,7 +202,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
     String n = this.parent.getName();
     this.diskFile = new File(this.dirHolder.getDir(), "OVERFLOW" + n + "_" + oplogId);
     try {
-      createCrf(parent.getActiveOverflowOplog());
+      createCrf(parent.getActiveOverflowOplog(), recycled);
     } catch (IOException ex) {
       throw new DiskAccessException(
           LocalizedStrings.Oplog_FAILED_CREATING_OPERATION_LOG_BECAUSE_0.toLocalizedString(ex),
@@ -196,9 +218,23 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return this.oplogSet;
   }
 
-  private void preblow() {
+  /**
+   * @param allocate true if the file's blocks should be allocated and not just its length set. A
+   *        file kept for reuse keeps its blocks, so reusing it saves allocating them again.
+   */
+  private void preblow(boolean allocate) {
     this.dirHolder.incrementTotalOplogSize(this.maxOplogSize);
     final OplogFile olf = getOLF();
+    if (allocate) {
+      try {
+        NativeCalls.getInstance().preBlow(olf.f.getAbsolutePath(), this.maxOplogSize, true);
+      } catch (IOException ioe) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Could not allocate overflow file {} to {} because: {}", olf.f,
+              this.maxOplogSize, ioe.getMessage(), ioe);
+        }
+      }
+    }
     try {
       olf.raf.setLength(this.maxOplogSize);
       olf.raf.seek(0);
@@ -223,9 +259,20 @@ class OverflowOplog implements CompactableOplog, Flushable {
    * 
    * @throws IOException
    */
-  private void createCrf(OverflowOplog previous) throws IOException {
+  private void createCrf(OverflowOplog previous, File recycled) throws IOException {
     File f = new File(this.diskFile.getPath() + CRF_FILE_EXT);
 
+    boolean reused = false;
+    if (recycled != null) {
+      if (recycled.renameTo(f)) {
+        reused = true;
+        if (logger.isDebugEnabled()) {
+          logger.debug("Reusing overflow file {} as {}", recycled, f);
+        }
+      } else {
+        recycled.delete();
+      }
+    }
     if (logger.isDebugEnabled()) {
       logger.debug("Creating operation log file {}", f);
     }
@@ -233,7 +280,8 @@ class OverflowOplog implements CompactableOplog, Flushable {
     this.crf.raf = new RandomAccessFile(f, "rw");
     this.crf.writeBuf = allocateWriteBuf(previous);
     this.bbArray[0] = this.crf.writeBuf;
-    preblow();
+    preblow(DIRECT_WRITES && !reused && DiskStoreImpl.PREALLOCATE_OPLOGS
+        && !DiskStoreImpl.SET_IGNORE_PREALLOCATE);
     logger.info(LocalizedMessage.create(LocalizedStrings.Oplog_CREATE_0_1_2,
         new Object[] {toString(), "crf", this.parent.getName()}));
     this.crf.channel = this.crf.raf.getChannel();
@@ -247,11 +295,23 @@ class OverflowOplog implements CompactableOplog, Flushable {
       result = previous.consumeWriteBuf();
     }
     if (result == null) {
-      result = ByteBuffer.allocateDirect(Integer.getInteger("WRITE_BUF_SIZE", 32768).intValue());
+      if (DIRECT_WRITES) {
+        result = ByteBuffer.allocateDirect(DIRECT_WRITE_BUF_SIZE);
+      } else {
+        result =
+            ByteBuffer.allocateDirect(Integer.getInteger("WRITE_BUF_SIZE", 32768).intValue());
+      }
     }
     return result;
   }
 
+  static int alignToBlock(int size) {
+    if (size <= WRITE_BLOCK_SIZE) {
+      return WRITE_BLOCK_SIZE;
+    }
+    return (size + WRITE_BLOCK_SIZE - 1) / WRITE_BLOCK_SIZE * WRITE_BLOCK_SIZE;
+  }
+
   private ByteBuffer consumeWriteBuf() {
     synchronized (this.crf) {
       ByteBuffer result = this.crf.writeBuf;
@@ -448,6 +508,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
   private void basicClose() {
     flushAll();
     synchronized (this.crf) {
+      this.crfReader.close();
       if (!this.crf.RAFClosed) {
         try {
           this.crf.channel.close();
@@ -850,6 +911,12 @@ class OverflowOplog implements CompactableOplog, Flushable {
     return startPos;
   }
 
+  /**
+   * Reads values from a memory mapping of the crf once this oplog is no longer being appended to.
+   * Guarded by synchronization on crf.
+   */
+  private final MappedCrfReader.Holder crfReader = new MappedCrfReader.Holder();
+
   private BytesAndBits attemptGet(DiskRegionView dr, long offsetInOplog, int valueLength,
       byte userBits) throws IOException {
     synchronized (this.crf) {
@@ -860,6 +927,13 @@ class OverflowOplog implements CompactableOplog, Flushable {
       // }
       final long readPosition = offsetInOplog;
       assert readPosition >= 0;
+      if (this.doneAppending && !this.closed) {
+        BytesAndBits bb = this.crfReader.get(this.crf.f, this.crf.bytesFlushed, readPosition,
+            valueLength, userBits, this.stats);
+        if (bb != null) {
+          return bb;
+        }
+      }
       RandomAccessFile myRAF = this.crf.raf;
       BytesAndBits bb = null;
       long writePosition = 0;
@@ -990,16 +1064,28 @@ class OverflowOplog implements CompactableOplog, Flushable {
     boolean needsDestroy = this.deleted.compareAndSet(false, true);
     if (needsDestroy) {
       this.getOplogSet().removeOverflow(this);
+      synchronized (this.crf) {
+        this.crfReader.close();
+      }
       deleteFile();
     }
   }
 
   private void deleteFile() {
     final OplogFile olf = getOLF();
-    if (this.maxOplogSize != 0) {
-      this.dirHolder.decrementTotalOplogSize(this.maxOplogSize);
+    final long reservedSize = this.maxOplogSize;
+    if (reservedSize != 0) {
       this.maxOplogSize = 0;
       olf.currSize = 0;
+      // a kept file still takes up its space, so it keeps its reservation
+      if (olf.f != null && olf.f.exists()
+          && getOplogSet().recycleFile(olf.f, this.dirHolder, reservedSize)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug("Keeping overflow file {} of {} for reuse", olf.f, this);
+        }
+        return;
+      }
+      this.dirHolder.decrementTotalOplogSize(reservedSize);
     }
     if (olf.f == null)
       return;
@@ -1346,6 +1432,7 @@ class OverflowOplog implements CompactableOplog, Flushable {
           }
           lastDe = de;
           didCompact = false;
+          int copiedBytes = 0;
           synchronized (de) { // fix for bug 41797
             DiskId did = de.getDiskId();
             assert did != null;
@@ -1387,12 +1474,18 @@ class OverflowOplog implements CompactableOplog, Flushable {
                 getOplogSet().copyForwardForOverflowCompact(de, valueBytes, length, userBits);
                 // the did's oplogId will now be set to the current active oplog
                 didCompact = true;
+                copiedBytes = did.getValueLength();
               }
             } // did
           } // de
           if (didCompact) {
             totalCount++;
             getStats().endCompactionUpdate(opStart);
+            // throttled outside the entry locks so writers of the entry never wait on it
+            if (!throttleCompaction(compactor, copiedBytes)) {
+              compactFailed = true;
+              break;
+            }
             opStart = getStats().getStatTime();
             // Asif: Check if the value byte array happens to be any of the constant
             // static byte arrays or references the value byte array of underlying RegionEntry.
@@ -1419,6 +1512,34 @@ class OverflowOplog implements CompactableOplog, Flushable {
     }
   }
 
+  /**
+   * Waits for the compaction rate limit to allow the given number of copied bytes. The compactor
+   * locks are released while waiting so that closing or destroying this oplog, or its disk store,
+   * does not wait for the throttle.
+   *
+   * Because the locks were released, a clear of the region may have run during the wait. The
+   * compaction of this oplog then stops and is left to the next compaction the compactor schedules.
+   *
+   * @return false if the compaction is to stop because the compactor has been stopped, this oplog
+   *         was closed or destroyed, or an operation that excludes compaction ran while waiting
+   */
+  private boolean throttleCompaction(OplogCompactor compactor, int bytes) {
+    if (!compactor.isThrottled()) {
+      return true;
+    }
+    long writeLockCount = getParent().getCompactorWriteLockCount();
+    unlockCompactor();
+    getParent().releaseCompactorReadLock();
+    try {
+      compactor.throttle(bytes);
+    } finally {
+      getParent().acquireCompactorReadLock();
+      lockCompactor();
+    }
+    return compactor.keepCompactorRunning() && !this.closed && !this.deleted.get()
+        && getParent().getCompactorWriteLockCount() == writeLockCount;
+  }
+
   /**
    * Asif:This function retrieves the value for an entry being compacted subject to entry
    * referencing the oplog being compacted. Attempt is made to retrieve the value from in memory ,
@@ -14,11 +14,13 @@
  */
 package org.apache.geode.internal.cache;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -28,6 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.DiskEntry.Helper.ValueWrapper;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
@@ -45,6 +48,22 @@ public class OverflowOplogSet implements OplogSet {
 
   private int lastOverflowDir = 0;
 
+  /**
+   * The maximum number of files of empty overflow oplogs kept for reuse when
+   * {@link OverflowOplog#DIRECT_WRITES} is true.
+   */
+  static final int RECYCLED_FILES_MAX =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "disk.overflowFileRingSize", 4);
+
+  /**
+   * The files of empty overflow oplogs that new overflow oplogs reuse instead of creating,
+   * allocating and later deleting a file of their own. Each file keeps the space it reserved in its
+   * directory until it is reused or deleted. Guarded by synchronization on itself.
+   */
+  private final LinkedList<RecycledFile> recycledFiles = new LinkedList<RecycledFile>();
+
+  private boolean recycledFilesClosed;
+
   private DiskStoreImpl parent;
 
   public OverflowOplogSet(DiskStoreImpl parent) {
@@ -178,7 +197,62 @@ public class OverflowOplogSet implements OplogSet {
 
 
 
+  /**
+   * Keeps the closed file of an empty overflow oplog for reuse, along with the space it reserved in
+   * its directory.
+   * 
+   * @param reservedSize the space the file reserved in the given directory
+   * @return true if the file was kept; false if the caller should delete it and release its space
+   */
+  boolean recycleFile(File f, DirectoryHolder dirHolder, long reservedSize) {
+    if (!OverflowOplog.DIRECT_WRITES) {
+      return false;
+    }
+    synchronized (this.recycledFiles) {
+      if (this.recycledFilesClosed || this.recycledFiles.size() >= RECYCLED_FILES_MAX) {
+        return false;
+      }
+      this.recycledFiles.add(new RecycledFile(f, dirHolder, reservedSize));
+      return true;
+    }
+  }
+
+  /**
+   * Returns a file kept for reuse that is in the given directory, or null if there is none. The
+   * space the file reserved is released, so the caller has to reserve its own.
+   */
+  File takeRecycledFile(DirectoryHolder dirHolder) {
+    synchronized (this.recycledFiles) {
+      for (Iterator<RecycledFile> itr = this.recycledFiles.iterator(); itr.hasNext();) {
+        RecycledFile rf = itr.next();
+        if (rf.dirHolder == dirHolder) {
+          itr.remove();
+          dirHolder.decrementTotalOplogSize(rf.reservedSize);
+          return rf.file;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Test hook to see how many files are kept for reuse
+   */
+  int numRecycledFiles() {
+    synchronized (this.recycledFiles) {
+      return this.recycledFiles.size();
+    }
+  }
+
   public void closeOverflow() {
+    synchronized (this.recycledFiles) {
+      this.recycledFilesClosed = true;
+      for (RecycledFile rf : this.recycledFiles) {
+        rf.dirHolder.decrementTotalOplogSize(rf.reservedSize);
+        rf.file.delete();
+      }
+      this.recycledFiles.clear();
+    }
     for (OverflowOplog oo : this.overflowMap.values()) {
       oo.destroy();
     }
@@ -326,4 +400,19 @@ public class OverflowOplogSet implements OplogSet {
   public DiskStoreImpl getParent() {
     return parent;
   }
+
+  /**
+   * The file of an empty overflow oplog kept for reuse.
+   */
+  private static class RecycledFile {
+    final File file;
+    final DirectoryHolder dirHolder;
+    final long reservedSize;
+
+    RecycledFile(File file, DirectoryHolder dirHolder, long reservedSize) {
+      this.file = file;
+      this.dirHolder = dirHolder;
+      this.reservedSize = reservedSize;
+    }
+  }
 }
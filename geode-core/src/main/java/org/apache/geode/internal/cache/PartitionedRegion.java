@@ -103,6 +103,7 @@ import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.offheap.annotations.Released;
+import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.internal.offheap.annotations.Unretained;
 import org.apache.geode.internal.sequencelog.RegionLogger;
 import org.apache.geode.internal.util.TransformUtils;
@@ -118,6 +119,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
+import java.util.function.LongSupplier;
 
 /**
  * A Region whose total storage is split into chunks of data (partitions) which are copied up to a
@@ -2080,8 +2082,6 @@ public class PartitionedRegion extends LocalRegion
   @Override
   public void postPutAllSend(DistributedPutAllOperation putallO,
       VersionedObjectList successfulPuts) {
-    final boolean isDebugEnabled = logger.isDebugEnabled();
-
     if (cache.isCacheAtShutdownAll()) {
       throw new CacheClosedException("Cache is shutting down");
     }
@@ -2097,51 +2097,7 @@ public class PartitionedRegion extends LocalRegion
       Map<Object, VersionTag> keyToVersionMap =
           new HashMap<Object, VersionTag>(successfulPuts.size());
       successfulPuts.clearVersions();
-      Iterator itor = prMsgMap.entrySet().iterator();
-      while (itor.hasNext()) {
-        Map.Entry mapEntry = (Map.Entry) itor.next();
-        Integer bucketId = (Integer) mapEntry.getKey();
-        PutAllPRMessage prMsg = (PutAllPRMessage) mapEntry.getValue();
-        checkReadiness();
-        long then = 0;
-        if (isDebugEnabled) {
-          then = System.currentTimeMillis();
-        }
-        try {
-          VersionedObjectList versions = sendMsgByBucket(bucketId, prMsg);
-          if (versions.size() > 0) {
-            partialKeys.addKeysAndVersions(versions);
-            versions.saveVersions(keyToVersionMap);
-          } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
-            Set keys = prMsg.getKeys();
-            partialKeys.addKeys(keys);
-          }
-        } catch (PutAllPartialResultException pre) {
-          // sendMsgByBucket applied partial keys
-          if (isDebugEnabled) {
-            logger.debug("PR.postPutAll encountered PutAllPartialResultException, ", pre);
-          }
-          partialKeys.consolidate(pre.getResult());
-        } catch (Exception ex) {
-          // If failed at other exception
-          if (isDebugEnabled) {
-            logger.debug("PR.postPutAll encountered exception at sendMsgByBucket, ", ex);
-          }
-          @Released
-          EntryEventImpl firstEvent = prMsg.getFirstEvent(this);
-          try {
-            partialKeys.saveFailedKey(firstEvent.getKey(), ex);
-          } finally {
-            firstEvent.release();
-          }
-        }
-        if (isDebugEnabled) {
-          long now = System.currentTimeMillis();
-          if ((now - then) >= 10000) {
-            logger.debug("PR.sendMsgByBucket took " + (now - then) + " ms");
-          }
-        }
-      }
+      sendBulkOpMessages(prMsgMap, partialKeys, keyToVersionMap, "postPutAll");
       this.prStats.endPutAll(startTime);
       if (!keyToVersionMap.isEmpty()) {
         for (Iterator it = successfulPuts.getKeys().iterator(); it.hasNext();) {
@@ -2180,8 +2136,6 @@ public class PartitionedRegion extends LocalRegion
   @Override
   public void postRemoveAllSend(DistributedRemoveAllOperation op,
       VersionedObjectList successfulOps) {
-    final boolean isDebugEnabled = logger.isDebugEnabled();
-
     if (cache.isCacheAtShutdownAll()) {
       throw new CacheClosedException("Cache is shutting down");
     }
@@ -2195,51 +2149,7 @@ public class PartitionedRegion extends LocalRegion
     // and the basicRemoveAll work was just a way to build the "op" object
     Map<Object, VersionTag> keyToVersionMap = new HashMap<Object, VersionTag>(successfulOps.size());
     successfulOps.clearVersions();
-    Iterator<Map.Entry<Integer, RemoveAllPRMessage>> itor = prMsgMap.entrySet().iterator();
-    while (itor.hasNext()) {
-      Map.Entry<Integer, RemoveAllPRMessage> mapEntry = itor.next();
-      Integer bucketId = (Integer) mapEntry.getKey();
-      RemoveAllPRMessage prMsg = mapEntry.getValue();
-      checkReadiness();
-      long then = 0;
-      if (isDebugEnabled) {
-        then = System.currentTimeMillis();
-      }
-      try {
-        VersionedObjectList versions = sendMsgByBucket(bucketId, prMsg);
-        if (versions.size() > 0) {
-          partialKeys.addKeysAndVersions(versions);
-          versions.saveVersions(keyToVersionMap);
-        } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
-          Set keys = prMsg.getKeys();
-          partialKeys.addKeys(keys);
-        }
-      } catch (PutAllPartialResultException pre) {
-        // sendMsgByBucket applied partial keys
-        if (isDebugEnabled) {
-          logger.debug("PR.postRemoveAll encountered BulkOpPartialResultException, ", pre);
-        }
-        partialKeys.consolidate(pre.getResult());
-      } catch (Exception ex) {
-        // If failed at other exception
-        if (isDebugEnabled) {
-          logger.debug("PR.postRemoveAll encountered exception at sendMsgByBucket, ", ex);
-        }
-        @Released
-        EntryEventImpl firstEvent = prMsg.getFirstEvent(this);
-        try {
-          partialKeys.saveFailedKey(firstEvent.getKey(), ex);
-        } finally {
-          firstEvent.release();
-        }
-      }
-      if (isDebugEnabled) {
-        long now = System.currentTimeMillis();
-        if ((now - then) >= 10000) {
-          logger.debug("PR.sendMsgByBucket took {} ms", (now - then));
-        }
-      }
-    }
+    sendBulkOpMessages(prMsgMap, partialKeys, keyToVersionMap, "postRemoveAll");
     this.prStats.endRemoveAll(startTime);
     if (!keyToVersionMap.isEmpty()) {
       for (Iterator it = successfulOps.getKeys().iterator(); it.hasNext();) {
@@ -2267,6 +2177,226 @@ public class PartitionedRegion extends LocalRegion
     }
   }
 
+  /**
+   * Sends the bucket messages of a putAll or removeAll and adds what each bucket applied to
+   * partialKeys and keyToVersionMap, in bucket order. If the cache has a bulk op thread pool the
+   * messages of different buckets are sent at the same time, so the data stores apply them in
+   * parallel.
+   * 
+   * @param opName the name used in debug logging
+   */
+  private void sendBulkOpMessages(Map<Integer, ? extends PartitionMessage> prMsgMap,
+      PutAllPartialResult partialKeys, Map<Object, VersionTag> keyToVersionMap, String opName) {
+    final boolean isDebugEnabled = logger.isDebugEnabled();
+    Map<Integer, BulkOpTask> sending = null;
+    try {
+      Executor bulkOpExecutor = getBulkOpExecutor(prMsgMap.size());
+      if (bulkOpExecutor != null) {
+        sending = new HashMap<Integer, BulkOpTask>(prMsgMap.size());
+        for (Map.Entry<Integer, ? extends PartitionMessage> mapEntry : prMsgMap.entrySet()) {
+          // the same check the serial loop makes before each bucket
+          checkReadiness();
+          BulkOpTask task = new BulkOpTask(mapEntry.getKey(), mapEntry.getValue());
+          sending.put(mapEntry.getKey(), task);
+          task.start(bulkOpExecutor);
+        }
+      }
+      for (Map.Entry<Integer, ? extends PartitionMessage> mapEntry : prMsgMap.entrySet()) {
+        Integer bucketId = mapEntry.getKey();
+        PartitionMessage prMsg = mapEntry.getValue();
+        checkReadiness();
+        long then = 0;
+        if (isDebugEnabled) {
+          then = System.currentTimeMillis();
+        }
+        try {
+          VersionedObjectList versions = sending == null ? sendBulkOpMsgByBucket(bucketId, prMsg)
+              : sending.get(bucketId).waitForResult();
+          if (versions.size() > 0) {
+            partialKeys.addKeysAndVersions(versions);
+            versions.saveVersions(keyToVersionMap);
+          } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
+            Set keys = getBulkOpKeys(prMsg);
+            partialKeys.addKeys(keys);
+          }
+        } catch (PutAllPartialResultException pre) {
+          // sendMsgByBucket applied partial keys
+          if (isDebugEnabled) {
+            logger.debug("PR.{} encountered PutAllPartialResultException, ", opName, pre);
+          }
+          partialKeys.consolidate(pre.getResult());
+        } catch (Exception ex) {
+          // If failed at other exception
+          if (isDebugEnabled) {
+            logger.debug("PR.{} encountered exception at sendMsgByBucket, ", opName, ex);
+          }
+          @Released
+          EntryEventImpl firstEvent = getBulkOpFirstEvent(prMsg);
+          try {
+            partialKeys.saveFailedKey(firstEvent.getKey(), ex);
+          } finally {
+            firstEvent.release();
+          }
+        }
+        if (isDebugEnabled) {
+          long now = System.currentTimeMillis();
+          if ((now - then) >= 10000) {
+            logger.debug("PR.sendMsgByBucket took {} ms", (now - then));
+          }
+        }
+      }
+    } finally {
+      if (sending != null) {
+        // no bucket message may still be sent once this operation has returned or failed
+        for (BulkOpTask task : sending.values()) {
+          task.abandon();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the executor to send the given number of bucket messages of a bulk operation on, or
+   * null if this thread should send them one after the other. A transaction's state is only known
+   * to the thread that is in it, so its bulk operations are always sent serially.
+   */
+  private Executor getBulkOpExecutor(int bucketCount) {
+    if (bucketCount <= 1 || isTX()) {
+      return null;
+    }
+    return this.cache.getBulkOpThreadPool();
+  }
+
+  private VersionedObjectList sendBulkOpMsgByBucket(Integer bucketId, PartitionMessage prMsg) {
+    if (prMsg instanceof PutAllPRMessage) {
+      return sendMsgByBucket(bucketId, (PutAllPRMessage) prMsg);
+    }
+    return sendMsgByBucket(bucketId, (RemoveAllPRMessage) prMsg);
+  }
+
+  private static Set getBulkOpKeys(PartitionMessage prMsg) {
+    if (prMsg instanceof PutAllPRMessage) {
+      return ((PutAllPRMessage) prMsg).getKeys();
+    }
+    return ((RemoveAllPRMessage) prMsg).getKeys();
+  }
+
+  @Retained
+  private EntryEventImpl getBulkOpFirstEvent(PartitionMessage prMsg) {
+    if (prMsg instanceof PutAllPRMessage) {
+      return ((PutAllPRMessage) prMsg).getFirstEvent(this);
+    }
+    return ((RemoveAllPRMessage) prMsg).getFirstEvent(this);
+  }
+
+  /**
+   * Sends one bucket's message of a putAll or removeAll on the bulk op thread pool. The reply-wait
+   * settings of the thread that started the operation are carried over to the thread that sends.
+   */
+  private class BulkOpTask implements Callable<VersionedObjectList> {
+    private final Integer bucketId;
+
+    private final PartitionMessage prMsg;
+
+    private final FutureTask<VersionedObjectList> future;
+
+    /** Set by whichever comes first: the send starting, or the task being abandoned */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private final boolean severeAlertProcessingForced;
+
+    private final boolean shortSevereAlertProcessing;
+
+    BulkOpTask(Integer bucketId, PartitionMessage prMsg) {
+      this.bucketId = bucketId;
+      this.prMsg = prMsg;
+      this.future = new FutureTask<VersionedObjectList>(this);
+      this.severeAlertProcessingForced = ReplyProcessor21.isSevereAlertProcessingForced();
+      this.shortSevereAlertProcessing = ReplyProcessor21.getShortSevereAlertProcessing();
+    }
+
+    /**
+     * Starts the send on the given executor, or runs it on this thread if the executor's queue is
+     * full or it has been shut down by a closing cache.
+     */
+    void start(Executor executor) {
+      try {
+        executor.execute(this.future);
+      } catch (RejectedExecutionException e) {
+        this.future.run();
+      }
+    }
+
+    public VersionedObjectList call() {
+      if (!this.claimed.compareAndSet(false, true)) {
+        // abandoned before it started
+        return null;
+      }
+      boolean wasForced = ReplyProcessor21.isSevereAlertProcessingForced();
+      boolean wasShort = ReplyProcessor21.getShortSevereAlertProcessing();
+      setSevereAlertProcessing(this.severeAlertProcessingForced, this.shortSevereAlertProcessing);
+      try {
+        return sendBulkOpMsgByBucket(this.bucketId, this.prMsg);
+      } finally {
+        setSevereAlertProcessing(wasForced, wasShort);
+      }
+    }
+
+    private void setSevereAlertProcessing(boolean forced, boolean shortened) {
+      if (forced) {
+        ReplyProcessor21.forceSevereAlertProcessing();
+      } else {
+        ReplyProcessor21.unforceSevereAlertProcessing();
+      }
+      ReplyProcessor21.setShortSevereAlertProcessing(shortened);
+    }
+
+    /**
+     * Waits for the send and returns its versions, or throws what sending threw.
+     */
+    VersionedObjectList waitForResult() {
+      boolean interrupted = false;
+      try {
+        for (;;) {
+          try {
+            return this.future.get();
+          } catch (InterruptedException e) {
+            // the send is already under way and has its own timeouts, so see it through
+            interrupted = true;
+          } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+              throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+              throw (Error) cause;
+            }
+            throw new InternalGemFireException(cause);
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
+    /**
+     * Keeps the message from being sent if its send has not started yet, otherwise waits for the
+     * send to finish and ignores its outcome.
+     */
+    void abandon() {
+      if (this.claimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        waitForResult();
+      } catch (RuntimeException ignore) {
+        // already reported, or the operation is failing for another reason
+      }
+    }
+  }
+
   /*
    * If failed after retries, it will throw PartitionedRegionStorageException, no need for return
    * value
@@ -6139,9 +6269,8 @@ public class PartitionedRegion extends LocalRegion
     }
 
     @Override
-    public Iterator iterator() {
-      checkTX();
-      return new EntriesSetIterator(this.bucketSet, allowTombstones);
+    protected Iterator iterator(Set<Integer> buckets) {
+      return new EntriesSetIterator(buckets, allowTombstones);
     }
   }
 
@@ -6322,7 +6451,46 @@ public class PartitionedRegion extends LocalRegion
     @Override
     public Iterator iterator() {
       checkTX();
-      return new KeysSetIterator(this.bucketSet, this.allowTombstones);
+      return iterator(this.bucketSet);
+    }
+
+    /**
+     * Returns an iterator over the given buckets, or over all buckets if null.
+     */
+    protected Iterator iterator(Set<Integer> buckets) {
+      return new KeysSetIterator(buckets, this.allowTombstones);
+    }
+
+    /**
+     * Returns a Spliterator that splits at bucket boundaries, so that a parallel stream of this set
+     * iterates different buckets on different threads. A set created in a transaction is not split,
+     * since only the transaction's thread can read it.
+     */
+    @Override
+    public Spliterator spliterator() {
+      checkTX();
+      Set<Integer> buckets = this.bucketSet;
+      if (buckets == null) {
+        buckets = getRegionAdvisor().getBucketSet();
+      }
+      // execute.Function hides java.util.function.Function in this file
+      java.util.function.Function<Set<Integer>, Iterator<Object>> iteratorFactory =
+          new java.util.function.Function<Set<Integer>, Iterator<Object>>() {
+            public Iterator<Object> apply(Set<Integer> subset) {
+              return iterator(subset);
+            }
+          };
+      LongSupplier sizer = new LongSupplier() {
+        public long getAsLong() {
+          return size();
+        }
+      };
+      return new BucketSpliterator<Object>(buckets, iteratorFactory, this.myTX == null,
+          spliteratorCharacteristics(), sizer);
+    }
+
+    protected int spliteratorCharacteristics() {
+      return Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT;
     }
   }
 
@@ -6404,9 +6572,13 @@ public class PartitionedRegion extends LocalRegion
     }
 
     @Override
-    public Iterator iterator() {
-      checkTX();
-      return new ValuesSetIterator(this.bucketSet);
+    protected Iterator iterator(Set<Integer> buckets) {
+      return new ValuesSetIterator(buckets);
+    }
+
+    @Override
+    protected int spliteratorCharacteristics() {
+      return Spliterator.NONNULL | Spliterator.CONCURRENT;
     }
   }
 
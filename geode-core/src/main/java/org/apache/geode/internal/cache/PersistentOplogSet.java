@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -35,6 +36,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.FileUtil;
 import org.apache.geode.internal.cache.DiskEntry.Helper.ValueWrapper;
 import org.apache.geode.internal.cache.DiskStoreImpl.OplogEntryIdSet;
@@ -52,6 +54,13 @@ import org.apache.geode.internal.sequencelog.EntryLogger;
 public class PersistentOplogSet implements OplogSet {
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The most memory, in bytes, the krfs read ahead of their recovery may take up at once. A krf
+   * larger than this is not read ahead.
+   */
+  static final long MAX_PREFETCHED_KRF_BYTES = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "disk.MAX_PREFETCHED_KRF_BYTES", 64 * 1024 * 1024);
+
   /** The active oplog * */
   protected volatile Oplog child;
 
@@ -454,24 +463,67 @@ public class PersistentOplogSet implements OplogSet {
       }
       parent.incDeadRecordCount(deletedIds.size());
       // now figure out live entries
-      latestOplog = true;
-      for (Oplog oplog : oplogSet) {
-        long startOpLogRead = parent.getStats().startOplogRead();
-        long bytesRead = oplog.recoverCrf(deletedIds,
-            // @todo make recoverValues per region
-            recoverValues(), recoverValuesSync(), this.alreadyRecoveredOnce.get(),
-            oplogsNeedingValueRecovery, latestOplog);
-        latestOplog = false;
-        if (!this.alreadyRecoveredOnce.get()) {
-          updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
-        }
-        byteCount += bytesRead;
-        parent.getStats().endOplogRead(startOpLogRead, bytesRead);
+      // The oplogs have to be applied one at a time, newest first, but the krfs of the next few
+      // can be read from disk while we apply the current one.
+      List<Oplog> oplogs = new ArrayList<Oplog>(oplogSet);
+      ExecutorService krfPrefetchPool = null;
+      int prefetchDistance = 0;
+      if (DiskStoreImpl.RECOVERY_THREADS > 1 && oplogs.size() > 1 && !recoverValuesSync()
+          && !parent.isOffline()) {
+        krfPrefetchPool = parent.createRecoveryPool("Krf Prefetcher");
+        prefetchDistance = DiskStoreImpl.RECOVERY_THREADS;
+      }
+      // the next oplog whose krf may be read ahead, and the memory taken by the krfs read ahead
+      int nextPrefetch = 0;
+      long prefetchedBytes = 0;
+      long[] prefetchedSizes = new long[oplogs.size()];
+      try {
+        latestOplog = true;
+        for (int i = 0; i < oplogs.size(); i++) {
+          Oplog oplog = oplogs.get(i);
+          if (krfPrefetchPool != null) {
+            // the krf of this oplog is read now anyway
+            nextPrefetch = Math.max(nextPrefetch, i + 1);
+            while (nextPrefetch < oplogs.size() && nextPrefetch <= i + prefetchDistance) {
+              Oplog next = oplogs.get(nextPrefetch);
+              long krfSize = next.getKrfSize();
+              if (krfSize > 0 && krfSize <= MAX_PREFETCHED_KRF_BYTES) {
+                if (prefetchedBytes + krfSize > MAX_PREFETCHED_KRF_BYTES) {
+                  // wait for the krfs read ahead to be used
+                  break;
+                }
+                next.prefetchKrf(krfPrefetchPool);
+                prefetchedSizes[nextPrefetch] = krfSize;
+                prefetchedBytes += krfSize;
+              }
+              nextPrefetch++;
+            }
+          }
+          long startOpLogRead = parent.getStats().startOplogRead();
+          long bytesRead = oplog.recoverCrf(deletedIds,
+              // @todo make recoverValues per region
+              recoverValues(), recoverValuesSync(), this.alreadyRecoveredOnce.get(),
+              oplogsNeedingValueRecovery, latestOplog);
+          latestOplog = false;
+          prefetchedBytes -= prefetchedSizes[i];
+          if (!this.alreadyRecoveredOnce.get()) {
+            updateOplogEntryId(oplog.getMaxRecoveredOplogEntryId());
+          }
+          byteCount += bytesRead;
+          parent.getStats().endOplogRead(startOpLogRead, bytesRead);
 
-        // Callback to the disk regions to indicate the oplog is recovered
-        // Used for offline export
-        for (DiskRecoveryStore drs : this.currentRecoveryMap.values()) {
-          drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          // Callback to the disk regions to indicate the oplog is recovered
+          // Used for offline export
+          for (DiskRecoveryStore drs : this.currentRecoveryMap.values()) {
+            drs.getDiskRegionView().oplogRecovered(oplog.oplogId);
+          }
+        }
+      } finally {
+        if (krfPrefetchPool != null) {
+          for (Oplog oplog : oplogs) {
+            oplog.discardPrefetchedKrf();
+          }
+          krfPrefetchPool.shutdownNow();
         }
       }
       long endOpLogRecovery = System.currentTimeMillis();
@@ -1132,6 +1184,17 @@ public class PersistentOplogSet implements OplogSet {
     }
   }
 
+  /**
+   * Forces the current child to disk. An oplog the flusher wrote to before it rolled was forced by
+   * the roll.
+   */
+  public void forceChild() {
+    Oplog oplog = getChild();
+    if (oplog != null) {
+      oplog.forceAll();
+    }
+  }
+
   public String getPrefix() {
     return OplogType.BACKUP.getPrefix();
   }
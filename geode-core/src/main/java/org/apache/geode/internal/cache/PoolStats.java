@@ -70,6 +70,9 @@ public class PoolStats {
   private final static int clientOpTimedOutId;
   private final static int clientOpFailedId;
   private final static int clientOpDurationId;
+  private final static int nearCacheHitsId;
+  private final static int nearCacheMissesId;
+  private final static int nearCacheKeysId;
 
   static {
     String statName = "PoolStats";
@@ -139,7 +142,16 @@ public class PoolStats {
             f.createLongCounter("clientOpSendTime",
                 "Total amount of time, in nanoseconds spent doing clientOp sends", "nanoseconds"),
             f.createLongCounter("clientOpTime",
-                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),});
+                "Total amount of time, in nanoseconds spent doing clientOps", "nanoseconds"),
+            f.createLongCounter("nearCacheHits",
+                "Total number of gets on near cache regions that found a value locally",
+                "operations"),
+            f.createLongCounter("nearCacheMisses",
+                "Total number of gets on near cache regions that did not find a value locally",
+                "operations"),
+            f.createIntGauge("nearCacheKeys",
+                "Current number of keys near cache regions have registered interest in",
+                "keys"),});
 
     // Initialize id fields
     _INITIAL_CONTACTS = _type.nameToId(INITIAL_CONTACTS);
@@ -175,6 +187,9 @@ public class PoolStats {
     clientOpTimedOutId = _type.nameToId("clientOpTimeouts");
     clientOpFailedId = _type.nameToId("clientOpFailures");
     clientOpDurationId = _type.nameToId("clientOpTime");
+    nearCacheHitsId = _type.nameToId("nearCacheHits");
+    nearCacheMissesId = _type.nameToId("nearCacheMisses");
+    nearCacheKeysId = _type.nameToId("nearCacheKeys");
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -364,4 +379,28 @@ public class PoolStats {
     this._stats.incInt(endClientOpId, 1);
     this._stats.incLong(clientOpDurationId, duration);
   }
+
+  public void incNearCacheHits() {
+    this._stats.incLong(nearCacheHitsId, 1);
+  }
+
+  public long getNearCacheHits() {
+    return this._stats.getLong(nearCacheHitsId);
+  }
+
+  public void incNearCacheMisses() {
+    this._stats.incLong(nearCacheMissesId, 1);
+  }
+
+  public long getNearCacheMisses() {
+    return this._stats.getLong(nearCacheMissesId);
+  }
+
+  public void incNearCacheKeys(int delta) {
+    this._stats.incInt(nearCacheKeysId, delta);
+  }
+
+  public int getNearCacheKeys() {
+    return this._stats.getInt(nearCacheKeysId);
+  }
 }
@@ -122,6 +122,22 @@ public interface RegionMap extends LRUMapCallbacks {
    */
   public RegionEntry getEntry(Object key);
 
+  /**
+   * Same as {@link #getEntry(Object)} for an {@link Integer} key, but implementations may avoid
+   * boxing the key.
+   */
+  default RegionEntry getIntKeyEntry(int key) {
+    return getEntry(key);
+  }
+
+  /**
+   * Same as {@link #getEntry(Object)} for a {@link Long} key, but implementations may avoid boxing
+   * the key.
+   */
+  default RegionEntry getLongKeyEntry(long key) {
+    return getEntry(key);
+  }
+
   public RegionEntry putEntryIfAbsent(Object key, RegionEntry re);
 
   /**
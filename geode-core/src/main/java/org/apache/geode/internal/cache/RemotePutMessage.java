@@ -1094,6 +1094,11 @@ public final class RemotePutMessage extends RemoteOperationMessageWithDirectRepl
     }
   }
 
+  @Override
+  public boolean serializesNewObjectOnImport() {
+    return false;
+  }
+
   @Override
   public void importNewObject(@Unretained(ENTRY_EVENT_NEW_VALUE) Object nv, boolean isSerialized) {
     setDeserializationPolicy(isSerialized);
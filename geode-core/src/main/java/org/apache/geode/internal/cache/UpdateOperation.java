@@ -486,6 +486,11 @@ public class UpdateOperation extends AbstractUpdateOperation {
       return true;
     }
 
+    @Override
+    public boolean serializesNewObjectOnImport() {
+      return false;
+    }
+
     @Override
     public void importNewObject(@Unretained(ENTRY_EVENT_NEW_VALUE) Object nv,
         boolean isSerialized) {
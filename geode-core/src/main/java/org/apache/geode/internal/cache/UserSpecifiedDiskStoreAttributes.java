@@ -32,6 +32,7 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
   private boolean hasAutoCompact = false;
   private boolean hasCompactionThreshold = false;
   private boolean hasAllowForceCompaction = false;
+  private boolean hasCompactionRateLimit = false;
   private boolean hasMaxOplogSize = false;
   private boolean hasTimeInterval = false;
   private boolean hasWriteBufferSize = false;
@@ -40,7 +41,8 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
   private boolean hasDiskDirSizes = false;
   private boolean hasDiskUsageWarningPercentage = false;
   private boolean hasDiskUsageCriticalPercentage = false;
-  private static final int HAS_COUNT = 11;
+  private boolean hasCompressor = false;
+  private static final int HAS_COUNT = 13;
 
   public boolean hasAutoCompact() {
     return hasAutoCompact;
@@ -54,6 +56,10 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
     return hasAllowForceCompaction;
   }
 
+  public boolean hasCompactionRateLimit() {
+    return hasCompactionRateLimit;
+  }
+
   public boolean hasMaxOplogSize() {
     return hasMaxOplogSize;
   }
@@ -98,6 +104,10 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
     this.hasAllowForceCompaction = hasAllowForceCompaction;
   }
 
+  public void setHasCompactionRateLimit(boolean hasCompactionRateLimit) {
+    this.hasCompactionRateLimit = hasCompactionRateLimit;
+  }
+
   public void setHasMaxOplogSize(boolean hasMaxOplogSize) {
     this.hasMaxOplogSize = hasMaxOplogSize;
   }
@@ -130,6 +140,14 @@ public class UserSpecifiedDiskStoreAttributes extends DiskStoreAttributes {
     this.hasDiskUsageCriticalPercentage = true;
   }
 
+  public boolean hasCompressor() {
+    return hasCompressor;
+  }
+
+  public void setHasCompressor(boolean hasCompressor) {
+    this.hasCompressor = hasCompressor;
+  }
+
   public void setAllHasFields(boolean b) {
     int hasCounter = 0;
     Field thisFields[] = UserSpecifiedDiskStoreAttributes.class.getDeclaredFields();
@@ -381,5 +381,10 @@ public class VMStatsDiskLRURegionEntryHeapIntKey extends VMStatsDiskLRURegionEnt
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -442,5 +442,10 @@ public class VMStatsDiskLRURegionEntryOffHeapIntKey extends VMStatsDiskLRURegion
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
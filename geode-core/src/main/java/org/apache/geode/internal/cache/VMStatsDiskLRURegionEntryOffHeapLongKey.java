@@ -442,5 +442,10 @@ public class VMStatsDiskLRURegionEntryOffHeapLongKey extends VMStatsDiskLRURegio
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -267,5 +267,10 @@ public class VMStatsDiskRegionEntryHeapLongKey extends VMStatsDiskRegionEntryHea
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
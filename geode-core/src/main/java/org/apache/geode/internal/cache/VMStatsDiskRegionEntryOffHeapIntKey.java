@@ -325,5 +325,10 @@ public class VMStatsDiskRegionEntryOffHeapIntKey extends VMStatsDiskRegionEntryO
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -325,5 +325,10 @@ public class VMStatsDiskRegionEntryOffHeapLongKey extends VMStatsDiskRegionEntry
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
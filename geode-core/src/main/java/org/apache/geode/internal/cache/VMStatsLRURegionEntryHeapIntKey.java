@@ -286,5 +286,10 @@ public class VMStatsLRURegionEntryHeapIntKey extends VMStatsLRURegionEntryHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
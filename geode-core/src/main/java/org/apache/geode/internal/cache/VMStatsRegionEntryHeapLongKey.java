@@ -188,5 +188,10 @@ public class VMStatsRegionEntryHeapLongKey extends VMStatsRegionEntryHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
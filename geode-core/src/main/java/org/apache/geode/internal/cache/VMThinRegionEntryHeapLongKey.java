@@ -111,5 +111,10 @@ public class VMThinRegionEntryHeapLongKey extends VMThinRegionEntryHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
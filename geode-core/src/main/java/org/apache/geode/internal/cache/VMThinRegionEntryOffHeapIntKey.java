@@ -169,5 +169,10 @@ public class VMThinRegionEntryOffHeapIntKey extends VMThinRegionEntryOffHeap {
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -486,5 +486,10 @@ public class VersionedStatsDiskLRURegionEntryHeapLongKey
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -544,5 +544,10 @@ public class VersionedStatsDiskLRURegionEntryOffHeapIntKey
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
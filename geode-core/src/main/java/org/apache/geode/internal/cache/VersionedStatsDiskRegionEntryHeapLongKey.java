@@ -371,5 +371,10 @@ public class VersionedStatsDiskRegionEntryHeapLongKey extends VersionedStatsDisk
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
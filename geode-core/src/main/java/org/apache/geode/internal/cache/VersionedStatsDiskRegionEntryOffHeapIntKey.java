@@ -430,5 +430,10 @@ public class VersionedStatsDiskRegionEntryOffHeapIntKey
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
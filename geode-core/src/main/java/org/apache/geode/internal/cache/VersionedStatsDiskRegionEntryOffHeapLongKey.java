@@ -430,5 +430,10 @@ public class VersionedStatsDiskRegionEntryOffHeapLongKey
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -389,5 +389,10 @@ public class VersionedStatsLRURegionEntryHeapIntKey extends VersionedStatsLRUReg
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -448,5 +448,10 @@ public class VersionedStatsLRURegionEntryOffHeapIntKey extends VersionedStatsLRU
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
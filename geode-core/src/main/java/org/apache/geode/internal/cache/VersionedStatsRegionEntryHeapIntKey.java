@@ -288,5 +288,10 @@ public class VersionedStatsRegionEntryHeapIntKey extends VersionedStatsRegionEnt
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -406,5 +406,10 @@ public class VersionedThinDiskLRURegionEntryHeapIntKey extends VersionedThinDisk
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -350,5 +350,10 @@ public class VersionedThinDiskRegionEntryOffHeapIntKey extends VersionedThinDisk
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
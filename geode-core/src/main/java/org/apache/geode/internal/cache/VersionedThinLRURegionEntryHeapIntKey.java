@@ -310,5 +310,10 @@ public class VersionedThinLRURegionEntryHeapIntKey extends VersionedThinLRURegio
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
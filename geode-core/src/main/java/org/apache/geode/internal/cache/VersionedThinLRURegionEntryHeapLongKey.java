@@ -311,5 +311,10 @@ public class VersionedThinLRURegionEntryHeapLongKey extends VersionedThinLRURegi
     }
     return false;
   }
+
+  @Override
+  public boolean isLongKeyEqual(long k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
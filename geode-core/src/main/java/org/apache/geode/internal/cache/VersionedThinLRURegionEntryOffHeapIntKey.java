@@ -369,5 +369,10 @@ public class VersionedThinLRURegionEntryOffHeapIntKey extends VersionedThinLRURe
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -211,5 +211,10 @@ public class VersionedThinRegionEntryHeapIntKey extends VersionedThinRegionEntry
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
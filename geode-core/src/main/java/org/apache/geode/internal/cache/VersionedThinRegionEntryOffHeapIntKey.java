@@ -270,5 +270,10 @@ public class VersionedThinRegionEntryOffHeapIntKey extends VersionedThinRegionEn
     }
     return false;
   }
+
+  @Override
+  public boolean isIntKeyEqual(int k) {
+    return k == this.key;
+  }
   // DO NOT modify this class. It was generated from LeafRegionEntry.cpp
 }
@@ -19,7 +19,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.logging.log4j.Logger;
 
@@ -39,6 +42,8 @@ import org.apache.geode.cache.query.QueryInvalidException;
 import org.apache.geode.distributed.internal.DM;
 import org.apache.geode.distributed.internal.DistributionManager;
 import org.apache.geode.distributed.internal.membership.InternalDistributedMember;
+import org.apache.geode.internal.cache.GemFireCacheImpl;
+import org.apache.geode.internal.cache.TXManagerImpl;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
@@ -396,6 +401,59 @@ public abstract class AbstractExecution implements InternalExecution {
     return executeFunction(function);
   }
 
+  public CompletableFuture<Object> executeAsync(final String functionName) {
+    Function function = functionName == null ? null : FunctionService.getFunction(functionName);
+    // functions executed on servers need not be registered on clients
+    boolean hasResult = function == null || function.hasResult();
+    return executeAsync(new Callable<ResultCollector>() {
+      public ResultCollector call() {
+        return execute(functionName);
+      }
+    }, hasResult);
+  }
+
+  public CompletableFuture<Object> executeAsync(final Function function) {
+    return executeAsync(new Callable<ResultCollector>() {
+      public ResultCollector call() {
+        return execute(function);
+      }
+    }, function == null || function.hasResult());
+  }
+
+  private CompletableFuture<Object> executeAsync(final Callable<ResultCollector> execution,
+      final boolean hasResult) {
+    if (TXManagerImpl.getCurrentTXState() != null) {
+      throw new UnsupportedOperationException(
+          "Asynchronous function executions cannot be done in a transaction");
+    }
+    final GemFireCacheImpl cache =
+        GemFireCacheImpl.getExisting("executing a function asynchronously");
+    final CompletableFuture<Object> result = new CompletableFuture<Object>();
+    try {
+      cache.getAsyncFunctionThreadPool().execute(new Runnable() {
+        public void run() {
+          try {
+            ResultCollector collector = execution.call();
+            result.complete(hasResult ? collector.getResult() : null);
+          } catch (VirtualMachineError err) {
+            SystemFailure.initiateFailure(err);
+            // If this ever returns, rethrow the error. We're poisoned
+            // now, so don't let this thread continue.
+            throw err;
+          } catch (Throwable t) {
+            SystemFailure.checkFailure();
+            result.completeExceptionally(t);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the cache is being closed
+      RuntimeException cancelled = cache.getCancelCriterion().generateCancelledException(e);
+      result.completeExceptionally(cancelled != null ? cancelled : e);
+    }
+    return result;
+  }
+
   public final void setWaitOnExceptionFlag(boolean waitOnException) {
     this.setForwardExceptions(waitOnException);
     this.waitOnException = waitOnException;
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A Spliterator over a view of some buckets of a partitioned region that splits at bucket
+ * boundaries, so that a parallel stream scans different buckets on different threads. Each split
+ * iterates its buckets with an ordinary iterator of the view, created for just those buckets when
+ * the split is first advanced.
+ *
+ * The size of the view is only computed when a stream first asks for it, and is then divided among
+ * the splits in proportion to their number of buckets.
+ */
+public class BucketSpliterator<T> implements Spliterator<T> {
+
+  private final int[] bucketIds;
+
+  private int origin;
+
+  private final int fence;
+
+  private final Function<Set<Integer>, Iterator<T>> iteratorFactory;
+
+  private final boolean splittable;
+
+  private final int characteristics;
+
+  private final LongSupplier sizer;
+
+  /** the estimated number of elements left, or -1 if not yet computed */
+  private long estimate;
+
+  private Iterator<T> iterator;
+
+  /**
+   * @param buckets the ids of the buckets of the view
+   * @param iteratorFactory creates an iterator of the view over the given subset of its buckets
+   * @param splittable false if the view must only be iterated by the calling thread, e.g. because
+   *        it belongs to a transaction
+   * @param characteristics the characteristics of the elements of the view
+   * @param sizer computes the size of the whole view
+   */
+  public BucketSpliterator(Set<Integer> buckets,
+      Function<Set<Integer>, Iterator<T>> iteratorFactory, boolean splittable,
+      int characteristics, LongSupplier sizer) {
+    // copy into an ArrayList, which sizes itself by what it iterates, as the size of a region
+    // advisor's bucket set is not exact
+    List<Integer> ids = new ArrayList<Integer>(buckets);
+    this.bucketIds = new int[ids.size()];
+    for (int i = 0; i < this.bucketIds.length; i++) {
+      this.bucketIds[i] = ids.get(i);
+    }
+    this.origin = 0;
+    this.fence = this.bucketIds.length;
+    this.iteratorFactory = iteratorFactory;
+    this.splittable = splittable;
+    this.characteristics = characteristics;
+    this.sizer = sizer;
+    this.estimate = -1;
+  }
+
+  private BucketSpliterator(BucketSpliterator<T> parent, int origin, int fence, long estimate) {
+    this.bucketIds = parent.bucketIds;
+    this.origin = origin;
+    this.fence = fence;
+    this.iteratorFactory = parent.iteratorFactory;
+    this.splittable = true;
+    this.characteristics = parent.characteristics;
+    this.sizer = null;
+    this.estimate = estimate;
+  }
+
+  @Override
+  public boolean tryAdvance(Consumer<? super T> action) {
+    if (action == null) {
+      throw new NullPointerException();
+    }
+    if (this.iterator == null) {
+      this.iterator = this.iteratorFactory.apply(bucketsToIterate());
+    }
+    if (!this.iterator.hasNext()) {
+      return false;
+    }
+    if (this.estimate > 0) {
+      this.estimate--;
+    }
+    action.accept(this.iterator.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<T> trySplit() {
+    // buckets are never shared between splits, so a split that has started iterating is kept whole
+    if (!this.splittable || this.iterator != null || this.fence - this.origin < 2) {
+      return null;
+    }
+    int mid = (this.origin + this.fence) >>> 1;
+    long size = estimateSize();
+    long prefixSize = size * (mid - this.origin) / (this.fence - this.origin);
+    BucketSpliterator<T> prefix = new BucketSpliterator<T>(this, this.origin, mid, prefixSize);
+    this.origin = mid;
+    this.estimate = size - prefixSize;
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    if (this.estimate < 0) {
+      this.estimate = this.sizer.getAsLong();
+    }
+    return this.estimate;
+  }
+
+  @Override
+  public int characteristics() {
+    return this.characteristics;
+  }
+
+  private Set<Integer> bucketsToIterate() {
+    Set<Integer> buckets = new LinkedHashSet<Integer>(this.fence - this.origin);
+    for (int i = this.origin; i < this.fence; i++) {
+      buckets.add(this.bucketIds[i]);
+    }
+    return buckets;
+  }
+}
@@ -1199,6 +1199,11 @@ public final class PutMessage extends PartitionMessageWithDirectReply implements
     }
   }
 
+  @Override
+  public boolean serializesNewObjectOnImport() {
+    return false;
+  }
+
   @Override
   public void importNewObject(@Unretained(ENTRY_EVENT_NEW_VALUE) Object nv, boolean isSerialized) {
     setDeserializationPolicy(isSerialized);
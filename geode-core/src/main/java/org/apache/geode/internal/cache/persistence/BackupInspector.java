@@ -18,9 +18,11 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -41,6 +43,12 @@ public abstract class BackupInspector {
    */
   protected Set<String> oplogFileNames = new HashSet<String>();
 
+  /**
+   * Maps operation log file names to the files of records the restore script appends to them, in
+   * the order they are appended.
+   */
+  protected Map<String, List<String>> oplogAppendMap = new HashMap<String, List<String>>();
+
   /**
    * Root directory for a member's backup.
    */
@@ -142,6 +150,36 @@ public abstract class BackupInspector {
     return this.oplogLineMap.get(oplogFileName);
   }
 
+  /**
+   * Returns the paths of the files of records the restore script appends to an operation log file
+   * after restoring it from a baseline.
+   * 
+   * @param oplogFileName an operation log file.
+   * @return the appended files in the order they are appended, empty if there are none.
+   */
+  public List<String> getAppendsForOplogFile(String oplogFileName) {
+    List<String> appends = this.oplogAppendMap.get(oplogFileName);
+    return appends == null ? Collections.<String>emptyList()
+        : Collections.unmodifiableList(appends);
+  }
+
+  /**
+   * Records a file of records appended to an operation log file. A relative path is relative to the
+   * backup directory.
+   */
+  protected void addAppend(String oplogFileName, String appendedPath) {
+    File appended = new File(appendedPath);
+    if (!appended.isAbsolute()) {
+      appended = new File(this.backupDir, appendedPath);
+    }
+    List<String> appends = this.oplogAppendMap.get(oplogFileName);
+    if (appends == null) {
+      appends = new ArrayList<String>();
+      this.oplogAppendMap.put(oplogFileName, appends);
+    }
+    appends.add(appended.getAbsolutePath());
+  }
+
   /**
    * Returns the set of operation log files copied in the incremental backup section of the restore
    * script.
@@ -245,7 +283,16 @@ class WindowsBackupInspector extends BackupInspector {
     String oplogName = "";
     while (null != (line = reader.readLine())) {
 
-      if (line.startsWith("robocopy")) {
+      if (line.startsWith(RestoreScript.WINDOWS_APPEND_COMMAND)) {
+        // copy /b "original"+"appended" "original"
+        beginIndex = line.indexOf('"') + 1;
+        endIndex = line.indexOf("\"+\"", beginIndex);
+        String original = line.substring(beginIndex, endIndex);
+        beginIndex = endIndex + 3;
+        endIndex = line.indexOf('"', beginIndex);
+        String appended = line.substring(beginIndex, endIndex);
+        addAppend(new File(original).getName(), appended);
+      } else if (line.startsWith("robocopy")) {
         beginIndex = line.lastIndexOf("\"") + 2;
         endIndex = line.indexOf("/njh", beginIndex) - 1;
         oplogName = line.substring(beginIndex, endIndex);
@@ -326,6 +373,18 @@ class UnixBackupInspector extends BackupInspector {
     String line = null;
 
     while (null != (line = reader.readLine())) {
+      if (line.length() == 0 || line.startsWith("#")) {
+        continue;
+      }
+      if (line.startsWith(RestoreScript.UNIX_APPEND_COMMAND + " ")) {
+        // cat 'appended' >> 'original'
+        int beginIndex = line.indexOf('\'') + 1;
+        int endIndex = line.indexOf("' >> '", beginIndex);
+        String appended = line.substring(beginIndex, endIndex);
+        String original = line.substring(endIndex + 6, line.lastIndexOf('\''));
+        addAppend(new File(original).getName(), appended);
+        continue;
+      }
       int beginIndex = line.lastIndexOf(File.separator) + 1;
       int endIndex = line.length() - 1;
       String oplogName = line.substring(beginIndex, endIndex);
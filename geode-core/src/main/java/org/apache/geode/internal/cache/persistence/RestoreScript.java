@@ -36,11 +36,14 @@ import org.apache.geode.internal.FileUtil;
  */
 public class RestoreScript {
   public static final String EXIT_MARKER = "Exit Functions";
+  public static final String UNIX_APPEND_COMMAND = "cat";
+  public static final String WINDOWS_APPEND_COMMAND = "copy /b";
 
   private static final ScriptGenerator UNIX_GENERATOR = new UnixScriptGenerator();
   private static final ScriptGenerator WINDOWS_GENERATOR = new WindowsScriptGenerator();
 
   private Map<File, File> baselineFiles = new HashMap<File, File>();
+  private final Map<File, List<File>> appendedFiles = new LinkedHashMap<File, List<File>>();
   private final Map<File, File> backedUpFiles = new LinkedHashMap<File, File>();
   private final List<File> existenceTests = new ArrayList<File>();
 
@@ -48,6 +51,19 @@ public class RestoreScript {
     this.baselineFiles.putAll(baselineFiles);
   }
 
+  /**
+   * Adds a file holding records to be appended to an original restored from a baseline. The
+   * appends of an original are restored in the order they were added.
+   */
+  public void addAppendedFile(File originalFile, File appendedFile) {
+    List<File> appended = this.appendedFiles.get(originalFile);
+    if (appended == null) {
+      appended = new ArrayList<File>();
+      this.appendedFiles.put(originalFile, appended);
+    }
+    appended.add(appendedFile);
+  }
+
   public void addFile(File originalFile, File backupFile) {
     backedUpFiles.put(backupFile, originalFile.getAbsoluteFile());
   }
@@ -120,6 +136,19 @@ public class RestoreScript {
         }
       }
 
+      // Append the records written to the baseline originals since they were backed up
+      if (!this.appendedFiles.isEmpty()) {
+        writer.println();
+        osGenerator.writeComment(writer,
+            "Append the oplog records written since the baseline originals were backed up.");
+        for (Map.Entry<File, List<File>> entry : this.appendedFiles.entrySet()) {
+          for (File appended : entry.getValue()) {
+            osGenerator.writeAppendFile(writer, FileUtil.removeParent(outputDir, appended),
+                entry.getKey());
+          }
+        }
+      }
+
       if (isWindows()) {
         osGenerator.writeExit(writer);
       }
@@ -151,6 +180,8 @@ public class RestoreScript {
 
     void writeCopyFile(PrintWriter writer, File backup, File original);
 
+    void writeAppendFile(PrintWriter writer, File appended, File original);
+
     void writeCopyDirectoryContents(PrintWriter writer, File backup, File original,
         boolean backupHasFiles);
 
@@ -188,6 +219,12 @@ public class RestoreScript {
       writer.println(ERROR_CHECK);
     }
 
+    public void writeAppendFile(PrintWriter writer, File appended, File original) {
+      writer.println(WINDOWS_APPEND_COMMAND + " \"" + original + "\"+\"" + appended + "\" \""
+          + original + "\"");
+      writer.println("IF %ERRORLEVEL% GEQ 1 GOTO Exit_Bad");
+    }
+
     public void writeExistenceTest(PrintWriter writer, File file) {
       writer.println("IF EXIST \"" + file + "\" echo \"Backup not restored. Refusing to overwrite "
           + file + "\" && exit /B 1 ");
@@ -221,6 +258,10 @@ public class RestoreScript {
       writer.println("cp -p '" + backup + "' '" + original + "'");
     }
 
+    public void writeAppendFile(PrintWriter writer, File appended, File original) {
+      writer.println(UNIX_APPEND_COMMAND + " '" + appended + "' >> '" + original + "'");
+    }
+
     public void writeExistenceTest(PrintWriter writer, File file) {
       writer.println("test -e '" + file + "' && echo 'Backup not restored. Refusing to overwrite "
           + file + "' && exit 1 ");
@@ -502,6 +502,8 @@ public class AcceptorImpl extends Acceptor implements Runnable {
           // + serverSock.getInetAddress()
           + "on port " + this.localPort;
       final ThreadGroup socketThreadGroup = LoggingThreadGroup.createThreadGroup(gName, logger);
+      final ThreadFactory virtualThreadFactory =
+          isSelector() && VIRTUAL_THREADS ? createVirtualThreadFactory() : null;
 
       ThreadFactory socketThreadFactory = new ThreadFactory() {
         int connNum = -1;
@@ -524,11 +526,20 @@ public class AcceptorImpl extends Acceptor implements Runnable {
               }
             }
           };
+          if (virtualThreadFactory != null) {
+            Thread virtualThread = virtualThreadFactory.newThread(r);
+            virtualThread.setName(tName);
+            return virtualThread;
+          }
           return new Thread(socketThreadGroup, r, tName);
         }
       };
       try {
-        if (isSelector()) {
+        if (virtualThreadFactory != null) {
+          // a virtual thread for each request
+          tmp_pool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0L, TimeUnit.MILLISECONDS,
+              new SynchronousQueue(), socketThreadFactory);
+        } else if (isSelector()) {
           tmp_pool = new PooledExecutorWithDMStats(new LinkedBlockingQueue(), this.maxThreads,
               getStats().getCnxPoolHelper(), socketThreadFactory, Integer.MAX_VALUE);
         } else {
@@ -595,6 +606,20 @@ public class AcceptorImpl extends Acceptor implements Runnable {
         (postAuthzFactoryName != null && postAuthzFactoryName.length() > 0) ? true : false;
   }
 
+  /**
+   * Returns a factory of virtual threads, or null if the JVM does not support them.
+   */
+  private static ThreadFactory createVirtualThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (Exception e) {
+      logger.info("Virtual threads are not supported by this JVM: {}", e.toString());
+      return null;
+    }
+  }
+
   public long getAcceptorId() {
     return this.acceptorId;
   }
@@ -631,6 +656,34 @@ public class AcceptorImpl extends Acceptor implements Runnable {
   private final static int HANDSHAKE_POOL_SIZE =
       Integer.getInteger("BridgeServer.HANDSHAKE_POOL_SIZE", 4).intValue();
 
+  /**
+   * If true, which it is by default, the selector thread reads each request in full without
+   * blocking before it hands the connection to a thread of the pool, so that the threads of the
+   * pool do not wait for the requests of slow clients to arrive.
+   * 
+   * @since Geode 1.1
+   */
+  static final boolean NON_BLOCKING_READS =
+      Boolean.valueOf(System.getProperty("BridgeServer.NON_BLOCKING_READS", "true"));
+
+  /**
+   * The longest payload, in bytes, the selector thread reads without blocking. The payloads of
+   * longer requests are read by the thread of the pool, after it has checked them against the max
+   * message length, so that a client cannot make the selector thread hold large requests in memory.
+   * 
+   * @since Geode 1.1
+   */
+  static final int NON_BLOCKING_READ_LIMIT =
+      Integer.getInteger("BridgeServer.NON_BLOCKING_READ_LIMIT", 1024 * 1024).intValue();
+
+  /**
+   * If true, and the JVM supports virtual threads, the requests read by the selector thread are
+   * processed each on a virtual thread of its own instead of by a pool of max-threads threads.
+   * 
+   * @since Geode 1.1
+   */
+  private static final boolean VIRTUAL_THREADS = Boolean.getBoolean("BridgeServer.VIRTUAL_THREADS");
+
   @Override
   public void start() throws IOException {
     ThreadGroup tg = LoggingThreadGroup.createThreadGroup(
@@ -870,6 +923,11 @@ public class AcceptorImpl extends Acceptor implements Runnable {
               try {
                 tmpsk.cancel();
                 this.tmpSel.selectNow(); // clear canceled key
+                if (!sc.readRequest(this.readBuffer)) {
+                  // wait for the rest of the request
+                  sc.registerWithSelector2(this.selector);
+                  continue;
+                }
                 this.selectorRegistrations.remove(sc);
                 registeredKeys--;
                 sc.makeBlocking();
@@ -949,8 +1007,12 @@ public class AcceptorImpl extends Acceptor implements Runnable {
 
   private int registeredKeys = 0;
 
+  /** the buffer the selector thread reads requests into; only used by that thread */
+  private ByteBuffer readBuffer;
+
   public void runSelectorLoop() {
     // int zeroEventsCount = 0;
+    this.readBuffer = ByteBuffer.allocateDirect(this.socketBufferSize);
     try {
       logger.info(LocalizedMessage.create(LocalizedStrings.AcceptorImpl_SELECTOR_ENABLED));
       while (this.selector.isOpen() && !Thread.currentThread().isInterrupted()) {
@@ -1055,6 +1117,10 @@ public class AcceptorImpl extends Acceptor implements Runnable {
             try {
               if (key.isValid() && key.isReadable()) {
                 // this is the only event we currently register for
+                if (!sc.readRequest(this.readBuffer)) {
+                  // wait for the rest of the request
+                  continue;
+                }
                 try {
                   key.cancel();
                   this.selectorRegistrations.remove(sc);
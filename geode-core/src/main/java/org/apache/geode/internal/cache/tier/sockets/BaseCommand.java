@@ -113,6 +113,19 @@ public abstract class BaseCommand implements Command {
 
   }
 
+  /**
+   * Returns the longest payload the selector thread may read before a thread of the pool has
+   * acquired the incoming message limiters for it. If the limiters are configured the selector
+   * thread only reads headers, so that the payload is read, and its memory allocated, once the
+   * limiters allow it.
+   */
+  static int getMaxPayloadReadAhead() {
+    if (incomingDataLimiter != null || incomingMsgLimiter != null) {
+      return 0;
+    }
+    return AcceptorImpl.NON_BLOCKING_READ_LIMIT;
+  }
+
   protected SecurityService securityService = IntegratedSecurityService.getSecurityService();
 
   final public void execute(Message msg, ServerConnection servConn) {
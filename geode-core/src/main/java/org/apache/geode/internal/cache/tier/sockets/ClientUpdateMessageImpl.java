@@ -1607,6 +1607,11 @@ public class ClientUpdateMessageImpl implements ClientUpdateMessage, Sizeable, N
     return false;
   }
 
+  @Override
+  public boolean serializesNewObjectOnImport() {
+    return true;
+  }
+
   @Override
   public void importNewObject(Object nv, boolean isSerialized) {
     if (!isSerialized) {
@@ -37,6 +37,8 @@ import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Semaphore;
@@ -91,9 +93,19 @@ public class Message {
 
   private static final Logger logger = LogService.getLogger();
 
-  private static final int PART_HEADER_SIZE = 5; // 4 bytes for length, 1 byte for isObject
+  /**
+   * If true, which it is by default, messages sent on a socket channel serialize their object parts
+   * into pooled direct buffers and send them with gathering writes, rather than copying them into
+   * the comm buffer.
+   * 
+   * @since Geode 1.1
+   */
+  static final boolean GATHERING_WRITES =
+      !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Message.DISABLE_GATHERING_WRITES");
 
-  private static final int FIXED_LENGTH = 17;
+  static final int PART_HEADER_SIZE = 5; // 4 bytes for length, 1 byte for isObject
+
+  static final int FIXED_LENGTH = 17;
 
   private static final ThreadLocal<ByteBuffer> tlCommBuffer = new ThreadLocal<>();
 
@@ -392,7 +404,11 @@ public class Message {
       if (version.equals(Version.CURRENT)) {
         v = null;
       }
-      hdos = new HeapDataOutputStream(chunkSize, v);
+      if (this.sockCh != null && GATHERING_WRITES) {
+        hdos = new PooledDirectOutputStream(v);
+      } else {
+        hdos = new HeapDataOutputStream(chunkSize, v);
+      }
       try {
         BlobHelper.serializeTo(o, hdos);
       } catch (IOException ex) {
@@ -595,27 +611,31 @@ public class Message {
 
         cb.clear();
         packHeaderInfoForSending(msgLen, (securityPart != null));
-        for (int i = 0; i < partsToTransmit; i++) {
-          Part part = (i == this.numberOfParts) ? securityPart : partsList[i];
+        if (this.sockCh != null && GATHERING_WRITES) {
+          sendParts(cb, partsToTransmit, securityPart);
+        } else {
+          for (int i = 0; i < partsToTransmit; i++) {
+            Part part = (i == this.numberOfParts) ? securityPart : partsList[i];
 
-          if (cb.remaining() < PART_HEADER_SIZE) {
-            flushBuffer();
-          }
+            if (cb.remaining() < PART_HEADER_SIZE) {
+              flushBuffer();
+            }
 
-          int partLen = part.getLength();
-          cb.putInt(partLen);
-          cb.put(part.getTypeCode());
-          if (partLen <= cb.remaining()) {
-            part.writeTo(cb);
-          } else {
-            flushBuffer();
-            if (this.sockCh != null) {
-              part.writeTo(this.sockCh, cb);
+            int partLen = part.getLength();
+            cb.putInt(partLen);
+            cb.put(part.getTypeCode());
+            if (partLen <= cb.remaining()) {
+              part.writeTo(cb);
             } else {
-              part.writeTo(this.os, cb);
-            }
-            if (this.msgStats != null) {
-              this.msgStats.incSentBytes(partLen);
+              flushBuffer();
+              if (this.sockCh != null) {
+                part.writeTo(this.sockCh, cb);
+              } else {
+                part.writeTo(this.os, cb);
+              }
+              if (this.msgStats != null) {
+                this.msgStats.incSentBytes(partLen);
+              }
             }
           }
         }
@@ -634,6 +654,84 @@ public class Message {
     }
   }
 
+  /**
+   * Sends the parts of this message on its socket channel after the header in the given buffer.
+   * Parts held in direct memory, and parts too large for the rest of the buffer, are sent with
+   * gathering writes together with the bytes in the buffer instead of being copied into it.
+   */
+  private void sendParts(ByteBuffer cb, int partsToTransmit, Part securityPart)
+      throws IOException {
+    final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    // the start of the bytes in cb that are not in buffers yet
+    int start = 0;
+    for (int i = 0; i < partsToTransmit; i++) {
+      Part part = (i == this.numberOfParts) ? securityPart : partsList[i];
+
+      if (cb.remaining() < PART_HEADER_SIZE) {
+        start = sendBuffers(cb, start, buffers);
+      }
+
+      int partLen = part.getLength();
+      cb.putInt(partLen);
+      cb.put(part.getTypeCode());
+      if (!part.isDirect() && partLen <= cb.remaining()) {
+        part.writeTo(cb);
+        continue;
+      }
+      addBuffer(cb, start, buffers);
+      start = cb.position();
+      if (!part.addBuffersTo(buffers)) {
+        start = sendBuffers(cb, start, buffers);
+        part.writeTo(this.sockCh, cb);
+        cb.clear();
+        if (this.msgStats != null) {
+          this.msgStats.incSentBytes(partLen);
+        }
+      }
+    }
+    sendBuffers(cb, start, buffers);
+  }
+
+  /**
+   * Adds the bytes in the given buffer from the given position to its current one to the buffers
+   * to send.
+   */
+  private static void addBuffer(ByteBuffer cb, int start, List<ByteBuffer> buffers) {
+    if (cb.position() > start) {
+      ByteBuffer bb = cb.duplicate();
+      bb.limit(cb.position());
+      bb.position(start);
+      buffers.add(bb);
+    }
+  }
+
+  /**
+   * Writes the given buffers, followed by the bytes in cb from the given position, to the socket
+   * channel with gathering writes and clears cb.
+   *
+   * @return the position in cb of the bytes that have not been written, which is zero
+   */
+  private int sendBuffers(ByteBuffer cb, int start, List<ByteBuffer> buffers) throws IOException {
+    addBuffer(cb, start, buffers);
+    long bytesToSend = 0;
+    for (ByteBuffer bb : buffers) {
+      bytesToSend += bb.remaining();
+    }
+    if (bytesToSend > 0) {
+      final ByteBuffer[] bbs = buffers.toArray(new ByteBuffer[buffers.size()]);
+      long remaining = bytesToSend;
+      do {
+        remaining -= this.sockCh.write(bbs);
+      } while (remaining > 0);
+      if (this.msgStats != null) {
+        this.msgStats.incSentBytes(bytesToSend);
+      }
+    }
+    buffers.clear();
+    cb.clear();
+    return 0;
+  }
+
   protected void flushBuffer() throws IOException {
     final ByteBuffer cb = getCommBuffer();
     if (this.sockCh != null) {
@@ -706,14 +804,44 @@ public class Message {
   }
 
   private void readHeaderAndPayload() throws IOException {
-    fetchHeader();
-    final ByteBuffer cb = getCommBuffer();
-    final int type = cb.getInt();
-    final int len = cb.getInt();
-    final int numParts = cb.getInt();
-    final int txid = cb.getInt();
-    byte bits = cb.get();
-    cb.clear();
+    final NonBlockingMessageReader reader = this.sc != null ? this.sc.getReadRequest() : null;
+    try {
+      readHeaderAndPayload(reader);
+    } finally {
+      if (reader != null) {
+        reader.clear();
+      }
+    }
+  }
+
+  /**
+   * @param reader the reader that has read the request off the socket already, or null if it is
+   *        to be read off the socket
+   */
+  private void readHeaderAndPayload(NonBlockingMessageReader reader) throws IOException {
+    final int type;
+    final int len;
+    final int numParts;
+    final int txid;
+    byte bits;
+    if (reader == null) {
+      fetchHeader();
+      final ByteBuffer cb = getCommBuffer();
+      type = cb.getInt();
+      len = cb.getInt();
+      numParts = cb.getInt();
+      txid = cb.getInt();
+      bits = cb.get();
+      cb.clear();
+    } else {
+      this.msgType = MessageType.INVALID;
+      reader.checkFailure();
+      type = reader.getMessageType();
+      len = reader.getPayloadLength();
+      numParts = reader.getNumberOfParts();
+      txid = reader.getTransactionId();
+      bits = reader.getFlags();
+    }
 
     if (!MessageType.validate(type)) {
       throw new IOException(LocalizedStrings.Message_INVALID_MESSAGE_TYPE_0_WHILE_READING_HEADER
@@ -804,7 +932,11 @@ public class Message {
     this.flags = bits;
     this.msgType = type;
 
-    readPayloadFields(numParts, len);
+    if (reader == null || reader.isPayloadDeferred()) {
+      readPayloadFields(numParts, len);
+    } else {
+      setPayloadFields(reader);
+    }
 
     // Set the header and payload fields only after receiving all the
     // socket data, providing better message consistency in the face
@@ -926,6 +1058,22 @@ public class Message {
     }
   }
 
+  /**
+   * Sets the parts of this message to those of a request read by the given reader.
+   */
+  private void setPayloadFields(NonBlockingMessageReader reader) {
+    final int numParts = reader.getNumberOfParts();
+    setNumberOfParts(numParts);
+    if (numParts <= 0) {
+      return;
+    }
+    int readSecurePart = checkAndSetSecurityPart();
+    for (int i = 0; i < numParts + readSecurePart; i++) {
+      Part part = i < numParts ? this.partsList[i] : this.securePart;
+      part.init(reader.getPartBytes(i), reader.getPartType(i));
+    }
+  }
+
   protected int checkAndSetSecurityPart() {
     if ((this.flags | MESSAGE_HAS_SECURE_PART) == this.flags) {
       this.securePart = new Part();
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+
+/**
+ * Reads the requests a client sends on a non-blocking channel as their bytes arrive, so that the
+ * selector thread of a cache server can assemble a whole request before handing the connection to
+ * a thread of the server's pool. The bytes are read into a buffer of the selector thread and the
+ * reader only holds the header and parts of the request being read, so an idle connection holds
+ * no buffer. A request read in full is turned into a {@link Message} by
+ * {@link Message#recv(ServerConnection, int, java.util.concurrent.Semaphore,
+ * java.util.concurrent.Semaphore)} on the thread of the pool.
+ *
+ * The payload of a request longer than the reader's limit is not read. Once its header has been
+ * read the connection is handed to the pool thread, which checks the request against the max
+ * message length and the incoming message limiters before reading the payload off the socket.
+ *
+ * @since Geode 1.1
+ */
+class NonBlockingMessageReader {
+
+  private final ReadableByteChannel channel;
+
+  private final int maxPayloadLength;
+
+  private final MessageStats stats;
+
+  /** the header of the request being read, or null if none of it has arrived */
+  private ByteBuffer header;
+
+  /**
+   * When the first bytes of the request being read arrived, or zero if no request is partly read.
+   * Read by the client health monitor.
+   */
+  private volatile long startTime;
+
+  private int messageType;
+
+  private int payloadLength;
+
+  private int numberOfParts;
+
+  private int transactionId;
+
+  private byte flags;
+
+  /** the bytes of the payload that have not been read yet */
+  private int payloadRemaining;
+
+  private byte[][] partBytes;
+
+  private byte[] partTypes;
+
+  /** the number of parts read in full */
+  private int partsRead;
+
+  private ByteBuffer partHeader;
+
+  /** the bytes of the part being read, or null if its header is being read */
+  private byte[] part;
+
+  private int partOffset;
+
+  private boolean complete;
+
+  /** true if the payload of the request is left on the channel */
+  private boolean payloadDeferred;
+
+  private IOException failure;
+
+  /**
+   * @param maxPayloadLength the longest payload to read; the payloads of longer requests are left
+   *        on the channel
+   */
+  NonBlockingMessageReader(ReadableByteChannel channel, int maxPayloadLength,
+      MessageStats stats) {
+    this.channel = channel;
+    this.maxPayloadLength = maxPayloadLength;
+    this.stats = stats;
+  }
+
+  /**
+   * Reads the bytes of the request that are available on the channel without blocking. Bytes of
+   * the next request are left on the channel.
+   *
+   * @param buffer the buffer to read into
+   * @return true if the whole request has been read or reading it failed
+   */
+  boolean read(ByteBuffer buffer) {
+    if (this.complete) {
+      return true;
+    }
+    try {
+      for (;;) {
+        buffer.clear();
+        int wanted = bytesWanted();
+        if (wanted < buffer.capacity()) {
+          buffer.limit(wanted);
+        }
+        int bytesRead = this.channel.read(buffer);
+        if (bytesRead == -1) {
+          if (this.header == null || this.header.hasRemaining()) {
+            throw new EOFException(
+                LocalizedStrings.Message_THE_CONNECTION_HAS_BEEN_RESET_WHILE_READING_THE_HEADER
+                    .toLocalizedString());
+          }
+          throw new EOFException(
+              LocalizedStrings.Message_THE_CONNECTION_HAS_BEEN_RESET_WHILE_READING_THE_PAYLOAD
+                  .toLocalizedString());
+        }
+        if (bytesRead == 0) {
+          return false;
+        }
+        if (this.stats != null) {
+          this.stats.incReceivedBytes(bytesRead);
+        }
+        boolean filled = !buffer.hasRemaining();
+        buffer.flip();
+        consume(buffer);
+        if (this.complete) {
+          this.startTime = 0;
+          return true;
+        }
+        if (!filled) {
+          // nothing more has arrived yet
+          return false;
+        }
+      }
+    } catch (IOException e) {
+      this.failure = e;
+      this.complete = true;
+      this.startTime = 0;
+      return true;
+    }
+  }
+
+  private int bytesWanted() {
+    if (this.header == null) {
+      return Message.FIXED_LENGTH;
+    }
+    if (this.header.hasRemaining()) {
+      return this.header.remaining();
+    }
+    return this.payloadRemaining;
+  }
+
+  private void consume(ByteBuffer buffer) throws IOException {
+    if (this.header == null) {
+      this.header = ByteBuffer.allocate(Message.FIXED_LENGTH);
+      this.startTime = System.currentTimeMillis();
+    }
+    if (this.header.hasRemaining()) {
+      copy(buffer, this.header);
+      if (this.header.hasRemaining()) {
+        return;
+      }
+      readHeader();
+    }
+    while (!this.complete && buffer.hasRemaining()) {
+      if (this.part == null) {
+        this.payloadRemaining -= copy(buffer, this.partHeader);
+        if (this.partHeader.hasRemaining()) {
+          return;
+        }
+        this.partHeader.flip();
+        int partLength = this.partHeader.getInt();
+        this.partTypes[this.partsRead] = this.partHeader.get();
+        this.partHeader.clear();
+        if (partLength < 0 || partLength > this.payloadRemaining) {
+          throw inconsistent();
+        }
+        if (partLength == 0) {
+          partRead(null);
+        } else {
+          this.part = new byte[partLength];
+          this.partOffset = 0;
+        }
+      } else {
+        int length = Math.min(buffer.remaining(), this.part.length - this.partOffset);
+        buffer.get(this.part, this.partOffset, length);
+        this.partOffset += length;
+        this.payloadRemaining -= length;
+        if (this.partOffset == this.part.length) {
+          partRead(this.part);
+        }
+      }
+    }
+  }
+
+  private void readHeader() throws IOException {
+    this.header.flip();
+    this.messageType = this.header.getInt();
+    this.payloadLength = this.header.getInt();
+    this.numberOfParts = this.header.getInt();
+    this.transactionId = this.header.getInt();
+    this.flags = this.header.get();
+    if (!MessageType.validate(this.messageType)) {
+      throw new IOException(LocalizedStrings.Message_INVALID_MESSAGE_TYPE_0_WHILE_READING_HEADER
+          .toLocalizedString(Integer.valueOf(this.messageType)));
+    }
+    int parts = 0;
+    if (this.numberOfParts > 0) {
+      parts = this.numberOfParts;
+      if ((this.flags & Message.MESSAGE_HAS_SECURE_PART) != 0) {
+        parts++;
+      }
+    }
+    if (this.payloadLength < 0 || (this.payloadLength > 0) != (parts > 0)
+        || (long) parts * Message.PART_HEADER_SIZE > this.payloadLength) {
+      throw inconsistent();
+    }
+    if (this.payloadLength > this.maxPayloadLength) {
+      this.payloadDeferred = true;
+      this.complete = true;
+      return;
+    }
+    this.payloadRemaining = this.payloadLength;
+    this.partBytes = new byte[parts][];
+    this.partTypes = new byte[parts];
+    this.partsRead = 0;
+    if (parts == 0) {
+      this.complete = true;
+    } else {
+      this.partHeader = ByteBuffer.allocate(Message.PART_HEADER_SIZE);
+    }
+  }
+
+  private void partRead(byte[] bytes) throws IOException {
+    this.partBytes[this.partsRead++] = bytes;
+    this.part = null;
+    if (this.partsRead == this.partBytes.length) {
+      if (this.payloadRemaining != 0) {
+        throw inconsistent();
+      }
+      this.complete = true;
+    } else if (this.payloadRemaining < Message.PART_HEADER_SIZE) {
+      throw inconsistent();
+    }
+  }
+
+  private IOException inconsistent() {
+    return new IOException(
+        LocalizedStrings.Message_PART_LENGTH_0_AND_NUMBER_OF_PARTS_1_INCONSISTENT.toLocalizedString(
+            new Object[] {Integer.valueOf(this.payloadLength), Integer.valueOf(this.numberOfParts)}));
+  }
+
+  /**
+   * Copies as many bytes from the source as fit into the destination.
+   *
+   * @return the number of bytes copied
+   */
+  private static int copy(ByteBuffer source, ByteBuffer destination) {
+    int length = Math.min(source.remaining(), destination.remaining());
+    int limit = source.limit();
+    source.limit(source.position() + length);
+    destination.put(source);
+    source.limit(limit);
+    return length;
+  }
+
+  /**
+   * Returns true if a whole request has been read, or reading it failed.
+   */
+  boolean isComplete() {
+    return this.complete;
+  }
+
+  /**
+   * Returns true if only the header of the request has been read and its payload is to be read off
+   * the channel.
+   */
+  boolean isPayloadDeferred() {
+    return this.payloadDeferred;
+  }
+
+  /**
+   * Returns how many milliseconds ago the first bytes of a request that has not been read in full
+   * arrived, or -1 if no request is being read.
+   */
+  long getPartialRequestTime() {
+    long start = this.startTime;
+    if (start == 0) {
+      return -1;
+    }
+    return System.currentTimeMillis() - start;
+  }
+
+  /**
+   * Throws the exception reading the request failed with, if it did.
+   */
+  void checkFailure() throws IOException {
+    if (this.failure != null) {
+      throw this.failure;
+    }
+  }
+
+  int getMessageType() {
+    return this.messageType;
+  }
+
+  int getPayloadLength() {
+    return this.payloadLength;
+  }
+
+  int getNumberOfParts() {
+    return this.numberOfParts;
+  }
+
+  int getTransactionId() {
+    return this.transactionId;
+  }
+
+  byte getFlags() {
+    return this.flags;
+  }
+
+  /**
+   * Returns the bytes of the given part, counting the secure part after the others, or null if the
+   * part is empty.
+   */
+  byte[] getPartBytes(int index) {
+    return this.partBytes[index];
+  }
+
+  byte getPartType(int index) {
+    return this.partTypes[index];
+  }
+
+  /**
+   * Forgets the request that was read so that the next one can be read.
+   */
+  void clear() {
+    this.header = null;
+    this.partBytes = null;
+    this.partTypes = null;
+    this.partHeader = null;
+    this.part = null;
+    this.partsRead = 0;
+    this.complete = false;
+    this.payloadDeferred = false;
+    this.failure = null;
+    this.startTime = 0;
+  }
+}
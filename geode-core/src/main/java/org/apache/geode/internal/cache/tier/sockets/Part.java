@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -308,9 +309,10 @@ public class Part {
             if (buf.remaining() == 0) {
               HeapDataOutputStream.flushStream(out, buf);
             }
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
+            int bytesThisTime = Math.min(bytesToSend, buf.remaining());
+            AddressableMemoryManager.readBytes(addr, buf, bytesThisTime);
+            addr += bytesThisTime;
+            bytesToSend -= bytesThisTime;
           }
         }
       } else {
@@ -337,11 +339,7 @@ public class Part {
         } else {
           int bytesToSend = c.getDataSize();
           long addr = c.getAddressForReadingData(0, bytesToSend);
-          while (bytesToSend > 0) {
-            buf.put(AddressableMemoryManager.readByte(addr));
-            addr++;
-            bytesToSend--;
-          }
+          AddressableMemoryManager.readBytes(addr, buf, bytesToSend);
         }
       } else {
         HeapDataOutputStream hdos = (HeapDataOutputStream) this.part;
@@ -397,11 +395,8 @@ public class Part {
               bytesThisTime = BUF_MAX;
             }
             len -= bytesThisTime;
-            while (bytesThisTime > 0) {
-              buf.put(AddressableMemoryManager.readByte(addr));
-              addr++;
-              bytesThisTime--;
-            }
+            AddressableMemoryManager.readBytes(addr, buf, bytesThisTime);
+            addr += bytesThisTime;
             buf.flip();
             while (buf.remaining() > 0) {
               sc.write(buf);
@@ -417,6 +412,50 @@ public class Part {
     }
   }
 
+  /**
+   * Returns true if the contents of this part are in direct memory, from where a gathering write
+   * can send them without copying them.
+   *
+   * @since Geode 1.1
+   */
+  final boolean isDirect() {
+    return (this.part instanceof PooledDirectOutputStream
+        && ((PooledDirectOutputStream) this.part).isDirect())
+        || this.part instanceof StoredObject;
+  }
+
+  /**
+   * Adds buffers holding the contents of this part to the given list, for a gathering write. The
+   * buffers are views of the contents, so this part can be sent again.
+   *
+   * @return false if the contents of this part are not available as buffers, in which case nothing
+   *         was added
+   * @since Geode 1.1
+   */
+  final boolean addBuffersTo(List<ByteBuffer> buffers) {
+    if (getLength() == 0) {
+      return true;
+    }
+    if (this.part instanceof byte[]) {
+      buffers.add(ByteBuffer.wrap((byte[]) this.part));
+    } else if (this.part instanceof StoredObject) {
+      ByteBuffer bb = ((StoredObject) this.part).createDirectByteBuffer();
+      if (bb == null) {
+        return false;
+      }
+      buffers.add(bb);
+    } else {
+      HeapDataOutputStream hdos = (HeapDataOutputStream) this.part;
+      hdos.finishWriting();
+      ByteBuffer[] chunks = new ByteBuffer[hdos.getByteBufferCount()];
+      hdos.fillByteBufferArray(chunks, 0);
+      for (ByteBuffer chunk : chunks) {
+        buffers.add(chunk.duplicate());
+      }
+    }
+    return true;
+  }
+
   static private String typeCodeToString(byte c) {
     switch (c) {
       case BYTE_CODE:
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.HeapDataOutputStream;
+import org.apache.geode.internal.Version;
+
+/**
+ * Serializes a part of a message into direct buffers taken from a pool that all messages share, so
+ * that a message sent on a socket channel can write the part with a gathering write instead of
+ * first copying it into its comm buffer. The buffers are returned to the pool when the stream is
+ * closed, which {@link Part#clear()} does once the message has been sent, so the stream must not
+ * be used after it is closed.
+ *
+ * A part starts out in a small heap buffer, so a part that fits in it takes no pooled buffer and is
+ * copied into the comm buffer like any other small part. Only the rest of a larger part goes to
+ * pooled buffers. The pool never allocates more than a fixed number of direct buffers. Once they
+ * are all in use, parts are serialized into heap buffers.
+ *
+ * @since Geode 1.1
+ */
+class PooledDirectOutputStream extends HeapDataOutputStream {
+
+  /**
+   * The capacity of the pooled buffers.
+   */
+  static final int BUFFER_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "Message.DIRECT_BUFFER_SIZE", 32768);
+
+  /**
+   * The capacity of the heap buffer a part starts out in.
+   */
+  static final int SMALL_PART_SIZE = 1024;
+
+  /**
+   * The most direct buffers the pool allocates.
+   */
+  private static final int MAX_POOLED_BUFFERS = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "Message.MAX_POOLED_DIRECT_BUFFERS", 1024);
+
+  /** used as a stack so that the buffer used most recently is reused first */
+  private static final ConcurrentLinkedDeque<ByteBuffer> pool =
+      new ConcurrentLinkedDeque<ByteBuffer>();
+
+  /** the number of direct buffers the pool has allocated */
+  private static final AtomicInteger allocated = new AtomicInteger();
+
+  /** the pooled buffers this stream has written to */
+  private final List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(2);
+
+  PooledDirectOutputStream(Version version) {
+    super(SMALL_PART_SIZE, version);
+  }
+
+  @Override
+  public void write(byte[] source, int offset, int len) {
+    // a large array is written a pooled buffer at a time, so that it does not need a larger buffer
+    while (len > BUFFER_SIZE) {
+      super.write(source, offset, BUFFER_SIZE);
+      offset += BUFFER_SIZE;
+      len -= BUFFER_SIZE;
+    }
+    super.write(source, offset, len);
+  }
+
+  @Override
+  protected ByteBuffer allocateBuffer(int size) {
+    if (size <= BUFFER_SIZE) {
+      ByteBuffer bb = takeBuffer();
+      if (bb != null) {
+        this.buffers.add(bb);
+        return bb;
+      }
+    }
+    return super.allocateBuffer(Math.max(size, BUFFER_SIZE));
+  }
+
+  /**
+   * Returns true if some of the contents of this stream are in pooled direct buffers.
+   */
+  boolean isDirect() {
+    return !this.buffers.isEmpty();
+  }
+
+  /**
+   * Returns the pooled buffers this stream has written to.
+   */
+  List<ByteBuffer> getPooledBuffers() {
+    return this.buffers;
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    for (ByteBuffer bb : this.buffers) {
+      releaseBuffer(bb);
+    }
+    this.buffers.clear();
+  }
+
+  /**
+   * Returns a pooled buffer, or null if every buffer the pool may allocate is in use.
+   */
+  private static ByteBuffer takeBuffer() {
+    ByteBuffer bb = pool.pollFirst();
+    if (bb != null) {
+      bb.clear();
+      return bb;
+    }
+    while (true) {
+      int count = allocated.get();
+      if (count >= MAX_POOLED_BUFFERS) {
+        return null;
+      }
+      if (allocated.compareAndSet(count, count + 1)) {
+        return ByteBuffer.allocateDirect(BUFFER_SIZE);
+      }
+    }
+  }
+
+  private static void releaseBuffer(ByteBuffer bb) {
+    pool.offerFirst(bb);
+  }
+}
@@ -701,6 +701,12 @@ public class ServerConnection implements Runnable {
   private int failureCount = 0;
   private boolean processMessages = true;
 
+  /**
+   * Reads the requests of the client on the selector thread once the handshake is done; null if
+   * requests are read by the threads of the pool.
+   */
+  private NonBlockingMessageReader requestReader;
+
   private void doHandshake() {
     // hitesh:to create new connection handshake
     if (verifyClientConnection()) {
@@ -1137,6 +1143,11 @@ public class ServerConnection implements Runnable {
           Message.setTLCommBuffer(getAcceptor().takeCommBuffer());
           doOneMessage();
           if (this.processMessages && !(this.crHelper.isShutdown())) {
+            if (this.requestReader == null && !this.doHandshake
+                && AcceptorImpl.NON_BLOCKING_READS) {
+              this.requestReader = new NonBlockingMessageReader(this.theSocket.getChannel(),
+                  BaseCommand.getMaxPayloadReadAhead(), this.stats);
+            }
             registerWithSelector(); // finished msg so reregister
             finishedMsg = true;
           }
@@ -1202,6 +1213,32 @@ public class ServerConnection implements Runnable {
     getAcceptor().registerSC(this);
   }
 
+  /**
+   * Reads what the client has sent of its next request without blocking. Called by the selector
+   * thread when the connection is readable.
+   *
+   * @param buffer the buffer of the selector thread to read into
+   * @return true if the connection is to be handed to a thread of the pool, which is once the whole
+   *         request has been read or reading it failed, or if the request is to be read by that
+   *         thread
+   */
+  boolean readRequest(ByteBuffer buffer) {
+    NonBlockingMessageReader reader = this.requestReader;
+    return reader == null || reader.read(buffer);
+  }
+
+  /**
+   * Returns the reader of the request the selector thread has read, or null if the request is to
+   * be read off the socket.
+   */
+  NonBlockingMessageReader getReadRequest() {
+    NonBlockingMessageReader reader = this.requestReader;
+    if (reader != null && reader.isComplete()) {
+      return reader;
+    }
+    return null;
+  }
+
   public SelectableChannel getSelectableChannel() {
     return this.theSocket.getChannel();
   }
@@ -1338,6 +1375,11 @@ public class ServerConnection implements Runnable {
           return true;
         }
       }
+      // the client has sent part of a request that the selector thread is waiting for the rest of
+      NonBlockingMessageReader reader = this.requestReader;
+      if (reader != null && reader.getPartialRequestTime() > timeout) {
+        return true;
+      }
     }
     return false;
   }
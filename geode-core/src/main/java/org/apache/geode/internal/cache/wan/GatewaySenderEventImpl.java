@@ -935,24 +935,35 @@ public class GatewaySenderEventImpl
       } else if (event.getCachedSerializedNewValue() != null) {
         // We want this to have lower precedence than StoredObject so that the gateway
         // can share a reference to the off-heap value.
-        this.value = event.getCachedSerializedNewValue();
+        this.value = event.getSharedSerializedNewValue();
       } else {
         final Object newValue = event.getRawNewValue();
         assert !(newValue instanceof StoredObject); // since we already called getOffHeapNewValue()
                                                     // and it returned null
         if (newValue instanceof CachedDeserializable) {
-          this.value = ((CachedDeserializable) newValue).getSerializedValue();
+          Object cdValue = ((CachedDeserializable) newValue).getValue();
+          if (cdValue instanceof byte[]) {
+            this.value = (byte[]) cdValue;
+          } else {
+            // cache the bytes in the event for the other senders and the client queues
+            this.value = event.serializeNewValue(cdValue);
+          }
         } else if (newValue instanceof byte[]) {
           // The value is byte[]. Set _valueIsObject flag to 0x00 (not an object)
           this.value = (byte[]) newValue;
           this.valueIsObject = 0x00;
-        } else {
-          // The value is an object. It will be serialized later when getSerializedValue is called.
-          this.valueObj = newValue;
-          // to prevent bug 48281 we need to serialize it now
-          this.getSerializedValue();
-          this.valueObj = null;
+        } else if (newValue != null && !(newValue instanceof Token)) {
+          // to prevent bug 48281 we need to serialize it now, and cache the bytes in the event
+          // for the other senders and the client queues
+          isSerializingValue.set(Boolean.TRUE);
+          try {
+            this.value = event.serializeNewValue(newValue);
+          } finally {
+            isSerializingValue.set(Boolean.FALSE);
+          }
         }
+        // otherwise the new value is null or a Token, which getSerializedValue never serializes,
+        // so the event has no value
       }
     } else {
       // The substituteValue is set. Use it.
@@ -42,7 +42,7 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
    *
    * @since GemFire 5.5
    */
-  public static final String VERSION_LATEST = CacheXml.VERSION_1_0;
+  public static final String VERSION_LATEST = CacheXml.VERSION_1_1;
 
   /**
    * @deprecated As of 8.1 use {@link #GEODE_NAMESPACE}
@@ -82,7 +82,7 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
    * 
    * @since GemFire 8.1
    */
-  public static final String LATEST_SCHEMA_LOCATION = CacheXml.SCHEMA_1_0_LOCATION;
+  public static final String LATEST_SCHEMA_LOCATION = CacheXml.SCHEMA_1_1_LOCATION;
 
   /**
    * Location of the latest DTD file for Gemfire
@@ -106,6 +106,13 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
    */
   public static final String VERSION_1_0 = "1.0";
 
+  /**
+   * Version string for Geode 1.1
+   * 
+   * @since Geode 1.1
+   */
+  public static final String VERSION_1_1 = "1.1";
+
   /**
    * The location of the GemFire 8.1 schema file.
    * 
@@ -120,6 +127,13 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
    */
   protected static final String SCHEMA_1_0_LOCATION =
       "http://geode.apache.org/schema/cache/cache-1.0.xsd";
+  /**
+   * The location of the Geode 1.1 schema file.
+   * 
+   * @since Geode 1.1
+   */
+  protected static final String SCHEMA_1_1_LOCATION =
+      "http://geode.apache.org/schema/cache/cache-1.1.xsd";
 
   // ---------------------------------
   /** Version string for GemFire 8.0 */
@@ -588,6 +602,8 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   public static final String AUTO_COMPACT = "auto-compact";
   public static final String ALLOW_FORCE_COMPACTION = "allow-force-compaction";
   public static final String COMPACTION_THRESHOLD = "compaction-threshold";
+  /** Name of disk store property specifying the max compaction rate in bytes per second **/
+  public static final String COMPACTION_RATE_LIMIT = "compaction-rate-limit";
   /** Name of disk region property specifying the max oplog size in megabytes **/
   public static final String MAX_OPLOG_SIZE = "max-oplog-size";
 
@@ -1151,6 +1151,16 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
                 String.valueOf(ds.getDiskUsageCriticalPercentage()));
         }
       }
+
+      if (this.version.compareTo(CacheXmlVersion.GEODE_1_1) >= 0) {
+        if ((!(ds instanceof DiskStoreAttributesCreation)
+            || ((DiskStoreAttributesCreation) ds).hasCompactionRateLimit())) {
+          if (generateDefaults()
+              || ds.getCompactionRateLimit() != DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT)
+            atts.addAttribute("", "", COMPACTION_RATE_LIMIT, "",
+                String.valueOf(ds.getCompactionRateLimit()));
+        }
+      }
     } finally {
       handler.startElement("", DISK_STORE, DISK_STORE, atts);
 
@@ -1178,6 +1188,13 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
         }
       }
 
+      if (this.version.compareTo(CacheXmlVersion.GEODE_1_1) >= 0) {
+        if ((!(ds instanceof DiskStoreAttributesCreation)
+            || ((DiskStoreAttributesCreation) ds).hasCompressor())) {
+          generate(COMPRESSOR, ds.getCompressor());
+        }
+      }
+
       handler.endElement("", "", DISK_STORE);
     }
   }
@@ -986,6 +986,11 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       attrs.setAllowForceCompaction(Boolean.valueOf(allowForceCompaction).booleanValue());
     }
 
+    String compactionRateLimit = atts.getValue(COMPACTION_RATE_LIMIT);
+    if (compactionRateLimit != null) {
+      attrs.setCompactionRateLimit(parseLong(compactionRateLimit));
+    }
+
     String maxOplogSize = atts.getValue(MAX_OPLOG_SIZE);
     if (maxOplogSize != null) {
       attrs.setMaxOplogSize(parseInt(maxOplogSize));
@@ -1955,7 +1960,7 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
 
   /**
    * Ending the <code>compressor</code> registration should leave us with a class name on the stack.
-   * Pull it off and setup the {@link Compressor} on the region attributes.
+   * Pull it off and setup the {@link Compressor} on the region or disk store attributes.
    */
   private void endCompressor() {
     Class<?> klass = getClassFromStack();
@@ -1978,6 +1983,9 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
     if (a instanceof RegionAttributesCreation) {
       RegionAttributesCreation attrs = (RegionAttributesCreation) a;
       attrs.setCompressor(compressor);
+    } else if (a instanceof DiskStoreAttributesCreation) {
+      DiskStoreAttributesCreation attrs = (DiskStoreAttributesCreation) a;
+      attrs.setCompressor(compressor);
     } else {
       throw new CacheXmlException(
           LocalizedStrings.CacheXmlParser_A_0_MUST_BE_DEFINED_IN_THE_CONTEXT_OF_REGIONATTRIBUTES_OR_1
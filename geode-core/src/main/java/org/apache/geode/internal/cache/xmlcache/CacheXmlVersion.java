@@ -56,6 +56,9 @@ public enum CacheXmlVersion {
   // Ordinality matters here, so keep the 1.0 version after the 8.x versions
   // Version 1.0 is the start of Geode versions. In terms of releases, Geode 1.0 > GemFire 8.x.
   GEODE_1_0(CacheXml.VERSION_1_0, null, null, CacheXml.SCHEMA_1_0_LOCATION,
+      CacheXml.GEODE_NAMESPACE),
+
+  GEODE_1_1(CacheXml.VERSION_1_1, null, null, CacheXml.SCHEMA_1_1_LOCATION,
       CacheXml.GEODE_NAMESPACE);
 
   private static final HashMap<String, CacheXmlVersion> valuesForVersion = new HashMap<>();
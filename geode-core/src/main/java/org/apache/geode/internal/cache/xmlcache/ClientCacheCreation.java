@@ -22,12 +22,14 @@ import org.apache.geode.cache.DiskStoreFactory;
 import org.apache.geode.cache.DynamicRegionFactory;
 import org.apache.geode.cache.GatewayException;
 import org.apache.geode.cache.InterestPolicy;
+import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
 import org.apache.geode.cache.RegionExistsException;
 import org.apache.geode.cache.RegionService;
 import org.apache.geode.cache.Scope;
 import org.apache.geode.cache.SubscriptionAttributes;
 import org.apache.geode.cache.TimeoutException;
+import org.apache.geode.cache.client.AsyncClientRegion;
 import org.apache.geode.cache.client.ClientCache;
 import org.apache.geode.cache.client.ClientRegionFactory;
 import org.apache.geode.cache.client.ClientRegionShortcut;
@@ -300,5 +302,9 @@ public class ClientCacheCreation extends CacheCreation implements ClientCache {
     return Collections.EMPTY_SET;
   }
 
+  public <K, V> AsyncClientRegion<K, V> getAsyncRegion(Region<K, V> region) {
+    throw new UnsupportedOperationException(LocalizedStrings.SHOULDNT_INVOKE.toLocalizedString());
+  }
+
 
 }
@@ -19,6 +19,7 @@ import java.io.Serializable;
 
 import org.apache.geode.cache.DiskStore;
 import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.compression.Compressor;
 import org.apache.geode.internal.cache.DiskStoreAttributes;
 import org.apache.geode.internal.cache.DiskStoreFactoryImpl;
 import org.apache.geode.internal.cache.UserSpecifiedDiskStoreAttributes;
@@ -58,12 +59,14 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
     this.autoCompact = attrs.getAutoCompact();
     this.compactionThreshold = attrs.getCompactionThreshold();
     this.allowForceCompaction = attrs.getAllowForceCompaction();
+    this.compactionRateLimit = attrs.getCompactionRateLimit();
     this.maxOplogSizeInBytes = attrs.getMaxOplogSizeInBytes();
     this.timeInterval = attrs.getTimeInterval();
     this.writeBufferSize = attrs.getWriteBufferSize();
     this.queueSize = attrs.getQueueSize();
     this.diskDirs = attrs.getDiskDirs();
     this.diskDirSizes = attrs.getDiskDirSizes();
+    this.compressor = attrs.getCompressor();
 
     setDiskUsageWarningPercentage(attrs.getDiskUsageWarningPercentage());
     setDiskUsageCriticalPercentage(attrs.getDiskUsageCriticalPercentage());
@@ -194,6 +197,12 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
               .toLocalizedString(
                   new Object[] {name, this.allowForceCompaction, other.getAllowForceCompaction()}));
     }
+    if (this.compactionRateLimit != other.getCompactionRateLimit()) {
+      throw new RuntimeException(
+          LocalizedStrings.DiskStoreAttributesCreation_COMPACTIONRATELIMIT_OF_0_IS_NOT_THE_SAME_THIS_1_OTHER_2
+              .toLocalizedString(
+                  new Object[] {name, this.compactionRateLimit, other.getCompactionRateLimit()}));
+    }
     if (this.maxOplogSizeInBytes != other.getMaxOplogSize() * 1024 * 1024) {
       throw new RuntimeException(
           LocalizedStrings.DiskStoreAttributesCreation_MAXOPLOGSIZE_OF_0_IS_NOT_THE_SAME_THIS_1_OTHER_2
@@ -236,6 +245,9 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
           LocalizedStrings.DiskStoreAttributesCreation_DISK_USAGE_CRITICAL_ARE_NOT_THE_SAME
               .toLocalizedString(name));
     }
+    if (!equal(this.compressor, other.getCompressor())) {
+      throw new RuntimeException("Compressors of disk store " + name + " are not the same.");
+    }
     return true;
   }
 
@@ -258,6 +270,11 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
     this.setHasAllowForceCompaction(true);
   }
 
+  public void setCompactionRateLimit(long compactionRateLimit) {
+    this.compactionRateLimit = compactionRateLimit;
+    this.setHasCompactionRateLimit(true);
+  }
+
   public void setMaxOplogSize(long maxOplogSize) {
     this.maxOplogSizeInBytes = maxOplogSize * 1024 * 1024;
     this.setHasMaxOplogSize(true);
@@ -312,6 +329,11 @@ public class DiskStoreAttributesCreation extends UserSpecifiedDiskStoreAttribute
     this.setHasDiskUsageCriticalPercentage(true);
   }
 
+  public void setCompressor(Compressor compressor) {
+    this.compressor = compressor;
+    this.setHasCompressor(true);
+  }
+
   /**
    * Checks if directories exist
    * 
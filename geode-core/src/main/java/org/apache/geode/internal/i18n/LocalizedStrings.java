@@ -7665,6 +7665,19 @@ public class LocalizedStrings {
       new StringId(6647,
           "Cannot create GatewaySender {0} because the maximum ({1}) has been reached");
 
+  public static final StringId Oplog_RECORD_AT_OFFSET_0_OF_OPLOG_FILE_1_DOES_NOT_MATCH_ITS_CHECKSUM =
+      new StringId(6648,
+          "The record at offset {0} of oplog file \"{1}\" does not match its checksum.");
+  public static final StringId OplogScrubber_RECORD_AT_OFFSET_0_OF_OPLOG_FILE_1_OF_DISK_STORE_2_DOES_NOT_MATCH_ITS_CHECKSUM =
+      new StringId(6649,
+          "The record at offset {0} of oplog file \"{1}\" of disk store {2} does not match its checksum");
+  public static final StringId OplogScrubber_SCRUBBER_OF_DISK_STORE_0_STOPPED_BECAUSE_OF_AN_UNEXPECTED_EXCEPTION =
+      new StringId(6650,
+          "The oplog scrubber of disk store {0} stopped because of an unexpected exception");
+  public static final StringId DiskStoreAttributesCreation_COMPACTIONRATELIMIT_OF_0_IS_NOT_THE_SAME_THIS_1_OTHER_2 =
+      new StringId(6651,
+          "CompactionRateLimit of disk store {0} is not the same: this:  {1}  other:  {2}");
+
   /** Testing strings, messageId 90000-99999 **/
 
   /**
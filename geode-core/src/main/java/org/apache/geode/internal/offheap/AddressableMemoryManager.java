@@ -17,6 +17,7 @@ package org.apache.geode.internal.offheap;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 
 import org.apache.geode.internal.SharedLibrary;
@@ -147,6 +148,36 @@ public class AddressableMemoryManager {
     unsafe.copyMemory(null, addr, bytes, ARRAY_BYTE_BASE_OFFSET + bytesOffset, size);
   }
 
+  /**
+   * Copies size bytes starting at addr into the given buffer at its position and advances the
+   * position. The bytes are copied in bulk if the buffer is backed by an array or is a direct buffer
+   * whose address can be obtained.
+   *
+   * @throws BufferOverflowException if the buffer has less than size bytes remaining
+   */
+  public static void readBytes(long addr, ByteBuffer bb, int size) {
+    if (size < 0) {
+      throw new AssertionError("Size=" + size + ", but size must be >= 0");
+    }
+    if (bb.remaining() < size) {
+      throw new BufferOverflowException();
+    }
+    int position = bb.position();
+    if (bb.hasArray()) {
+      readBytes(addr, bb.array(), bb.arrayOffset() + position, size);
+    } else {
+      long bbAddr = getDirectByteBufferAddress(bb);
+      if (bbAddr != 0L) {
+        copyMemory(addr, bbAddr + position, size);
+      } else {
+        for (int i = 0; i < size; i++) {
+          bb.put(position + i, readByte(addr + i));
+        }
+      }
+    }
+    bb.position(position + size);
+  }
+
   public static void copyMemory(long srcAddr, long dstAddr, long size) {
     unsafe.copyMemory(srcAddr, dstAddr, size);
   }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.offheap;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import org.apache.geode.internal.offheap.FreeListManager.LongStack;
+
+/**
+ * A small cache of free tiny chunks owned by one thread. The FreeListManager keeps one magazine per
+ * thread so that most tiny allocations and frees of the common small sizes do not touch the shared
+ * tiny free lists. A magazine holds up to capacity addresses for each of the smallest size classes.
+ * It is refilled from and flushed to the shared free lists in batches.
+ *
+ * Only the owning thread allocates from and frees to its magazine, but defragmentation and the
+ * memory inspection methods of the FreeListManager read and drain the magazines of all threads, so
+ * every method is synchronized. The lock is almost never contended.
+ */
+class FreeListMagazine {
+  private final WeakReference<Thread> owner;
+
+  /** The addresses of the free chunks, used as a stack for each size class. */
+  private final long[][] addresses;
+
+  /** The number of addresses in each size class. */
+  private final int[] counts;
+
+  FreeListMagazine(Thread owner, int sizeClasses, int capacity) {
+    this.owner = new WeakReference<Thread>(owner);
+    this.addresses = new long[sizeClasses][capacity];
+    this.counts = new int[sizeClasses];
+  }
+
+  /**
+   * Returns true if the thread that owned this magazine has terminated, in which case nobody will
+   * allocate from it again.
+   */
+  boolean isOrphaned() {
+    Thread t = this.owner.get();
+    return t == null || !t.isAlive();
+  }
+
+  /**
+   * Retrieves and removes an address of the given size class, or returns {@code 0L} if there is
+   * none.
+   */
+  synchronized long poll(int sizeClass) {
+    int count = this.counts[sizeClass];
+    if (count == 0) {
+      return 0L;
+    }
+    count--;
+    this.counts[sizeClass] = count;
+    return this.addresses[sizeClass][count];
+  }
+
+  /**
+   * Adds the address of a free chunk of the given size class. If the magazine is full for that size
+   * class then half of its addresses are first moved to the given shared free list.
+   */
+  synchronized void offer(int sizeClass, long addr, OffHeapStoredObjectAddressStack freeList) {
+    long[] stack = this.addresses[sizeClass];
+    int count = this.counts[sizeClass];
+    if (count == stack.length) {
+      int keep = stack.length / 2;
+      freeList.offer(stack, keep, count - keep);
+      count = keep;
+    }
+    stack[count] = addr;
+    this.counts[sizeClass] = count + 1;
+  }
+
+  /**
+   * Moves up to half the capacity of this magazine worth of addresses from the given shared free
+   * list to the given size class, and returns one of them. Returns {@code 0L} if the free list is
+   * empty.
+   */
+  synchronized long refill(int sizeClass, OffHeapStoredObjectAddressStack freeList) {
+    long[] stack = this.addresses[sizeClass];
+    int count = this.counts[sizeClass];
+    int max = Math.max(1, (stack.length - count) / 2);
+    int polled = freeList.poll(stack, count, max);
+    if (polled == 0) {
+      return 0L;
+    }
+    count += polled - 1;
+    this.counts[sizeClass] = count;
+    return stack[count];
+  }
+
+  /**
+   * Removes all the addresses from this magazine and adds a stack of them to the given list for
+   * each size class that has any. The caller owns all the addresses after this call.
+   */
+  synchronized void drainTo(List<LongStack> l) {
+    for (int i = 0; i < this.counts.length; i++) {
+      int count = this.counts[i];
+      if (count > 0) {
+        OffHeapStoredObjectAddressStack result = new OffHeapStoredObjectAddressStack();
+        result.offer(this.addresses[i], 0, count);
+        l.add(result);
+        this.counts[i] = 0;
+      }
+    }
+  }
+
+  synchronized long computeTotalSize() {
+    long result = 0;
+    for (int i = 0; i < this.counts.length; i++) {
+      for (int j = 0; j < this.counts[i]; j++) {
+        result += OffHeapStoredObject.getSize(this.addresses[i][j]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Adds a TinyMemoryBlock for each address in this magazine to the given list.
+   */
+  synchronized void addFreeBlocks(List<MemoryBlock> value) {
+    for (int i = 0; i < this.counts.length; i++) {
+      for (int j = 0; j < this.counts[i]; j++) {
+        value.add(new FreeListManager.TinyMemoryBlock(this.addresses[i][j], i));
+      }
+    }
+  }
+}
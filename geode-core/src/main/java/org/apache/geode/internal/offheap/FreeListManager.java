@@ -47,6 +47,23 @@ public class FreeListManager {
       new ConcurrentSkipListSet<OffHeapStoredObject>();
   private final AtomicLong allocatedSize = new AtomicLong(0L);
 
+  /**
+   * The magazines of all the threads that have allocated or freed a tiny chunk. Magazines of
+   * terminated threads are removed by defragmentation, which also frees the chunks they hold.
+   */
+  private final CopyOnWriteArrayList<FreeListMagazine> magazines =
+      new CopyOnWriteArrayList<FreeListMagazine>();
+
+  private final ThreadLocal<FreeListMagazine> magazine = new ThreadLocal<FreeListMagazine>() {
+    @Override
+    protected FreeListMagazine initialValue() {
+      FreeListMagazine result =
+          new FreeListMagazine(Thread.currentThread(), MAGAZINE_SIZE_CLASSES, MAGAZINE_SIZE);
+      magazines.add(result);
+      return result;
+    }
+  };
+
   private int getNearestTinyMultiple(int size) {
     return (size - 1) / TINY_MULTIPLE;
   }
@@ -116,6 +133,9 @@ public class FreeListManager {
         tinyFree += cl.computeTotalSize();
       }
     }
+    for (FreeListMagazine m : this.magazines) {
+      tinyFree += m.computeTotalSize();
+    }
     return tinyFree;
   }
 
@@ -267,6 +287,13 @@ public class FreeListManager {
         cl.logSizes(lw, "Free tiny of size ");
       }
     }
+    for (FreeListMagazine m : this.magazines) {
+      List<MemoryBlock> blocks = new ArrayList<MemoryBlock>();
+      m.addFreeBlocks(blocks);
+      for (MemoryBlock block : blocks) {
+        lw.info("Free tiny in magazine of size " + block.getBlockSize());
+      }
+    }
   }
 
   private void logFragmentState(Logger lw) {
@@ -280,6 +307,11 @@ public class FreeListManager {
   }
 
   protected final AtomicInteger defragmentationCount = new AtomicInteger();
+  /**
+   * The index of the slab the next defragmentation starts with. Guarded by synchronization on this
+   * manager.
+   */
+  private int nextSlabToDefragment = 0;
   /*
    * Set this to "true" to perform data integrity checks on allocated and reused Chunks. This may
    * clobber performance so turn on only when necessary.
@@ -315,6 +347,26 @@ public class FreeListManager {
     verifyHugeMultiple(HUGE_MULTIPLE);
   }
   public final static int MAX_TINY = TINY_MULTIPLE * TINY_FREE_LIST_COUNT;
+  /**
+   * The number of free chunks of each size class that each thread keeps in its own magazine. Frees
+   * and allocations of the sizes that have a magazine only touch the shared tiny free lists every
+   * MAGAZINE_SIZE/2 operations. Set it to 0 to disable the magazines.
+   */
+  public final static int MAGAZINE_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_MAGAZINE_SIZE", 32);
+  /**
+   * Only chunks of this many bytes or less, including the off-heap header, are kept in magazines.
+   * A thread's magazine holds at most MAGAZINE_SIZE times the sum of the sizes of these size
+   * classes, e.g. 132KB for the defaults.
+   */
+  public final static int MAGAZINE_MAX_CHUNK_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "OFF_HEAP_MAGAZINE_MAX_CHUNK_SIZE",
+          256);
+  /**
+   * The number of size classes, starting with the smallest, that have a magazine.
+   */
+  final static int MAGAZINE_SIZE_CLASSES = MAGAZINE_SIZE < 2 || MAGAZINE_MAX_CHUNK_SIZE <= 0 ? 0
+      : Math.min(TINY_FREE_LIST_COUNT, MAGAZINE_MAX_CHUNK_SIZE / TINY_MULTIPLE);
 
   /**
    * Return true if the two chunks have been combined into one. If low and high are adjacent to each
@@ -354,25 +406,36 @@ public class FreeListManager {
   /**
    * Defragments memory and returns true if enough memory to allocate chunkSize is freed. Otherwise
    * returns false;
+   *
+   * Memory is defragmented one slab at a time, starting with the slab after the last one a previous
+   * defragmentation got to. The manager's lock is only held, and only the free chunks and fragments
+   * of one slab are taken away from allocations, while that slab is being merged, so other threads
+   * can keep allocating from the other slabs. The new fragments of each slab are added to the
+   * fragment list as soon as it is done. Once a slab yields a fragment of at least chunkSize the
+   * remaining slabs are left alone.
    */
   boolean defragment(int chunkSize) {
     final long startDefragmentationTime = this.ma.getStats().startDefragmentation();
     final int countPreSync = this.defragmentationCount.get();
     afterDefragmentationCountFetched();
     try {
+      boolean result = false;
+      for (int i = 0; i < this.slabs.length && !result; i++) {
+        synchronized (this) {
+          if (this.defragmentationCount.get() != countPreSync) {
+            // someone else did a defragmentation while we waited on the sync.
+            // So just return true causing the caller to retry the allocation.
+            return true;
+          }
+          result = defragmentNextSlab(chunkSize);
+        } // sync
+      }
       synchronized (this) {
-        if (this.defragmentationCount.get() != countPreSync) {
-          // someone else did a defragmentation while we waited on the sync.
-          // So just return true causing the caller to retry the allocation.
-          return true;
-        }
-        boolean result = doDefragment(chunkSize);
-
+        updateFragmentationStats();
         // Signal any waiters that a defragmentation happened.
         this.defragmentationCount.incrementAndGet();
-
-        return result;
-      } // sync
+      }
+      return result;
     } finally {
       this.ma.getStats().endDefragmentation(startDefragmentationTime);
     }
@@ -440,42 +503,51 @@ public class FreeListManager {
   }
 
   /**
-   * Defragments memory and returns true if enough memory to allocate chunkSize is freed. Otherwise
-   * returns false; Unlike the defragment method this method is not thread safe and does not check
-   * for a concurrent defragment. It should only be called by defragment and unit tests.
+   * Defragments the slab after the last one defragmented and returns true if it yields a fragment of
+   * at least chunkSize. Must be called with the manager's lock held.
    */
-  boolean doDefragment(int chunkSize) {
+  private boolean defragmentNextSlab(int chunkSize) {
+    this.lastFragmentAllocation.set(0);
+    int slabIdx = this.nextSlabToDefragment;
+    this.nextSlabToDefragment = (slabIdx + 1) % this.slabs.length;
+    Slab slab = this.slabs[slabIdx];
+    return defragmentSlab(slab, collectFreeChunks(slab), chunkSize);
+  }
+
+  private void updateFragmentationStats() {
+    int largestFragment = 0;
+    for (Fragment f : this.fragmentList) {
+      int freeSpace = f.freeSpace();
+      if (freeSpace > largestFragment) {
+        largestFragment = freeSpace;
+      }
+    }
+    this.ma.getStats().setLargestFragment(largestFragment);
+    this.ma.getStats().setFragments(this.fragmentList.size());
+    this.ma.getStats().setFragmentation(getFragmentation());
+  }
+
+  /**
+   * Merges the free space of the fragments of the given slab with the given free chunks of that
+   * slab, and adds the resulting fragments to the fragment list. Returns true if one of them is at
+   * least chunkSize bytes.
+   */
+  private boolean defragmentSlab(Slab slab, ResizableLongArray slabFreeChunks, int chunkSize) {
+    final long startTime = System.nanoTime();
     boolean result = false;
-    ArrayList<LongStack> freeChunks = new ArrayList<LongStack>();
-    collectFreeChunks(freeChunks);
     ResizableLongArray sorted = new ResizableLongArray();
-    for (LongStack l : freeChunks) {
-      long addr = l.poll();
-      while (addr != 0) {
-        int idx = sorted.binarySearch(addr);
-        idx = -idx;
-        idx--;
-        int sortedSize = sorted.size();
-        if (idx == sortedSize) {
-          // addr is > everything in the array
-          if (sortedSize == 0) {
-            // nothing was in the array
-            sorted.add(addr);
-          } else {
-            if (!combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.add(addr);
-            }
-          }
-        } else {
-          if (combineIfAdjacentAndSmallEnough(addr, sorted.get(idx))) {
-            sorted.set(idx, addr);
-          } else {
-            if (idx == 0 || !combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
-              sorted.insert(idx, addr);
-            }
-          }
-        }
-        addr = l.poll();
+    OffHeapStoredObjectAddressStack fragmentChunks = collectFreeFragmentChunks(slab);
+    long addr = fragmentChunks.poll();
+    while (addr != 0) {
+      addSorted(sorted, addr);
+      addr = fragmentChunks.poll();
+    }
+    long reclaimedBytes = 0;
+    if (slabFreeChunks != null) {
+      for (int i = 0; i < slabFreeChunks.size(); i++) {
+        addr = slabFreeChunks.get(i);
+        reclaimedBytes += OffHeapStoredObject.getSize(addr);
+        addSorted(sorted, addr);
       }
     }
     for (int i = sorted.size() - 1; i > 0; i--) {
@@ -485,10 +557,9 @@ public class FreeListManager {
     }
 
     int largestFragment = 0;
-    this.lastFragmentAllocation.set(0);
     ArrayList<Fragment> tmp = new ArrayList<Fragment>();
     for (int i = sorted.size() - 1; i >= 0; i--) {
-      long addr = sorted.get(i);
+      addr = sorted.get(i);
       if (addr == 0L)
         continue;
       int addrSize = OffHeapStoredObject.getSize(addr);
@@ -504,17 +575,48 @@ public class FreeListManager {
         tmp.add(f);
       }
     }
+    if (this.validateMemoryWithFill) {
+      for (Fragment f : tmp) {
+        f.fill();
+      }
+    }
     this.fragmentList.addAll(tmp);
 
-    fillFragments();
-
-    this.ma.getStats().setLargestFragment(largestFragment);
-    this.ma.getStats().setFragments(tmp.size());
-    this.ma.getStats().setFragmentation(getFragmentation());
-
+    this.ma.getStats().incDefragmentationReclaimedBytes(reclaimedBytes);
+    this.ma.getStats().incDefragmentationPauseTime(System.nanoTime() - startTime);
     return result;
   }
 
+  /**
+   * Adds the free chunk at addr to the given array of chunk addresses, which is kept sorted,
+   * combining it with its neighbors if they are adjacent.
+   */
+  private void addSorted(ResizableLongArray sorted, long addr) {
+    int idx = sorted.binarySearch(addr);
+    idx = -idx;
+    idx--;
+    int sortedSize = sorted.size();
+    if (idx == sortedSize) {
+      // addr is > everything in the array
+      if (sortedSize == 0) {
+        // nothing was in the array
+        sorted.add(addr);
+      } else {
+        if (!combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
+          sorted.add(addr);
+        }
+      }
+    } else {
+      if (combineIfAdjacentAndSmallEnough(addr, sorted.get(idx))) {
+        sorted.set(idx, addr);
+      } else {
+        if (idx == 0 || !combineIfAdjacentAndSmallEnough(sorted.get(idx - 1), addr)) {
+          sorted.insert(idx, addr);
+        }
+      }
+    }
+  }
+
   /**
    * Unit tests override this method to get better test coverage
    */
@@ -574,21 +676,24 @@ public class FreeListManager {
     }
   }
 
-  private void collectFreeChunks(List<LongStack> l) {
-    collectFreeFragmentChunks(l);
-    collectFreeHugeChunks(l);
-    collectFreeTinyChunks(l);
-  }
-
   List<Fragment> getFragmentList() {
     return this.fragmentList;
   }
 
-  private void collectFreeFragmentChunks(List<LongStack> l) {
-    if (this.fragmentList.size() == 0)
-      return;
+  /**
+   * Claims the free space of each fragment of the given slab as a chunk and removes those fragments
+   * from the fragment list. The fragments of the other slabs are left in the list.
+   */
+  private OffHeapStoredObjectAddressStack collectFreeFragmentChunks(Slab slab) {
     OffHeapStoredObjectAddressStack result = new OffHeapStoredObjectAddressStack();
+    long slabAddr = slab.getMemoryAddress();
+    long slabEnd = slabAddr + slab.getSize();
+    ArrayList<Fragment> collected = new ArrayList<Fragment>();
     for (Fragment f : this.fragmentList) {
+      if (f.getAddress() < slabAddr || f.getAddress() >= slabEnd) {
+        continue;
+      }
+      collected.add(f);
       int offset;
       int diff;
       do {
@@ -607,37 +712,59 @@ public class FreeListManager {
       OffHeapStoredObject.setSize(chunkAddr, diff);
       result.offer(chunkAddr);
     }
-    // All the fragments have been turned in to chunks so now clear them
+    // The fragments of this slab have been turned in to chunks so now remove them.
     // The defragmentation will create new fragments.
-    this.fragmentList.clear();
-    if (!result.isEmpty()) {
-      l.add(result);
-    }
+    this.fragmentList.removeAll(collected);
+    return result;
   }
 
-  private void collectFreeTinyChunks(List<LongStack> l) {
+  /**
+   * Takes the free chunks of the given slab off the free lists and out of the magazines. The free
+   * chunks of the other slabs that are taken out of the magazines go on the shared free lists, where
+   * every thread can allocate them.
+   */
+  private ResizableLongArray collectFreeChunks(Slab slab) {
+    final long slabAddr = slab.getMemoryAddress();
+    final long slabEnd = slabAddr + slab.getSize();
+    ResizableLongArray result = new ResizableLongArray();
+
+    ArrayList<LongStack> magazineChunks = new ArrayList<LongStack>();
+    for (FreeListMagazine m : this.magazines) {
+      m.drainTo(magazineChunks);
+      if (m.isOrphaned()) {
+        this.magazines.remove(m);
+      }
+    }
+    for (LongStack l : magazineChunks) {
+      long addr = l.poll();
+      while (addr != 0) {
+        if (addr >= slabAddr && addr < slabEnd) {
+          result.add(addr);
+        } else {
+          basicFree(addr, getNearestTinyMultiple(OffHeapStoredObject.getSize(addr)),
+              this.tinyFreeLists);
+        }
+        addr = l.poll();
+      }
+    }
+
+    // the chunks of the other slabs stay where they are on the tiny free lists
     for (int i = 0; i < this.tinyFreeLists.length(); i++) {
       OffHeapStoredObjectAddressStack cl = this.tinyFreeLists.get(i);
       if (cl != null) {
-        long head = cl.clear();
-        if (head != 0L) {
-          l.add(new OffHeapStoredObjectAddressStack(head));
-        }
+        cl.removeRange(slabAddr, slabEnd, result);
       }
     }
-  }
 
-  private void collectFreeHugeChunks(List<LongStack> l) {
-    OffHeapStoredObject c = this.hugeChunkSet.pollFirst();
-    OffHeapStoredObjectAddressStack result = null;
-    while (c != null) {
-      if (result == null) {
-        result = new OffHeapStoredObjectAddressStack();
-        l.add(result);
+    for (OffHeapStoredObject chunk : this.hugeChunkSet) {
+      long addr = chunk.getAddress();
+      // allocateHuge polls this set without the manager's lock, so the chunk is only ours if this
+      // thread is the one that removes it
+      if (addr >= slabAddr && addr < slabEnd && this.hugeChunkSet.remove(chunk)) {
+        result.add(addr);
       }
-      result.offer(c.getAddress());
-      c = this.hugeChunkSet.pollFirst();
     }
+    return result;
   }
 
   OffHeapStoredObject allocateFromFragment(final int fragIdx, final int chunkSize) {
@@ -692,8 +819,39 @@ public class FreeListManager {
   }
 
   private OffHeapStoredObject allocateTiny(int size, boolean useFragments) {
-    return basicAllocate(getNearestTinyMultiple(size), TINY_MULTIPLE, 0, this.tinyFreeLists,
-        useFragments);
+    int idx = getNearestTinyMultiple(size);
+    if (useFragments && idx < MAGAZINE_SIZE_CLASSES) {
+      OffHeapStoredObject result = allocateFromMagazine(idx);
+      if (result != null) {
+        return result;
+      }
+    }
+    return basicAllocate(idx, TINY_MULTIPLE, 0, this.tinyFreeLists, useFragments);
+  }
+
+  /**
+   * Allocates a chunk of the given size class from the calling thread's magazine, refilling the
+   * magazine from the shared free list if it is empty. Returns null if both are empty.
+   */
+  private OffHeapStoredObject allocateFromMagazine(int idx) {
+    FreeListMagazine m = this.magazine.get();
+    long memAddr = m.poll(idx);
+    if (memAddr != 0L) {
+      this.ma.getStats().incMagazineHits();
+    } else {
+      this.ma.getStats().incMagazineMisses();
+      OffHeapStoredObjectAddressStack clq = this.tinyFreeLists.get(idx);
+      if (clq != null) {
+        memAddr = m.refill(idx, clq);
+      }
+      if (memAddr == 0L) {
+        return null;
+      }
+    }
+    OffHeapStoredObject result = new OffHeapStoredObject(memAddr);
+    checkDataIntegrity(result);
+    result.readyForAllocation();
+    return result;
   }
 
   private OffHeapStoredObject basicAllocate(int idx, int multiple, int offset,
@@ -790,7 +948,19 @@ public class FreeListManager {
   }
 
   private void freeTiny(long addr, int cSize) {
-    basicFree(addr, getNearestTinyMultiple(cSize), this.tinyFreeLists);
+    int idx = getNearestTinyMultiple(cSize);
+    if (idx < MAGAZINE_SIZE_CLASSES) {
+      OffHeapStoredObjectAddressStack clq = this.tinyFreeLists.get(idx);
+      if (clq == null) {
+        clq = createFreeListForEmptySlot(this.tinyFreeLists, idx);
+        if (!this.tinyFreeLists.compareAndSet(idx, null, clq)) {
+          clq = this.tinyFreeLists.get(idx);
+        }
+      }
+      this.magazine.get().offer(idx, addr, clq);
+    } else {
+      basicFree(addr, idx, this.tinyFreeLists);
+    }
   }
 
   private void basicFree(long addr, int idx,
@@ -865,6 +1035,13 @@ public class FreeListManager {
         addr = OffHeapStoredObject.getNext(addr);
       }
     }
+    List<MemoryBlock> magazineBlocks = new ArrayList<MemoryBlock>();
+    for (FreeListMagazine m : this.magazines) {
+      m.addFreeBlocks(magazineBlocks);
+    }
+    for (MemoryBlock block : magazineBlocks) {
+      value.add(new MemoryBlockNode(sma, block));
+    }
     return value;
   }
 
@@ -33,6 +33,10 @@ public interface OffHeapMemoryStats {
 
   public void incReads();
 
+  public void incMagazineHits();
+
+  public void incMagazineMisses();
+
   public void setFragments(long value);
 
   public void setLargestFragment(int value);
@@ -41,6 +45,10 @@ public interface OffHeapMemoryStats {
 
   public void endDefragmentation(long start);
 
+  public void incDefragmentationPauseTime(long value);
+
+  public void incDefragmentationReclaimedBytes(long value);
+
   public void setFragmentation(int value);
 
   public long getFreeMemory();
@@ -51,6 +59,10 @@ public interface OffHeapMemoryStats {
 
   public long getReads();
 
+  public long getMagazineHits();
+
+  public long getMagazineMisses();
+
   public int getObjects();
 
   public int getDefragmentations();
@@ -65,6 +77,10 @@ public interface OffHeapMemoryStats {
 
   public long getDefragmentationTime();
 
+  public long getDefragmentationPauseTime();
+
+  public long getDefragmentationReclaimedBytes();
+
   public Statistics getStats();
 
   public void close();
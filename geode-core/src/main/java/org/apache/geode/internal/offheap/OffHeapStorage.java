@@ -56,6 +56,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
   private static final int defragmentationTimeId;
   private static final int fragmentationId;
   private static final int defragmentationsInProgressId;
+  private static final int magazineHitsId;
+  private static final int magazineMissesId;
+  private static final int defragmentationPauseTimeId;
+  private static final int defragmentationReclaimedBytesId;
   // NOTE!!!! When adding new stats make sure and update the initialize method on this class
 
   // creates and registers the statistics type
@@ -82,6 +86,14 @@ public class OffHeapStorage implements OffHeapMemoryStats {
         "The total number of reads of off-heap memory. Only reads of a full object increment this statistic. If only a part of the object is read this statistic is not incremented.";
     final String maxMemoryDesc =
         "The maximum amount of off-heap memory, in bytes. This is the amount of memory allocated at startup and does not change.";
+    final String magazineHitsDesc =
+        "The total number of small allocations of off-heap memory served from the allocating thread's own cache of free chunks.";
+    final String magazineMissesDesc =
+        "The total number of small allocations of off-heap memory that found the allocating thread's own cache of free chunks empty and had to use the shared free lists.";
+    final String defragmentationPauseTimeDesc =
+        "The total time that slabs of off-heap memory could not be allocated from because they were being defragmented.";
+    final String defragmentationReclaimedBytesDesc =
+        "The total number of bytes of free chunks of off-heap memory that defragmentation has merged back into fragments.";
 
     final String usedMemory = "usedMemory";
     final String defragmentations = "defragmentations";
@@ -94,6 +106,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     final String objects = "objects";
     final String reads = "reads";
     final String maxMemory = "maxMemory";
+    final String magazineHits = "magazineHits";
+    final String magazineMisses = "magazineMisses";
+    final String defragmentationPauseTime = "defragmentationPauseTime";
+    final String defragmentationReclaimedBytes = "defragmentationReclaimedBytes";
 
     statsType = f.createType(statsTypeName, statsTypeDescription,
         new StatisticDescriptor[] {f.createLongGauge(usedMemory, usedMemoryDesc, "bytes"),
@@ -107,7 +123,13 @@ public class OffHeapStorage implements OffHeapMemoryStats {
             f.createIntGauge(largestFragment, largestFragmentDesc, "bytes"),
             f.createIntGauge(objects, objectsDesc, "objects"),
             f.createLongCounter(reads, readsDesc, "operations"),
-            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),});
+            f.createLongGauge(maxMemory, maxMemoryDesc, "bytes"),
+            f.createLongCounter(magazineHits, magazineHitsDesc, "operations"),
+            f.createLongCounter(magazineMisses, magazineMissesDesc, "operations"),
+            f.createLongCounter(defragmentationPauseTime, defragmentationPauseTimeDesc,
+                "nanoseconds", false),
+            f.createLongCounter(defragmentationReclaimedBytes, defragmentationReclaimedBytesDesc,
+                "bytes"),});
 
     usedMemoryId = statsType.nameToId(usedMemory);
     defragmentationId = statsType.nameToId(defragmentations);
@@ -120,6 +142,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     objectsId = statsType.nameToId(objects);
     readsId = statsType.nameToId(reads);
     maxMemoryId = statsType.nameToId(maxMemory);
+    magazineHitsId = statsType.nameToId(magazineHits);
+    magazineMissesId = statsType.nameToId(magazineMisses);
+    defragmentationPauseTimeId = statsType.nameToId(defragmentationPauseTime);
+    defragmentationReclaimedBytesId = statsType.nameToId(defragmentationReclaimedBytes);
   }
 
   public static long parseOffHeapMemorySize(String value) {
@@ -306,6 +332,26 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return this.stats.getLong(readsId);
   }
 
+  @Override
+  public void incMagazineHits() {
+    this.stats.incLong(magazineHitsId, 1);
+  }
+
+  @Override
+  public long getMagazineHits() {
+    return this.stats.getLong(magazineHitsId);
+  }
+
+  @Override
+  public void incMagazineMisses() {
+    this.stats.incLong(magazineMissesId, 1);
+  }
+
+  @Override
+  public long getMagazineMisses() {
+    return this.stats.getLong(magazineMissesId);
+  }
+
   private void incDefragmentations() {
     this.stats.incInt(defragmentationId, 1);
   }
@@ -360,6 +406,26 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     return stats.getLong(defragmentationTimeId);
   }
 
+  @Override
+  public void incDefragmentationPauseTime(long value) {
+    this.stats.incLong(defragmentationPauseTimeId, value);
+  }
+
+  @Override
+  public long getDefragmentationPauseTime() {
+    return this.stats.getLong(defragmentationPauseTimeId);
+  }
+
+  @Override
+  public void incDefragmentationReclaimedBytes(long value) {
+    this.stats.incLong(defragmentationReclaimedBytesId, value);
+  }
+
+  @Override
+  public long getDefragmentationReclaimedBytes() {
+    return this.stats.getLong(defragmentationReclaimedBytesId);
+  }
+
   @Override
   public void setFragmentation(int value) {
     this.stats.setInt(fragmentationId, value);
@@ -392,6 +458,10 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     setLargestFragment(oldStats.getLargestFragment());
     setDefragmentationTime(oldStats.getDefragmentationTime());
     setFragmentation(oldStats.getFragmentation());
+    setMagazineHits(oldStats.getMagazineHits());
+    setMagazineMisses(oldStats.getMagazineMisses());
+    setDefragmentationPauseTime(oldStats.getDefragmentationPauseTime());
+    setDefragmentationReclaimedBytes(oldStats.getDefragmentationReclaimedBytes());
 
     oldStats.close();
   }
@@ -400,6 +470,14 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     stats.setLong(defragmentationTimeId, value);
   }
 
+  private void setDefragmentationPauseTime(long value) {
+    this.stats.setLong(defragmentationPauseTimeId, value);
+  }
+
+  private void setDefragmentationReclaimedBytes(long value) {
+    this.stats.setLong(defragmentationReclaimedBytesId, value);
+  }
+
   private void setDefragmentations(int value) {
     this.stats.setInt(defragmentationId, value);
   }
@@ -408,6 +486,14 @@ public class OffHeapStorage implements OffHeapMemoryStats {
     this.stats.setInt(defragmentationsInProgressId, value);
   }
 
+  private void setMagazineHits(long value) {
+    this.stats.setLong(magazineHitsId, value);
+  }
+
+  private void setMagazineMisses(long value) {
+    this.stats.setLong(magazineMissesId, value);
+  }
+
   private void setReads(long value) {
     this.stats.setLong(readsId, value);
   }
@@ -17,6 +17,7 @@ package org.apache.geode.internal.offheap;
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.internal.offheap.FreeListManager.LongStack;
+import org.apache.geode.internal.offheap.FreeListManager.ResizableLongArray;
 
 /**
  * A "stack" of addresses of OffHeapStoredObject instances. The stored objects are not kept in java
@@ -50,6 +51,49 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
     }
   }
 
+  /**
+   * Adds count addresses, starting at offset in the given array, while holding the lock only once.
+   */
+  public void offer(long[] addrs, int offset, int count) {
+    if (count == 0) {
+      return;
+    }
+    for (int i = offset; i < offset + count; i++) {
+      assert addrs[i] != 0;
+      MemoryAllocatorImpl.validateAddress(addrs[i]);
+    }
+    // link the new addresses to each other before taking the lock
+    for (int i = offset + 1; i < offset + count; i++) {
+      OffHeapStoredObject.setNext(addrs[i], addrs[i - 1]);
+    }
+    long bottom = addrs[offset];
+    long top = addrs[offset + count - 1];
+    synchronized (this) {
+      OffHeapStoredObject.setNext(bottom, this.topAddr);
+      this.topAddr = top;
+    }
+  }
+
+  /**
+   * Removes up to max addresses from the top of this stack, while holding the lock only once, and
+   * stores them in the given array starting at offset.
+   *
+   * @return the number of addresses removed
+   */
+  public int poll(long[] addrs, int offset, int max) {
+    int result = 0;
+    synchronized (this) {
+      long addr = this.topAddr;
+      while (addr != 0L && result < max) {
+        addrs[offset + result] = addr;
+        result++;
+        addr = OffHeapStoredObject.getNext(addr);
+      }
+      this.topAddr = addr;
+    }
+    return result;
+  }
+
   @Override
   public long poll() {
     long result;
@@ -62,6 +106,32 @@ public class OffHeapStoredObjectAddressStack implements LongStack {
     return result;
   }
 
+  /**
+   * Removes every address that is at least start and less than end from this stack, while holding
+   * the lock only once, and adds them to the given array. The other addresses stay in the stack in
+   * the same order.
+   */
+  public void removeRange(long start, long end, ResizableLongArray removed) {
+    synchronized (this) {
+      long prev = 0L;
+      long addr = this.topAddr;
+      while (addr != 0L) {
+        long next = OffHeapStoredObject.getNext(addr);
+        if (addr >= start && addr < end) {
+          removed.add(addr);
+          if (prev == 0L) {
+            this.topAddr = next;
+          } else {
+            OffHeapStoredObject.setNext(prev, next);
+          }
+        } else {
+          prev = addr;
+        }
+        addr = next;
+      }
+    }
+  }
+
   /**
    * Returns the address of the "top" item in this stack.
    */
@@ -219,7 +219,26 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
    * bits.
    */
   public static final int keyHash(final Object o, final boolean compareValues) {
-    int h = compareValues ? o.hashCode() : System.identityHashCode(o);
+    return spreadHash(compareValues ? o.hashCode() : System.identityHashCode(o));
+  }
+
+  /**
+   * Returns the same hash as {@link #keyHash} would for a boxed {@link Integer} key, without
+   * boxing. GemFire addition for inline primitive keys.
+   */
+  public static final int intKeyHash(final int key) {
+    return spreadHash(Integer.hashCode(key));
+  }
+
+  /**
+   * Returns the same hash as {@link #keyHash} would for a boxed {@link Long} key, without boxing.
+   * GemFire addition for inline primitive keys.
+   */
+  public static final int longKeyHash(final long key) {
+    return spreadHash(Long.hashCode(key));
+  }
+
+  private static int spreadHash(int h) {
     // Spread bits to regularize both segment and index locations,
     // using variant of single-word Wang/Jenkins hash.
     h += (h << 15) ^ 0xffffcd7d;
@@ -270,6 +289,24 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      */
     boolean isKeyEqual(Object k);
 
+    /**
+     * Return true if the entry's key is an {@link Integer} equal to k. GemFire addition so that
+     * entries with inline int keys can be looked up without boxing.
+     */
+    default boolean isIntKeyEqual(int k) {
+      final Object key = getKey();
+      return key instanceof Integer && ((Integer) key).intValue() == k;
+    }
+
+    /**
+     * Return true if the entry's key is a {@link Long} equal to k. GemFire addition so that entries
+     * with inline long keys can be looked up without boxing.
+     */
+    default boolean isLongKeyEqual(long k) {
+      final Object key = getKey();
+      return key instanceof Long && ((Long) key).longValue() == k;
+    }
+
     /**
      * Get the value for this entry.
      */
@@ -392,6 +429,22 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
      * Get the hashCode for given key object.
      */
     public int keyHashCode(Object key, boolean compareValues);
+
+    /**
+     * Get the hashCode for given int key. Must be the same as {@link #keyHashCode} for the boxed
+     * key.
+     */
+    default int intKeyHashCode(int key, boolean compareValues) {
+      return keyHashCode(key, compareValues);
+    }
+
+    /**
+     * Get the hashCode for given long key. Must be the same as {@link #keyHashCode} for the boxed
+     * key.
+     */
+    default int longKeyHashCode(long key, boolean compareValues) {
+      return keyHashCode(key, compareValues);
+    }
   }
 
   // End GemStone addition
@@ -582,6 +635,70 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
       return null;
     }
 
+    /**
+     * Same as {@link #get(Object, int)} but matches the entries against a primitive int key.
+     * GemFire addition.
+     */
+    final V getIntKey(final int key, final int hash) {
+      if (this.count != 0) { // read-volatile
+        final ReentrantReadWriteLock.ReadLock listLock = this.listUpdateLock.readLock();
+        listLock.lock();
+        boolean lockAcquired = true;
+        HashEntry<K, V> e = getFirst(hash);
+        try {
+          while (e != null) {
+            if (e.getEntryHash() == hash && e.isIntKeyEqual(key)) {
+              final V v = e.getMapValue();
+              if (v != null) {
+                return v;
+              }
+              listLock.unlock();
+              lockAcquired = false;
+              return readValueUnderLock(e); // recheck
+            }
+            e = e.getNextEntry();
+          }
+        } finally {
+          if (lockAcquired) {
+            listLock.unlock();
+          }
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Same as {@link #get(Object, int)} but matches the entries against a primitive long key.
+     * GemFire addition.
+     */
+    final V getLongKey(final long key, final int hash) {
+      if (this.count != 0) { // read-volatile
+        final ReentrantReadWriteLock.ReadLock listLock = this.listUpdateLock.readLock();
+        listLock.lock();
+        boolean lockAcquired = true;
+        HashEntry<K, V> e = getFirst(hash);
+        try {
+          while (e != null) {
+            if (e.getEntryHash() == hash && e.isLongKeyEqual(key)) {
+              final V v = e.getMapValue();
+              if (v != null) {
+                return v;
+              }
+              listLock.unlock();
+              lockAcquired = false;
+              return readValueUnderLock(e); // recheck
+            }
+            e = e.getNextEntry();
+          }
+        } finally {
+          if (lockAcquired) {
+            listLock.unlock();
+          }
+        }
+      }
+      return null;
+    }
+
     final V getNoLock(final Object key, final int hash, final boolean lockListForRead) {
       if (this.count != 0) { // read-volatile
         // GemStone change to acquire the read lock on list updates
@@ -1224,6 +1341,16 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     public final int keyHashCode(final Object key, final boolean compareValues) {
       return keyHash(key, compareValues);
     }
+
+    @Override
+    public final int intKeyHashCode(final int key, final boolean compareValues) {
+      return compareValues ? intKeyHash(key) : keyHash(key, false);
+    }
+
+    @Override
+    public final int longKeyHashCode(final long key, final boolean compareValues) {
+      return compareValues ? longKeyHash(key) : keyHash(key, false);
+    }
   }
 
   // End GemStone addition
@@ -1388,6 +1515,30 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     return segmentFor(hash).get(key, hash);
   }
 
+  /**
+   * Returns the value mapped to the {@link Integer} key with the given value without boxing it, or
+   * {@code null} if there is no such mapping. Identity maps fall back to {@link #get(Object)}.
+   */
+  public final V getIntKey(final int key) {
+    if (!this.compareValues) {
+      return get(key);
+    }
+    final int hash = this.entryCreator.intKeyHashCode(key, true);
+    return segmentFor(hash).getIntKey(key, hash);
+  }
+
+  /**
+   * Returns the value mapped to the {@link Long} key with the given value without boxing it, or
+   * {@code null} if there is no such mapping. Identity maps fall back to {@link #get(Object)}.
+   */
+  public final V getLongKey(final long key) {
+    if (!this.compareValues) {
+      return get(key);
+    }
+    final int hash = this.entryCreator.longKeyHashCode(key, true);
+    return segmentFor(hash).getLongKey(key, hash);
+  }
+
   /**
    * Tests if the specified object is a key in this table.
    * 
@@ -136,6 +136,22 @@ public interface DiskStoreMXBean {
    */
   public int getTotalBackupCompleted();
 
+  /**
+   * Returns the number of rolled op-logs whose record checksums have been verified in the
+   * background.
+   * 
+   * @since Geode 1.1
+   */
+  public long getTotalScrubbedOplogs();
+
+  /**
+   * Returns the number of op-log records found not to match their checksum, either while
+   * recovering or while verifying rolled op-logs in the background.
+   * 
+   * @since Geode 1.1
+   */
+  public long getTotalChecksumFailures();
+
   /**
    * Returns the number of persistent regions currently being recovered from disk.
    */
@@ -146,6 +146,16 @@ public class DiskStoreMBean extends NotificationBroadcasterSupport implements Di
     return bridge.getTotalBackupCompleted();
   }
 
+  @Override
+  public long getTotalScrubbedOplogs() {
+    return bridge.getTotalScrubbedOplogs();
+  }
+
+  @Override
+  public long getTotalChecksumFailures() {
+    return bridge.getTotalChecksumFailures();
+  }
+
   @Override
   public float getDiskUsageWarningPercentage() {
     return bridge.getDiskUsageWarningPercentage();
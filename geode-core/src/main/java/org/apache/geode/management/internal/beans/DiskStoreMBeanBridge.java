@@ -236,6 +236,14 @@ public class DiskStoreMBeanBridge {
     return getDiskStoreStatistic(StatsKey.BACKUPS_COMPLETED).intValue();
   }
 
+  public long getTotalScrubbedOplogs() {
+    return getDiskStoreStatistic(StatsKey.SCRUBBED_OPLOGS).longValue();
+  }
+
+  public long getTotalChecksumFailures() {
+    return getDiskStoreStatistic(StatsKey.CHECKSUM_FAILURES).longValue();
+  }
+
   public long getTotalBytesOnDisk() {
     long diskSpace = 0;
     for (DirectoryHolder dr : this.directoryHolders) {
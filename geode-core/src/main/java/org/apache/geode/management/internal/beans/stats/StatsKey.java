@@ -187,6 +187,10 @@ public class StatsKey {
 
   public static final String DISK_SPACE = "diskSpace";
 
+  public static final String SCRUBBED_OPLOGS = "scrubbedOplogs";
+
+  public static final String CHECKSUM_FAILURES = "checksumFailures";
+
 
 
   /** Cache Server Related Stats **/
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.awaitility.Awaitility;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.client.internal.pooling.ConnectionDestroyedException;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class ConnectionPipelineJUnitTest {
+
+  /** the names of the ops in the order their requests were sent */
+  private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+
+  /** the names of the ops in the order their replies were read */
+  private final List<String> replies = Collections.synchronizedList(new ArrayList<String>());
+
+  /** the reply reading tasks, which the tests run themselves */
+  private final List<Runnable> replyReaders = new ArrayList<Runnable>();
+
+  private final Executor replyReader = this.replyReaders::add;
+
+  private ConnectionImpl cnx;
+
+  private ConnectionPipeline pipeline;
+
+  @Before
+  public void setUp() {
+    this.cnx = mock(ConnectionImpl.class);
+    when(this.cnx.getServer()).thenReturn(new ServerLocation("localhost", 1));
+    this.pipeline = new ConnectionPipeline();
+  }
+
+  @Test
+  public void asyncRepliesAreReadInTheOrderTheirRequestsWereSent() throws Exception {
+    CompletableFuture<Object> first = sendAsync(new TestOp("first"));
+    CompletableFuture<Object> second = sendAsync(new TestOp("second"));
+    CompletableFuture<Object> third = sendAsync(new TestOp("third"));
+
+    // every request is sent before any reply is read
+    assertThat(this.requests).containsExactly("first", "second", "third");
+    assertThat(first.isDone()).isFalse();
+
+    // a single task reads the replies of every pending op
+    assertThat(this.replyReaders).hasSize(1);
+    this.replyReaders.get(0).run();
+    assertThat(this.replies).containsExactly("first", "second", "third");
+    assertThat(first.get()).isEqualTo("first");
+    assertThat(second.get()).isEqualTo("second");
+    assertThat(third.get()).isEqualTo("third");
+  }
+
+  @Test
+  public void syncOpReadsItsReplyInTurnWithAsyncOps() throws Exception {
+    CompletableFuture<Object> first = sendAsync(new TestOp("first"));
+    FutureTask<Object> second =
+        new FutureTask<Object>(() -> new TestOp("second").attemptPipelined(this.cnx, this.pipeline));
+    Thread thread = new Thread(second, "sync op");
+    thread.start();
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> this.requests.size() == 2);
+
+    // the sync op waits for the reply of the async op sent before it
+    assertThat(second.isDone()).isFalse();
+    this.replyReaders.get(0).run();
+    assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("second");
+    assertThat(first.get()).isEqualTo("first");
+
+    // the task that read the first reply stopped once no async reply was pending
+    CompletableFuture<Object> third = sendAsync(new TestOp("third"));
+    assertThat(this.replyReaders).hasSize(2);
+    this.replyReaders.get(1).run();
+    assertThat(third.get()).isEqualTo("third");
+    assertThat(this.replies).containsExactly("first", "second", "third");
+  }
+
+  @Test
+  public void failedReplyFailsTheOpsWaitingBehindIt() throws Exception {
+    TestOp failing = new TestOp("first");
+    failing.failReply = true;
+    CompletableFuture<Object> first = sendAsync(failing);
+    CompletableFuture<Object> second = sendAsync(new TestOp("second"));
+
+    this.replyReaders.get(0).run();
+    assertThatThrownBy(first::get).hasCauseInstanceOf(IOException.class);
+    assertThatThrownBy(second::get).hasCauseInstanceOf(ConnectionDestroyedException.class);
+
+    // the replies can no longer be matched with their requests, so nothing else is sent
+    CompletableFuture<Object> third = sendAsync(new TestOp("third"));
+    assertThatThrownBy(third::get).hasCauseInstanceOf(ConnectionDestroyedException.class);
+    assertThat(this.requests).containsExactly("first", "second");
+  }
+
+  private CompletableFuture<Object> sendAsync(TestOp op) {
+    return op.attemptAsync(this.cnx, this.pipeline, this.replyReader);
+  }
+
+  private class TestOp extends AbstractOp {
+
+    private final String name;
+
+    boolean failReply;
+
+    TestOp(String name) {
+      super(0, 0);
+      this.name = name;
+    }
+
+    @Override
+    void attemptSend(Connection cnx, ByteBuffer commBuffer) throws Exception {
+      requests.add(this.name);
+    }
+
+    @Override
+    protected Message createResponseMessage() {
+      Message msg = mock(Message.class);
+      try {
+        doAnswer(invocation -> {
+          if (this.failReply) {
+            throw new IOException("reply of " + this.name + " could not be read");
+          }
+          replies.add(this.name);
+          return null;
+        }).when(msg).recv();
+      } catch (IOException e) {
+        throw new AssertionError(e);
+      }
+      return msg;
+    }
+
+    @Override
+    protected Object processResponse(Message msg) throws Exception {
+      return this.name;
+    }
+
+    @Override
+    protected boolean isErrorResponse(int msgType) {
+      return false;
+    }
+
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+}
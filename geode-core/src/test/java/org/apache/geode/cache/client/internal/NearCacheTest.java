@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import org.apache.geode.cache.InterestResultPolicy;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PoolStats;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class NearCacheTest {
+
+  private LocalRegion region;
+
+  private PoolStats stats;
+
+  private ScheduledExecutorService backgroundProcessor;
+
+  private NearCache nearCache;
+
+  @Before
+  public void setUp() {
+    this.region = mock(LocalRegion.class);
+    this.stats = mock(PoolStats.class);
+    this.backgroundProcessor = mock(ScheduledExecutorService.class);
+    PoolImpl pool = mock(PoolImpl.class);
+    when(pool.getStats()).thenReturn(this.stats);
+    when(pool.getBackgroundProcessor()).thenReturn(this.backgroundProcessor);
+    this.nearCache = new NearCache(this.region, pool);
+  }
+
+  @Test
+  public void registersInterestOnFirstMissOnly() {
+    assertThat(this.nearCache.recordMiss("key")).isTrue();
+    assertThat(this.nearCache.recordMiss("key")).isFalse();
+
+    verify(this.region).registerInterest("key", InterestResultPolicy.KEYS_VALUES, false, false);
+    verify(this.stats, times(2)).incNearCacheMisses();
+    verify(this.stats).incNearCacheKeys(1);
+  }
+
+  @Test
+  public void unregistersInterestInEvictedKeysLater() {
+    this.nearCache.recordMiss("key1");
+    this.nearCache.recordMiss("key2");
+
+    this.nearCache.evicted("key1");
+    this.nearCache.evicted("key2");
+    ArgumentCaptor<Runnable> unregister = ArgumentCaptor.forClass(Runnable.class);
+    verify(this.backgroundProcessor).schedule(unregister.capture(), anyLong(),
+        eq(TimeUnit.MILLISECONDS));
+    verify(this.region, never()).unregisterInterest(any());
+
+    unregister.getValue().run();
+    verify(this.region).unregisterInterest(any());
+    verify(this.stats).incNearCacheKeys(-2);
+  }
+
+  @Test
+  public void unregistersInterestInKeyNotFoundLater() {
+    this.nearCache.recordMiss("key");
+    this.nearCache.notFound("key");
+
+    ArgumentCaptor<Runnable> unregister = ArgumentCaptor.forClass(Runnable.class);
+    verify(this.backgroundProcessor).schedule(unregister.capture(), anyLong(),
+        eq(TimeUnit.MILLISECONDS));
+    unregister.getValue().run();
+    verify(this.region).unregisterInterest(Collections.singletonList("key"));
+    verify(this.stats).incNearCacheKeys(-1);
+
+    // the next miss registers interest again in case the servers have a value by then
+    assertThat(this.nearCache.recordMiss("key")).isTrue();
+    verify(this.region, times(2)).registerInterest("key", InterestResultPolicy.KEYS_VALUES, false,
+        false);
+  }
+
+  @Test
+  public void keepsInterestInKeyMissedBeforeItIsUnregistered() {
+    this.nearCache.recordMiss("key1");
+    this.nearCache.recordMiss("key2");
+    this.nearCache.evicted("key1");
+    this.nearCache.evicted("key2");
+
+    assertThat(this.nearCache.recordMiss("key1")).isFalse();
+    ArgumentCaptor<Runnable> unregister = ArgumentCaptor.forClass(Runnable.class);
+    verify(this.backgroundProcessor).schedule(unregister.capture(), anyLong(),
+        eq(TimeUnit.MILLISECONDS));
+    unregister.getValue().run();
+
+    verify(this.region).unregisterInterest(Collections.singletonList("key2"));
+    verify(this.region, times(1)).registerInterest("key1", InterestResultPolicy.KEYS_VALUES,
+        false, false);
+  }
+
+  @Test
+  public void unregistersInterestInClearedKeysLater() {
+    this.nearCache.recordMiss("key1");
+    this.nearCache.recordMiss("key2");
+
+    this.nearCache.cleared();
+    ArgumentCaptor<Runnable> unregister = ArgumentCaptor.forClass(Runnable.class);
+    verify(this.backgroundProcessor).schedule(unregister.capture(), anyLong(),
+        eq(TimeUnit.MILLISECONDS));
+    unregister.getValue().run();
+
+    ArgumentCaptor<Collection> keys = ArgumentCaptor.forClass(Collection.class);
+    verify(this.region).unregisterInterest(keys.capture());
+    assertThat(keys.getValue()).containsOnly("key1", "key2");
+    verify(this.stats).incNearCacheKeys(-2);
+  }
+
+  @Test
+  public void missWaitsForUnregisterOfItsKeyOnly() throws Exception {
+    this.nearCache.recordMiss("key");
+    this.nearCache.evicted("key");
+    ArgumentCaptor<Runnable> unregister = ArgumentCaptor.forClass(Runnable.class);
+    verify(this.backgroundProcessor).schedule(unregister.capture(), anyLong(),
+        eq(TimeUnit.MILLISECONDS));
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CountDownLatch unregistering = new CountDownLatch(1);
+      CountDownLatch finishUnregister = new CountDownLatch(1);
+      doAnswer(invocation -> {
+        unregistering.countDown();
+        finishUnregister.await();
+        return null;
+      }).when(this.region).unregisterInterest(any());
+      Future<?> unregisterDone = executor.submit(unregister.getValue());
+      unregistering.await();
+
+      // a miss on another key does not wait for the round trip
+      assertThat(executor.submit(() -> this.nearCache.recordMiss("other")).get(30,
+          TimeUnit.SECONDS)).isTrue();
+
+      Future<Boolean> miss = executor.submit(() -> this.nearCache.recordMiss("key"));
+      Thread.sleep(100);
+      assertThat(miss.isDone()).isFalse();
+
+      finishUnregister.countDown();
+      unregisterDone.get(30, TimeUnit.SECONDS);
+      assertThat(miss.get(30, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    InOrder order = inOrder(this.region);
+    order.verify(this.region).registerInterest("key", InterestResultPolicy.KEYS_VALUES, false,
+        false);
+    order.verify(this.region).unregisterInterest(Collections.singletonList("key"));
+    order.verify(this.region).registerInterest("key", InterestResultPolicy.KEYS_VALUES, false,
+        false);
+  }
+}
@@ -15,6 +15,10 @@
 package org.apache.geode.cache.client.internal;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,6 +30,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.geode.test.junit.categories.ClientServerTest;
@@ -42,6 +50,7 @@ import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
 import org.apache.geode.distributed.DistributedMember;
 import org.apache.geode.distributed.internal.InternalDistributedSystem;
 import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
 import org.apache.geode.internal.logging.InternalLogWriter;
 import org.apache.geode.internal.logging.LocalLogWriter;
@@ -189,6 +198,130 @@ public class OpExecutorImplJUnitTest {
     getBackups = 0;
   }
 
+  @Test
+  public void testExecuteAsync() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    Executor executor = new Executor() {
+      public void execute(Runnable command) {
+        command.run();
+      }
+    };
+    CompletableFuture<Object> result = exec.executeAsync(new Op() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        return "hello";
+      }
+
+      @Override
+      public boolean useThreadLocalConnection() {
+        return true;
+      }
+    }, executor);
+    assertEquals("hello", result.get());
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+
+    reset();
+
+    result = exec.executeAsync(new Op() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        throw new SocketTimeoutException();
+      }
+
+      @Override
+      public boolean useThreadLocalConnection() {
+        return true;
+      }
+    }, executor);
+    try {
+      result.get();
+      fail("Should have got an exception");
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof ServerConnectivityException);
+    }
+    assertEquals(1, borrows);
+    assertEquals(3, exchanges);
+    assertEquals(1, returns);
+  }
+
+  @Test
+  public void testExecuteAsyncFailsWhenExecutorIsFull() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null);
+    Executor executor = new Executor() {
+      public void execute(Runnable command) {
+        throw new RejectedExecutionException("full");
+      }
+    };
+    CompletableFuture<Object> result = exec.executeAsync(new Op() {
+      @Override
+      public Object attempt(Connection cnx) throws Exception {
+        return "hello";
+      }
+
+      @Override
+      public boolean useThreadLocalConnection() {
+        return true;
+      }
+    }, executor);
+    try {
+      result.get();
+      fail("Should have got an exception");
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof RejectedExecutionException);
+    }
+    // the op was never sent
+    assertEquals(0, borrows);
+  }
+
+  @Test
+  public void testExecuteAsyncPipelined() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null, 2);
+    Executor executor = new Executor() {
+      public void execute(Runnable command) {
+        command.run();
+      }
+    };
+    PipelineableOp op = new PipelineableOp();
+    manager.pipelinedConnection = mock(ConnectionImpl.class);
+    when(manager.pipelinedConnection.executeAsync(any(Op.class), any(Executor.class)))
+        .thenReturn(CompletableFuture.completedFuture("pipelined"));
+
+    CompletableFuture<Object> result = exec.executeAsync(op, executor);
+    assertEquals("pipelined", result.get());
+    verify(manager.pipelinedConnection).executeAsync(op, executor);
+    assertEquals(0, op.attempts);
+    assertEquals(1, borrows);
+    assertEquals(1, returns);
+  }
+
+  @Test
+  public void testExecuteAsyncRetriesFailedPipelinedOp() throws Exception {
+    OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, 3,
+        10, false, cancelCriterion, null, 2);
+    Executor executor = new Executor() {
+      public void execute(Runnable command) {
+        command.run();
+      }
+    };
+    PipelineableOp op = new PipelineableOp();
+    CompletableFuture<Object> failedAttempt = new CompletableFuture<Object>();
+    failedAttempt.completeExceptionally(new IOException("Something didn't work"));
+    manager.pipelinedConnection = mock(ConnectionImpl.class);
+    when(manager.pipelinedConnection.executeAsync(any(Op.class), any(Executor.class)))
+        .thenReturn(failedAttempt);
+
+    CompletableFuture<Object> result = exec.executeAsync(op, executor);
+    assertEquals("hello", result.get());
+    assertEquals(1, op.attempts);
+    assertTrue(op.getMessage().isRetry());
+    assertEquals(1, invalidateConnections);
+    assertEquals(1, serverCrashes);
+  }
+
   @Test
   public void testExecuteOncePerServer() throws Exception {
     OpExecutorImpl exec = new OpExecutorImpl(manager, queueManager, endpointManager, riTracker, -1,
@@ -457,10 +590,53 @@ public class OpExecutorImplJUnitTest {
     assertEquals(0, returns);
   }
 
+  private static class PipelineableOp extends AbstractOp {
+
+    protected int attempts;
+
+    public PipelineableOp() {
+      super(0, 0);
+    }
+
+    @Override
+    public Object attempt(Connection cnx) throws Exception {
+      attempts++;
+      return "hello";
+    }
+
+    @Override
+    protected Object processResponse(Message msg) throws Exception {
+      return null;
+    }
+
+    @Override
+    protected boolean isErrorResponse(int msgType) {
+      return false;
+    }
+
+    @Override
+    protected boolean isPipelineable() {
+      return true;
+    }
+
+    @Override
+    protected long startAttempt(ConnectionStats stats) {
+      return 0;
+    }
+
+    @Override
+    protected void endSendAttempt(ConnectionStats stats, long start) {}
+
+    @Override
+    protected void endAttempt(ConnectionStats stats, long start) {}
+  }
+
   private class DummyManager implements ConnectionManager {
 
     protected int numServers = Integer.MAX_VALUE;
     private int currentServer = 0;
+    /** returned by getConnection, if set, as if the pooled connections were pipelined */
+    protected ConnectionImpl pipelinedConnection;
 
     public DummyManager() {}
 
@@ -521,7 +697,7 @@ public class OpExecutorImplJUnitTest {
 
     @Override
     public Connection getConnection(Connection conn) {
-      return conn;
+      return pipelinedConnection == null ? conn : pipelinedConnection;
     }
 
     @Override
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.client.internal.pooling.ConnectionManager;
+import org.apache.geode.distributed.internal.ServerLocation;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class PipelinedConnectionsTest {
+
+  private static final ServerLocation SERVER1 = new ServerLocation("localhost", 1);
+
+  private static final ServerLocation SERVER2 = new ServerLocation("localhost", 2);
+
+  private ConnectionManager manager;
+
+  private Connection connection1;
+
+  private Connection connection2;
+
+  @Before
+  public void setUp() {
+    this.manager = mock(ConnectionManager.class);
+    this.connection1 = mock(Connection.class);
+    this.connection2 = mock(Connection.class);
+    when(this.connection1.getServer()).thenReturn(SERVER1);
+    when(this.connection2.getServer()).thenReturn(SERVER2);
+    when(this.manager.borrowConnection(anyLong())).thenReturn(this.connection1,
+        this.connection2);
+  }
+
+  @Test
+  public void borrowsAnotherConnectionWhileEveryConnectionIsBusy() {
+    PipelinedConnections connections = new PipelinedConnections(this.manager, 2, 4);
+
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection1);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection2);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection1);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection2);
+  }
+
+  @Test
+  public void returnsNullWhenEveryConnectionIsFull() {
+    PipelinedConnections connections = new PipelinedConnections(this.manager, 1, 2);
+
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection1);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection1);
+    assertThat(connections.acquire(null, 0, false)).isNull();
+
+    connections.release(this.connection1, true);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection1);
+  }
+
+  @Test
+  public void returnsConnectionToPoolOnceIdle() {
+    PipelinedConnections connections = new PipelinedConnections(this.manager, 1, 2);
+    connections.acquire(null, 0, false);
+    connections.acquire(null, 0, false);
+
+    connections.release(this.connection1, true);
+    verify(this.manager, never()).returnConnection(this.connection1);
+    connections.release(this.connection1, true);
+    verify(this.manager).returnConnection(this.connection1);
+  }
+
+  @Test
+  public void doesNotLendConnectionAnOpFailedOn() {
+    PipelinedConnections connections = new PipelinedConnections(this.manager, 1, 2);
+    connections.acquire(null, 0, false);
+    connections.acquire(null, 0, false);
+
+    connections.release(this.connection1, false);
+    assertThat(connections.acquire(null, 0, false)).isSameAs(this.connection2);
+    connections.release(this.connection1, true);
+    verify(this.manager).returnConnection(this.connection1);
+  }
+
+  @Test
+  public void lendsOnlyConnectionsToTheGivenServer() {
+    when(this.manager.borrowConnection(eq(SERVER2), anyLong(), eq(false)))
+        .thenReturn(this.connection2);
+    PipelinedConnections connections = new PipelinedConnections(this.manager, 1, 2);
+    connections.acquire(null, 0, false);
+
+    assertThat(connections.acquire(SERVER2, 0, false)).isSameAs(this.connection2);
+    assertThat(connections.acquire(SERVER1, 0, false)).isSameAs(this.connection1);
+    assertThat(connections.acquire(SERVER2, 0, false)).isSameAs(this.connection2);
+    assertThat(connections.acquire(SERVER2, 0, false)).isNull();
+  }
+}
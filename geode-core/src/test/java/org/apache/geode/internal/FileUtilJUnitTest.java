@@ -65,6 +65,43 @@ public class FileUtilJUnitTest {
     }
   }
 
+  @Test
+  public void testCopyFileRange() throws IOException {
+    File source = File.createTempFile("FileUtilJUnitTest", null);
+    File dest = File.createTempFile("FileUtilJUnitTest", null);
+    try {
+      long count = (long) (FileUtil.MAX_TRANSFER_SIZE * 2.5 / 8);
+      FileOutputStream fos = new FileOutputStream(source);
+      DataOutput daos = new DataOutputStream(fos);
+      try {
+        for (long i = 0; i < count; i++) {
+          daos.writeLong(i);
+        }
+      } finally {
+        fos.close();
+      }
+      assertEquals((count - 20) * 8, FileUtil.copy(source, 10 * 8, (count - 10) * 8, dest));
+
+      FileInputStream fis = new FileInputStream(dest);
+      DataInput dis = new DataInputStream(fis);
+      try {
+        for (long i = 10; i < count - 10; i++) {
+          assertEquals(i, dis.readLong());
+        }
+        assertEquals(-1, fis.read());
+      } finally {
+        fis.close();
+      }
+
+      // a range past the end of the source stops at the end
+      assertEquals(8, FileUtil.copy(source, (count - 1) * 8, (count + 10) * 8, dest));
+      assertEquals(8, dest.length());
+    } finally {
+      source.delete();
+      dest.delete();
+    }
+  }
+
   @Test
   public void testStripOffExtension() {
     String fileName = "filename";
@@ -150,6 +150,48 @@ public class AbstractRegionMapTest {
     }
   }
 
+  @Test
+  public void getLongKeyEntryFindsEntryWithoutBoxedKey() {
+    TestableAbstractRegionMap arm = new TestableAbstractRegionMap();
+    RegionEntry re = arm.getEntryFactory().createEntry(arm.owner, 42L, "value");
+    arm.putEntryIfAbsent(42L, re);
+
+    assertSame(re, arm.getLongKeyEntry(42L));
+    assertSame(re, arm.getEntry(42L));
+    assertNull(arm.getLongKeyEntry(43L));
+    assertNull(arm.getIntKeyEntry(42));
+  }
+
+  @Test
+  public void getIntKeyEntryFindsEntryWithoutBoxedKey() {
+    TestableAbstractRegionMap arm = new TestableAbstractRegionMap();
+    RegionEntry re = arm.getEntryFactory().createEntry(arm.owner, 42, "value");
+    arm.putEntryIfAbsent(42, re);
+
+    assertSame(re, arm.getIntKeyEntry(42));
+    assertSame(re, arm.getEntry(42));
+    assertNull(arm.getIntKeyEntry(43));
+    assertNull(arm.getLongKeyEntry(42L));
+  }
+
+  @Test
+  public void primitiveKeyLookupsMatchObjectKeyEntries() {
+    TestableAbstractRegionMap arm = new TestableAbstractRegionMap();
+    boolean inline = InlineKeyHelper.INLINE_REGION_KEYS;
+    InlineKeyHelper.INLINE_REGION_KEYS = false;
+    try {
+      RegionEntry longRe = arm.getEntryFactory().createEntry(arm.owner, 7L, "value");
+      arm.putEntryIfAbsent(7L, longRe);
+      RegionEntry intRe = arm.getEntryFactory().createEntry(arm.owner, 7, "value");
+      arm.putEntryIfAbsent(7, intRe);
+
+      assertSame(longRe, arm.getLongKeyEntry(7L));
+      assertSame(intRe, arm.getIntKeyEntry(7));
+    } finally {
+      InlineKeyHelper.INLINE_REGION_KEYS = inline;
+    }
+  }
+
   private static class TestableAbstractRegionMap extends AbstractRegionMap {
 
     public LocalRegion owner;
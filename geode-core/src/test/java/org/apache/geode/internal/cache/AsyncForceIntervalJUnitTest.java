@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests that the async writer forces what it has written once the async force interval runs out,
+ * even if nothing else is queued.
+ */
+@Category(IntegrationTest.class)
+public class AsyncForceIntervalJUnitTest {
+
+  private static final String ASYNC_FORCE_INTERVAL =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.asyncForceInterval";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private Cache cache;
+
+  @BeforeClass
+  public static void setUpClass() {
+    // read once when DiskStoreImpl is loaded, and integration tests run in their own JVM
+    System.setProperty(ASYNC_FORCE_INTERVAL, "200");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    System.clearProperty(ASYNC_FORCE_INTERVAL);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    this.cache.close();
+  }
+
+  @Test
+  public void forcesWritesOnceIdle() throws Exception {
+    DiskStoreFactory dsf = this.cache.createDiskStoreFactory();
+    dsf.setDiskDirs(new File[] {this.temporaryFolder.newFolder("diskDir")});
+    dsf.setTimeInterval(10);
+    DiskStoreImpl diskStore = (DiskStoreImpl) dsf.create(getClass().getSimpleName());
+    final DiskStoreStats stats = diskStore.getStats();
+
+    AttributesFactory<Integer, String> af = new AttributesFactory<Integer, String>();
+    af.setDiskStoreName(getClass().getSimpleName());
+    af.setDiskSynchronous(false);
+    af.setDataPolicy(DataPolicy.PERSISTENT_REPLICATE);
+    Region<Integer, String> region = this.cache.createRegion("region", af.create());
+
+    long forces = stats.getAsyncForces();
+    region.put(1, "value");
+
+    // the put is written within the time interval, which is shorter than the force interval
+    Awaitility.await().atMost(10, TimeUnit.SECONDS).until(() -> stats.getQueueSize() == 0);
+    Awaitility.await().atMost(10, TimeUnit.SECONDS)
+        .until(() -> stats.getAsyncForces() > forces);
+    // with forcing on, the latency of a write is recorded once it has been forced
+    Awaitility.await().atMost(10, TimeUnit.SECONDS)
+        .until(() -> stats.getAsyncWritesCompleted() == 1);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests that a disk store recovers the keys of krfs written in blocks, and faults in their values
+ * from the offsets the blocks recorded.
+ */
+@Category(IntegrationTest.class)
+public class CompactKrfRecoveryJUnitTest {
+
+  private static final String COMPACT_KRF = DistributionConfig.GEMFIRE_PREFIX + "disk.compactKrf";
+
+  /** more entries than fit in one block, with keys long enough to go over its byte limit too */
+  private static final int LARGE_REGION_ENTRIES = 3 * KrfBlockWriter.MAX_BLOCK_ENTRIES + 17;
+
+  private static final int SMALL_REGION_ENTRIES = 10;
+
+  private static final String KEY_PREFIX =
+      "a key long enough that a thousand of them do not fit in one krf block ";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+
+  private Cache cache;
+
+  @BeforeClass
+  public static void setUpClass() {
+    // read once when Oplog is loaded, and integration tests run in their own JVM
+    System.setProperty(COMPACT_KRF, "true");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    System.clearProperty(COMPACT_KRF);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    this.diskDir = this.temporaryFolder.newFolder("diskDir");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.cache != null) {
+      this.cache.close();
+    }
+    System.clearProperty(DiskStoreImpl.RECOVER_VALUE_PROPERTY_NAME);
+  }
+
+  @Test
+  public void recoversKeysAndValuesFromBlockKrfs() throws Exception {
+    assertThat(Oplog.COMPACT_KRF).isTrue();
+    assertThat(KEY_PREFIX.length() * KrfBlockWriter.MAX_BLOCK_ENTRIES)
+        .isGreaterThan(KrfBlockWriter.MAX_BLOCK_BYTES);
+
+    createCache();
+    Region<String, String> large = createRegion("large");
+    Region<String, String> small = createRegion("small");
+    for (int i = 0; i < LARGE_REGION_ENTRIES; i++) {
+      large.put(KEY_PREFIX + i, "value" + i);
+      if (i < SMALL_REGION_ENTRIES) {
+        small.put(KEY_PREFIX + i, "small value" + i);
+      }
+    }
+    // the entries of the first oplog are written to its krf when it rolls, the rest on close
+    ((DiskStoreImpl) this.cache.findDiskStore(getClass().getSimpleName())).forceRoll();
+    large.put(KEY_PREFIX + LARGE_REGION_ENTRIES, "value" + LARGE_REGION_ENTRIES);
+    this.cache.close();
+    assertThat(this.diskDir.list((dir, name) -> name.endsWith(".krf"))).hasSize(2);
+
+    // recover the keys only, so the values are read from the crf offsets in the krf blocks
+    System.setProperty(DiskStoreImpl.RECOVER_VALUE_PROPERTY_NAME, "false");
+    createCache();
+    large = createRegion("large");
+    small = createRegion("small");
+
+    assertThat(large.size()).isEqualTo(LARGE_REGION_ENTRIES + 1);
+    assertThat(small.size()).isEqualTo(SMALL_REGION_ENTRIES);
+    for (int i = 0; i <= LARGE_REGION_ENTRIES; i++) {
+      assertThat(large.get(KEY_PREFIX + i)).isEqualTo("value" + i);
+    }
+    for (int i = 0; i < SMALL_REGION_ENTRIES; i++) {
+      assertThat(small.get(KEY_PREFIX + i)).isEqualTo("small value" + i);
+    }
+  }
+
+  private void createCache() {
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = new CacheFactory(props).create();
+
+    DiskStoreFactory dsf = this.cache.createDiskStoreFactory();
+    dsf.setDiskDirs(new File[] {this.diskDir});
+    dsf.setAutoCompact(false);
+    dsf.create(getClass().getSimpleName());
+  }
+
+  private Region<String, String> createRegion(String name) {
+    AttributesFactory<String, String> af = new AttributesFactory<String, String>();
+    af.setDiskStoreName(getClass().getSimpleName());
+    af.setDiskSynchronous(true);
+    af.setDataPolicy(DataPolicy.PERSISTENT_REPLICATE);
+    return this.cache.createRegion(name, af.create());
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CompactionRateLimiterTest {
+
+  private DiskStoreStats stats;
+
+  @Before
+  public void setUp() {
+    this.stats = mock(DiskStoreStats.class);
+  }
+
+  @Test
+  public void unlimitedLimiterNeverWaits() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(0, this.stats);
+
+    assertThat(limiter.isLimited()).isFalse();
+    assertThat(limiter.acquire(Integer.MAX_VALUE)).isZero();
+    assertThat(limiter.acquire(Integer.MAX_VALUE)).isZero();
+    verify(this.stats, never()).startCompactionThrottleWait();
+  }
+
+  @Test
+  public void firstAcquireDoesNotWait() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(1000, this.stats);
+
+    assertThat(limiter.isLimited()).isTrue();
+    assertThat(limiter.acquire(100)).isZero();
+    verify(this.stats, never()).startCompactionThrottleWait();
+  }
+
+  @Test
+  public void acquireWaitsForThePreviousCopyAtTheConfiguredRate() {
+    CompactionRateLimiter limiter = new CompactionRateLimiter(1000, this.stats);
+    limiter.acquire(100);
+
+    long start = System.nanoTime();
+    long waited = limiter.acquire(100);
+    long elapsed = System.nanoTime() - start;
+
+    // 100 bytes at 1000 bytes per second reserve 100 milliseconds
+    assertThat(waited).isGreaterThan(TimeUnit.MILLISECONDS.toNanos(50))
+        .isLessThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    assertThat(elapsed).isGreaterThanOrEqualTo(waited);
+    verify(this.stats).startCompactionThrottleWait();
+    verify(this.stats).endCompactionThrottleWait(anyLong());
+  }
+}
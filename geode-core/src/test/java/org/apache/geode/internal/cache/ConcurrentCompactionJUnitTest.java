@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests a disk store that compacts several oplogs at the same time.
+ */
+@Category(IntegrationTest.class)
+public class ConcurrentCompactionJUnitTest {
+
+  private static final String MAX_CONCURRENT_COMPACTIONS =
+      DistributionConfig.GEMFIRE_PREFIX + "MAX_CONCURRENT_COMPACTIONS";
+
+  private static final int ENTRIES = 600;
+
+  private static final int VALUE_SIZE = 4 * 1024;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+
+  private Cache cache;
+
+  @BeforeClass
+  public static void setUpClass() {
+    // read once when DiskStoreImpl is loaded, and integration tests run in their own JVM
+    System.setProperty(MAX_CONCURRENT_COMPACTIONS, "3");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    System.clearProperty(MAX_CONCURRENT_COMPACTIONS);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    this.diskDir = this.temporaryFolder.newFolder("diskDir");
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (this.cache != null && !this.cache.isClosed()) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void compactsSeveralOplogsAtOnce() {
+    Region<Integer, byte[]> region = createRegion(DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT);
+    final DiskStoreImpl diskStore = getDiskStore();
+    writeGarbage(region);
+
+    Awaitility.await().atMost(60, TimeUnit.SECONDS).until(() -> {
+      return diskStore.numCompactableOplogs() == 0
+          && diskStore.getStats().getCompactsInProgress() == 0;
+    });
+
+    verifyValues(region);
+    this.cache.close();
+
+    reopenCache();
+    verifyValues(createRegion(DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT));
+  }
+
+  @Test
+  public void closeStopsThrottledCompactions() {
+    // copying a single value forward takes four seconds
+    Region<Integer, byte[]> region = createRegion(VALUE_SIZE / 4);
+    final DiskStoreImpl diskStore = getDiskStore();
+    writeGarbage(region);
+
+    Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> diskStore.getStats().getCompactsInProgress() > 1);
+
+    long start = System.nanoTime();
+    this.cache.close();
+    assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(30);
+
+    reopenCache();
+    verifyValues(createRegion(DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT));
+  }
+
+  @Test
+  public void clearDuringThrottledCompactionIsNotUndone() {
+    // copying a single value forward takes four seconds
+    Region<Integer, byte[]> region = createRegion(VALUE_SIZE / 4);
+    final DiskStoreImpl diskStore = getDiskStore();
+    writeGarbage(region);
+
+    Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> diskStore.getStats().getCompactsInProgress() > 0);
+
+    // the compactions give up on the oplogs the clear ran under
+    region.clear();
+    region.put(0, value(0, 2));
+    assertThat(region.size()).isEqualTo(1);
+
+    this.cache.close();
+    reopenCache();
+    Region<Integer, byte[]> recovered =
+        createRegion(DiskStoreFactory.DEFAULT_COMPACTION_RATE_LIMIT);
+    assertThat(recovered.size()).isEqualTo(1);
+    assertThat(recovered.get(0)).isEqualTo(value(0, 2));
+  }
+
+  private void reopenCache() {
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = new CacheFactory(props).create();
+  }
+
+  private Region<Integer, byte[]> createRegion(long compactionRateLimit) {
+    DiskStoreFactory dsf = this.cache.createDiskStoreFactory();
+    dsf.setDiskDirs(new File[] {this.diskDir});
+    dsf.setMaxOplogSize(1);
+    dsf.setAutoCompact(true);
+    dsf.setCompactionThreshold(90);
+    dsf.setCompactionRateLimit(compactionRateLimit);
+    dsf.create(getClass().getSimpleName());
+
+    AttributesFactory<Integer, byte[]> af = new AttributesFactory<Integer, byte[]>();
+    af.setDiskStoreName(getClass().getSimpleName());
+    af.setDataPolicy(DataPolicy.PERSISTENT_REPLICATE);
+    return this.cache.createRegion("region", af.create());
+  }
+
+  private DiskStoreImpl getDiskStore() {
+    return (DiskStoreImpl) this.cache.findDiskStore(getClass().getSimpleName());
+  }
+
+  /**
+   * Fills several oplogs and then overwrites half of their entries so that each of them can be
+   * compacted.
+   */
+  private void writeGarbage(Region<Integer, byte[]> region) {
+    for (int i = 0; i < ENTRIES; i++) {
+      region.put(i, value(i, 0));
+    }
+    for (int i = 0; i < ENTRIES; i += 2) {
+      region.put(i, value(i, 1));
+    }
+  }
+
+  private void verifyValues(Region<Integer, byte[]> region) {
+    assertThat(region.size()).isEqualTo(ENTRIES);
+    for (int i = 0; i < ENTRIES; i++) {
+      assertThat(region.get(i)).isEqualTo(value(i, i % 2 == 0 ? 1 : 0));
+    }
+  }
+
+  private static byte[] value(int key, int round) {
+    byte[] value = new byte[VALUE_SIZE];
+    Arrays.fill(value, (byte) (key + round));
+    return value;
+  }
+}
@@ -251,6 +251,34 @@ public class DiskRegionAsyncRecoveryJUnitTest extends DiskRegionTestingBase {
     checkEntries(region, 0, 50, "A");
   }
 
+  @Test
+  public void testValuesRecoveredFromMultipleOplogs() throws InterruptedException {
+    Region region = createRegion();
+
+    // the store rolls its 1MB oplogs, so these values end up spread over several of them
+    String value = new String(new char[10000]);
+    putEntries(region, 0, 300, value);
+
+    cache.close();
+
+    cache = createCache();
+
+    final CountDownLatch recoveryDone = new CountDownLatch(1);
+    DiskStoreObserver.setInstance(new DiskStoreObserver() {
+
+      @Override
+      public void afterAsyncValueRecovery(DiskStoreImpl store) {
+        recoveryDone.countDown();
+      }
+    });
+    region = createRegion();
+    recoveryDone.await();
+
+    checkEntriesInMemory(region, 0, 300, value, true);
+    DiskStoreImpl store = (DiskStoreImpl) cache.findDiskStore("store");
+    assertEquals(300, store.getStats().getRecoveredValues());
+  }
+
   @Test
   public void testMultipleRegions() throws InterruptedException {
     Region region = createRegion();
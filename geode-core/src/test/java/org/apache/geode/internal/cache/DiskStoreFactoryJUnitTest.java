@@ -35,6 +35,7 @@ import org.apache.geode.cache.DiskStore;
 import org.apache.geode.cache.DiskStoreFactory;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.compression.SnappyCompressor;
 import org.apache.geode.distributed.DistributedSystem;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 
@@ -424,6 +425,41 @@ public class DiskStoreFactoryJUnitTest {
     removeFiles(diskStore);
   }
 
+  @Test
+  public void testCompressor() {
+    String name = "testCompressor";
+    DiskStore diskStore =
+        cache.createDiskStoreFactory().setCompressor(new SnappyCompressor()).create(name);
+    assertTrue(diskStore.getCompressor() instanceof SnappyCompressor);
+    AttributesFactory af = new AttributesFactory();
+    af.setDiskStoreName(name);
+    af.setDataPolicy(DataPolicy.PERSISTENT_REPLICATE);
+    Region r = cache.createRegion("r", af.create());
+    StringBuilder json = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      json.append("{\"name\":\"value\",\"count\":").append(i).append("},");
+    }
+    for (int i = 0; i < 10; i++) {
+      r.put("key" + i, json.toString() + i);
+    }
+    r.put("small", "v");
+    DiskStoreStats stats = ((DiskStoreImpl) diskStore).getStats();
+    assertEquals(10, stats.getCompressions());
+    assertTrue(stats.getCompressionRatio() > 3);
+    cache.close();
+
+    cache = createCache();
+    cache.createDiskStoreFactory().setCompressor(new SnappyCompressor()).create(name);
+    r = cache.createRegion("r", af.create());
+    for (int i = 0; i < 10; i++) {
+      assertEquals(json.toString() + i, r.get("key" + i));
+    }
+    assertEquals("v", r.get("small"));
+    cache.close();
+    // if test passed clean up files
+    removeFiles(diskStore);
+  }
+
   // setDiskDirs and setDiskDirsAndSizes are tested in DiskRegionIllegalArguementsJUnitTest
   // also setDiskUsageWarningPercentage and setDiskUsageCriticalPercentage
 }
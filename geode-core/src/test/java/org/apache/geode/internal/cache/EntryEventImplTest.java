@@ -171,6 +171,66 @@ public class EntryEventImplTest {
     verify(nvImporter).importNewBytes(newValueBytes, true);
   }
 
+  @Test
+  public void verifyExportNewValueWithStringSerializesOnceForImportersThatSerialize() {
+    LocalRegion region = mock(LocalRegion.class);
+    CachePerfStats stats = mock(CachePerfStats.class);
+    when(region.getCachePerfStats()).thenReturn(stats);
+    String newValue = "newValue";
+    NewValueImporter nvImporter = mock(NewValueImporter.class);
+    when(nvImporter.prefersNewSerialized()).thenReturn(true);
+    when(nvImporter.serializesNewObjectOnImport()).thenReturn(true);
+    NewValueImporter otherImporter = mock(NewValueImporter.class);
+    when(otherImporter.prefersNewSerialized()).thenReturn(true);
+    when(otherImporter.serializesNewObjectOnImport()).thenReturn(true);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+
+    e.exportNewValue(nvImporter);
+    e.exportNewValue(otherImporter);
+
+    byte[] newValueBytes = e.getCachedSerializedNewValue();
+    assertArrayEquals(EntryEventImpl.serialize(newValue), newValueBytes);
+    verify(nvImporter).importNewBytes(same(newValueBytes), eq(true));
+    verify(otherImporter).importNewBytes(same(newValueBytes), eq(true));
+    verify(stats, times(1)).incSerializedValueReuses(newValueBytes.length);
+  }
+
+  @Test
+  public void verifyExportNewValueWithStringCachedDeserializableForImporterThatSerializes() {
+    LocalRegion region = mock(LocalRegion.class);
+    CachePerfStats stats = mock(CachePerfStats.class);
+    when(region.getCachePerfStats()).thenReturn(stats);
+    CachedDeserializable newValue = mock(CachedDeserializable.class);
+    Object newValueObj = "newValueObj";
+    when(newValue.getValue()).thenReturn(newValueObj);
+    NewValueImporter nvImporter = mock(NewValueImporter.class);
+    when(nvImporter.serializesNewObjectOnImport()).thenReturn(true);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+
+    e.exportNewValue(nvImporter);
+
+    byte[] newValueBytes = e.getCachedSerializedNewValue();
+    assertArrayEquals(EntryEventImpl.serialize(newValueObj), newValueBytes);
+    verify(nvImporter).importNewBytes(same(newValueBytes), eq(true));
+    assertSame(newValueBytes, e.serializeNewValue(newValueObj));
+    verify(stats).incSerializedValueReuses(newValueBytes.length);
+  }
+
+  @Test
+  public void verifyReusingSerializedNewValueOfByteArrayCachedDeserializableIsNotCounted() {
+    LocalRegion region = mock(LocalRegion.class);
+    CachePerfStats stats = mock(CachePerfStats.class);
+    when(region.getCachePerfStats()).thenReturn(stats);
+    CachedDeserializable newValue = mock(CachedDeserializable.class);
+    byte[] newValueBytes = new byte[] {1, 2, 3};
+    when(newValue.getValue()).thenReturn(newValueBytes);
+    EntryEventImpl e = createEntryEvent(region, newValue);
+    e.setCachedSerializedNewValue(newValueBytes);
+
+    assertSame(newValueBytes, e.getSharedSerializedNewValue());
+    verify(stats, never()).incSerializedValueReuses(anyInt());
+  }
+
   @Test
   public void verifyExportNewValueWithSerializedStoredObjectAndImporterPrefersSerialized() {
     LocalRegion region = mock(LocalRegion.class);
@@ -726,6 +786,70 @@ public class EntryEventImplTest {
     return new EventID(memId, 11, 12, 13);
   }
 
+  @Test
+  public void recycledReusableEventIsReusedWithFreshState() {
+    LocalRegion region = mock(LocalRegion.class);
+    doReturn(new KeyInfo(key, null, null)).when(region).getKeyInfo(any(), any(), any());
+    EntryEventImpl e = EntryEventImpl.createReusable(region, Operation.UPDATE, key, "value1",
+        "callbackArg", null);
+    e.setOldValue("oldValue");
+    e.setTailKey(5L);
+    e.release();
+    e.recycle();
+
+    EntryEventImpl reused =
+        EntryEventImpl.createReusable(region, Operation.CREATE, "key2", "value2", null, null);
+    try {
+      assertSame(e, reused);
+      assertEquals(Operation.CREATE, reused.getOperation());
+      assertEquals("key2", reused.getKey());
+      assertEquals("value2", reused.getNewValue());
+      assertNull(reused.getOldValue());
+      assertNull(reused.getRawCallbackArgument());
+      assertEquals(Long.valueOf(-1L), reused.getTailKey());
+      assertTrue(reused.isGenerateCallbacks());
+      assertFalse(reused.isOriginRemote());
+    } finally {
+      reused.release();
+      reused.recycle();
+    }
+  }
+
+  @Test
+  public void reusableEventIsNotSharedByNestedPuts() {
+    LocalRegion region = mock(LocalRegion.class);
+    doReturn(new KeyInfo(key, null, null)).when(region).getKeyInfo(any(), any(), any());
+    EntryEventImpl outer =
+        EntryEventImpl.createReusable(region, Operation.UPDATE, key, "value1", null, null);
+    EntryEventImpl inner =
+        EntryEventImpl.createReusable(region, Operation.UPDATE, "key2", "value2", null, null);
+
+    assertNotSame(outer, inner);
+    assertEquals(key, outer.getKey());
+    assertEquals("key2", inner.getKey());
+
+    inner.release();
+    inner.recycle();
+    outer.release();
+    outer.recycle();
+  }
+
+  @Test
+  public void recycleIgnoresEventsThatAreNotReusable() {
+    LocalRegion region = mock(LocalRegion.class);
+    doReturn(new KeyInfo(key, null, null)).when(region).getKeyInfo(any(), any(), any());
+    EntryEventImpl e = createEntryEvent(region, "value");
+    e.release();
+    e.recycle();
+
+    EntryEventImpl reusable =
+        EntryEventImpl.createReusable(region, Operation.UPDATE, key, "value", null, null);
+    assertNotSame(e, reusable);
+    assertEquals(key, e.getKey());
+    reusable.release();
+    reusable.recycle();
+  }
+
   private EntryEventImpl createEntryEvent(LocalRegion l, Object newValue) {
     // create an event
     EntryEventImpl event = EntryEventImpl.create(l, Operation.CREATE, key, newValue, null,
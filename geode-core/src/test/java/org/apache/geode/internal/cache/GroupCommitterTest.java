@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.DiskAccessException;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GroupCommitterTest {
+
+  private DiskStoreStats stats;
+
+  private AtomicInteger flushes;
+
+  @Before
+  public void setUp() {
+    this.stats = mock(DiskStoreStats.class);
+    this.flushes = new AtomicInteger();
+  }
+
+  @Test
+  public void awaitCommitFlushesAppendedRecords() {
+    GroupCommitter committer = new GroupCommitter(countingFlusher(), 0, this.stats);
+
+    committer.append();
+    committer.awaitCommit(committer.append());
+
+    assertThat(this.flushes.get()).isEqualTo(1);
+    verify(this.stats).incGroupCommits(2);
+  }
+
+  @Test
+  public void awaitCommitOfAFlushedRecordDoesNotFlushAgain() {
+    GroupCommitter committer = new GroupCommitter(countingFlusher(), 0, this.stats);
+    long first = committer.append();
+    committer.awaitCommit(committer.append());
+
+    committer.awaitCommit(first);
+
+    assertThat(this.flushes.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void writersThatAppendDuringAFlushShareTheNextOne() throws Exception {
+    final CountDownLatch leaderFlushing = new CountDownLatch(1);
+    final CountDownLatch releaseLeader = new CountDownLatch(1);
+    final GroupCommitter committer = new GroupCommitter(new GroupCommitter.Flusher() {
+      @Override
+      public void flush() {
+        if (flushes.incrementAndGet() == 1) {
+          leaderFlushing.countDown();
+          try {
+            releaseLeader.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      }
+    }, 0, this.stats);
+
+    Thread leader = awaitInThread(committer, committer.append());
+    assertThat(leaderFlushing.await(30, TimeUnit.SECONDS)).isTrue();
+    Thread follower1 = awaitInThread(committer, committer.append());
+    Thread follower2 = awaitInThread(committer, committer.append());
+    releaseLeader.countDown();
+    leader.join(30000);
+    follower1.join(30000);
+    follower2.join(30000);
+
+    assertThat(this.flushes.get()).isEqualTo(2);
+    verify(this.stats).incGroupCommits(1);
+    verify(this.stats).incGroupCommits(2);
+  }
+
+  @Test
+  public void failedFlushIsRetriedByTheNextWaiter() {
+    final GroupCommitter committer = new GroupCommitter(new GroupCommitter.Flusher() {
+      @Override
+      public void flush() {
+        if (flushes.incrementAndGet() == 1) {
+          throw new DiskAccessException(new IOException("expected"));
+        }
+      }
+    }, 0, this.stats);
+    long sequence = committer.append();
+
+    Throwable thrown = catchThrowable(() -> committer.awaitCommit(sequence));
+    committer.awaitCommit(sequence);
+
+    assertThat(thrown).isInstanceOf(DiskAccessException.class);
+    assertThat(this.flushes.get()).isEqualTo(2);
+    verify(this.stats).incGroupCommits(1);
+  }
+
+  private GroupCommitter.Flusher countingFlusher() {
+    return new GroupCommitter.Flusher() {
+      @Override
+      public void flush() {
+        flushes.incrementAndGet();
+      }
+    };
+  }
+
+  private Thread awaitInThread(final GroupCommitter committer, final long sequence) {
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        committer.awaitCommit(sequence);
+      }
+    });
+    thread.start();
+    return thread;
+  }
+}
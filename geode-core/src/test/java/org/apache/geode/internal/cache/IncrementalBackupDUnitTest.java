@@ -89,6 +89,11 @@ public class IncrementalBackupDUnitTest extends JUnit4CacheTestCase {
    */
   private final static String OPLOG_REGEX = ".*\\.[kdc]rf$";
 
+  /**
+   * Matches the records appended to an operation log since it was backed up by the baseline.
+   */
+  private final static String OPLOG_DELTA_REGEX = ".*\\.[kdc]rf\\.delta$";
+
   /**
    * Creates test regions for a member.
    */
@@ -757,7 +762,14 @@ public class IncrementalBackupDUnitTest extends JUnit4CacheTestCase {
 
     List<File> memberIncremental2Oplogs =
         FileUtil.findAll(getBackupDirForMember(getIncremental2Dir(), memberId), OPLOG_REGEX);
-    assertFalse(memberIncremental2Oplogs.isEmpty());
+
+    /*
+     * The first incremental did not roll the current oplog, so the second incremental may only hold
+     * the records appended to it since.
+     */
+    List<File> memberIncremental2Deltas = FileUtil
+        .findAll(getBackupDirForMember(getIncremental2Dir(), memberId), OPLOG_DELTA_REGEX);
+    assertFalse(memberIncremental2Oplogs.isEmpty() && memberIncremental2Deltas.isEmpty());
 
     List<String> memberIncremental2OplogNames = new LinkedList<String>();
     TransformUtils.transform(memberIncremental2Oplogs, memberIncremental2OplogNames,
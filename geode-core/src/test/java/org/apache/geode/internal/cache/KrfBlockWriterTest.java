@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.ByteArrayDataInput;
+import org.apache.geode.internal.InternalDataSerializer;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class KrfBlockWriterTest {
+
+  private ByteArrayOutputStream baos;
+
+  private KrfBlockWriter writer;
+
+  @Before
+  public void setUp() {
+    this.baos = new ByteArrayOutputStream();
+    this.writer = new KrfBlockWriter(new DataOutputStream(this.baos));
+  }
+
+  @Test
+  public void writesOneBlockPerRegion() throws Exception {
+    writeEntry(1, 10, 100);
+    writeEntry(1, 12, 150);
+    writeEntry(2, 11, 200);
+    this.writer.close();
+
+    DataInputStream in = input();
+    assertThat(InternalDataSerializer.readUnsignedVL(in)).isEqualTo(2);
+    assertThat(DiskInitFile.readDiskRegionID(in)).isEqualTo(1);
+    assertThat(InternalDataSerializer.readVLOld(in)).isEqualTo(12);
+    ByteArrayDataInput block = new ByteArrayDataInput();
+    block.initialize(KrfBlockWriter.readEntries(in), null);
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(10);
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(100);
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(12);
+    // offsets are relative to the previous entry of the block
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(50);
+
+    assertThat(InternalDataSerializer.readUnsignedVL(in)).isEqualTo(1);
+    assertThat(DiskInitFile.readDiskRegionID(in)).isEqualTo(2);
+    assertThat(InternalDataSerializer.readVLOld(in)).isEqualTo(11);
+    block.initialize(KrfBlockWriter.readEntries(in), null);
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(11);
+    assertThat(InternalDataSerializer.readVLOld(block)).isEqualTo(200);
+
+    assertThat(InternalDataSerializer.readUnsignedVL(in)).isEqualTo(0);
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  @Test
+  public void startsNewBlockWhenFull() throws Exception {
+    for (int i = 0; i <= KrfBlockWriter.MAX_BLOCK_ENTRIES; i++) {
+      writeEntry(1, i, i);
+    }
+    this.writer.close();
+
+    DataInputStream in = input();
+    assertThat(InternalDataSerializer.readUnsignedVL(in))
+        .isEqualTo(KrfBlockWriter.MAX_BLOCK_ENTRIES);
+    DiskInitFile.readDiskRegionID(in);
+    InternalDataSerializer.readVLOld(in);
+    KrfBlockWriter.skipEntries(in);
+    assertThat(InternalDataSerializer.readUnsignedVL(in)).isEqualTo(1);
+  }
+
+  @Test
+  public void skipEntriesSkipsWholeBlock() throws Exception {
+    writeEntry(1, 1, 1);
+    writeEntry(2, 2, 2);
+    this.writer.close();
+
+    DataInputStream in = input();
+    InternalDataSerializer.readUnsignedVL(in);
+    DiskInitFile.readDiskRegionID(in);
+    InternalDataSerializer.readVLOld(in);
+    KrfBlockWriter.skipEntries(in);
+
+    assertThat(InternalDataSerializer.readUnsignedVL(in)).isEqualTo(1);
+    assertThat(DiskInitFile.readDiskRegionID(in)).isEqualTo(2);
+  }
+
+  private void writeEntry(long drId, long oplogKeyId, long offset) throws Exception {
+    InternalDataSerializer.writeVLOld(oplogKeyId, this.writer.startEntry(drId, oplogKeyId));
+    this.writer.writeOffset(offset);
+  }
+
+  private DataInputStream input() {
+    return new DataInputStream(new ByteArrayInputStream(this.baos.toByteArray()));
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class MappedCrfReaderJUnitTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File crf;
+
+  private byte[] contents;
+
+  @Before
+  public void setUp() throws Exception {
+    this.crf = this.temporaryFolder.newFile("BACKUPtest_1.crf");
+    this.contents = new byte[1024];
+    for (int i = 0; i < this.contents.length; i++) {
+      this.contents[i] = (byte) i;
+    }
+    FileOutputStream fos = new FileOutputStream(this.crf);
+    try {
+      fos.write(this.contents);
+    } finally {
+      fos.close();
+    }
+  }
+
+  @Test
+  public void readReturnsBytesAtOffset() {
+    MappedCrfReader reader = MappedCrfReader.map(this.crf, this.contents.length);
+
+    assertThat(reader.read(100, 3)).containsExactly(this.contents[100], this.contents[101],
+        this.contents[102]);
+  }
+
+  @Test
+  public void sliceIsAReadOnlyViewOfTheValue() {
+    MappedCrfReader reader = MappedCrfReader.map(this.crf, this.contents.length);
+
+    ByteBuffer slice = reader.slice(1000, 24);
+
+    assertThat(slice.isReadOnly()).isTrue();
+    assertThat(slice.remaining()).isEqualTo(24);
+    assertThat(slice.get(0)).isEqualTo(this.contents[1000]);
+  }
+
+  @Test
+  public void readPastTheMappedSizeReturnsNull() {
+    MappedCrfReader reader = MappedCrfReader.map(this.crf, 512);
+
+    assertThat(reader.size()).isEqualTo(512);
+    assertThat(reader.read(510, 4)).isNull();
+  }
+
+  @Test
+  public void doesNotMapPastTheEndOfTheFile() {
+    MappedCrfReader reader = MappedCrfReader.map(this.crf, this.contents.length * 2);
+
+    assertThat(reader.size()).isEqualTo(this.contents.length);
+  }
+
+  @Test
+  public void unmappedReaderReadsNothing() {
+    MappedCrfReader reader = MappedCrfReader.map(this.crf, this.contents.length);
+
+    reader.unmap();
+    assertThat(reader.size()).isEqualTo(0);
+    assertThat(reader.read(100, 3)).isNull();
+    assertThat(reader.slice(100, 3)).isNull();
+    // unmapping twice does nothing
+    reader.unmap();
+    assertThat(this.crf.delete()).isTrue();
+  }
+
+  @Test
+  public void mapOfEmptyRangeReturnsNull() {
+    assertThat(MappedCrfReader.map(this.crf, 0)).isNull();
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class OplogScrubberTest {
+
+  private static final byte[] RECORD1 = new byte[] {1, 2, 3, 4, 5, 21};
+
+  private static final byte[] RECORD2 = new byte[] {6, 7, 8, 21};
+
+  private DiskStoreStats stats;
+
+  private OplogScrubber scrubber;
+
+  private ByteArrayOutputStream baos;
+
+  private DataOutputStream dos;
+
+  @Before
+  public void setUp() throws IOException {
+    this.stats = mock(DiskStoreStats.class);
+    this.scrubber = new OplogScrubber(null, this.stats, 0);
+    this.baos = new ByteArrayOutputStream();
+    this.dos = new DataOutputStream(this.baos);
+    this.dos.writeByte(Oplog.OPLOG_MAGIC_SEQ_ID);
+    this.dos.write(Oplog.OPLOG_TYPE.CRF.getBytes());
+    this.dos.writeByte(21);
+  }
+
+  @Test
+  public void verifiesAllFramedRecords() throws Exception {
+    writeFrame(RECORD1);
+    writeFrame(RECORD2);
+    long length = this.baos.size();
+    // an unused preallocated tail
+    this.dos.write(new byte[16]);
+
+    assertThat(verify()).isEqualTo(length);
+    verify(this.stats, never()).incChecksumFailures();
+  }
+
+  @Test
+  public void reportsCorruptRecordAndContinues() throws Exception {
+    writeFrame(RECORD1);
+    writeFrame(RECORD2);
+    byte[] bytes = this.baos.toByteArray();
+    // corrupt the first byte of the first record
+    bytes[Oplog.OPLOG_MAGIC_SEQ_REC_SIZE + Oplog.RECORD_CHECKSUM_PREFIX_SIZE]++;
+
+    assertThat(this.scrubber.verify(new ByteArrayInputStream(bytes), new File("test.crf")))
+        .isEqualTo(bytes.length);
+    verify(this.stats).incChecksumFailures();
+  }
+
+  @Test
+  public void reportsMissingChecksumAndContinues() throws Exception {
+    this.dos.writeByte(Oplog.OPLOG_RECORD_CHECKSUM);
+    this.dos.writeInt(RECORD1.length);
+    this.dos.write(RECORD1);
+    this.dos.writeInt(0);
+    writeFrame(RECORD2);
+    long length = this.baos.size();
+
+    assertThat(verify()).isEqualTo(length);
+    verify(this.stats).incChecksumFailures();
+  }
+
+  @Test
+  public void stopsAtRecordWithoutChecksum() throws Exception {
+    writeFrame(RECORD1);
+    long length = this.baos.size();
+    this.dos.write(RECORD2);
+    writeFrame(RECORD1);
+
+    assertThat(verify()).isEqualTo(length);
+    verify(this.stats, never()).incChecksumFailures();
+  }
+
+  @Test
+  public void ignoresPartialLastRecord() throws Exception {
+    writeFrame(RECORD1);
+    long length = this.baos.size();
+    this.dos.writeByte(Oplog.OPLOG_RECORD_CHECKSUM);
+    this.dos.writeInt(RECORD2.length);
+    this.dos.write(RECORD2, 0, 2);
+
+    assertThat(verify()).isEqualTo(length);
+    verify(this.stats, never()).incChecksumFailures();
+  }
+
+  @Test
+  public void checksumInputStreamOnlyCoversBytesBetweenStartAndEnd() throws Exception {
+    writeFrame(RECORD1);
+    ChecksumInputStream cis =
+        new ChecksumInputStream(new ByteArrayInputStream(this.baos.toByteArray()));
+    cis.skip(Oplog.OPLOG_MAGIC_SEQ_REC_SIZE + Oplog.RECORD_CHECKSUM_PREFIX_SIZE);
+
+    cis.startChecksum();
+    assertThat(cis.skip(2)).isEqualTo(2);
+    assertThat(cis.read(new byte[RECORD1.length - 2])).isEqualTo(RECORD1.length - 2);
+    int checksum = cis.endChecksum();
+    cis.read();
+
+    assertThat(checksum).isEqualTo(checksum(RECORD1));
+  }
+
+  private long verify() throws Exception {
+    return this.scrubber.verify(new ByteArrayInputStream(this.baos.toByteArray()),
+        new File("test.crf"));
+  }
+
+  private void writeFrame(byte[] record) throws IOException {
+    this.dos.writeByte(Oplog.OPLOG_RECORD_CHECKSUM);
+    this.dos.writeInt(record.length);
+    this.dos.write(record);
+    this.dos.writeInt(checksum(record));
+  }
+
+  private static int checksum(byte[] bytes) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length);
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import com.jayway.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DiskStoreFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.Scope;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Tests overflow-only regions with {@link OverflowOplog#DIRECT_WRITES} turned on.
+ */
+@Category(IntegrationTest.class)
+public class OverflowOplogDirectWritesJUnitTest {
+
+  private static final String DIRECT_OVERFLOW_WRITES =
+      DistributionConfig.GEMFIRE_PREFIX + "disk.directOverflowWrites";
+
+  private static final int VALUE_SIZE = 100 * 1024;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File diskDir;
+
+  private Cache cache;
+
+  @BeforeClass
+  public static void setUpClass() {
+    // read once when OverflowOplog is loaded, and integration tests run in their own JVM
+    System.setProperty(DIRECT_OVERFLOW_WRITES, "true");
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    System.clearProperty(DIRECT_OVERFLOW_WRITES);
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    this.diskDir = this.temporaryFolder.newFolder("diskDir");
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    if (!this.cache.isClosed()) {
+      this.cache.close();
+    }
+  }
+
+  @Test
+  public void evictingThreadWritesValuesOfAsyncRegion() {
+    DiskStoreFactory dsf = this.cache.createDiskStoreFactory();
+    dsf.setDiskDirs(new File[] {this.diskDir});
+    dsf.setQueueSize(10000);
+    dsf.setTimeInterval(60000);
+    DiskStoreImpl diskStore = (DiskStoreImpl) dsf.create(getClass().getSimpleName());
+    Region<Integer, byte[]> region = createRegion(5, false);
+
+    for (int i = 0; i < 50; i++) {
+      region.put(i, value(i));
+    }
+
+    // nothing waits on the async queue for the flusher
+    assertThat(diskStore.getStats().getQueueSize()).isEqualTo(0);
+    assertThat(((LocalRegion) region).getDiskRegion().getStats().getNumOverflowOnDisk())
+        .isEqualTo(45);
+    for (int i = 0; i < 50; i++) {
+      assertThat(region.get(i)).isEqualTo(value(i));
+    }
+  }
+
+  @Test
+  public void emptyOverflowFilesAreKeptForReuse() {
+    DiskStoreFactory dsf = this.cache.createDiskStoreFactory();
+    dsf.setDiskDirs(new File[] {this.diskDir});
+    dsf.setMaxOplogSize(1);
+    DiskStoreImpl diskStore = (DiskStoreImpl) dsf.create(getClass().getSimpleName());
+    final OverflowOplogSet overflowOplogs = diskStore.overflowOplogs;
+    final DirectoryHolder dirHolder = diskStore.getDirectoryHolders()[0];
+    Region<Integer, byte[]> region = createRegion(1, true);
+
+    // fills several overflow oplogs and then empties the ones that are done appending
+    for (int i = 0; i < 60; i++) {
+      region.put(i, value(i));
+    }
+    for (int i = 0; i < 60; i++) {
+      region.destroy(i);
+    }
+
+    // a kept file still takes up the space it reserved in its directory
+    Awaitility.await().atMost(30, TimeUnit.SECONDS).until(() -> {
+      return overflowOplogs.numRecycledFiles() == OverflowOplogSet.RECYCLED_FILES_MAX
+          && dirHolder.getUsedSpace() >= overflowFilesLength();
+    });
+
+    int filesBefore = overflowFileCount();
+    for (int i = 0; i < 20; i++) {
+      region.put(i, value(i));
+    }
+    assertThat(overflowOplogs.numRecycledFiles())
+        .isLessThan(OverflowOplogSet.RECYCLED_FILES_MAX);
+    assertThat(overflowFileCount()).isLessThanOrEqualTo(filesBefore);
+    assertThat(dirHolder.getUsedSpace()).isGreaterThanOrEqualTo(overflowFilesLength());
+    for (int i = 0; i < 20; i++) {
+      assertThat(region.get(i)).isEqualTo(value(i));
+    }
+
+    this.cache.close();
+    assertThat(overflowFileCount()).isEqualTo(0);
+    assertThat(dirHolder.getUsedSpace()).isEqualTo(0);
+  }
+
+  private Region<Integer, byte[]> createRegion(int maxEntries, boolean diskSynchronous) {
+    AttributesFactory<Integer, byte[]> af = new AttributesFactory<Integer, byte[]>();
+    af.setScope(Scope.LOCAL);
+    af.setDiskStoreName(getClass().getSimpleName());
+    af.setDiskSynchronous(diskSynchronous);
+    af.setEvictionAttributes(
+        EvictionAttributes.createLRUEntryAttributes(maxEntries, EvictionAction.OVERFLOW_TO_DISK));
+    return this.cache.createRegion("region", af.create());
+  }
+
+  private File[] overflowFiles() {
+    File[] files = this.diskDir.listFiles((dir, name) -> name.startsWith("OVERFLOW"));
+    return files == null ? new File[0] : files;
+  }
+
+  private int overflowFileCount() {
+    return overflowFiles().length;
+  }
+
+  private long overflowFilesLength() {
+    long length = 0;
+    for (File f : overflowFiles()) {
+      length += f.length();
+    }
+    return length;
+  }
+
+  private static byte[] value(int key) {
+    byte[] value = new byte[VALUE_SIZE];
+    Arrays.fill(value, (byte) key);
+    return value;
+  }
+}
@@ -23,11 +23,14 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.Logger;
 import org.junit.Before;
@@ -37,6 +40,7 @@ import org.junit.experimental.categories.Category;
 import org.junit.runners.MethodSorters;
 
 import org.apache.geode.LogWriter;
+import org.apache.geode.cache.CacheTransactionManager;
 import org.apache.geode.cache.CacheWriter;
 import org.apache.geode.cache.CacheWriterException;
 import org.apache.geode.cache.EntryEvent;
@@ -46,6 +50,8 @@ import org.apache.geode.cache.PartitionedRegionStorageException;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.RegionEvent;
+import org.apache.geode.cache.partition.PartitionRegionHelper;
+import org.apache.geode.cache.util.CacheListenerAdapter;
 import org.apache.geode.cache30.RegionTestCase;
 import org.apache.geode.distributed.DistributedSystem;
 import org.apache.geode.internal.logging.LogService;
@@ -1479,4 +1485,105 @@ public class PartitionedRegionSingleNodeOperationsJUnitTest {
     }
   }
 
+  /**
+   * Verifies that putAll and removeAll apply every entry when their entries span many buckets,
+   * which the bulk op thread pool applies in parallel.
+   */
+  @Test
+  public void test027PutAllAndRemoveAllSpanningBuckets() throws Exception {
+    PartitionedRegion pr = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion("testPutAllAndRemoveAllSpanningBuckets", String.valueOf(200), 0);
+    HashMap<Integer, String> map = new HashMap<Integer, String>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, val + i);
+    }
+
+    pr.putAll(map);
+
+    assertTrue(pr.getDataStore().getAllLocalBucketIds().size() > 1);
+    assertEquals(map.size(), pr.size());
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(val + i, pr.get(i));
+    }
+
+    pr.removeAll(map.keySet());
+
+    assertTrue(pr.isEmpty());
+    pr.destroyRegion();
+  }
+
+  /**
+   * Verifies that a putAll done by a cache listener of another putAll's bucket, and so possibly on
+   * a bulk op thread, completes rather than waiting for a thread of the pool it is running in.
+   */
+  @Test
+  public void test028PutAllFromListenerOfPutAll() throws Exception {
+    final PartitionedRegion target = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion("testPutAllFromListenerOfPutAllTarget", String.valueOf(200), 0);
+    PartitionedRegion pr = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion("testPutAllFromListenerOfPutAll", String.valueOf(200), 0);
+    pr.getAttributesMutator().addCacheListener(new CacheListenerAdapter() {
+      @Override
+      public void afterCreate(EntryEvent event) {
+        HashMap<String, Object> copies = new HashMap<String, Object>();
+        for (int i = 0; i < 10; i++) {
+          copies.put(event.getKey() + "-" + i, event.getNewValue());
+        }
+        target.putAll(copies);
+      }
+    });
+    HashMap<Integer, String> map = new HashMap<Integer, String>();
+    for (int i = 0; i < 100; i++) {
+      map.put(i, val + i);
+    }
+
+    pr.putAll(map);
+
+    assertEquals(map.size(), pr.size());
+    assertEquals(map.size() * 10, target.size());
+    pr.destroyRegion();
+    target.destroyRegion();
+  }
+
+  /**
+   * Verifies that parallel streams over the entries, keys and values of a partitioned region, and of
+   * its local data, see every entry exactly once, and that the local data of a transaction is not
+   * split.
+   */
+  @Test
+  public void test029ParallelStreams() throws Exception {
+    PartitionedRegion pr = (PartitionedRegion) PartitionedRegionTestHelper
+        .createPartitionedRegion("testParallelStreams", String.valueOf(200), 0);
+    HashMap<Integer, String> map = new HashMap<Integer, String>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(i, val + i);
+    }
+    pr.putAll(map);
+
+    Set<Integer> keys = pr.keySet();
+    Set<Region.Entry<Integer, String>> entries = pr.entrySet();
+    Collection<String> values = pr.values();
+    assertEquals(map.keySet(), keys.parallelStream().collect(Collectors.toSet()));
+    assertEquals(map, entries.parallelStream()
+        .collect(Collectors.toMap(Region.Entry::getKey, Region.Entry::getValue)));
+    assertEquals(new HashSet<String>(map.values()),
+        values.parallelStream().collect(Collectors.toSet()));
+    assertEquals(map.size(), values.parallelStream().count());
+
+    LocalDataSet localData = (LocalDataSet) PartitionRegionHelper.getLocalData(pr);
+    Set<Integer> localKeys = localData.keySet();
+    assertEquals(map.keySet(), localKeys.parallelStream().collect(Collectors.toSet()));
+    assertEquals(map.size(), localData.localEntrySet().parallelStream().distinct().count());
+    assertNotNull(localData.localEntrySet().spliterator().trySplit());
+
+    CacheTransactionManager txMgr = pr.getCache().getCacheTransactionManager();
+    txMgr.begin();
+    try {
+      assertNull(localData.localEntrySet().spliterator().trySplit());
+    } finally {
+      txMgr.rollback();
+    }
+    pr.destroyRegion();
+  }
+
 }
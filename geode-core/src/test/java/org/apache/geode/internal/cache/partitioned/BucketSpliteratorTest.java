@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BucketSpliteratorTest {
+
+  private static final int BUCKETS = 8;
+
+  private static final int ENTRIES_PER_BUCKET = 10;
+
+  private Set<Integer> buckets;
+
+  private List<Set<Integer>> iteratedSubsets;
+
+  private AtomicInteger sizeComputations;
+
+  @Before
+  public void setUp() {
+    this.buckets = new LinkedHashSet<>();
+    for (int i = 0; i < BUCKETS; i++) {
+      this.buckets.add(i);
+    }
+    this.iteratedSubsets = new ArrayList<>();
+    this.sizeComputations = new AtomicInteger();
+  }
+
+  /** Each bucket b holds the entries b * 100 up to b * 100 + ENTRIES_PER_BUCKET. */
+  private BucketSpliterator<Integer> spliterator(boolean splittable) {
+    Function<Set<Integer>, Iterator<Integer>> iteratorFactory = subset -> {
+      synchronized (this.iteratedSubsets) {
+        this.iteratedSubsets.add(subset);
+      }
+      List<Integer> entries = new ArrayList<>();
+      for (int bucket : subset) {
+        for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+          entries.add(bucket * 100 + i);
+        }
+      }
+      return entries.iterator();
+    };
+    return new BucketSpliterator<>(this.buckets, iteratorFactory, splittable,
+        Spliterator.DISTINCT | Spliterator.NONNULL, () -> {
+          this.sizeComputations.incrementAndGet();
+          return BUCKETS * ENTRIES_PER_BUCKET;
+        });
+  }
+
+  private List<Integer> allEntries() {
+    List<Integer> entries = new ArrayList<>();
+    for (int bucket : this.buckets) {
+      for (int i = 0; i < ENTRIES_PER_BUCKET; i++) {
+        entries.add(bucket * 100 + i);
+      }
+    }
+    return entries;
+  }
+
+  @Test
+  public void splitsAtBucketBoundaries() {
+    BucketSpliterator<Integer> suffix = spliterator(true);
+
+    Spliterator<Integer> prefix = suffix.trySplit();
+
+    List<Integer> prefixEntries = new ArrayList<>();
+    prefix.forEachRemaining(prefixEntries::add);
+    List<Integer> suffixEntries = new ArrayList<>();
+    suffix.forEachRemaining(suffixEntries::add);
+    assertThat(prefixEntries).isEqualTo(allEntries().subList(0, 40));
+    assertThat(suffixEntries).isEqualTo(allEntries().subList(40, 80));
+    assertThat(this.iteratedSubsets).containsExactly(set(0, 1, 2, 3), set(4, 5, 6, 7));
+  }
+
+  @Test
+  public void dividesTheSizeEstimateBetweenSplits() {
+    BucketSpliterator<Integer> suffix = spliterator(true);
+
+    Spliterator<Integer> prefix = suffix.trySplit();
+    Spliterator<Integer> prefixOfSuffix = suffix.trySplit();
+
+    assertThat(prefix.estimateSize()).isEqualTo(40);
+    assertThat(prefixOfSuffix.estimateSize()).isEqualTo(20);
+    assertThat(suffix.estimateSize()).isEqualTo(20);
+    assertThat(this.sizeComputations.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotComputeSizeUntilAsked() {
+    BucketSpliterator<Integer> spliterator = spliterator(true);
+
+    spliterator.tryAdvance(entry -> {
+    });
+
+    assertThat(this.sizeComputations.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void doesNotSplitOnceStarted() {
+    BucketSpliterator<Integer> spliterator = spliterator(true);
+
+    spliterator.tryAdvance(entry -> {
+    });
+
+    assertThat(spliterator.trySplit()).isNull();
+  }
+
+  @Test
+  public void doesNotSplitASingleBucket() {
+    this.buckets = set(3);
+
+    assertThat(spliterator(true).trySplit()).isNull();
+  }
+
+  @Test
+  public void doesNotSplitIfNotSplittable() {
+    assertThat(spliterator(false).trySplit()).isNull();
+  }
+
+  @Test
+  public void parallelStreamSeesEveryEntryOnce() {
+    List<Integer> entries = StreamSupport.stream(spliterator(true), true).sorted()
+        .collect(Collectors.toList());
+
+    assertThat(entries).isEqualTo(allEntries());
+  }
+
+  private static Set<Integer> set(Integer... ids) {
+    Set<Integer> set = new LinkedHashSet<>();
+    for (Integer id : ids) {
+      set.add(id);
+    }
+    return set;
+  }
+}
@@ -19,6 +19,7 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.After;
@@ -41,6 +42,14 @@ public class BackupInspectorJUnitTest {
 
   private static final String UNIX_INCREMENTAL_BACKUP_SCRIPT =
       "#!/bin/bash -e\ncd `dirname $0`\n\n#Restore a backup of gemfire persistent data to the location it was backed up\n#from.\n#This script will refuse to restore if the original data still exists.\n\n#This script was automatically generated by the gemfire backup utility.\n\n#Test for existing originals. If they exist, do not restore the backup.\ntest -e '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar.if' && echo 'Backup not restored. Refusing to overwrite /Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar.if' && exit 1 \ntest -e '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo.if' && echo 'Backup not restored. Refusing to overwrite /Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo.if' && exit 1 \n\n#Restore data\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3'\ncp -rp 'diskstores/bar/dir0'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk4'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1'\ncp -rp 'diskstores/foo/dir0'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk2'\n\n#Incremental backup.  Restore baseline originals from a previous backup.\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/bar/dir0/BACKUPbar_1.drf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar_1.drf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/foo/dir1/BACKUPfoo_2.crf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk2/BACKUPfoo_2.crf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/foo/dir1/BACKUPfoo_2.drf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk2/BACKUPfoo_2.drf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/bar/dir1/BACKUPbar_2.drf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk4/BACKUPbar_2.drf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/foo/dir0/BACKUPfoo_1.crf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo_1.crf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/bar/dir1/BACKUPbar_2.crf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk4/BACKUPbar_2.crf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/bar/dir0/BACKUPbar_1.crf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar_1.crf'\ncp -p '/Users/rholmes/Projects/gemfire/test/backup/2012-05-24-09-42/rholmes_mbp_410_v1_56425/diskstores/foo/dir0/BACKUPfoo_1.drf' '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo_1.drf'";
+  private static final String UNIX_APPENDING_BACKUP_SCRIPT =
+      "#!/bin/bash -e\ncd `dirname $0`\n\n#Restore data\nmkdir -p '/disk1'\ncp -rp 'diskstores/foo/dir0'/* '/disk1'\n\n#Incremental backup.  Restore baseline originals from previous backups.\ncp -p '/backup1/diskstores/foo/dir0/BACKUPfoo_1.crf' '/disk1/BACKUPfoo_1.crf'\n\n#Append the oplog records written since the baseline originals were backed up.\ncat '/backup2/diskstores/foo/deltas/BACKUPfoo_1.crf.delta' >> '/disk1/BACKUPfoo_1.crf'\ncat 'diskstores/foo/deltas/BACKUPfoo_1.crf.delta' >> '/disk1/BACKUPfoo_1.crf'\n";
+  private static final String WINDOWS_APPENDING_BACKUP_SCRIPT =
+      "echo off\n\nrem Restore data\nmkdir \"\\disk1\"\n\nrem Incremental backup.  Restore baseline originals from previous backups.\nC:\\Windows\\System32\\Robocopy.exe \"\\backup1\\diskstores\\foo\\dir0\" \"\\disk1\" BACKUPfoo_1.crf /njh /njs\n\nrem Append the oplog records written since the baseline originals were backed up.\ncopy /b \"\\disk1\\BACKUPfoo_1.crf\"+\"\\backup2\\diskstores\\foo\\deltas\\BACKUPfoo_1.crf.delta\" \"\\disk1\\BACKUPfoo_1.crf\"\nIF %ERRORLEVEL% GEQ 1 GOTO Exit_Bad\ncopy /b \"\\disk1\\BACKUPfoo_1.crf\"+\"diskstores\\foo\\deltas\\BACKUPfoo_1.crf.delta\" \"\\disk1\\BACKUPfoo_1.crf\"\nIF %ERRORLEVEL% GEQ 1 GOTO Exit_Bad\nrem Exit Functions\n";
+  private static final String UNIX_APPENDING_BACKUP_SCRIPT_WITH_SPACES =
+      "#!/bin/bash -e\ncd `dirname $0`\n\n#Restore data\nmkdir -p '/disk 1'\ncp -rp 'diskstores/foo/dir0'/* '/disk 1'\n\n#Incremental backup.  Restore baseline originals from previous backups.\ncp -p '/backup 1/diskstores/foo/dir0/BACKUPfoo_1.crf' '/disk 1/BACKUPfoo_1.crf'\n\n#Append the oplog records written since the baseline originals were backed up.\ncat '/backup 2/diskstores/foo/deltas/BACKUPfoo_1.crf.delta' >> '/disk 1/BACKUPfoo_1.crf'\n";
+  private static final String WINDOWS_APPENDING_BACKUP_SCRIPT_WITH_SPACES =
+      "echo off\n\nrem Restore data\nmkdir \"\\disk 1\"\n\nrem Incremental backup.  Restore baseline originals from previous backups.\nC:\\Windows\\System32\\Robocopy.exe \"\\backup 1\\diskstores\\foo\\dir0\" \"\\disk 1\" BACKUPfoo_1.crf /njh /njs\n\nrem Append the oplog records written since the baseline originals were backed up.\ncopy /b \"\\disk 1\\BACKUPfoo_1.crf\"+\"\\backup 2\\diskstores\\foo\\deltas\\BACKUPfoo_1.crf.delta\" \"\\disk 1\\BACKUPfoo_1.crf\"\nIF %ERRORLEVEL% GEQ 1 GOTO Exit_Bad\nrem Exit Functions\n";
   private static final String UNIX_FULL_BACKUP_SCRIPT =
       "#!/bin/bash -e\ncd `dirname $0`\n\n#Restore a backup of gemfire persistent data to the location it was backed up\n#from.\n#This script will refuse to restore if the original data still exists.\n\n#This script was automatically generated by the gemfire backup utility.\n\n#Test for existing originals. If they exist, do not restore the backup.\ntest -e '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar.if' && echo 'Backup not restored. Refusing to overwrite /Users/rholmes/Projects/gemfire/test/cacheserver/disk3/BACKUPbar.if' && exit 1 \ntest -e '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo.if' && echo 'Backup not restored. Refusing to overwrite /Users/rholmes/Projects/gemfire/test/cacheserver/disk1/BACKUPfoo.if' && exit 1 \n\n#Restore data\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3'\ncp -rp 'diskstores/bar/dir0'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk3'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk4'\ncp -rp 'diskstores/bar/dir1'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk4'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1'\ncp -rp 'diskstores/foo/dir0'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk1'\nmkdir -p '/Users/rholmes/Projects/gemfire/test/cacheserver/disk2'\ncp -rp 'diskstores/foo/dir1'/* '/Users/rholmes/Projects/gemfire/test/cacheserver/disk2'";
 
@@ -91,6 +100,11 @@ public class BackupInspectorJUnitTest {
    */
   private File fullBackupDir = null;
 
+  /**
+   * Temporary incremental backup directory whose restore script appends deltas.
+   */
+  private File appendingBackupDir = null;
+
   @Rule
   public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
@@ -122,6 +136,24 @@ public class BackupInspectorJUnitTest {
       writer.close();
     }
 
+    /*
+     * Create an incremental backup with deltas on the file system.
+     */
+    this.appendingBackupDir = new File(tempDir, "appending");
+    assertTrue(this.appendingBackupDir.mkdir());
+
+    if (BackupInspector.isWindows()) {
+      PrintWriter writer =
+          new PrintWriter(new File(this.appendingBackupDir, WindowsBackupInspector.RESTORE_FILE));
+      writer.write(WINDOWS_APPENDING_BACKUP_SCRIPT);
+      writer.close();
+    } else {
+      PrintWriter writer =
+          new PrintWriter(new File(this.appendingBackupDir, UnixBackupInspector.RESTORE_FILE));
+      writer.write(UNIX_APPENDING_BACKUP_SCRIPT);
+      writer.close();
+    }
+
     /*
      * Create a full backup on the file system.
      */
@@ -222,4 +254,52 @@ public class BackupInspectorJUnitTest {
     assertTrue(inspector.getIncrementalOplogFileNames().isEmpty());
     assertNull(inspector.getScriptLineForOplogFile(OPLOG_FILENAME_1));
   }
+
+  /**
+   * Tests that the parser finds the deltas appended to baseline oplog files in order.
+   */
+  @Test
+  public void testAppendingBackupScript() throws Exception {
+    BackupInspector inspector = BackupInspector.createInspector(appendingBackupDir);
+
+    List<String> appends = inspector.getAppendsForOplogFile("BACKUPfoo_1.crf");
+    assertEquals(2, appends.size());
+    assertEquals(
+        new File(File.separator + "backup2" + File.separator + "diskstores" + File.separator + "foo"
+            + File.separator + "deltas" + File.separator + "BACKUPfoo_1.crf.delta")
+                .getAbsolutePath(),
+        appends.get(0));
+    assertEquals(new File(appendingBackupDir, "diskstores" + File.separator + "foo"
+        + File.separator + "deltas" + File.separator + "BACKUPfoo_1.crf.delta").getAbsolutePath(),
+        appends.get(1));
+    assertTrue(inspector.getAppendsForOplogFile("BACKUPfoo_1.drf").isEmpty());
+  }
+
+  /**
+   * Tests that the parser finds appended deltas when the paths contain spaces.
+   */
+  @Test
+  public void testAppendingBackupScriptWithSpaces() throws Exception {
+    File backupDir = temporaryFolder.newFolder("appending with spaces");
+    if (BackupInspector.isWindows()) {
+      PrintWriter writer =
+          new PrintWriter(new File(backupDir, WindowsBackupInspector.RESTORE_FILE));
+      writer.write(WINDOWS_APPENDING_BACKUP_SCRIPT_WITH_SPACES);
+      writer.close();
+    } else {
+      PrintWriter writer = new PrintWriter(new File(backupDir, UnixBackupInspector.RESTORE_FILE));
+      writer.write(UNIX_APPENDING_BACKUP_SCRIPT_WITH_SPACES);
+      writer.close();
+    }
+
+    BackupInspector inspector = BackupInspector.createInspector(backupDir);
+
+    List<String> appends = inspector.getAppendsForOplogFile("BACKUPfoo_1.crf");
+    assertEquals(1, appends.size());
+    assertEquals(
+        new File(File.separator + "backup 2" + File.separator + "diskstores" + File.separator
+            + "foo" + File.separator + "deltas" + File.separator + "BACKUPfoo_1.crf.delta")
+                .getAbsolutePath(),
+        appends.get(0));
+  }
 }
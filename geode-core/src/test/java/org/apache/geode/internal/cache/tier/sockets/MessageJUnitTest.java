@@ -17,8 +17,17 @@ package org.apache.geode.internal.cache.tier.sockets;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.geode.test.junit.categories.ClientServerTest;
 import org.junit.Before;
@@ -118,6 +127,58 @@ public class MessageJUnitTest {
     verify(mockPart1, times(2)).clear();
   }
 
+  @Test
+  public void partsAreSentWithGatheringWrites() throws Exception {
+    byte[] small = new byte[10];
+    Arrays.fill(small, (byte) 1);
+    // larger than the comm buffer
+    byte[] large = new byte[2000];
+    Arrays.fill(large, (byte) 2);
+    // serialized into pooled direct buffers
+    byte[] pooled = new byte[PooledDirectOutputStream.BUFFER_SIZE * 2 + 10];
+    for (int i = 0; i < pooled.length; i++) {
+      pooled[i] = (byte) i;
+    }
+
+    ServerSocketChannel server = ServerSocketChannel.open();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      SocketChannel sender = SocketChannel.open(server.getLocalAddress());
+      SocketChannel receiver = server.accept();
+      try {
+        final Message sent = new Message(4, Version.CURRENT);
+        sent.setComms(sender.socket(), ByteBuffer.allocate(1024), null);
+        sent.addBytesPart(small);
+        sent.addBytesPart(large);
+        sent.addStringOrObjPart(pooled);
+        sent.addStringPart("last");
+        assertTrue(sent.getPart(2).isDirect());
+        Future<?> sending = executor.submit(() -> {
+          sent.send();
+          return null;
+        });
+
+        Message received = new Message(4, Version.CURRENT);
+        received.setComms(receiver.socket(), ByteBuffer.allocate(1024), null);
+        received.recv();
+        sending.get(30, TimeUnit.SECONDS);
+
+        assertEquals(4, received.getNumberOfParts());
+        assertArrayEquals(small, received.getPart(0).getSerializedForm());
+        assertArrayEquals(large, received.getPart(1).getSerializedForm());
+        assertArrayEquals(pooled, (byte[]) received.getPart(2).getObject());
+        assertEquals("last", received.getPart(3).getString());
+      } finally {
+        sender.close();
+        receiver.close();
+      }
+    } finally {
+      executor.shutdownNow();
+      server.close();
+    }
+  }
+
   // TODO many more tests are needed
 
 }
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class NonBlockingMessageReaderJUnitTest {
+
+  private ChunkedChannel channel;
+
+  private NonBlockingMessageReader reader;
+
+  private ByteBuffer buffer;
+
+  @Before
+  public void setUp() {
+    this.channel = new ChunkedChannel();
+    this.reader = new NonBlockingMessageReader(this.channel, 1024, null);
+    this.buffer = ByteBuffer.allocateDirect(64);
+  }
+
+  @Test
+  public void readsRequestThatArrivesInPieces() {
+    byte[] request = request(MessageType.REQUEST, 7, new byte[] {1, 2, 3}, new byte[0]);
+
+    this.channel.add(request, 0, 10);
+    assertThat(this.reader.read(this.buffer)).isFalse();
+    this.channel.add(request, 10, 10);
+    assertThat(this.reader.read(this.buffer)).isFalse();
+    this.channel.add(request, 20, request.length - 20);
+    assertThat(this.reader.read(this.buffer)).isTrue();
+
+    assertThat(this.reader.getMessageType()).isEqualTo(MessageType.REQUEST);
+    assertThat(this.reader.getNumberOfParts()).isEqualTo(2);
+    assertThat(this.reader.getTransactionId()).isEqualTo(7);
+    assertThat(this.reader.getPartBytes(0)).containsExactly(1, 2, 3);
+    assertThat(this.reader.getPartBytes(1)).isNull();
+  }
+
+  @Test
+  public void readsPartLargerThanBuffer() {
+    byte[] value = new byte[1000];
+    value[999] = 9;
+    this.channel.add(request(MessageType.PUT, 0, value));
+
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThat(this.reader.getPartBytes(0)).isEqualTo(value);
+  }
+
+  @Test
+  public void leavesPayloadLongerThanLimitOnChannel() {
+    byte[] request = request(MessageType.PUT, 3, new byte[2000]);
+    this.channel.add(request);
+
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThat(this.reader.isPayloadDeferred()).isTrue();
+    assertThat(this.reader.getTransactionId()).isEqualTo(3);
+    assertThat(this.reader.getPayloadLength()).isEqualTo(request.length - Message.FIXED_LENGTH);
+    ByteBuffer payload = ByteBuffer.allocate(request.length);
+    assertThat(this.channel.read(payload)).isEqualTo(request.length - Message.FIXED_LENGTH);
+  }
+
+  @Test
+  public void timesPartialRequestOnly() {
+    byte[] request = request(MessageType.REQUEST, 0, new byte[] {1, 2, 3});
+    assertThat(this.reader.getPartialRequestTime()).isEqualTo(-1);
+
+    this.channel.add(request, 0, 10);
+    this.reader.read(this.buffer);
+    assertThat(this.reader.getPartialRequestTime()).isGreaterThanOrEqualTo(0);
+
+    this.channel.add(request, 10, request.length - 10);
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThat(this.reader.getPartialRequestTime()).isEqualTo(-1);
+  }
+
+  @Test
+  public void leavesNextRequestOnChannel() throws Exception {
+    byte[] first = request(MessageType.REQUEST, 1, new byte[] {1});
+    byte[] second = request(MessageType.REQUEST, 2, new byte[] {2});
+    this.channel.add(first);
+    this.channel.add(second);
+
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThat(this.reader.getTransactionId()).isEqualTo(1);
+    this.reader.clear();
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    this.reader.checkFailure();
+    assertThat(this.reader.getTransactionId()).isEqualTo(2);
+    assertThat(this.reader.getPartBytes(0)).containsExactly(2);
+  }
+
+  @Test
+  public void failsOnPartLongerThanPayload() {
+    byte[] request = request(MessageType.REQUEST, 0, new byte[] {1, 2, 3});
+    // claim the part is longer than the message
+    ByteBuffer.wrap(request).putInt(Message.FIXED_LENGTH, 100);
+    this.channel.add(request);
+
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThatThrownBy(() -> this.reader.checkFailure()).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  public void failsWhenConnectionIsClosedWithinRequest() {
+    byte[] request = request(MessageType.REQUEST, 0, new byte[] {1, 2, 3});
+    this.channel.add(request, 0, request.length - 1);
+    assertThat(this.reader.read(this.buffer)).isFalse();
+    this.channel.close();
+
+    assertThat(this.reader.read(this.buffer)).isTrue();
+    assertThatThrownBy(() -> this.reader.checkFailure()).isInstanceOf(EOFException.class);
+  }
+
+  private static byte[] request(int type, int txid, byte[]... parts) {
+    int payloadLength = 0;
+    for (byte[] part : parts) {
+      payloadLength += Message.PART_HEADER_SIZE + part.length;
+    }
+    ByteBuffer bb = ByteBuffer.allocate(Message.FIXED_LENGTH + payloadLength);
+    bb.putInt(type).putInt(payloadLength).putInt(parts.length).putInt(txid).put((byte) 0);
+    for (byte[] part : parts) {
+      bb.putInt(part.length).put((byte) 0).put(part);
+    }
+    return bb.array();
+  }
+
+  /**
+   * A non-blocking channel whose bytes arrive when the test adds them.
+   */
+  private static class ChunkedChannel implements ReadableByteChannel {
+    private final ByteBuffer available = ByteBuffer.allocate(4096);
+
+    private boolean closed;
+
+    ChunkedChannel() {
+      this.available.flip();
+    }
+
+    void add(byte[] bytes) {
+      add(bytes, 0, bytes.length);
+    }
+
+    void add(byte[] bytes, int offset, int length) {
+      this.available.compact();
+      this.available.put(bytes, offset, length);
+      this.available.flip();
+    }
+
+    public int read(ByteBuffer dst) {
+      if (!this.available.hasRemaining()) {
+        return this.closed ? -1 : 0;
+      }
+      int length = Math.min(dst.remaining(), this.available.remaining());
+      for (int i = 0; i < length; i++) {
+        dst.put(this.available.get());
+      }
+      return length;
+    }
+
+    public boolean isOpen() {
+      return !this.closed;
+    }
+
+    public void close() {
+      this.closed = true;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.Version;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class PooledDirectOutputStreamJUnitTest {
+
+  @Test
+  public void partOfPooledBuffersIsSentAsBuffers() {
+    byte[] value = new byte[PooledDirectOutputStream.BUFFER_SIZE * 2 + 10];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    PooledDirectOutputStream out = new PooledDirectOutputStream(Version.CURRENT);
+    out.write(value, 0, value.length);
+    Part part = new Part();
+    part.setPartState(out, false);
+
+    assertThat(part.isDirect()).isTrue();
+    assertThat(part.getLength()).isEqualTo(value.length);
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    assertThat(part.addBuffersTo(buffers)).isTrue();
+    assertThat(gather(buffers)).isEqualTo(value);
+
+    // the buffers are views, so the part can be sent again
+    buffers.clear();
+    assertThat(part.addBuffersTo(buffers)).isTrue();
+    assertThat(gather(buffers)).isEqualTo(value);
+    part.clear();
+  }
+
+  @Test
+  public void byteArrayPartIsSentAsWrappedArray() {
+    Part part = new Part();
+    part.setPartState(new byte[] {1, 2, 3}, false);
+
+    assertThat(part.isDirect()).isFalse();
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    assertThat(part.addBuffersTo(buffers)).isTrue();
+    assertThat(gather(buffers)).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void smallPartStaysOnTheHeap() {
+    PooledDirectOutputStream out = new PooledDirectOutputStream(Version.CURRENT);
+    out.write(new byte[PooledDirectOutputStream.SMALL_PART_SIZE], 0,
+        PooledDirectOutputStream.SMALL_PART_SIZE);
+    Part part = new Part();
+    part.setPartState(out, false);
+
+    assertThat(out.getPooledBuffers()).isEmpty();
+    assertThat(part.isDirect()).isFalse();
+    part.clear();
+  }
+
+  @Test
+  public void closedStreamReturnsItsBuffersToThePool() {
+    PooledDirectOutputStream out = new PooledDirectOutputStream(Version.CURRENT);
+    writeLargePart(out, (byte) 1);
+    assertThat(out.getPooledBuffers()).hasSize(1);
+    ByteBuffer pooled = out.getPooledBuffers().get(0);
+    assertThat(pooled.isDirect()).isTrue();
+    out.close();
+    assertThat(out.getPooledBuffers()).isEmpty();
+
+    PooledDirectOutputStream reused = new PooledDirectOutputStream(Version.CURRENT);
+    writeLargePart(reused, (byte) 2);
+    assertThat(reused.getPooledBuffers()).hasSize(1);
+    assertThat(reused.getPooledBuffers().get(0)).isSameAs(pooled);
+
+    // the buffer was cleared, so only what the new stream wrote is sent
+    Part part = new Part();
+    part.setPartState(reused, false);
+    List<ByteBuffer> buffers = new ArrayList<ByteBuffer>();
+    part.addBuffersTo(buffers);
+    byte[] expected = new byte[PooledDirectOutputStream.SMALL_PART_SIZE * 2];
+    Arrays.fill(expected, (byte) 2);
+    assertThat(gather(buffers)).isEqualTo(expected);
+    part.clear();
+  }
+
+  /**
+   * Writes a part that fills the heap buffer a stream starts out in and as much again into a
+   * pooled buffer.
+   */
+  private static void writeLargePart(PooledDirectOutputStream out, byte value) {
+    byte[] bytes = new byte[PooledDirectOutputStream.SMALL_PART_SIZE * 2];
+    Arrays.fill(bytes, value);
+    out.write(bytes, 0, bytes.length);
+  }
+
+  private static byte[] gather(List<ByteBuffer> buffers) {
+    int length = 0;
+    for (ByteBuffer bb : buffers) {
+      length += bb.remaining();
+    }
+    byte[] bytes = new byte[length];
+    int offset = 0;
+    for (ByteBuffer bb : buffers) {
+      int remaining = bb.remaining();
+      bb.get(bytes, offset, remaining);
+      offset += remaining;
+    }
+    return bytes;
+  }
+}
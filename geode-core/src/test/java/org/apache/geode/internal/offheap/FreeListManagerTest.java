@@ -24,6 +24,7 @@ import org.junit.experimental.categories.Category;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.googlecode.catchexception.CatchException.catchException;
@@ -203,6 +204,66 @@ public class FreeListManagerTest {
         .isEqualTo(computeExpectedSize(dataSize) + computeExpectedSize(dataSize2));
   }
 
+  @Test
+  public void allocateTinyChunkReusesChunkFreedByTheSameThread() {
+    setUpSingleSlabManager();
+    int dataSize = 10;
+
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(dataSize);
+
+    assertThat(c2.getAddress()).isEqualTo(c.getAddress());
+    verify(this.stats, times(1)).incMagazineHits();
+  }
+
+  @Test
+  public void allocateTinyChunkGetsChunkFreedByAnotherThread() throws Exception {
+    setUpSingleSlabManager();
+    final int dataSize = 10;
+    final List<Long> freed = new ArrayList<Long>();
+    for (int i = 0; i <= FreeListManager.MAGAZINE_SIZE; i++) {
+      freed.add(this.freeListManager.allocate(dataSize).getAddress());
+    }
+
+    Thread freer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        for (long addr : freed) {
+          OffHeapStoredObject.release(addr, freeListManager);
+        }
+      }
+    });
+    freer.start();
+    freer.join();
+    OffHeapStoredObject c = this.freeListManager.allocate(dataSize);
+
+    // the other thread's magazine filled up and moved half its chunks to the shared free list
+    assertThat(freed).contains(c.getAddress());
+    // every allocation missed, as this thread never freed anything
+    verify(this.stats, times(FreeListManager.MAGAZINE_SIZE + 2)).incMagazineMisses();
+    assertThat(this.freeListManager.getFreeTinyMemory())
+        .isEqualTo(FreeListManager.MAGAZINE_SIZE * computeExpectedSize(dataSize));
+  }
+
+  @Test
+  public void defragmentCollectsChunksInMagazines() {
+    setUpSingleSlabManager();
+    Fragment originalFragment = this.freeListManager.getFragmentList().get(0);
+    OffHeapStoredObject c = this.freeListManager.allocate(16);
+    OffHeapStoredObject c2 = this.freeListManager.allocate(16);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+    OffHeapStoredObject.release(c2.getAddress(), this.freeListManager);
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(1)).isTrue();
+
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+    assertThat(this.freeListManager.getFragmentList()).hasSize(1);
+    Fragment defragmentedFragment = this.freeListManager.getFragmentList().get(0);
+    assertThat(defragmentedFragment.getSize()).isEqualTo(originalFragment.getSize());
+  }
+
   @Test
   public void freeHugeMemoryDefault() {
     setUpSingleSlabManager();
@@ -435,6 +496,69 @@ public class FreeListManagerTest {
     assertThat(freeListManager.defragment(slabSize)).isTrue();
   }
 
+  @Test
+  public void defragmentStopsAtFirstSlabThatHasRoom() {
+    this.freeListManager = createFreeListManager(ma, new Slab[] {
+        new SlabImpl(DEFAULT_SLAB_SIZE, true), new SlabImpl(DEFAULT_SLAB_SIZE, true)});
+    Fragment secondSlabFragment = this.freeListManager.getFragmentList().get(1);
+    OffHeapStoredObject c = this.freeListManager.allocate(16);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(1)).isTrue();
+
+    assertThat(this.freeListManager.getFreeTinyMemory()).isZero();
+    assertThat(this.freeListManager.getFragmentList()).hasSize(2);
+    assertThat(this.freeListManager.getFragmentList().get(0)).isSameAs(secondSlabFragment);
+    assertThat(this.freeListManager.getFragmentList().get(1).getSize())
+        .isEqualTo(DEFAULT_SLAB_SIZE);
+    verify(this.stats).incDefragmentationReclaimedBytes(computeExpectedSize(16));
+    verify(this.stats).incDefragmentationPauseTime(anyLong());
+  }
+
+  @Test
+  public void defragmentPutsMagazineChunksOfOtherSlabsOnTheSharedFreeLists() throws Exception {
+    this.freeListManager = createFreeListManager(ma,
+        new Slab[] {new SlabImpl(1024, true), new SlabImpl(DEFAULT_SLAB_SIZE, true)});
+    // too big for the first slab
+    this.freeListManager.allocate(2048);
+    final OffHeapStoredObject c = this.freeListManager.allocate(16);
+    assertThat(this.freeListManager.findSlab(c.getAddress())).isEqualTo(1);
+    OffHeapStoredObject.release(c.getAddress(), this.freeListManager);
+
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(16)).isTrue();
+
+    final AtomicLong allocated = new AtomicLong();
+    Thread allocator = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        allocated.set(freeListManager.allocate(16).getAddress());
+      }
+    });
+    allocator.start();
+    allocator.join();
+    assertThat(allocated.get()).isEqualTo(c.getAddress());
+  }
+
+  @Test
+  public void defragmentStartsWithTheSlabAfterTheLastOneDefragmented() {
+    this.freeListManager = createFreeListManager(ma, new Slab[] {
+        new SlabImpl(DEFAULT_SLAB_SIZE, true), new SlabImpl(DEFAULT_SLAB_SIZE, true)});
+    Fragment secondSlabFragment = this.freeListManager.getFragmentList().get(1);
+    this.freeListManager.firstDefragmentation = false;
+    assertThat(this.freeListManager.defragment(1)).isTrue();
+    Fragment firstSlabFragment = this.freeListManager.getFragmentList().get(1);
+
+    assertThat(this.freeListManager.defragment(1)).isTrue();
+
+    assertThat(this.freeListManager.getFragmentList()).hasSize(2);
+    assertThat(this.freeListManager.getFragmentList().get(0)).isSameAs(firstSlabFragment);
+    assertThat(this.freeListManager.getFragmentList().get(1)).isNotSameAs(secondSlabFragment);
+    assertThat(this.freeListManager.getFragmentList().get(1).getAddress())
+        .isEqualTo(secondSlabFragment.getAddress());
+  }
+
   @Test
   public void defragmentWithEmptyTinyFreeList() {
     setUpSingleSlabManager();
@@ -61,6 +61,22 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
     return 0;
   }
 
+  @Override
+  public void incMagazineHits() {}
+
+  @Override
+  public long getMagazineHits() {
+    return 0;
+  }
+
+  @Override
+  public void incMagazineMisses() {}
+
+  @Override
+  public long getMagazineMisses() {
+    return 0;
+  }
+
   @Override
   public int getDefragmentations() {
     return 0;
@@ -95,6 +111,22 @@ public class NullOffHeapMemoryStats implements OffHeapMemoryStats {
   @Override
   public void endDefragmentation(long start) {}
 
+  @Override
+  public void incDefragmentationPauseTime(long value) {}
+
+  @Override
+  public long getDefragmentationPauseTime() {
+    return 0;
+  }
+
+  @Override
+  public void incDefragmentationReclaimedBytes(long value) {}
+
+  @Override
+  public long getDefragmentationReclaimedBytes() {
+    return 0;
+  }
+
   @Override
   public void setFragmentation(int value) {}
 
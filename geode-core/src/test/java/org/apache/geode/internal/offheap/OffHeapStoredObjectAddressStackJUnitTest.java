@@ -94,6 +94,37 @@ public class OffHeapStoredObjectAddressStackJUnitTest {
     }
   }
 
+  @Test
+  public void batchOfferAndPollMoveAllAddresses() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long[] addrs = new long[4];
+      for (int i = 1; i < addrs.length; i++) {
+        addrs[i] = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      }
+      OffHeapStoredObject chunk = (OffHeapStoredObject) ma.allocate(100);
+
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      stack.offer(chunk.getAddress());
+      stack.offer(addrs, 1, 3);
+      assertEquals(addrs[3], stack.getTopAddress());
+
+      long[] polled = new long[5];
+      assertEquals(2, stack.poll(polled, 1, 2));
+      assertEquals(addrs[3], polled[1]);
+      assertEquals(addrs[2], polled[2]);
+      assertEquals(2, stack.poll(polled, 3, 5));
+      assertEquals(addrs[1], polled[3]);
+      assertEquals(chunk.getAddress(), polled[4]);
+      assertEquals(true, stack.isEmpty());
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
   @Test
   public void stackWithChunkIsNotEmpty() {
     SlabImpl slab = new SlabImpl(1024);
@@ -180,6 +211,40 @@ public class OffHeapStoredObjectAddressStackJUnitTest {
     }
   }
 
+  @Test
+  public void removeRangeRemovesOnlyTheAddressesInTheRange() {
+    SlabImpl slab = new SlabImpl(1024);
+    try {
+      MemoryAllocatorImpl ma =
+          MemoryAllocatorImpl.createForUnitTest(new NullOutOfOffHeapMemoryListener(),
+              new NullOffHeapMemoryStats(), new SlabImpl[] {slab});
+      long addr1 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr2 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      long addr3 = ((OffHeapStoredObject) ma.allocate(100)).getAddress();
+      OffHeapStoredObjectAddressStack stack = new OffHeapStoredObjectAddressStack();
+      stack.offer(addr1);
+      stack.offer(addr2);
+      stack.offer(addr3);
+
+      FreeListManager.ResizableLongArray removed = new FreeListManager.ResizableLongArray();
+      stack.removeRange(addr2, addr2 + 1, removed);
+      assertEquals(1, removed.size());
+      assertEquals(addr2, removed.get(0));
+      assertEquals(addr3, stack.poll());
+      assertEquals(addr1, stack.poll());
+      assertEquals(true, stack.isEmpty());
+
+      stack.offer(addr1);
+      stack.offer(addr3);
+      stack.removeRange(addr3, addr3 + 1, removed);
+      assertEquals(2, removed.size());
+      assertEquals(addr3, removed.get(1));
+      assertEquals(addr1, stack.getTopAddress());
+    } finally {
+      MemoryAllocatorImpl.freeOffHeapMemory();
+    }
+  }
+
   @Test
   public void stackWithChunkTotalSizeIsChunkSize() {
     SlabImpl slab = new SlabImpl(1024);
@@ -19,6 +19,7 @@ import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
 import java.io.IOException;
+import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
 
 import org.junit.After;
@@ -634,6 +635,58 @@ public class OffHeapStoredObjectJUnitTest extends AbstractStoredObjectTestBase {
     chunk.release();
   }
 
+  @Test
+  public void readBytesShouldCopyDataIntoAHeapByteBuffer() {
+    byte[] regionEntryValue = getValueAsByteArray();
+    OffHeapStoredObject chunk = createValueAsUnserializedStoredObject(regionEntryValue);
+    ByteBuffer buffer = ByteBuffer.allocate(regionEntryValue.length + 2);
+    buffer.put((byte) 1);
+
+    long address = chunk.getAddressForReadingData(0, regionEntryValue.length);
+    AddressableMemoryManager.readBytes(address, buffer, regionEntryValue.length);
+
+    assertEquals(regionEntryValue.length + 1, buffer.position());
+    byte[] actual = new byte[regionEntryValue.length];
+    buffer.position(1);
+    buffer.get(actual);
+    assertArrayEquals(regionEntryValue, actual);
+
+    chunk.release();
+  }
+
+  @Test
+  public void readBytesShouldCopyDataIntoADirectByteBuffer() {
+    byte[] regionEntryValue = getValueAsByteArray();
+    OffHeapStoredObject chunk = createValueAsUnserializedStoredObject(regionEntryValue);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(regionEntryValue.length + 2);
+    buffer.put((byte) 1);
+
+    long address = chunk.getAddressForReadingData(0, regionEntryValue.length);
+    AddressableMemoryManager.readBytes(address, buffer, regionEntryValue.length);
+
+    assertEquals(regionEntryValue.length + 1, buffer.position());
+    byte[] actual = new byte[regionEntryValue.length];
+    buffer.position(1);
+    buffer.get(actual);
+    assertArrayEquals(regionEntryValue, actual);
+
+    chunk.release();
+  }
+
+  @Test(expected = BufferOverflowException.class)
+  public void readBytesShouldFailIfTheByteBufferIsTooSmall() {
+    byte[] regionEntryValue = getValueAsByteArray();
+    OffHeapStoredObject chunk = createValueAsUnserializedStoredObject(regionEntryValue);
+    ByteBuffer buffer = ByteBuffer.allocate(regionEntryValue.length - 1);
+
+    try {
+      long address = chunk.getAddressForReadingData(0, regionEntryValue.length);
+      AddressableMemoryManager.readBytes(address, buffer, regionEntryValue.length);
+    } finally {
+      chunk.release();
+    }
+  }
+
   @Test(expected = AssertionError.class)
   public void getAddressForReadingDataShouldFailIfItsOutsideOfChunk() {
     OffHeapStoredObject chunk = createValueAsSerializedStoredObject(getValue());